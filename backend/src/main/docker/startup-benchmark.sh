@@ -0,0 +1,94 @@
+#!/bin/bash
+####
+# Measures the time-to-first-request of the container images built from the Dockerfiles in this directory:
+#
+# - legacy-jar: Dockerfile.legacy-jar
+# - jvm:        Dockerfile.jvm (fast-jar without class-data-sharing archive)
+# - cds:        Dockerfile.jvm built with -Pappcds (fast-jar with AppCDS archive from the training run)
+# - native:     Dockerfile.native
+#
+# Run from the backend directory with the database of docker-compose.yaml running:
+#
+# docker compose up -d quarkus-db
+# src/main/docker/startup-benchmark.sh [variant...]
+#
+# The time is taken from `docker run` until the first successful response of FIRST_REQUEST_PATH so it includes
+# container creation, JVM start, Flyway validation, Hibernate bootstrap and the first request itself.
+# Set SKIP_BUILD=true to reuse images from a previous run.
+#
+# Environment:
+# - RUNS: number of measured starts per variant (default: 5)
+# - FIRST_REQUEST_PATH: path of the first request (default: /q/openapi)
+# - DOCKER_NETWORK: network of the quarkus-db container (default: <repository directory>_quarkus)
+# - JDBC_URL: JDBC URL of the database inside DOCKER_NETWORK (default: jdbc:postgresql://quarkus-db:5432/quarkus)
+###
+set -euo pipefail
+
+cd "$(dirname "$0")/../../.."
+
+RUNS="${RUNS:-5}"
+FIRST_REQUEST_PATH="${FIRST_REQUEST_PATH:-/q/openapi}"
+DOCKER_NETWORK="${DOCKER_NETWORK:-$(basename "$(cd .. && pwd)")_quarkus}"
+JDBC_URL="${JDBC_URL:-jdbc:postgresql://quarkus-db:5432/quarkus}"
+PORT=18080
+VARIANTS=("$@")
+if [ ${#VARIANTS[@]} -eq 0 ]; then
+  VARIANTS=(legacy-jar jvm cds native)
+fi
+
+build() {
+  local variant=$1
+  local image="quarkus-backend-startup-${variant}"
+  case "${variant}" in
+    legacy-jar)
+      mvn -B -q clean package -DskipTests -Dquarkus.package.type=legacy-jar
+      docker build -q -f src/main/docker/Dockerfile.legacy-jar -t "${image}" . ;;
+    jvm)
+      mvn -B -q clean package -DskipTests
+      docker build -q -f src/main/docker/Dockerfile.jvm -t "${image}" . ;;
+    cds)
+      mvn -B -q clean package -DskipTests -Pappcds
+      docker build -q -f src/main/docker/Dockerfile.jvm \
+        --build-arg JAVA_CDS_OPTS=-XX:SharedArchiveFile=/deployments/app-cds.jsa -t "${image}" . ;;
+    native)
+      mvn -B -q clean package -DskipTests -Pnative -Dquarkus.native.container-build=true
+      docker build -q -f src/main/docker/Dockerfile.native -t "${image}" . ;;
+    *)
+      echo "Unknown variant ${variant}" >&2
+      exit 1 ;;
+  esac
+}
+
+# prints the milliseconds from container start until the first successful request
+measure() {
+  local image=$1
+  local start end container
+  start=$(date +%s%N)
+  container=$(docker run -d --rm --network "${DOCKER_NETWORK}" -p "${PORT}:8080" \
+    -e QUARKUS_DATASOURCE_JDBC_URL="${JDBC_URL}" -e QUARKUS_FLYWAY_SCHEMAS=quarkus "${image}")
+  until curl -sf -o /dev/null "http://localhost:${PORT}${FIRST_REQUEST_PATH}"; do
+    if [ -z "$(docker ps -q -f id="${container}")" ]; then
+      echo "Container of ${image} died before the first request succeeded" >&2
+      exit 1
+    fi
+    sleep 0.01
+  done
+  end=$(date +%s%N)
+  docker stop -t 1 "${container}" > /dev/null
+  echo $(( (end - start) / 1000000 ))
+}
+
+printf "%-12s %8s %8s %8s\n" variant min median max
+for variant in "${VARIANTS[@]}"; do
+  if [ "${SKIP_BUILD:-false}" != "true" ]; then
+    build "${variant}" > /dev/null
+  fi
+  # warm-up start so the image layers are in the page cache
+  measure "quarkus-backend-startup-${variant}" > /dev/null
+  times=()
+  for ((i = 0; i < RUNS; i++)); do
+    times+=("$(measure "quarkus-backend-startup-${variant}")")
+  done
+  mapfile -t sorted < <(printf "%s\n" "${times[@]}" | sort -n)
+  printf "%-12s %6sms %6sms %6sms\n" "${variant}" "${sorted[0]}" "${sorted[$((RUNS / 2))]}" "${sorted[$((RUNS - 1))]}"
+done
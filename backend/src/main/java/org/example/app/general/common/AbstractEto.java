@@ -13,6 +13,27 @@ public abstract class AbstractEto implements ApplicationEntity {
   @Schema(required = true, example = "0", description = "The version of the entity - used to detected changes")
   private Integer version;
 
+  /**
+   * The constructor.
+   */
+  protected AbstractEto() {
+
+    super();
+  }
+
+  /**
+   * The constructor for projections.
+   *
+   * @param id the {@link #getId() primary key}.
+   * @param version the {@link #getVersion() version}.
+   */
+  protected AbstractEto(Long id, Integer version) {
+
+    super();
+    this.id = id;
+    this.version = version;
+  }
+
   @Override
   public Long getId() {
 
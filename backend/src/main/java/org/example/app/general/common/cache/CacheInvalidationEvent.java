@@ -0,0 +1,83 @@
+package org.example.app.general.common.cache;
+
+import java.util.Set;
+
+/**
+ * CDI event fired on a node of the cluster when other nodes have changed data so node-local caches have to evict the
+ * affected entries. Events are coalesced, so a single event may cover a burst of changes. If notifications may have
+ * been lost (e.g. after a reconnect) the event {@link #isAll() covers all keys} of {@link #isTopic(String) all
+ * topics}.
+ */
+public class CacheInvalidationEvent {
+
+  private final String topic;
+
+  private final Set<String> keys;
+
+  private CacheInvalidationEvent(String topic, Set<String> keys) {
+
+    super();
+    this.topic = topic;
+    this.keys = keys;
+  }
+
+  /**
+   * @return the topic identifying the kind of data that has changed (e.g. task lists) or {@code null} if all topics
+   *         are affected.
+   * @see #isTopic(String)
+   */
+  public String getTopic() {
+
+    return this.topic;
+  }
+
+  /**
+   * @param name the name of the topic of the caller.
+   * @return {@code true} if this event affects the given topic, {@code false} otherwise.
+   */
+  public boolean isTopic(String name) {
+
+    return (this.topic == null) || this.topic.equals(name);
+  }
+
+  /**
+   * @return the {@link Set} of keys (e.g. IDs) within the {@link #getTopic() topic} that have changed. Empty if
+   *         {@link #isAll() all} have to be invalidated.
+   */
+  public Set<String> getKeys() {
+
+    return this.keys;
+  }
+
+  /**
+   * @return {@code true} if all keys of the {@link #getTopic() topic} have to be invalidated, {@code false} if only
+   *         the given {@link #getKeys() keys}.
+   */
+  public boolean isAll() {
+
+    return this.keys.isEmpty();
+  }
+
+  /**
+   * @param topic the {@link #getTopic() topic}.
+   * @param keys the {@link #getKeys() keys}. Must not be empty.
+   * @return the {@link CacheInvalidationEvent} for the given keys.
+   */
+  public static CacheInvalidationEvent ofKeys(String topic, Set<String> keys) {
+
+    if (keys.isEmpty()) {
+      throw new IllegalArgumentException("No keys given for topic " + topic);
+    }
+    return new CacheInvalidationEvent(topic, Set.copyOf(keys));
+  }
+
+  /**
+   * @param topic the {@link #getTopic() topic} or {@code null} for all topics.
+   * @return the {@link CacheInvalidationEvent} for all keys of the topic.
+   */
+  public static CacheInvalidationEvent ofAll(String topic) {
+
+    return new CacheInvalidationEvent(topic, Set.of());
+  }
+
+}
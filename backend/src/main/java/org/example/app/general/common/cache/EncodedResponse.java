@@ -0,0 +1,66 @@
+package org.example.app.general.common.cache;
+
+/**
+ * Response body that has already been encoded (serialized) for a specific media type, optionally also pre-compressed
+ * with gzip. Instances are immutable and the byte arrays must never be modified so they can be written to any number
+ * of responses without copying.
+ */
+public final class EncodedResponse {
+
+  /** Estimated overhead in bytes of an instance and its cache entry beyond the byte arrays. */
+  static final int OVERHEAD = 128;
+
+  private final String mediaType;
+
+  private final byte[] body;
+
+  private final byte[] gzipBody;
+
+  /**
+   * The constructor.
+   *
+   * @param mediaType the {@link #getMediaType() media type}.
+   * @param body the {@link #getBody() body}.
+   * @param gzipBody the {@link #getGzipBody() gzip compressed body} or {@code null}.
+   */
+  public EncodedResponse(String mediaType, byte[] body, byte[] gzipBody) {
+
+    super();
+    this.mediaType = mediaType;
+    this.body = body;
+    this.gzipBody = gzipBody;
+  }
+
+  /**
+   * @return the media type the {@link #getBody() body} is encoded in.
+   */
+  public String getMediaType() {
+
+    return this.mediaType;
+  }
+
+  /**
+   * @return the encoded body. Must not be modified.
+   */
+  public byte[] getBody() {
+
+    return this.body;
+  }
+
+  /**
+   * @return the gzip compressed {@link #getBody() body} or {@code null} if not available. Must not be modified.
+   */
+  public byte[] getGzipBody() {
+
+    return this.gzipBody;
+  }
+
+  /**
+   * @return the estimated number of bytes this response occupies on the heap.
+   */
+  public long getSize() {
+
+    return OVERHEAD + this.body.length + ((this.gzipBody == null) ? 0 : this.gzipBody.length);
+  }
+
+}
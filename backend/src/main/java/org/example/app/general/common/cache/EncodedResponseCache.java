@@ -0,0 +1,221 @@
+package org.example.app.general.common.cache;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache of {@link EncodedResponse}s bounded by the total number of bytes with least-recently-used (LRU) eviction.<br>
+ * To never cache stale data a miss has to be loaded in three steps: {@link #startLoad(Object)} returns a token, the
+ * caller loads and encodes the response and {@link #put(Object, Object, EncodedResponse)} only stores it if the key
+ * has not been {@link #invalidate(Object) invalidated} in the meantime. Additionally no loads are started for a key
+ * within the {@code quietPeriod} after its invalidation, e.g. to bridge the lag of a read replica.<br>
+ * NOTE: Keys deliberately do not contain an aggregate version of the cached data (e.g. of a task list and all its
+ * items) as determining it would cost a database query per request - exactly what the cache avoids. Instead of such a
+ * version the token of {@link #startLoad(Object)} together with the explicit {@link #invalidate(Object) invalidation}
+ * on every change ensures that no outdated response is served.<br>
+ * This class is thread-safe.
+ *
+ * @param <K> type of the key.
+ */
+public class EncodedResponseCache<K> {
+
+  private final long maxBytes;
+
+  private final long quietPeriodNanos;
+
+  private final LongSupplier clock;
+
+  private final LinkedHashMap<K, EncodedResponse> entries;
+
+  private final Map<K, Object> pendingLoads;
+
+  private final Map<K, Long> invalidations;
+
+  private Long allInvalidated;
+
+  private long bytes;
+
+  private long hits;
+
+  private long misses;
+
+  private long evictions;
+
+  /**
+   * The constructor.
+   *
+   * @param maxBytes the maximum number of bytes of all cached responses.
+   * @param quietPeriodNanos the duration in nanoseconds after an invalidation of a key during which it is not cached.
+   */
+  public EncodedResponseCache(long maxBytes, long quietPeriodNanos) {
+
+    this(maxBytes, quietPeriodNanos, System::nanoTime);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param maxBytes the maximum number of bytes of all cached responses.
+   * @param quietPeriodNanos the duration in nanoseconds after an invalidation of a key during which it is not cached.
+   * @param clock the {@link LongSupplier} for the current time in nanoseconds.
+   */
+  public EncodedResponseCache(long maxBytes, long quietPeriodNanos, LongSupplier clock) {
+
+    super();
+    this.maxBytes = maxBytes;
+    this.quietPeriodNanos = quietPeriodNanos;
+    this.clock = clock;
+    this.entries = new LinkedHashMap<>(256, 0.75f, true);
+    this.pendingLoads = new HashMap<>();
+    this.invalidations = new HashMap<>();
+  }
+
+  /**
+   * @param key the key.
+   * @return the cached {@link EncodedResponse} or {@code null} if not cached.
+   */
+  public synchronized EncodedResponse get(K key) {
+
+    EncodedResponse response = this.entries.get(key);
+    if (response == null) {
+      this.misses++;
+    } else {
+      this.hits++;
+    }
+    return response;
+  }
+
+  /**
+   * @param key the key to load.
+   * @return the token to pass to {@link #put(Object, Object, EncodedResponse)} or {@code null} if the key shall
+   *         currently not be cached (within the quiet period after an invalidation).
+   */
+  public synchronized Object startLoad(K key) {
+
+    long now = this.clock.getAsLong();
+    if (this.allInvalidated != null) {
+      if ((now - this.allInvalidated.longValue()) < this.quietPeriodNanos) {
+        return null;
+      }
+      this.allInvalidated = null;
+    }
+    Long invalidated = this.invalidations.get(key);
+    if (invalidated != null) {
+      if ((now - invalidated.longValue()) < this.quietPeriodNanos) {
+        return null;
+      }
+      this.invalidations.remove(key);
+    }
+    Object token = new Object();
+    this.pendingLoads.put(key, token);
+    return token;
+  }
+
+  /**
+   * @param key the key.
+   * @param token the token from {@link #startLoad(Object)}.
+   * @param response the loaded {@link EncodedResponse}.
+   * @return {@code true} if the response has been cached, {@code false} if the key has been invalidated or loaded by
+   *         a more recent call since {@link #startLoad(Object)} or the response is too large.
+   */
+  public synchronized boolean put(K key, Object token, EncodedResponse response) {
+
+    if ((token == null) || !this.pendingLoads.remove(key, token)) {
+      return false;
+    }
+    long size = response.getSize();
+    if (size > this.maxBytes) {
+      return false;
+    }
+    EncodedResponse old = this.entries.put(key, response);
+    if (old != null) {
+      this.bytes -= old.getSize();
+    }
+    this.bytes += size;
+    Iterator<EncodedResponse> iterator = this.entries.values().iterator();
+    while ((this.bytes > this.maxBytes) && iterator.hasNext()) {
+      EncodedResponse eldest = iterator.next();
+      iterator.remove();
+      this.bytes -= eldest.getSize();
+      this.evictions++;
+    }
+    return true;
+  }
+
+  /**
+   * Removes the cached response for the given key and prevents pending loads from caching outdated data.
+   *
+   * @param key the key to invalidate.
+   */
+  public synchronized void invalidate(K key) {
+
+    EncodedResponse old = this.entries.remove(key);
+    if (old != null) {
+      this.bytes -= old.getSize();
+    }
+    this.pendingLoads.remove(key);
+    if (this.quietPeriodNanos > 0) {
+      long now = this.clock.getAsLong();
+      if (this.invalidations.size() >= 1024) {
+        this.invalidations.values().removeIf(time -> (now - time.longValue()) >= this.quietPeriodNanos);
+      }
+      this.invalidations.put(key, Long.valueOf(now));
+    }
+  }
+
+  /**
+   * Removes all cached responses and prevents pending loads from caching outdated data.
+   */
+  public synchronized void invalidateAll() {
+
+    this.allInvalidated = Long.valueOf(this.clock.getAsLong());
+    this.pendingLoads.clear();
+    this.invalidations.clear();
+    this.entries.clear();
+    this.bytes = 0;
+  }
+
+  /**
+   * @return the number of bytes of all cached responses.
+   */
+  public synchronized long getBytes() {
+
+    return this.bytes;
+  }
+
+  /**
+   * @return the number of cached responses.
+   */
+  public synchronized int size() {
+
+    return this.entries.size();
+  }
+
+  /**
+   * @return the total number of {@link #get(Object) cache hits}.
+   */
+  public synchronized long getHits() {
+
+    return this.hits;
+  }
+
+  /**
+   * @return the total number of {@link #get(Object) cache misses}.
+   */
+  public synchronized long getMisses() {
+
+    return this.misses;
+  }
+
+  /**
+   * @return the total number of responses evicted to stay within the byte limit.
+   */
+  public synchronized long getEvictions() {
+
+    return this.evictions;
+  }
+
+}
@@ -0,0 +1,44 @@
+package org.example.app.general.common.cbor;
+
+/**
+ * Constants of the Concise Binary Object Representation (CBOR, RFC 8949).
+ */
+public final class Cbor {
+
+  /** The media type of CBOR. */
+  public static final String MEDIA_TYPE = "application/cbor";
+
+  static final int MAJOR_UNSIGNED = 0;
+
+  static final int MAJOR_NEGATIVE = 1;
+
+  static final int MAJOR_BYTES = 2;
+
+  static final int MAJOR_TEXT = 3;
+
+  static final int MAJOR_ARRAY = 4;
+
+  static final int MAJOR_MAP = 5;
+
+  static final int MAJOR_TAG = 6;
+
+  static final int MAJOR_SIMPLE = 7;
+
+  static final int FALSE = 0xf4;
+
+  static final int TRUE = 0xf5;
+
+  static final int NULL = 0xf6;
+
+  static final int UNDEFINED = 0xf7;
+
+  static final int BREAK = 0xff;
+
+  /** Additional information for indefinite length. */
+  static final int INDEFINITE = 31;
+
+  private Cbor() {
+
+  }
+
+}
@@ -0,0 +1,34 @@
+package org.example.app.general.common.cbor;
+
+import java.io.IOException;
+
+/**
+ * Codec to write and read objects of a specific {@link #getType() type} as CBOR. Implementations are written
+ * explicitly per transfer object (instead of generic data binding via reflection) so they are fast and work in a
+ * native image without any reflection configuration. Provide a CDI bean implementing this interface to make the type
+ * available for {@value Cbor#MEDIA_TYPE} in the REST services.
+ *
+ * @param <T> type of the objects to write and read.
+ */
+public interface CborCodec<T> {
+
+  /**
+   * @return the exact {@link Class} of the objects handled by this codec.
+   */
+  Class<T> getType();
+
+  /**
+   * @param value the object to write.
+   * @param writer the {@link CborWriter} to write to.
+   * @throws IOException on I/O error.
+   */
+  void write(T value, CborWriter writer) throws IOException;
+
+  /**
+   * @param reader the {@link CborReader} to read from.
+   * @return the object read.
+   * @throws IOException on I/O error or malformed data.
+   */
+  T read(CborReader reader) throws IOException;
+
+}
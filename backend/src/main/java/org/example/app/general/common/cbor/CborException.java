@@ -0,0 +1,22 @@
+package org.example.app.general.common.cbor;
+
+import java.io.IOException;
+
+/**
+ * {@link IOException} for malformed or unexpected CBOR data.
+ */
+public class CborException extends IOException {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The constructor.
+   *
+   * @param message the error message.
+   */
+  public CborException(String message) {
+
+    super(message);
+  }
+
+}
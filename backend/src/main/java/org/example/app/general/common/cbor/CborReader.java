@@ -0,0 +1,348 @@
+package org.example.app.general.common.cbor;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal streaming reader for the Concise Binary Object Representation (CBOR, RFC 8949) as counterpart of
+ * {@link CborWriter}. Maps and arrays may have definite or indefinite length. Unknown values can be
+ * {@link #skip() skipped} so readers stay compatible with additional properties.<br>
+ * <b>ATTENTION:</b> This class is not thread-safe.
+ */
+public class CborReader {
+
+  private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+  /** Maximum length of a text string to protect against malicious input. */
+  private static final int MAX_STRING_LENGTH = 16 * 1024 * 1024;
+
+  /** Maximum nesting depth to protect against malicious input. */
+  private static final int MAX_DEPTH = 64;
+
+  private final InputStream in;
+
+  private final byte[] buffer;
+
+  private int position;
+
+  private int limit;
+
+  /**
+   * The constructor.
+   *
+   * @param in the {@link InputStream} to read from.
+   */
+  public CborReader(InputStream in) {
+
+    super();
+    this.in = in;
+    this.buffer = new byte[DEFAULT_BUFFER_SIZE];
+  }
+
+  /**
+   * @return the number of key/value pairs of the map or {@code -1} for indefinite length.
+   * @throws IOException on I/O error or if the next value is no map.
+   * @see #hasNext(int, int)
+   */
+  public int readMapStart() throws IOException {
+
+    return readContainerStart(Cbor.MAJOR_MAP);
+  }
+
+  /**
+   * @return the number of elements of the array or {@code -1} for indefinite length.
+   * @throws IOException on I/O error or if the next value is no array.
+   * @see #hasNext(int, int)
+   */
+  public int readArrayStart() throws IOException {
+
+    return readContainerStart(Cbor.MAJOR_ARRAY);
+  }
+
+  /**
+   * @param size the size returned by {@link #readMapStart()} or {@link #readArrayStart()}.
+   * @param index the number of entries read so far.
+   * @return {@code true} if another entry follows, {@code false} if the map or array is complete.
+   * @throws IOException on I/O error.
+   */
+  public boolean hasNext(int size, int index) throws IOException {
+
+    if (size >= 0) {
+      return index < size;
+    }
+    if (peek() == Cbor.BREAK) {
+      this.position++;
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * @return the text string or {@code null}.
+   * @throws IOException on I/O error or if the next value is no text string.
+   */
+  public String readString() throws IOException {
+
+    if (readNull()) {
+      return null;
+    }
+    int head = readByte();
+    if ((head >>> 5) != Cbor.MAJOR_TEXT) {
+      throw unexpected("text string", head);
+    }
+    if ((head & 0x1f) == Cbor.INDEFINITE) {
+      StringBuilder sb = new StringBuilder();
+      while (peek() != Cbor.BREAK) {
+        sb.append(readString());
+      }
+      this.position++;
+      return sb.toString();
+    }
+    long length = readArgument(head);
+    if ((length < 0) || (length > MAX_STRING_LENGTH)) {
+      throw new CborException("Text string of " + length + " bytes exceeds the limit.");
+    }
+    int count = (int) length;
+    if (count <= this.limit - this.position) {
+      String value = new String(this.buffer, this.position, count, StandardCharsets.UTF_8);
+      this.position += count;
+      return value;
+    }
+    byte[] bytes = new byte[count];
+    int offset = 0;
+    while (offset < count) {
+      if (this.position == this.limit) {
+        fill();
+      }
+      int chunk = Math.min(count - offset, this.limit - this.position);
+      System.arraycopy(this.buffer, this.position, bytes, offset, chunk);
+      this.position += chunk;
+      offset += chunk;
+    }
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * @return the integer.
+   * @throws IOException on I/O error or if the next value is no integer.
+   */
+  public long readLong() throws IOException {
+
+    int head = readByte();
+    int major = head >>> 5;
+    if ((major != Cbor.MAJOR_UNSIGNED) && (major != Cbor.MAJOR_NEGATIVE)) {
+      throw unexpected("integer", head);
+    }
+    long value = readArgument(head);
+    if (value < 0) {
+      throw new CborException("Integer exceeds the range of long.");
+    }
+    return (major == Cbor.MAJOR_UNSIGNED) ? value : -1 - value;
+  }
+
+  /**
+   * @return the integer or {@code null}.
+   * @throws IOException on I/O error or if the next value is neither integer nor {@code null}.
+   */
+  public Long readNullableLong() throws IOException {
+
+    if (readNull()) {
+      return null;
+    }
+    return Long.valueOf(readLong());
+  }
+
+  /**
+   * @return the integer or {@code null}.
+   * @throws IOException on I/O error or if the next value is neither integer in the range of {@code int} nor
+   *         {@code null}.
+   */
+  public Integer readNullableInteger() throws IOException {
+
+    if (readNull()) {
+      return null;
+    }
+    long value = readLong();
+    if ((value < Integer.MIN_VALUE) || (value > Integer.MAX_VALUE)) {
+      throw new CborException("Integer " + value + " exceeds the range of int.");
+    }
+    return Integer.valueOf((int) value);
+  }
+
+  /**
+   * @return the boolean.
+   * @throws IOException on I/O error or if the next value is no boolean.
+   */
+  public boolean readBoolean() throws IOException {
+
+    int head = readByte();
+    if (head == Cbor.TRUE) {
+      return true;
+    } else if (head == Cbor.FALSE) {
+      return false;
+    }
+    throw unexpected("boolean", head);
+  }
+
+  /**
+   * @return {@code true} if the next value is {@code null} (or {@code undefined}) and has been consumed, {@code false}
+   *         otherwise.
+   * @throws IOException on I/O error.
+   */
+  public boolean readNull() throws IOException {
+
+    int head = peek();
+    if ((head == Cbor.NULL) || (head == Cbor.UNDEFINED)) {
+      this.position++;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Skips the next value including all nested values.
+   *
+   * @throws IOException on I/O error or malformed data.
+   */
+  public void skip() throws IOException {
+
+    skip(0);
+  }
+
+  private void skip(int depth) throws IOException {
+
+    if (depth > MAX_DEPTH) {
+      throw new CborException("Nesting depth exceeds " + MAX_DEPTH + ".");
+    }
+    int head = readByte();
+    int major = head >>> 5;
+    boolean indefinite = (head & 0x1f) == Cbor.INDEFINITE;
+    switch (major) {
+      case Cbor.MAJOR_UNSIGNED, Cbor.MAJOR_NEGATIVE -> readArgument(head);
+      case Cbor.MAJOR_BYTES, Cbor.MAJOR_TEXT -> {
+        if (indefinite) {
+          while (peek() != Cbor.BREAK) {
+            skip(depth + 1);
+          }
+          this.position++;
+        } else {
+          skipBytes(readArgument(head));
+        }
+      }
+      case Cbor.MAJOR_ARRAY, Cbor.MAJOR_MAP -> {
+        int itemsPerEntry = (major == Cbor.MAJOR_MAP) ? 2 : 1;
+        if (indefinite) {
+          while (peek() != Cbor.BREAK) {
+            for (int i = 0; i < itemsPerEntry; i++) {
+              skip(depth + 1);
+            }
+          }
+          this.position++;
+        } else {
+          long size = readArgument(head);
+          for (long i = 0; i < size * itemsPerEntry; i++) {
+            skip(depth + 1);
+          }
+        }
+      }
+      case Cbor.MAJOR_TAG -> {
+        readArgument(head);
+        skip(depth + 1);
+      }
+      default -> {
+        int info = head & 0x1f;
+        if ((info >= 24) && (info <= 27)) {
+          skipBytes(1L << (info - 24));
+        } else if (info > 27) {
+          throw unexpected("simple value", head);
+        }
+      }
+    }
+  }
+
+  private int readContainerStart(int major) throws IOException {
+
+    int head = readByte();
+    if ((head >>> 5) != major) {
+      throw unexpected((major == Cbor.MAJOR_MAP) ? "map" : "array", head);
+    }
+    if ((head & 0x1f) == Cbor.INDEFINITE) {
+      return -1;
+    }
+    long size = readArgument(head);
+    if ((size < 0) || (size > Integer.MAX_VALUE)) {
+      throw new CborException("Container with " + size + " entries exceeds the limit.");
+    }
+    return (int) size;
+  }
+
+  /**
+   * @return the argument of the given head as unsigned value (negative if it exceeds {@link Long#MAX_VALUE}).
+   */
+  private long readArgument(int head) throws IOException {
+
+    int info = head & 0x1f;
+    if (info < 24) {
+      return info;
+    }
+    int count = switch (info) {
+      case 24 -> 1;
+      case 25 -> 2;
+      case 26 -> 4;
+      case 27 -> 8;
+      default -> throw unexpected("definite length", head);
+    };
+    long value = 0;
+    for (int i = 0; i < count; i++) {
+      value = (value << 8) | readByte();
+    }
+    return value;
+  }
+
+  private void skipBytes(long count) throws IOException {
+
+    long remaining = count;
+    while (remaining > 0) {
+      if (this.position == this.limit) {
+        fill();
+      }
+      int chunk = (int) Math.min(remaining, this.limit - this.position);
+      this.position += chunk;
+      remaining -= chunk;
+    }
+  }
+
+  private int peek() throws IOException {
+
+    if (this.position == this.limit) {
+      fill();
+    }
+    return this.buffer[this.position] & 0xff;
+  }
+
+  private int readByte() throws IOException {
+
+    if (this.position == this.limit) {
+      fill();
+    }
+    return this.buffer[this.position++] & 0xff;
+  }
+
+  private void fill() throws IOException {
+
+    int count = this.in.read(this.buffer, 0, this.buffer.length);
+    if (count <= 0) {
+      throw new EOFException("Unexpected end of CBOR data.");
+    }
+    this.position = 0;
+    this.limit = count;
+  }
+
+  private static CborException unexpected(String expected, int head) {
+
+    return new CborException("Expected " + expected + " but found CBOR initial byte 0x" + Integer.toHexString(head));
+  }
+
+}
@@ -0,0 +1,213 @@
+package org.example.app.general.common.cbor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal streaming writer for the Concise Binary Object Representation (CBOR, RFC 8949) covering the data model of
+ * our transfer objects: maps, arrays, text strings, integers, booleans and {@code null}. Only definite lengths are
+ * written so the output is in preferred serialization. The output is buffered - call {@link #flush()} when done.<br>
+ * <b>ATTENTION:</b> This class is not thread-safe.
+ */
+public class CborWriter {
+
+  private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+  private final OutputStream out;
+
+  private final byte[] buffer;
+
+  private int position;
+
+  /**
+   * The constructor.
+   *
+   * @param out the {@link OutputStream} to write to.
+   */
+  public CborWriter(OutputStream out) {
+
+    super();
+    this.out = out;
+    this.buffer = new byte[DEFAULT_BUFFER_SIZE];
+  }
+
+  /**
+   * @param size the number of key/value pairs that will follow.
+   * @throws IOException on I/O error.
+   */
+  public void writeMapStart(int size) throws IOException {
+
+    writeHead(Cbor.MAJOR_MAP, size);
+  }
+
+  /**
+   * @param size the number of elements that will follow.
+   * @throws IOException on I/O error.
+   */
+  public void writeArrayStart(int size) throws IOException {
+
+    writeHead(Cbor.MAJOR_ARRAY, size);
+  }
+
+  /**
+   * @param value the text string to write. May be {@code null}.
+   * @throws IOException on I/O error.
+   */
+  public void writeString(String value) throws IOException {
+
+    if (value == null) {
+      writeNull();
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    writeHead(Cbor.MAJOR_TEXT, bytes.length);
+    if (bytes.length > this.buffer.length - this.position) {
+      flushBuffer();
+      if (bytes.length > this.buffer.length) {
+        this.out.write(bytes);
+        return;
+      }
+    }
+    System.arraycopy(bytes, 0, this.buffer, this.position, bytes.length);
+    this.position += bytes.length;
+  }
+
+  /**
+   * Writes a value previously encoded via {@link #encode(String)}. This avoids to encode constant strings such as the
+   * keys of maps again and again.
+   *
+   * @param encoded the encoded CBOR value.
+   * @throws IOException on I/O error.
+   */
+  public void writeEncoded(byte[] encoded) throws IOException {
+
+    if (encoded.length > this.buffer.length - this.position) {
+      flushBuffer();
+    }
+    System.arraycopy(encoded, 0, this.buffer, this.position, encoded.length);
+    this.position += encoded.length;
+  }
+
+  /**
+   * @param value the integer to write.
+   * @throws IOException on I/O error.
+   */
+  public void writeLong(long value) throws IOException {
+
+    if (value >= 0) {
+      writeHead(Cbor.MAJOR_UNSIGNED, value);
+    } else {
+      writeHead(Cbor.MAJOR_NEGATIVE, -1 - value);
+    }
+  }
+
+  /**
+   * @param value the integer to write. May be {@code null}.
+   * @throws IOException on I/O error.
+   */
+  public void writeLong(Number value) throws IOException {
+
+    if (value == null) {
+      writeNull();
+    } else {
+      writeLong(value.longValue());
+    }
+  }
+
+  /**
+   * @param value the boolean to write.
+   * @throws IOException on I/O error.
+   */
+  public void writeBoolean(boolean value) throws IOException {
+
+    ensure(1);
+    this.buffer[this.position++] = (byte) (value ? Cbor.TRUE : Cbor.FALSE);
+  }
+
+  /**
+   * @throws IOException on I/O error.
+   */
+  public void writeNull() throws IOException {
+
+    ensure(1);
+    this.buffer[this.position++] = (byte) Cbor.NULL;
+  }
+
+  /**
+   * Writes the buffered data to the underlying {@link OutputStream} and flushes it.
+   *
+   * @throws IOException on I/O error.
+   */
+  public void flush() throws IOException {
+
+    flushBuffer();
+    this.out.flush();
+  }
+
+  /**
+   * @param text the constant text string to encode.
+   * @return the encoded CBOR text string for {@link #writeEncoded(byte[])}.
+   */
+  public static byte[] encode(String text) {
+
+    byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+    if (bytes.length > 0xff) {
+      throw new IllegalArgumentException("Constant text string too long: " + text);
+    }
+    int headLength = (bytes.length < 24) ? 1 : 2;
+    byte[] encoded = new byte[headLength + bytes.length];
+    if (headLength == 1) {
+      encoded[0] = (byte) ((Cbor.MAJOR_TEXT << 5) | bytes.length);
+    } else {
+      encoded[0] = (byte) ((Cbor.MAJOR_TEXT << 5) | 24);
+      encoded[1] = (byte) bytes.length;
+    }
+    System.arraycopy(bytes, 0, encoded, headLength, bytes.length);
+    return encoded;
+  }
+
+  private void writeHead(int major, long value) throws IOException {
+
+    ensure(9);
+    int type = major << 5;
+    if (value < 24) {
+      this.buffer[this.position++] = (byte) (type | (int) value);
+    } else if (value < 0x100) {
+      this.buffer[this.position++] = (byte) (type | 24);
+      this.buffer[this.position++] = (byte) value;
+    } else if (value < 0x10000) {
+      this.buffer[this.position++] = (byte) (type | 25);
+      writeBytes(value, 2);
+    } else if (value < 0x100000000L) {
+      this.buffer[this.position++] = (byte) (type | 26);
+      writeBytes(value, 4);
+    } else {
+      this.buffer[this.position++] = (byte) (type | 27);
+      writeBytes(value, 8);
+    }
+  }
+
+  private void writeBytes(long value, int count) {
+
+    for (int shift = (count - 1) * 8; shift >= 0; shift -= 8) {
+      this.buffer[this.position++] = (byte) (value >>> shift);
+    }
+  }
+
+  private void ensure(int count) throws IOException {
+
+    if (this.position + count > this.buffer.length) {
+      flushBuffer();
+    }
+  }
+
+  private void flushBuffer() throws IOException {
+
+    if (this.position > 0) {
+      this.out.write(this.buffer, 0, this.position);
+      this.position = 0;
+    }
+  }
+
+}
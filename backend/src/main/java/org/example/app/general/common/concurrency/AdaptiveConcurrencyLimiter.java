@@ -0,0 +1,209 @@
+package org.example.app.general.common.concurrency;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adaptive concurrency limiter based on the gradient of the latency (similar to Netflix' "Gradient2"). The sustainable
+ * concurrency is learned from the observed round trip times (RTT): the RTT averaged over a short window is compared
+ * with a long-term exponential average. While the short RTT stays within {@code tolerance} of the long-term RTT the
+ * limit grows by a queue allowance of {@code sqrt(limit)}, if it rises (e.g. because requests pile up on the
+ * connection pool) the limit shrinks by the gradient. Windows with dropped requests (server errors) decrease the limit
+ * multiplicatively. Each {@link RequestPriority} may only use its configured share of the limit.<br>
+ * This class is thread-safe.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+  private static final double BACKOFF_RATIO = 0.9;
+
+  private final int minLimit;
+
+  private final int maxLimit;
+
+  private final double smoothing;
+
+  private final double tolerance;
+
+  private final long windowNanos;
+
+  private final int windowMinSamples;
+
+  private final double longRttFactor;
+
+  private final Map<RequestPriority, Double> shares;
+
+  private final Map<RequestPriority, AtomicLong> rejected;
+
+  private final AtomicLong accepted;
+
+  private double estimatedLimit;
+
+  private volatile int limit;
+
+  private int inFlight;
+
+  private double longRttNanos;
+
+  private long windowStart;
+
+  private long windowRttSum;
+
+  private int windowSamples;
+
+  private int windowMaxInFlight;
+
+  private boolean windowDropped;
+
+  /**
+   * The constructor.
+   *
+   * @param initialLimit the initial {@link #getLimit() limit}.
+   * @param minLimit the minimum {@link #getLimit() limit}.
+   * @param maxLimit the maximum {@link #getLimit() limit}.
+   * @param smoothing the factor ({@code 0 < smoothing <= 1}) for the influence of a new limit estimate.
+   * @param tolerance the tolerated ratio of the short RTT to the long-term RTT before the limit is reduced.
+   * @param windowNanos the minimum duration of a sample window in nanoseconds.
+   * @param windowMinSamples the minimum number of samples of a window.
+   * @param longWindow the number of windows of the long-term exponential RTT average.
+   * @param shares the share of the limit per {@link RequestPriority}. Missing priorities use the entire limit.
+   */
+  public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double smoothing, double tolerance,
+      long windowNanos, int windowMinSamples, int longWindow, Map<RequestPriority, Double> shares) {
+
+    super();
+    if ((minLimit < 1) || (maxLimit < minLimit) || (initialLimit < minLimit) || (initialLimit > maxLimit)) {
+      throw new IllegalArgumentException(
+          "Invalid limits: initial=" + initialLimit + ", min=" + minLimit + ", max=" + maxLimit);
+    }
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.smoothing = smoothing;
+    this.tolerance = tolerance;
+    this.windowNanos = windowNanos;
+    this.windowMinSamples = windowMinSamples;
+    this.longRttFactor = 2.0 / (longWindow + 1);
+    this.shares = new EnumMap<>(RequestPriority.class);
+    this.shares.putAll(shares);
+    this.rejected = new EnumMap<>(RequestPriority.class);
+    for (RequestPriority priority : RequestPriority.values()) {
+      this.rejected.put(priority, new AtomicLong());
+    }
+    this.accepted = new AtomicLong();
+    this.estimatedLimit = initialLimit;
+    this.limit = initialLimit;
+  }
+
+  /**
+   * @return the current concurrency limit.
+   */
+  public int getLimit() {
+
+    return this.limit;
+  }
+
+  /**
+   * @return the number of requests currently in flight.
+   */
+  public synchronized int getInFlight() {
+
+    return this.inFlight;
+  }
+
+  /**
+   * @return the long-term average round trip time in nanoseconds or {@code 0} if not yet measured.
+   */
+  public synchronized long getLongRttNanos() {
+
+    return (long) this.longRttNanos;
+  }
+
+  /**
+   * @return the total number of accepted requests.
+   */
+  public long getAccepted() {
+
+    return this.accepted.get();
+  }
+
+  /**
+   * @param priority the {@link RequestPriority}.
+   * @return the total number of rejected requests with the given {@link RequestPriority}.
+   */
+  public long getRejected(RequestPriority priority) {
+
+    return this.rejected.get(priority).get();
+  }
+
+  /**
+   * @param priority the {@link RequestPriority} of the request.
+   * @return {@code true} if the request may proceed and {@link #release(long, boolean)} has to be called when it is
+   *         done, {@code false} if it has to be rejected.
+   */
+  public boolean tryAcquire(RequestPriority priority) {
+
+    double share = this.shares.getOrDefault(priority, Double.valueOf(1.0)).doubleValue();
+    synchronized (this) {
+      if (this.inFlight >= Math.max(1, (int) (this.limit * share))) {
+        this.rejected.get(priority).incrementAndGet();
+        return false;
+      }
+      this.inFlight++;
+      if (this.inFlight > this.windowMaxInFlight) {
+        this.windowMaxInFlight = this.inFlight;
+      }
+    }
+    this.accepted.incrementAndGet();
+    return true;
+  }
+
+  /**
+   * @param rttNanos the round trip time of the request in nanoseconds.
+   * @param dropped - {@code true} if the request failed due to overload (e.g. timeout), {@code false} otherwise.
+   */
+  public synchronized void release(long rttNanos, boolean dropped) {
+
+    this.inFlight--;
+    this.windowRttSum += rttNanos;
+    this.windowSamples++;
+    this.windowDropped |= dropped;
+    long now = System.nanoTime();
+    if (this.windowStart == 0) {
+      this.windowStart = now;
+    } else if (((now - this.windowStart) >= this.windowNanos) && (this.windowSamples >= this.windowMinSamples)) {
+      update((double) this.windowRttSum / this.windowSamples);
+      this.windowStart = now;
+      this.windowRttSum = 0;
+      this.windowSamples = 0;
+      this.windowMaxInFlight = this.inFlight;
+      this.windowDropped = false;
+    }
+  }
+
+  private void update(double shortRtt) {
+
+    if (this.longRttNanos == 0) {
+      this.longRttNanos = shortRtt;
+    } else {
+      this.longRttNanos = this.longRttNanos + (shortRtt - this.longRttNanos) * this.longRttFactor;
+    }
+    // recover quickly from a steady state of high latency that would otherwise keep the limit down
+    if ((this.longRttNanos / shortRtt) > 2) {
+      this.longRttNanos = this.longRttNanos * 0.95;
+    }
+    double newLimit;
+    if (this.windowDropped) {
+      newLimit = this.estimatedLimit * BACKOFF_RATIO;
+    } else if (this.windowMaxInFlight < (this.estimatedLimit / 2)) {
+      // application limited - the latency tells nothing about the limit
+      return;
+    } else {
+      double gradient = Math.max(0.5, Math.min(1.0, this.tolerance * this.longRttNanos / shortRtt));
+      newLimit = this.estimatedLimit * gradient + Math.sqrt(this.estimatedLimit);
+      newLimit = this.estimatedLimit * (1 - this.smoothing) + newLimit * this.smoothing;
+    }
+    this.estimatedLimit = Math.max(this.minLimit, Math.min(this.maxLimit, newLimit));
+    this.limit = (int) this.estimatedLimit;
+  }
+
+}
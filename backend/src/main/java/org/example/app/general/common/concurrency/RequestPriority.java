@@ -0,0 +1,18 @@
+package org.example.app.general.common.concurrency;
+
+/**
+ * Priority of a request for the {@link AdaptiveConcurrencyLimiter}. Lower priorities may only use a share of the
+ * current limit so they are shed first when the database slows down.
+ */
+public enum RequestPriority {
+
+  /** Requests that change data. They may use the entire limit. */
+  WRITE,
+
+  /** Interactive reads of a user waiting for the response. */
+  INTERACTIVE,
+
+  /** Bulk reads such as exports that can be retried later. */
+  BULK
+
+}
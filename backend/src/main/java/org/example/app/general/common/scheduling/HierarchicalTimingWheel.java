@@ -0,0 +1,269 @@
+package org.example.app.general.common.scheduling;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel (as described by Varghese and Lauck) to schedule a large number of timers identified by a
+ * key. The wheel has {@link #getLevels() levels} of {@code 2^bits} slots each. Level {@code 0} has a granularity of one
+ * tick, each further level is coarser by the factor {@code 2^bits}. Timers in higher levels are cascaded down when the
+ * lower level wraps around. Scheduling, rescheduling and cancelling a timer is {@code O(1)} and advancing the wheel by
+ * one tick is {@code O(1)} plus the work for the timers that expire or get cascaded - independent of the total number
+ * of timers.<br>
+ * <b>ATTENTION:</b> This class is not thread-safe. Callers have to synchronize access.
+ *
+ * @param <K> type of the key identifying a timer.
+ */
+public class HierarchicalTimingWheel<K> {
+
+  private final int bits;
+
+  private final int mask;
+
+  private final int levels;
+
+  private final long maxDelta;
+
+  private final Node<K>[][] slots;
+
+  private final Map<K, Node<K>> nodes;
+
+  private long currentTick;
+
+  /**
+   * The constructor.
+   *
+   * @param bits the number of bits per level so each level has {@code 2^bits} slots.
+   * @param levels the number of levels.
+   * @param currentTick the initial {@link #getCurrentTick() current tick}.
+   */
+  @SuppressWarnings("unchecked")
+  public HierarchicalTimingWheel(int bits, int levels, long currentTick) {
+
+    super();
+    if ((bits < 1) || (levels < 1) || ((bits * levels) > 62)) {
+      throw new IllegalArgumentException("Invalid wheel with " + levels + " levels of " + bits + " bits");
+    }
+    this.bits = bits;
+    this.mask = (1 << bits) - 1;
+    this.levels = levels;
+    this.maxDelta = (1L << (bits * levels)) - 1;
+    this.slots = new Node[levels][1 << bits];
+    for (int level = 0; level < levels; level++) {
+      for (int slot = 0; slot <= this.mask; slot++) {
+        this.slots[level][slot] = Node.newSentinel();
+      }
+    }
+    this.nodes = new HashMap<>();
+    this.currentTick = currentTick;
+  }
+
+  /**
+   * @return the number of levels.
+   */
+  public int getLevels() {
+
+    return this.levels;
+  }
+
+  /**
+   * @return the next tick that will be processed by {@link #advanceTo(long, Consumer)}.
+   */
+  public long getCurrentTick() {
+
+    return this.currentTick;
+  }
+
+  /**
+   * @return the number of scheduled timers.
+   */
+  public int size() {
+
+    return this.nodes.size();
+  }
+
+  /**
+   * @param key the key of the timer.
+   * @return {@code true} if a timer with the given {@code key} is scheduled, {@code false} otherwise.
+   */
+  public boolean contains(K key) {
+
+    return this.nodes.containsKey(key);
+  }
+
+  /**
+   * @param key the key of the timer.
+   * @return the tick when the timer with the given {@code key} expires or {@code -1} if not scheduled.
+   */
+  public long getExpirationTick(K key) {
+
+    Node<K> node = this.nodes.get(key);
+    if (node == null) {
+      return -1;
+    }
+    return node.expirationTick;
+  }
+
+  /**
+   * @return an unmodifiable view of the keys of all scheduled timers.
+   */
+  public Set<K> keys() {
+
+    return Collections.unmodifiableSet(this.nodes.keySet());
+  }
+
+  /**
+   * Schedules a timer. An existing timer with the same {@code key} is replaced. If the {@code expirationTick} is
+   * already due it will expire with the next tick.
+   *
+   * @param key the key of the timer.
+   * @param expirationTick the tick when the timer shall expire.
+   */
+  public void schedule(K key, long expirationTick) {
+
+    Node<K> node = this.nodes.get(key);
+    if (node == null) {
+      node = new Node<>(key);
+      this.nodes.put(key, node);
+    } else {
+      node.unlink();
+    }
+    node.expirationTick = expirationTick;
+    place(node);
+  }
+
+  /**
+   * @param key the key of the timer to cancel.
+   * @return {@code true} if the timer has been cancelled, {@code false} if it was not scheduled.
+   */
+  public boolean cancel(K key) {
+
+    Node<K> node = this.nodes.remove(key);
+    if (node == null) {
+      return false;
+    }
+    node.unlink();
+    return true;
+  }
+
+  /**
+   * Advances the wheel processing all ticks up to and including the given {@code tick}.
+   *
+   * @param tick the tick to advance to.
+   * @param expired the {@link Consumer} receiving the keys of the expired timers. The timers are removed before.
+   * @return the number of expired timers.
+   */
+  public int advanceTo(long tick, Consumer<K> expired) {
+
+    int count = 0;
+    while (this.currentTick <= tick) {
+      int index = (int) (this.currentTick & this.mask);
+      if (index == 0) {
+        for (int level = 1; level < this.levels; level++) {
+          int slot = (int) ((this.currentTick >>> (this.bits * level)) & this.mask);
+          cascade(level, slot);
+          if (slot != 0) {
+            break;
+          }
+        }
+      }
+      Node<K> sentinel = this.slots[0][index];
+      while (sentinel.next != sentinel) {
+        Node<K> node = sentinel.next;
+        node.unlink();
+        this.nodes.remove(node.key);
+        expired.accept(node.key);
+        count++;
+      }
+      this.currentTick++;
+    }
+    return count;
+  }
+
+  private void cascade(int level, int slot) {
+
+    Node<K> sentinel = this.slots[level][slot];
+    if (sentinel.next == sentinel) {
+      return;
+    }
+    List<Node<K>> cascaded = new ArrayList<>();
+    while (sentinel.next != sentinel) {
+      Node<K> node = sentinel.next;
+      node.unlink();
+      cascaded.add(node);
+    }
+    for (Node<K> node : cascaded) {
+      place(node);
+    }
+  }
+
+  private void place(Node<K> node) {
+
+    long delta = node.expirationTick - this.currentTick;
+    long expiration = node.expirationTick;
+    if (delta < 0) {
+      expiration = this.currentTick;
+      delta = 0;
+    } else if (delta > this.maxDelta) {
+      // beyond the horizon of the wheel - park in the last level and re-place when cascaded
+      expiration = this.currentTick + this.maxDelta;
+      delta = this.maxDelta;
+    }
+    int level = 0;
+    long span = 1L << this.bits;
+    while ((delta >= span) && (level < (this.levels - 1))) {
+      level++;
+      span = span << this.bits;
+    }
+    int slot = (int) ((expiration >>> (this.bits * level)) & this.mask);
+    this.slots[level][slot].append(node);
+  }
+
+  private static final class Node<K> {
+
+    private final K key;
+
+    private long expirationTick;
+
+    private Node<K> prev;
+
+    private Node<K> next;
+
+    private Node(K key) {
+
+      this.key = key;
+    }
+
+    private static <K> Node<K> newSentinel() {
+
+      Node<K> sentinel = new Node<>(null);
+      sentinel.prev = sentinel;
+      sentinel.next = sentinel;
+      return sentinel;
+    }
+
+    private void append(Node<K> node) {
+
+      node.prev = this.prev;
+      node.next = this;
+      this.prev.next = node;
+      this.prev = node;
+    }
+
+    private void unlink() {
+
+      if (this.next != null) {
+        this.prev.next = this.next;
+        this.next.prev = this.prev;
+        this.prev = null;
+        this.next = null;
+      }
+    }
+  }
+
+}
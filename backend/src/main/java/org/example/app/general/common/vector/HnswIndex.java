@@ -0,0 +1,1128 @@
+package org.example.app.general.common.vector;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Approximate nearest neighbor index for the cosine similarity of vectors identified by {@code long} IDs based on a
+ * hierarchical navigable small world graph (HNSW, see Malkov and Yashunin). The index lives off-heap in memory-mapped
+ * files so it neither burdens the garbage collector nor has to be rebuilt after a restart:
+ * <ul>
+ * <li>{@code <file>} holds a header and one fixed-size record per node with its ID, a caller-defined checksum, its
+ * normalized vector quantized to one signed byte per dimension and its neighbors on the lowest layer.</li>
+ * <li>{@code <file>.upper} holds the neighbors of the few nodes that also exist on upper layers.</li>
+ * </ul>
+ * Both files are mapped in segments so they grow without remapping and beyond 2 GiB. A vector that is
+ * {@link #remove(long) removed} or replaced stays in the graph as deleted node for navigation and is skipped in results
+ * until the index is {@link #compact(Path) compacted}. Searches run concurrently while modifications are serialized.
+ */
+public class HnswIndex implements Closeable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(HnswIndex.class);
+
+  private static final int MAGIC = 0x484E5357;
+
+  private static final int FORMAT_VERSION = 1;
+
+  private static final int HEADER_SIZE = 64;
+
+  private static final int H_MAGIC = 0;
+
+  private static final int H_FORMAT_VERSION = 4;
+
+  private static final int H_DIMENSION = 8;
+
+  private static final int H_M = 12;
+
+  private static final int H_COUNT = 16;
+
+  private static final int H_DELETED = 20;
+
+  private static final int H_ENTRY_POINT = 24;
+
+  private static final int H_MAX_LEVEL = 28;
+
+  private static final int H_UPPER_SIZE = 32;
+
+  private static final int H_FINGERPRINT = 40;
+
+  private static final int H_CLEAN = 48;
+
+  private static final int R_ID = 0;
+
+  private static final int R_CHECKSUM = 8;
+
+  private static final int R_FLAGS = 12;
+
+  private static final int R_UPPER = 16;
+
+  private static final int R_SCALE = 24;
+
+  private static final int R_COUNT = 28;
+
+  private static final int R_NEIGHBORS = 32;
+
+  private static final int DELETED = 0x100;
+
+  private static final int MAX_LEVEL = 16;
+
+  private static final int NODE_SHIFT = 14;
+
+  private static final int NODES_PER_SEGMENT = 1 << NODE_SHIFT;
+
+  private static final int UPPER_SHIFT = 20;
+
+  private static final int INTS_PER_UPPER_SEGMENT = 1 << UPPER_SHIFT;
+
+  private static final ThreadLocal<Scratch> SCRATCH = new ThreadLocal<>();
+
+  private final FileChannel channel;
+
+  private final FileChannel upperChannel;
+
+  private final MappedByteBuffer header;
+
+  private final List<MappedByteBuffer> segments = new ArrayList<>();
+
+  private final List<MappedByteBuffer> upperSegments = new ArrayList<>();
+
+  private final int dimension;
+
+  private final int m;
+
+  private final int maxNeighbors0;
+
+  private final int efConstruction;
+
+  private final long fingerprint;
+
+  private final int recordSize;
+
+  private final int vectorOffset;
+
+  private final double levelFactor;
+
+  private final SplittableRandom random = new SplittableRandom(42);
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private final LongIntMap nodes = new LongIntMap();
+
+  private int count;
+
+  private int deleted;
+
+  private int entryPoint;
+
+  private int maxLevel;
+
+  private long upperSize;
+
+  private HnswIndex(FileChannel channel, FileChannel upperChannel, int dimension, int m, int efConstruction,
+      long fingerprint) throws IOException {
+
+    super();
+    this.channel = channel;
+    this.upperChannel = upperChannel;
+    this.dimension = dimension;
+    this.m = m;
+    this.maxNeighbors0 = 2 * m;
+    this.efConstruction = efConstruction;
+    this.fingerprint = fingerprint;
+    this.vectorOffset = R_NEIGHBORS + 4 * this.maxNeighbors0;
+    this.recordSize = (this.vectorOffset + dimension + 7) & ~7;
+    this.levelFactor = 1 / Math.log(m);
+    this.header = map(channel, 0, HEADER_SIZE);
+  }
+
+  /**
+   * Opens the index from the given file or creates it. An existing index created with different parameters is
+   * discarded.
+   *
+   * @param file the {@link Path} of the index file. Its parent directory is created if it does not exist.
+   * @param dimension the number of dimensions of the vectors.
+   * @param m the maximum number of neighbors per node on the upper layers (twice as many on the lowest layer). Higher
+   *        values improve recall at the cost of memory and insert time (typically 8-48).
+   * @param efConstruction the number of candidates considered when inserting a vector (typically 100-400).
+   * @param fingerprint the fingerprint of the source of the vectors (e.g. a hash of the embedding model) as vectors of
+   *        different sources are not comparable.
+   * @return the opened {@link HnswIndex}.
+   * @throws IOException on error reading or creating the files.
+   */
+  public static HnswIndex open(Path file, int dimension, int m, int efConstruction, long fingerprint)
+      throws IOException {
+
+    if ((dimension <= 0) || (m < 2) || (efConstruction < m)) {
+      throw new IllegalArgumentException("Invalid parameters dimension=" + dimension + ", m=" + m
+          + ", efConstruction=" + efConstruction);
+    }
+    Path parent = file.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE);
+    FileChannel upperChannel = null;
+    try {
+      upperChannel = FileChannel.open(getUpperFile(file), StandardOpenOption.CREATE, StandardOpenOption.READ,
+          StandardOpenOption.WRITE);
+      HnswIndex index = new HnswIndex(channel, upperChannel, dimension, m, efConstruction, fingerprint);
+      index.load(file);
+      return index;
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      if (upperChannel != null) {
+        upperChannel.close();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Moves the files of a {@link #close() closed} index replacing the index at the target (e.g. after
+   * {@link #compact(Path) compaction}). A crash during the move leaves no index at the target rather than a mix of the
+   * files of both indexes.
+   *
+   * @param source the {@link Path} of the index file to move.
+   * @param target the {@link Path} of the index file to replace.
+   * @throws IOException on error moving the files.
+   */
+  public static void move(Path source, Path target) throws IOException {
+
+    Files.deleteIfExists(target);
+    Files.move(getUpperFile(source), getUpperFile(target), StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+    Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private static Path getUpperFile(Path file) {
+
+    return file.resolveSibling(file.getFileName() + ".upper");
+  }
+
+  private void load(Path file) throws IOException {
+
+    boolean compatible = (this.header.getInt(H_MAGIC) == MAGIC)
+        && (this.header.getInt(H_FORMAT_VERSION) == FORMAT_VERSION)
+        && (this.header.getInt(H_DIMENSION) == this.dimension) && (this.header.getInt(H_M) == this.m)
+        && (this.header.getLong(H_FINGERPRINT) == this.fingerprint);
+    if (!compatible) {
+      if (this.header.getInt(H_MAGIC) != 0) {
+        LOG.info("Index {} was created with different parameters - recreating it.", file);
+      }
+      this.channel.truncate(HEADER_SIZE);
+      this.upperChannel.truncate(0);
+      this.header.putInt(H_MAGIC, MAGIC);
+      this.header.putInt(H_FORMAT_VERSION, FORMAT_VERSION);
+      this.header.putInt(H_DIMENSION, this.dimension);
+      this.header.putInt(H_M, this.m);
+      this.header.putLong(H_FINGERPRINT, this.fingerprint);
+      this.entryPoint = -1;
+      writeHeader();
+    } else {
+      if (this.header.getInt(H_CLEAN) == 0) {
+        LOG.warn("Index {} was not closed cleanly - vectors added right before the crash may be incomplete.", file);
+      }
+      this.count = this.header.getInt(H_COUNT);
+      this.deleted = this.header.getInt(H_DELETED);
+      this.entryPoint = this.header.getInt(H_ENTRY_POINT);
+      this.maxLevel = this.header.getInt(H_MAX_LEVEL);
+      this.upperSize = this.header.getLong(H_UPPER_SIZE);
+      ensureNodeCapacity(this.count);
+      ensureUpperCapacity(this.upperSize);
+      for (int node = 0; node < this.count; node++) {
+        if (!isDeleted(node)) {
+          this.nodes.put(segment(node).getLong(offset(node) + R_ID), node);
+        }
+      }
+    }
+    this.header.putInt(H_CLEAN, 0);
+  }
+
+  /**
+   * @return the number of dimensions of the vectors.
+   */
+  public int getDimension() {
+
+    return this.dimension;
+  }
+
+  /**
+   * @return the number of (not deleted) vectors in this index.
+   */
+  public int size() {
+
+    this.lock.readLock().lock();
+    try {
+      return this.nodes.size();
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * @return the number of deleted nodes still kept in the graph until the index is {@link #compact(Path) compacted}.
+   */
+  public int getDeletedCount() {
+
+    this.lock.readLock().lock();
+    try {
+      return this.deleted;
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * @param id the ID of the vector.
+   * @return the checksum given when the vector was {@link #add(long, int, float[]) added} (e.g. the hash of the
+   *         embedded text to detect if it has to be updated) or {@code null} if no vector with this ID exists.
+   */
+  public Integer getChecksum(long id) {
+
+    this.lock.readLock().lock();
+    try {
+      int node = this.nodes.get(id);
+      if (node < 0) {
+        return null;
+      }
+      return Integer.valueOf(segment(node).getInt(offset(node) + R_CHECKSUM));
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * @param id the ID of the vector.
+   * @return the normalized and quantized vector or {@code null} if no vector with this ID exists.
+   */
+  public float[] getVector(long id) {
+
+    this.lock.readLock().lock();
+    try {
+      int node = this.nodes.get(id);
+      if (node < 0) {
+        return null;
+      }
+      return toVector(node);
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * @return the IDs of all (not deleted) vectors in arbitrary order.
+   */
+  public long[] getIds() {
+
+    this.lock.readLock().lock();
+    try {
+      return this.nodes.keys();
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Adds the given vector or replaces the existing vector with the same ID.
+   *
+   * @param id the ID of the vector.
+   * @param checksum the {@link #getChecksum(long) checksum} to store with the vector.
+   * @param vector the vector to add. Does not need to be normalized.
+   */
+  public void add(long id, int checksum, float[] vector) {
+
+    if (vector.length != this.dimension) {
+      throw new IllegalArgumentException(
+          "Expected vector with " + this.dimension + " dimensions but got " + vector.length + ".");
+    }
+    this.lock.writeLock().lock();
+    try {
+      int existing = this.nodes.get(id);
+      if (existing >= 0) {
+        markDeleted(existing);
+      }
+      int node = this.count;
+      int level = Math.min(MAX_LEVEL, (int) (-Math.log(1 - this.random.nextDouble()) * this.levelFactor));
+      writeNode(node, id, checksum, level, vector);
+      this.count++;
+      this.nodes.put(id, node);
+      // count the node before other nodes link to it so a crash never leaves links to unknown nodes
+      writeHeader();
+      link(node, level);
+      writeHeader();
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * @param id the ID of the vector to remove.
+   * @return {@code true} if the vector has been removed, {@code false} if no vector with this ID exists.
+   */
+  public boolean remove(long id) {
+
+    this.lock.writeLock().lock();
+    try {
+      int node = this.nodes.remove(id);
+      if (node < 0) {
+        return false;
+      }
+      markDeleted(node);
+      writeHeader();
+      return true;
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * @param query the query vector. Does not need to be normalized.
+   * @param k the maximum number of hits to return.
+   * @param ef the number of candidates to consider. Higher values improve recall at the cost of latency. Values
+   *        below {@code k} are raised to {@code k}.
+   * @return the {@link List} of up to {@code k} {@link Hit hits} most similar to the query ordered by descending
+   *         {@link Hit#similarity() similarity}.
+   */
+  public List<Hit> search(float[] query, int k, int ef) {
+
+    if (query.length != this.dimension) {
+      throw new IllegalArgumentException(
+          "Expected vector with " + this.dimension + " dimensions but got " + query.length + ".");
+    }
+    float[] q = normalize(query);
+    this.lock.readLock().lock();
+    try {
+      if (this.entryPoint < 0) {
+        return new ArrayList<>();
+      }
+      int node = this.entryPoint;
+      for (int level = this.maxLevel; level > 0; level--) {
+        node = searchGreedy(q, node, level);
+      }
+      // over-fetch to compensate deleted nodes
+      int candidates = Math.max(ef, k) + Math.min(this.deleted, k);
+      long[] found = searchLayer(q, new int[] { node }, candidates, 0);
+      List<Hit> hits = new ArrayList<>(Math.min(k, found.length));
+      for (int i = 0; (i < found.length) && (hits.size() < k); i++) {
+        int hit = node(found[i]);
+        if (!isDeleted(hit)) {
+          // the quantization may slightly exceed the range
+          float similarity = Math.max(-1, Math.min(1, 1 - distance(found[i])));
+          hits.add(new Hit(segment(hit).getLong(offset(hit) + R_ID), similarity));
+        }
+      }
+      return hits;
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Creates a new index with all (not deleted) vectors of this index to reclaim the space of deleted nodes.
+   *
+   * @param file the {@link Path} of the new index file.
+   * @return the new compacted {@link HnswIndex}.
+   * @throws IOException on error creating the new index.
+   */
+  public HnswIndex compact(Path file) throws IOException {
+
+    this.lock.readLock().lock();
+    try {
+      HnswIndex index = HnswIndex.open(file, this.dimension, this.m, this.efConstruction, this.fingerprint);
+      try {
+        for (int node = 0; node < this.count; node++) {
+          if (!isDeleted(node)) {
+            int offset = offset(node);
+            MappedByteBuffer segment = segment(node);
+            index.add(segment.getLong(offset + R_ID), segment.getInt(offset + R_CHECKSUM), toVector(node));
+          }
+        }
+      } catch (RuntimeException e) {
+        index.close();
+        throw e;
+      }
+      return index;
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Writes all changes to the storage device.
+   */
+  public void force() {
+
+    this.lock.readLock().lock();
+    try {
+      for (MappedByteBuffer segment : this.segments) {
+        segment.force();
+      }
+      for (MappedByteBuffer segment : this.upperSegments) {
+        segment.force();
+      }
+      this.header.force();
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+
+    force();
+    this.lock.writeLock().lock();
+    try {
+      this.header.putInt(H_CLEAN, 1);
+      this.header.force();
+      this.channel.close();
+      this.upperChannel.close();
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  private void link(int node, int level) {
+
+    if (this.entryPoint < 0) {
+      this.entryPoint = node;
+      this.maxLevel = level;
+      return;
+    }
+    float[] q = toVector(node);
+    int current = this.entryPoint;
+    for (int l = this.maxLevel; l > level; l--) {
+      current = searchGreedy(q, current, l);
+    }
+    int[] entryPoints = new int[] { current };
+    for (int l = Math.min(level, this.maxLevel); l >= 0; l--) {
+      long[] candidates = searchLayer(q, entryPoints, this.efConstruction, l);
+      int[] neighbors = selectNeighbors(candidates, candidates.length, this.m);
+      setNeighbors(node, l, neighbors, neighbors.length);
+      for (int neighbor : neighbors) {
+        connect(neighbor, node, l);
+      }
+      entryPoints = new int[candidates.length];
+      for (int i = 0; i < candidates.length; i++) {
+        entryPoints[i] = node(candidates[i]);
+      }
+    }
+    if (level > this.maxLevel) {
+      this.entryPoint = node;
+      this.maxLevel = level;
+    }
+  }
+
+  private void connect(int node, int neighbor, int level) {
+
+    int max = (level == 0) ? this.maxNeighbors0 : this.m;
+    int size = getNeighborCount(node, level);
+    if (size < max) {
+      setNeighbor(node, level, size, neighbor);
+      setNeighborCount(node, level, size + 1);
+      return;
+    }
+    // shrink the neighbors to the best ones including the new neighbor
+    long[] candidates = new long[size + 1];
+    for (int i = 0; i < size; i++) {
+      int n = getNeighbor(node, level, i);
+      candidates[i] = pack(distance(node, n), n);
+    }
+    candidates[size] = pack(distance(node, neighbor), neighbor);
+    Arrays.sort(candidates);
+    int[] neighbors = selectNeighbors(candidates, candidates.length, max);
+    setNeighbors(node, level, neighbors, neighbors.length);
+  }
+
+  /**
+   * Heuristic keeping a candidate only if it is closer to the base node than to all neighbors selected before so the
+   * neighbors spread into different directions.
+   *
+   * @param candidates the {@link #pack(float, int) packed} candidates sorted by ascending distance to the base node.
+   */
+  private int[] selectNeighbors(long[] candidates, int size, int max) {
+
+    int[] selected = new int[Math.min(size, max)];
+    int count = 0;
+    for (int i = 0; (i < size) && (count < selected.length); i++) {
+      int candidate = node(candidates[i]);
+      float distance = distance(candidates[i]);
+      boolean good = true;
+      for (int j = 0; j < count; j++) {
+        if (distance(candidate, selected[j]) < distance) {
+          good = false;
+          break;
+        }
+      }
+      if (good) {
+        selected[count++] = candidate;
+      }
+    }
+    return (count == selected.length) ? selected : Arrays.copyOf(selected, count);
+  }
+
+  private int searchGreedy(float[] q, int entry, int level) {
+
+    int current = entry;
+    float currentDistance = distance(q, current);
+    boolean changed = true;
+    while (changed) {
+      changed = false;
+      int node = current;
+      int size = getNeighborCount(node, level);
+      for (int i = 0; i < size; i++) {
+        int neighbor = getNeighbor(node, level, i);
+        float distance = distance(q, neighbor);
+        if (distance < currentDistance) {
+          current = neighbor;
+          currentDistance = distance;
+          changed = true;
+        }
+      }
+    }
+    return current;
+  }
+
+  /**
+   * @return the {@link #pack(float, int) packed} nearest nodes sorted by ascending distance.
+   */
+  private long[] searchLayer(float[] q, int[] entryPoints, int ef, int level) {
+
+    Scratch scratch = scratch();
+    int epoch = scratch.nextEpoch(this.count);
+    LongHeap candidates = scratch.candidates;
+    LongHeap results = scratch.results;
+    candidates.clear();
+    results.clear();
+    for (int entry : entryPoints) {
+      if (scratch.visited[entry] != epoch) {
+        scratch.visited[entry] = epoch;
+        long packed = pack(distance(q, entry), entry);
+        candidates.push(packed);
+        // negated to use the min-heap as max-heap
+        results.push(-packed);
+        if (results.size() > ef) {
+          results.pop();
+        }
+      }
+    }
+    while (candidates.size() > 0) {
+      long candidate = candidates.pop();
+      if ((results.size() >= ef) && (candidate > -results.peek())) {
+        break;
+      }
+      int node = node(candidate);
+      int size = getNeighborCount(node, level);
+      for (int i = 0; i < size; i++) {
+        int neighbor = getNeighbor(node, level, i);
+        if (scratch.visited[neighbor] == epoch) {
+          continue;
+        }
+        scratch.visited[neighbor] = epoch;
+        long packed = pack(distance(q, neighbor), neighbor);
+        if ((results.size() < ef) || (packed < -results.peek())) {
+          candidates.push(packed);
+          results.push(-packed);
+          if (results.size() > ef) {
+            results.pop();
+          }
+        }
+      }
+    }
+    long[] found = new long[results.size()];
+    for (int i = found.length - 1; i >= 0; i--) {
+      found[i] = -results.pop();
+    }
+    return found;
+  }
+
+  private void writeNode(int node, long id, int checksum, int level, float[] vector) {
+
+    ensureNodeCapacity(node + 1);
+    MappedByteBuffer segment = segment(node);
+    int offset = offset(node);
+    segment.putLong(offset + R_ID, id);
+    segment.putInt(offset + R_CHECKSUM, checksum);
+    segment.putInt(offset + R_FLAGS, level);
+    segment.putInt(offset + R_COUNT, 0);
+    long upper = -1;
+    if (level > 0) {
+      int size = level * (1 + this.m);
+      upper = this.upperSize;
+      if ((upper & (INTS_PER_UPPER_SEGMENT - 1)) + size > INTS_PER_UPPER_SEGMENT) {
+        // blocks never span segments
+        upper = ((upper >> UPPER_SHIFT) + 1) << UPPER_SHIFT;
+      }
+      this.upperSize = upper + size;
+      ensureUpperCapacity(this.upperSize);
+      for (int l = 1; l <= level; l++) {
+        putUpperInt(upper + (long) (l - 1) * (1 + this.m), 0);
+      }
+    }
+    segment.putLong(offset + R_UPPER, upper);
+    // quantize the normalized vector to signed bytes with a scale per vector
+    float[] normalized = normalize(vector);
+    float max = 0;
+    for (float value : normalized) {
+      max = Math.max(max, Math.abs(value));
+    }
+    float scale = max / 127;
+    segment.putFloat(offset + R_SCALE, scale);
+    int vectorStart = offset + this.vectorOffset;
+    for (int i = 0; i < this.dimension; i++) {
+      segment.put(vectorStart + i, (scale == 0) ? 0 : (byte) Math.round(normalized[i] / scale));
+    }
+  }
+
+  private void markDeleted(int node) {
+
+    MappedByteBuffer segment = segment(node);
+    int offset = offset(node);
+    segment.putInt(offset + R_FLAGS, segment.getInt(offset + R_FLAGS) | DELETED);
+    this.deleted++;
+  }
+
+  private boolean isDeleted(int node) {
+
+    return (segment(node).getInt(offset(node) + R_FLAGS) & DELETED) != 0;
+  }
+
+  private float[] toVector(int node) {
+
+    MappedByteBuffer segment = segment(node);
+    int offset = offset(node);
+    float scale = segment.getFloat(offset + R_SCALE);
+    float[] vector = new float[this.dimension];
+    int vectorStart = offset + this.vectorOffset;
+    for (int i = 0; i < this.dimension; i++) {
+      vector[i] = segment.get(vectorStart + i) * scale;
+    }
+    return vector;
+  }
+
+  private float distance(float[] q, int node) {
+
+    MappedByteBuffer segment = segment(node);
+    int offset = offset(node);
+    byte[] bytes = scratch().bytes(this.dimension);
+    segment.get(offset + this.vectorOffset, bytes, 0, this.dimension);
+    float dot = 0;
+    for (int i = 0; i < this.dimension; i++) {
+      dot += q[i] * bytes[i];
+    }
+    return 1 - dot * segment.getFloat(offset + R_SCALE);
+  }
+
+  private float distance(int node1, int node2) {
+
+    Scratch scratch = scratch();
+    byte[] bytes1 = scratch.bytes(this.dimension);
+    byte[] bytes2 = scratch.bytes2;
+    MappedByteBuffer segment1 = segment(node1);
+    MappedByteBuffer segment2 = segment(node2);
+    int offset1 = offset(node1);
+    int offset2 = offset(node2);
+    segment1.get(offset1 + this.vectorOffset, bytes1, 0, this.dimension);
+    segment2.get(offset2 + this.vectorOffset, bytes2, 0, this.dimension);
+    int dot = 0;
+    for (int i = 0; i < this.dimension; i++) {
+      dot += bytes1[i] * bytes2[i];
+    }
+    return 1 - dot * segment1.getFloat(offset1 + R_SCALE) * segment2.getFloat(offset2 + R_SCALE);
+  }
+
+  private int getNeighborCount(int node, int level) {
+
+    if (level == 0) {
+      return segment(node).getInt(offset(node) + R_COUNT);
+    }
+    return getUpperInt(upperBlock(node, level));
+  }
+
+  private void setNeighborCount(int node, int level, int size) {
+
+    if (level == 0) {
+      segment(node).putInt(offset(node) + R_COUNT, size);
+    } else {
+      putUpperInt(upperBlock(node, level), size);
+    }
+  }
+
+  private int getNeighbor(int node, int level, int index) {
+
+    if (level == 0) {
+      return segment(node).getInt(offset(node) + R_NEIGHBORS + 4 * index);
+    }
+    return getUpperInt(upperBlock(node, level) + 1 + index);
+  }
+
+  private void setNeighbor(int node, int level, int index, int neighbor) {
+
+    if (level == 0) {
+      segment(node).putInt(offset(node) + R_NEIGHBORS + 4 * index, neighbor);
+    } else {
+      putUpperInt(upperBlock(node, level) + 1 + index, neighbor);
+    }
+  }
+
+  private void setNeighbors(int node, int level, int[] neighbors, int size) {
+
+    for (int i = 0; i < size; i++) {
+      setNeighbor(node, level, i, neighbors[i]);
+    }
+    setNeighborCount(node, level, size);
+  }
+
+  private long upperBlock(int node, int level) {
+
+    return segment(node).getLong(offset(node) + R_UPPER) + (long) (level - 1) * (1 + this.m);
+  }
+
+  private int getUpperInt(long index) {
+
+    return this.upperSegments.get((int) (index >> UPPER_SHIFT))
+        .getInt((int) (index & (INTS_PER_UPPER_SEGMENT - 1)) * 4);
+  }
+
+  private void putUpperInt(long index, int value) {
+
+    this.upperSegments.get((int) (index >> UPPER_SHIFT)).putInt((int) (index & (INTS_PER_UPPER_SEGMENT - 1)) * 4,
+        value);
+  }
+
+  private MappedByteBuffer segment(int node) {
+
+    return this.segments.get(node >>> NODE_SHIFT);
+  }
+
+  private int offset(int node) {
+
+    return (node & (NODES_PER_SEGMENT - 1)) * this.recordSize;
+  }
+
+  private void ensureNodeCapacity(int nodeCount) {
+
+    long segmentSize = (long) NODES_PER_SEGMENT * this.recordSize;
+    while ((long) this.segments.size() * NODES_PER_SEGMENT < nodeCount) {
+      this.segments.add(map(this.channel, HEADER_SIZE + this.segments.size() * segmentSize, segmentSize));
+    }
+  }
+
+  private void ensureUpperCapacity(long size) {
+
+    long segmentSize = 4L * INTS_PER_UPPER_SEGMENT;
+    while ((long) this.upperSegments.size() * INTS_PER_UPPER_SEGMENT < size) {
+      this.upperSegments.add(map(this.upperChannel, this.upperSegments.size() * segmentSize, segmentSize));
+    }
+  }
+
+  private void writeHeader() {
+
+    this.header.putInt(H_COUNT, this.count);
+    this.header.putInt(H_DELETED, this.deleted);
+    this.header.putInt(H_ENTRY_POINT, this.entryPoint);
+    this.header.putInt(H_MAX_LEVEL, this.maxLevel);
+    this.header.putLong(H_UPPER_SIZE, this.upperSize);
+  }
+
+  private Scratch scratch() {
+
+    Scratch scratch = SCRATCH.get();
+    if (scratch == null) {
+      scratch = new Scratch();
+      SCRATCH.set(scratch);
+    }
+    return scratch;
+  }
+
+  private static MappedByteBuffer map(FileChannel channel, long position, long size) {
+
+    try {
+      MappedByteBuffer buffer = channel.map(MapMode.READ_WRITE, position, size);
+      buffer.order(ByteOrder.LITTLE_ENDIAN);
+      return buffer;
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to map " + size + " bytes of index file.", e);
+    }
+  }
+
+  private static float[] normalize(float[] vector) {
+
+    double sum = 0;
+    for (float value : vector) {
+      sum += value * value;
+    }
+    float[] normalized = new float[vector.length];
+    if (sum > 0) {
+      float factor = (float) (1 / Math.sqrt(sum));
+      for (int i = 0; i < vector.length; i++) {
+        normalized[i] = vector[i] * factor;
+      }
+    }
+    return normalized;
+  }
+
+  /**
+   * Packs distance and node into a single {@code long} ordered by distance first so heaps and sorting need no objects.
+   */
+  private static long pack(float distance, int node) {
+
+    int bits = Float.floatToIntBits(distance);
+    // make negative floats sort before positive ones as signed int
+    bits ^= (bits >> 31) & 0x7FFFFFFF;
+    return ((long) bits << 32) | (node & 0xFFFFFFFFL);
+  }
+
+  private static int node(long packed) {
+
+    return (int) packed;
+  }
+
+  private static float distance(long packed) {
+
+    int bits = (int) (packed >> 32);
+    bits ^= (bits >> 31) & 0x7FFFFFFF;
+    return Float.intBitsToFloat(bits);
+  }
+
+  /**
+   * Hit of a {@link HnswIndex#search(float[], int, int) search}.
+   *
+   * @param id the ID of the vector.
+   * @param similarity the cosine similarity of the vector to the query from {@code -1} to {@code 1}.
+   */
+  public record Hit(long id, float similarity) {
+  }
+
+  /** Buffers of a searching thread reused across searches. */
+  private static final class Scratch {
+
+    private final LongHeap candidates = new LongHeap();
+
+    private final LongHeap results = new LongHeap();
+
+    private int[] visited = new int[0];
+
+    private int epoch;
+
+    private byte[] bytes1 = new byte[0];
+
+    private byte[] bytes2 = new byte[0];
+
+    private int nextEpoch(int size) {
+
+      if (this.visited.length < size) {
+        this.visited = new int[Math.max(size, this.visited.length * 2)];
+        this.epoch = 0;
+      }
+      this.epoch++;
+      if (this.epoch == 0) {
+        Arrays.fill(this.visited, 0);
+        this.epoch = 1;
+      }
+      return this.epoch;
+    }
+
+    private byte[] bytes(int size) {
+
+      if (this.bytes1.length < size) {
+        this.bytes1 = new byte[size];
+        this.bytes2 = new byte[size];
+      }
+      return this.bytes1;
+    }
+  }
+
+  /** Binary min-heap of primitive {@code long} values. */
+  private static final class LongHeap {
+
+    private long[] values = new long[64];
+
+    private int size;
+
+    private int size() {
+
+      return this.size;
+    }
+
+    private void clear() {
+
+      this.size = 0;
+    }
+
+    private long peek() {
+
+      return this.values[0];
+    }
+
+    private void push(long value) {
+
+      if (this.size == this.values.length) {
+        this.values = Arrays.copyOf(this.values, this.size * 2);
+      }
+      int i = this.size++;
+      while (i > 0) {
+        int parent = (i - 1) >>> 1;
+        if (this.values[parent] <= value) {
+          break;
+        }
+        this.values[i] = this.values[parent];
+        i = parent;
+      }
+      this.values[i] = value;
+    }
+
+    private long pop() {
+
+      long result = this.values[0];
+      long last = this.values[--this.size];
+      int i = 0;
+      int half = this.size >>> 1;
+      while (i < half) {
+        int child = 2 * i + 1;
+        if ((child + 1 < this.size) && (this.values[child + 1] < this.values[child])) {
+          child++;
+        }
+        if (last <= this.values[child]) {
+          break;
+        }
+        this.values[i] = this.values[child];
+        i = child;
+      }
+      if (this.size > 0) {
+        this.values[i] = last;
+      }
+      return result;
+    }
+  }
+
+  /** Open addressing hash map from {@code long} IDs to {@code int} nodes with linear probing. */
+  private static final class LongIntMap {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys = newKeys(1024);
+
+    private int[] values = new int[1024];
+
+    private int size;
+
+    private int size() {
+
+      return this.size;
+    }
+
+    private int get(long key) {
+
+      int mask = this.keys.length - 1;
+      for (int i = index(key, mask);; i = (i + 1) & mask) {
+        long k = this.keys[i];
+        if (k == key) {
+          return this.values[i];
+        } else if (k == EMPTY) {
+          return -1;
+        }
+      }
+    }
+
+    private void put(long key, int value) {
+
+      if (2 * (this.size + 1) > this.keys.length) {
+        resize();
+      }
+      int mask = this.keys.length - 1;
+      int i = index(key, mask);
+      while ((this.keys[i] != EMPTY) && (this.keys[i] != key)) {
+        i = (i + 1) & mask;
+      }
+      if (this.keys[i] == EMPTY) {
+        this.size++;
+      }
+      this.keys[i] = key;
+      this.values[i] = value;
+    }
+
+    private int remove(long key) {
+
+      int mask = this.keys.length - 1;
+      int i = index(key, mask);
+      while (this.keys[i] != key) {
+        if (this.keys[i] == EMPTY) {
+          return -1;
+        }
+        i = (i + 1) & mask;
+      }
+      int value = this.values[i];
+      this.size--;
+      // shift back following entries of the probe sequence so lookups do not stop at the gap
+      int gap = i;
+      for (int j = (i + 1) & mask; this.keys[j] != EMPTY; j = (j + 1) & mask) {
+        int home = index(this.keys[j], mask);
+        if (((j - home) & mask) >= ((j - gap) & mask)) {
+          this.keys[gap] = this.keys[j];
+          this.values[gap] = this.values[j];
+          gap = j;
+        }
+      }
+      this.keys[gap] = EMPTY;
+      return value;
+    }
+
+    private long[] keys() {
+
+      long[] result = new long[this.size];
+      int count = 0;
+      for (long key : this.keys) {
+        if (key != EMPTY) {
+          result[count++] = key;
+        }
+      }
+      return result;
+    }
+
+    private void resize() {
+
+      long[] oldKeys = this.keys;
+      int[] oldValues = this.values;
+      this.keys = newKeys(oldKeys.length * 2);
+      this.values = new int[oldKeys.length * 2];
+      this.size = 0;
+      for (int i = 0; i < oldKeys.length; i++) {
+        if (oldKeys[i] != EMPTY) {
+          put(oldKeys[i], oldValues[i]);
+        }
+      }
+    }
+
+    private static long[] newKeys(int capacity) {
+
+      long[] keys = new long[capacity];
+      Arrays.fill(keys, EMPTY);
+      return keys;
+    }
+
+    private static int index(long key, int mask) {
+
+      long hash = key * 0x9E3779B97F4A7C15L;
+      return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+  }
+
+}
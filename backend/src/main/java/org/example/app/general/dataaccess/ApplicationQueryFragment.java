@@ -17,6 +17,8 @@ import org.example.app.general.common.search.SortOrderBy;
 import org.example.app.general.common.search.SortOrderDirection;
 import org.example.app.general.common.search.StringSearchOperator;
 import org.example.app.general.common.search.StringSearchOptions;
+import org.hibernate.FlushMode;
+import org.hibernate.jpa.HibernateHints;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -25,9 +27,14 @@ import org.springframework.data.domain.Pageable;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.PriorityQueue;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Abstract base class for query fragment of spring-data repository.
@@ -39,10 +46,17 @@ public abstract class ApplicationQueryFragment {
   /** Database limit of values in an IN expression. */
   private static final int MAX_IN_EXPRESSIONS = 1000;
 
+  /** PostgreSQL collation sorting strings by code point (like {@code C} for UTF-8). */
+  protected static final String BINARY_COLLATION = "ucs_basic";
+
   /** The {@link EntityManager}. */
   @Inject
   protected EntityManager em;
 
+  /** The {@link DataSourceRouter} for queries across shards. */
+  @Inject
+  protected DataSourceRouter router;
+
   /**
    * @param expression the {@link StringExpression} to search on.
    * @param value the string value or pattern to search for.
@@ -285,29 +299,16 @@ public abstract class ApplicationQueryFragment {
   protected <V> void whereIn(FilteredClause<?> statement, SimpleExpression<V> expression, List<V> values) {
 
     BooleanExpression inExpression = null;
-    int size = 0;
-    if (values != null) {
-      size = values.size();
-    }
-    if ((size == 0) || (values == null)) {
+    List<List<V>> partitions = partitionIn(values);
+    if (partitions.isEmpty()) {
       LOG.info("Missing values for statement: {}", statement);
       inExpression = Expressions.ONE.eq(Expressions.ZERO);
-    } else if (size <= MAX_IN_EXPRESSIONS) {
-      inExpression = expression.in(padList(values));
     } else {
-      LOG.info("Expression {} requires partiitoning as {} values shall be filled in IN-expression of statement: {}",
-          expression, size, statement);
-      int rest = size;
-      int start = 0;
-      while (rest > 0) {
-        List<V> partition;
-        if (rest >= MAX_IN_EXPRESSIONS) {
-          int end = start + MAX_IN_EXPRESSIONS;
-          partition = values.subList(start, end);
-          start = end;
-        } else {
-          partition = padList(values.subList(start, size));
-        }
+      if (partitions.size() > 1) {
+        LOG.info("Expression {} requires partiitoning as {} values shall be filled in IN-expression of statement: {}",
+            expression, values.size(), statement);
+      }
+      for (List<V> partition : partitions) {
         BooleanExpression newInExpr = expression.in(partition);
         if (inExpression == null) {
           inExpression = newInExpr;
@@ -319,6 +320,27 @@ public abstract class ApplicationQueryFragment {
     statement.where(inExpression);
   }
 
+  /**
+   * @param <V> type of the values for the IN expression (e.g. {@link Long} for IDs).
+   * @param values the {@link List} of values for an IN-expression.
+   * @return the given values split into partitions of at most {@value #MAX_IN_EXPRESSIONS} values each padded to a
+   *         stable size. For statements written by hand (e.g. native SQL) that need one IN-expression per partition
+   *         combined with OR like {@link #whereIn(FilteredClause, SimpleExpression, List)}. Empty if no values are
+   *         given.
+   */
+  protected <V> List<List<V>> partitionIn(List<V> values) {
+
+    if (values == null) {
+      return List.of();
+    }
+    int size = values.size();
+    List<List<V>> partitions = new ArrayList<>((size + MAX_IN_EXPRESSIONS - 1) / MAX_IN_EXPRESSIONS);
+    for (int start = 0; start < size; start += MAX_IN_EXPRESSIONS) {
+      partitions.add(padList(values.subList(start, Math.min(start + MAX_IN_EXPRESSIONS, size))));
+    }
+    return partitions;
+  }
+
   // prevent flooding the DB query cache with query variants causing hard parses
   private <V> List<V> padList(List<V> list) {
 
@@ -348,11 +370,30 @@ public abstract class ApplicationQueryFragment {
   protected void orderBy(QueryBase<?> statement, List<SortOrderBy> sort,
       Function<String, ComparableExpressionBase<?>> mapper) {
 
+    orderBy(statement, sort, mapper, false);
+  }
+
+  /**
+   * @param statement the statement as {@link QueryBase}.
+   * @param sort the {@link List} of {@link SortOrderBy}-items.
+   * @param mapper the {@link Function} to map from {@link SortOrderBy#getName() sort order name} to
+   *        {@link ComparableExpressionBase}.
+   * @param binary - {@code true} to sort strings by code point ({@value #BINARY_COLLATION} collation that is equivalent
+   *        to {@code C} for UTF-8) instead of the collation of the database, {@code false} otherwise. Required if the
+   *        results are merged with a {@link #newComparator(List, Function) comparator} as a linguistic collation of the
+   *        database can not be reproduced in Java.
+   */
+  protected void orderBy(QueryBase<?> statement, List<SortOrderBy> sort,
+      Function<String, ComparableExpressionBase<?>> mapper, boolean binary) {
+
     if (sort == null) {
       return;
     }
     for (SortOrderBy order : sort) {
       ComparableExpressionBase<?> expression = mapper.apply(order.getName());
+      if (binary && (expression instanceof StringExpression)) {
+        expression = Expressions.stringTemplate("collate({0} as " + BINARY_COLLATION + ")", expression);
+      }
       OrderSpecifier<?> orderSpecifier;
       if (SortOrderDirection.ASC.equals(order.getDirection())) {
         orderSpecifier = expression.asc();
@@ -363,6 +404,40 @@ public abstract class ApplicationQueryFragment {
     }
   }
 
+  /**
+   * Creates a new {@link JPAQuery} for read paths that project the required columns directly into transfer objects
+   * (e.g. via {@link com.querydsl.core.types.Projections#constructor(Class, com.querydsl.core.types.Expression...)
+   * constructor projections}) instead of hydrating managed entities. Entities selected by the query are loaded
+   * read-only (without snapshots for dirty-checking) and the query does not trigger an auto-flush of the persistence
+   * context.
+   *
+   * @return the new {@link JPAQuery}.
+   */
+  protected JPAQuery<?> newReadOnlyQuery() {
+
+    JPAQuery<?> query = new JPAQuery<>(this.em);
+    query.setHint(HibernateHints.HINT_READ_ONLY, Boolean.TRUE);
+    query.setHint(HibernateHints.HINT_FLUSH_MODE, FlushMode.MANUAL);
+    return query;
+  }
+
+  /**
+   * Streams the results of the given {@link JPAQuery} from a server-side cursor so arbitrary large results can be
+   * processed with constant memory. Requires an active transaction as PostgreSQL only uses a cursor with auto-commit
+   * disabled. The returned {@link Stream} has to be closed.
+   *
+   * @param <E> type of the objects to find.
+   * @param query the {@link JPAQuery} to execute - should be created via {@link #newReadOnlyQuery()} and select a
+   *        projection so the persistence context does not grow.
+   * @param fetchSize the number of rows fetched from the cursor per round-trip.
+   * @return the {@link Stream} of the results.
+   */
+  protected <E> Stream<E> stream(JPAQuery<E> query, int fetchSize) {
+
+    query.setHint(HibernateHints.HINT_FETCH_SIZE, Integer.valueOf(fetchSize));
+    return query.stream();
+  }
+
   /**
    * @param <E> type of the objects to find.
    * @param criteria the {@link SearchCriteria}.
@@ -388,4 +463,138 @@ public abstract class ApplicationQueryFragment {
     }
     return new PageImpl<>(hits, pageable, total);
   }
+
+  /**
+   * Variant of {@link #findPaginated(SearchCriteria, JPAQuery)} for queries across all shards (see
+   * {@link DataSourceRouter}). The query is run on all shards in parallel, each fetching the first
+   * {@code offset + pageSize} hits, and the sorted results are merged (k-way merge) to the requested page. The totals of
+   * the shards are summed up. Therefore the query has to be sorted consistently with the given {@link Comparator}
+   * including a unique tie-breaker (e.g. the ID) so the merged order is total and stable.
+   *
+   * @param <E> type of the objects to find.
+   * @param criteria the {@link SearchCriteria}.
+   * @param querySupplier the {@link Supplier} creating the sorted {@link JPAQuery} (called once per shard).
+   * @param order the {@link Comparator} reflecting the ORDER BY clause of the query.
+   * @return the resulting {@link Page} with the found hits.
+   */
+  protected <E> Page<E> findPaginated(SearchCriteria criteria, Supplier<JPAQuery<E>> querySupplier,
+      Comparator<? super E> order) {
+
+    if (this.router.getShardCount() == 1) {
+      return findPaginated(criteria, querySupplier.get());
+    }
+    Pageable pageable = criteria.asPageable();
+    long offset = 0;
+    int limit = Integer.MAX_VALUE;
+    if (pageable != null) {
+      offset = pageable.getOffset();
+      limit = pageable.getPageSize();
+    }
+    long shardLimit = offset + limit;
+    List<ShardHits<E>> shardHits = this.router.onAllShards(() -> {
+      JPAQuery<E> query = querySupplier.get();
+      long total = -1;
+      if (criteria.isDetermineTotal()) {
+        total = query.clone().fetchCount();
+      }
+      if (shardLimit < Integer.MAX_VALUE) {
+        query.limit(shardLimit);
+      }
+      return new ShardHits<>(query.fetch(), total);
+    });
+    List<Iterator<E>> iterators = new ArrayList<>(shardHits.size());
+    long total = 0;
+    for (ShardHits<E> hits : shardHits) {
+      iterators.add(hits.hits.iterator());
+      if (total >= 0) {
+        total = (hits.total < 0) ? -1 : total + hits.total;
+      }
+    }
+    List<E> hits = merge(iterators, order, offset, limit);
+    if (total == -1) {
+      total = offset + hits.size();
+    }
+    return new PageImpl<>(hits, pageable, total);
+  }
+
+  /**
+   * @param <E> type of the objects to compare.
+   * @param sort the {@link List} of {@link SortOrderBy}-items.
+   * @param mapper the {@link Function} to map from {@link SortOrderBy#getName() sort order name} to the getter of the
+   *        corresponding property.
+   * @return the {@link Comparator} sorting like the ORDER BY clause created by
+   *         {@link #orderBy(QueryBase, List, Function, boolean)} with {@code binary} sorting from the same
+   *         {@code sort}. Like in PostgreSQL {@code null} is sorted as the greatest value. Strings are compared by code
+   *         point like the {@value #BINARY_COLLATION} collation.
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  protected <E> Comparator<E> newComparator(List<SortOrderBy> sort,
+      Function<String, Function<E, ? extends Comparable<?>>> mapper) {
+
+    Comparator<E> comparator = (e1, e2) -> 0;
+    if (sort == null) {
+      return comparator;
+    }
+    for (SortOrderBy order : sort) {
+      Function<E, Comparable> getter = (Function) mapper.apply(order.getName());
+      Comparator<Comparable> values = Comparator.nullsLast(ApplicationQueryFragment::compareBinary);
+      if (!SortOrderDirection.ASC.equals(order.getDirection())) {
+        values = values.reversed();
+      }
+      comparator = comparator.thenComparing(getter, values);
+    }
+    return comparator;
+  }
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  private static int compareBinary(Comparable c1, Comparable c2) {
+
+    if ((c1 instanceof String s1) && (c2 instanceof String s2)) {
+      // String.compareTo compares UTF-16 chars that differ from code points for surrogates
+      int i1 = 0;
+      int i2 = 0;
+      while ((i1 < s1.length()) && (i2 < s2.length())) {
+        int cp1 = s1.codePointAt(i1);
+        int cp2 = s2.codePointAt(i2);
+        if (cp1 != cp2) {
+          return Integer.compare(cp1, cp2);
+        }
+        i1 += Character.charCount(cp1);
+        i2 += Character.charCount(cp2);
+      }
+      return Integer.compare(s1.length() - i1, s2.length() - i2);
+    }
+    return c1.compareTo(c2);
+  }
+
+  private static <E> List<E> merge(List<Iterator<E>> iterators, Comparator<? super E> order, long offset, int limit) {
+
+    PriorityQueue<MergeHead<E>> queue = new PriorityQueue<>(Math.max(1, iterators.size()),
+        (h1, h2) -> order.compare(h1.value, h2.value));
+    for (Iterator<E> iterator : iterators) {
+      if (iterator.hasNext()) {
+        queue.add(new MergeHead<>(iterator.next(), iterator));
+      }
+    }
+    List<E> hits = new ArrayList<>();
+    long skip = offset;
+    while (!queue.isEmpty() && (hits.size() < limit)) {
+      MergeHead<E> head = queue.poll();
+      if (skip > 0) {
+        skip--;
+      } else {
+        hits.add(head.value);
+      }
+      if (head.iterator.hasNext()) {
+        queue.add(new MergeHead<>(head.iterator.next(), head.iterator));
+      }
+    }
+    return hits;
+  }
+
+  private record ShardHits<E>(List<E> hits, long total) {
+  }
+
+  private record MergeHead<E>(E value, Iterator<E> iterator) {
+  }
 }
@@ -0,0 +1,315 @@
+package org.example.app.general.dataaccess;
+
+import java.security.Principal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import io.agroal.api.configuration.AgroalConnectionFactoryConfiguration;
+import io.agroal.api.security.SimplePassword;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.example.app.general.common.cache.CacheInvalidationEvent;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bus propagating changes to the node-local caches of all nodes of the cluster via PostgreSQL {@code NOTIFY} and
+ * {@code LISTEN} so no external message broker is required.<br>
+ * <b>Publishing:</b> {@link #publish(String, String)} sends {@code pg_notify} within the current transaction. PostgreSQL
+ * delivers the notification only when that transaction commits and drops it on rollback, so it acts like a
+ * transactional outbox without a table. Duplicate keys within a transaction are only sent once.<br>
+ * <b>Receiving:</b> Each node listens on the primary database of every {@link DataSourceRouter shard} with a dedicated
+ * connection opened via {@link DriverManager} with the URL and credentials of the shard's datasource, so the
+ * long-lived {@code LISTEN} connections do not permanently take connections from the pools. Notifications
+ * of other nodes are collected for {@code app.invalidation.coalesce-window} and then fired as coalesced
+ * {@link CacheInvalidationEvent}s. As notifications sent while a node was disconnected are lost, everything is
+ * invalidated after a reconnect. Changes of the own node are not fired as its caches are expected to observe the local
+ * change events directly.
+ */
+@ApplicationScoped
+public class CacheInvalidationBus {
+
+  private static final Logger LOG = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+  // pg_notify returns void that can not be mapped by Hibernate
+  private static final String SQL_NOTIFY = "SELECT 1 FROM pg_notify(:channel, :payload)";
+
+  private static final Pattern CHANNEL_PATTERN = Pattern.compile("[a-z_][a-z0-9_]*");
+
+  private static final String SEPARATOR = "|";
+
+  /** Maximum number of pending keys of a topic before all keys of that topic are invalidated instead. */
+  private static final int MAX_PENDING_KEYS = 10_000;
+
+  /** Key of the transaction resource with the payloads already published in the current transaction. */
+  private static final Object PUBLISHED_RESOURCE = new Object();
+
+  @Inject
+  EntityManager em;
+
+  @Inject
+  DataSourceRouter router;
+
+  @Inject
+  TransactionSynchronizationRegistry transactionRegistry;
+
+  @Inject
+  Event<CacheInvalidationEvent> invalidationEvent;
+
+  @ConfigProperty(name = "app.invalidation.enabled", defaultValue = "false")
+  boolean enabled;
+
+  @ConfigProperty(name = "app.invalidation.channel", defaultValue = "app_invalidation")
+  String channel;
+
+  @ConfigProperty(name = "app.invalidation.coalesce-window", defaultValue = "0.05S")
+  Duration coalesceWindow;
+
+  @ConfigProperty(name = "app.invalidation.poll-interval", defaultValue = "0.5S")
+  Duration pollInterval;
+
+  @ConfigProperty(name = "app.invalidation.reconnect-delay", defaultValue = "5S")
+  Duration reconnectDelay;
+
+  private final String nodeId = UUID.randomUUID().toString();
+
+  private final Object lock = new Object();
+
+  /** Pending keys per topic (guarded by {@link #lock}). */
+  private final Map<String, Set<String>> pendingKeys = new HashMap<>();
+
+  /** Topics to invalidate entirely (guarded by {@link #lock}). */
+  private final Set<String> pendingTopics = new HashSet<>();
+
+  /** Everything has to be invalidated (guarded by {@link #lock}). */
+  private boolean pendingAll;
+
+  private boolean flushScheduled;
+
+  private volatile boolean running;
+
+  private ExecutorService listeners;
+
+  private ScheduledExecutorService executor;
+
+  void onStart(@Observes StartupEvent event) {
+
+    if (!this.enabled) {
+      LOG.info("Cluster-wide cache invalidation is disabled.");
+      return;
+    }
+    if (!CHANNEL_PATTERN.matcher(this.channel).matches()) {
+      throw new IllegalStateException("Invalid app.invalidation.channel: " + this.channel);
+    }
+    this.running = true;
+    this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "cache-invalidation");
+      thread.setDaemon(true);
+      return thread;
+    });
+    int shardCount = this.router.getShardCount();
+    this.listeners = Executors.newFixedThreadPool(shardCount, runnable -> {
+      Thread thread = new Thread(runnable, "cache-invalidation-listener");
+      thread.setDaemon(true);
+      return thread;
+    });
+    for (int i = 0; i < shardCount; i++) {
+      int shard = i;
+      this.listeners.execute(() -> listen(shard));
+    }
+    LOG.info("Listening for cache invalidations on channel {} as node {}", this.channel, this.nodeId);
+  }
+
+  void onStop(@Observes ShutdownEvent event) {
+
+    this.running = false;
+    if (this.listeners != null) {
+      this.listeners.shutdownNow();
+    }
+    if (this.executor != null) {
+      this.executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Publishes the change of the given key to the other nodes once the current transaction commits. Has to be called
+   * within the transaction that performs the change so the notification is sent via the database of its shard.
+   *
+   * @param topic the {@link CacheInvalidationEvent#getTopic() topic}. Must not contain {@value #SEPARATOR}.
+   * @param key the changed {@link CacheInvalidationEvent#getKeys() key}.
+   */
+  public void publish(String topic, String key) {
+
+    if (!this.enabled) {
+      return;
+    }
+    if (this.transactionRegistry.getTransactionKey() == null) {
+      throw new IllegalStateException("Publishing cache invalidations requires an active transaction.");
+    }
+    String payload = this.nodeId + SEPARATOR + topic + SEPARATOR + key;
+    @SuppressWarnings("unchecked")
+    Set<String> published = (Set<String>) this.transactionRegistry.getResource(PUBLISHED_RESOURCE);
+    if (published == null) {
+      published = new HashSet<>();
+      this.transactionRegistry.putResource(PUBLISHED_RESOURCE, published);
+    }
+    if (published.add(payload)) {
+      this.em.createNativeQuery(SQL_NOTIFY).setParameter("channel", this.channel).setParameter("payload", payload)
+          .getSingleResult();
+    }
+  }
+
+  private void listen(int shard) {
+
+    boolean reconnect = false;
+    while (this.running) {
+      try (Connection connection = connect(shard); Statement statement = connection.createStatement()) {
+        statement.execute("LISTEN " + this.channel);
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        if (reconnect) {
+          LOG.info("Reconnected cache invalidation listener of shard {} - invalidating all caches.",
+              Integer.valueOf(shard));
+          receiveAll();
+        }
+        reconnect = true;
+        int pollMillis = (int) this.pollInterval.toMillis();
+        while (this.running) {
+          PGNotification[] notifications = pgConnection.getNotifications(pollMillis);
+          if (notifications != null) {
+            for (PGNotification notification : notifications) {
+              receive(notification.getParameter());
+            }
+          }
+        }
+      } catch (SQLException | RuntimeException e) {
+        if (!this.running) {
+          return;
+        }
+        LOG.warn("Cache invalidation listener of shard {} failed - reconnecting in {}.", Integer.valueOf(shard),
+            this.reconnectDelay, e);
+        try {
+          Thread.sleep(this.reconnectDelay.toMillis());
+        } catch (InterruptedException interrupted) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * @param shard the index of the shard.
+   * @return a new {@link Connection} to the primary database of the given shard outside of its connection pool.
+   * @throws SQLException if the connection failed.
+   */
+  private Connection connect(int shard) throws SQLException {
+
+    AgroalConnectionFactoryConfiguration factory = this.router.getDataSource(shard).getConfiguration()
+        .connectionPoolConfiguration().connectionFactoryConfiguration();
+    Properties properties = new Properties();
+    properties.putAll(factory.jdbcProperties());
+    Principal principal = factory.principal();
+    if (principal != null) {
+      properties.setProperty("user", principal.getName());
+    }
+    for (Object credential : factory.credentials()) {
+      if (credential instanceof SimplePassword password) {
+        properties.setProperty("password", password.getWord());
+      }
+    }
+    properties.setProperty("ApplicationName", "cache-invalidation-listener");
+    return DriverManager.getConnection(factory.jdbcUrl(), properties);
+  }
+
+  private void receive(String payload) {
+
+    String[] parts = payload.split(Pattern.quote(SEPARATOR), 3);
+    if ((parts.length != 3) || this.nodeId.equals(parts[0])) {
+      return;
+    }
+    String topic = parts[1];
+    synchronized (this.lock) {
+      if (!this.pendingAll && !this.pendingTopics.contains(topic)) {
+        Set<String> keys = this.pendingKeys.computeIfAbsent(topic, t -> new HashSet<>());
+        keys.add(parts[2]);
+        if (keys.size() > MAX_PENDING_KEYS) {
+          this.pendingKeys.remove(topic);
+          this.pendingTopics.add(topic);
+        }
+      }
+      scheduleFlush();
+    }
+  }
+
+  private void receiveAll() {
+
+    synchronized (this.lock) {
+      this.pendingAll = true;
+      this.pendingKeys.clear();
+      this.pendingTopics.clear();
+      scheduleFlush();
+    }
+  }
+
+  private void scheduleFlush() {
+
+    if (!this.flushScheduled) {
+      this.flushScheduled = true;
+      this.executor.schedule(this::flush, this.coalesceWindow.toMillis(), TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private void flush() {
+
+    Map<String, Set<String>> keys;
+    Set<String> topics;
+    boolean all;
+    synchronized (this.lock) {
+      keys = new HashMap<>(this.pendingKeys);
+      topics = new HashSet<>(this.pendingTopics);
+      all = this.pendingAll;
+      this.pendingKeys.clear();
+      this.pendingTopics.clear();
+      this.pendingAll = false;
+      this.flushScheduled = false;
+    }
+    try {
+      if (all) {
+        this.invalidationEvent.fire(CacheInvalidationEvent.ofAll(null));
+        return;
+      }
+      for (String topic : topics) {
+        this.invalidationEvent.fire(CacheInvalidationEvent.ofAll(topic));
+      }
+      for (Map.Entry<String, Set<String>> entry : keys.entrySet()) {
+        this.invalidationEvent.fire(CacheInvalidationEvent.ofKeys(entry.getKey(), entry.getValue()));
+      }
+    } catch (RuntimeException e) {
+      LOG.error("Failed to invalidate caches.", e);
+    }
+  }
+
+}
@@ -0,0 +1,336 @@
+package org.example.app.general.dataaccess;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.agroal.runtime.DataSources;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
+import io.quarkus.datasource.common.runtime.DataSourceUtil;
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import io.quarkus.hibernate.orm.runtime.tenant.TenantResolver;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Default;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Routes the sessions of the persistence unit to the datasources using Hibernate multi-tenancy with one "tenant" per
+ * datasource.<br>
+ * <b>Sharding:</b> The data is sharded across the datasources configured in {@code app.datasource.shards}. Each shard
+ * generates only IDs with {@code ID % shardCount == shardIndex} (see migration {@code V0009}) so the
+ * {@link #getShard(Long) shard} of any entity is determined by its ID. Task items are co-located with their list.
+ * Operations on a single list are run {@link #onShard(int, Callable) on its shard} while cross-list queries are run
+ * {@link #onAllShards(Callable) on all shards in parallel}. The number of shards must not change once data has been
+ * written.<br>
+ * <b>Read replica:</b> A session of the first shard is routed to the read replica (datasource {@value #REPLICA}) if
+ * all of the following conditions apply:
+ * <ul>
+ * <li>the session is opened by a {@link ReadOnly} use-case that does not join an existing transaction,</li>
+ * <li>the client did not recently write (see {@link ReadYourWritesContext}) and</li>
+ * <li>the replication lag measured every {@code app.datasource.replica.check-interval} does not exceed
+ * {@code app.datasource.replica.max-lag}.</li>
+ * </ul>
+ * Everything else, including background jobs, uses the primary database of the shard. As Quarkus only resolves the
+ * tenant within an active request context, background jobs have to be annotated with
+ * {@link jakarta.enterprise.context.control.ActivateRequestContext}.
+ */
+@ApplicationScoped
+@Default
+@PersistenceUnitExtension
+public class DataSourceRouter implements TenantResolver {
+
+  private static final Logger LOG = LoggerFactory.getLogger(DataSourceRouter.class);
+
+  /** Name of the datasource of the read replica. */
+  public static final String REPLICA = "replica";
+
+  private static final String SQL_LAG = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+      + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+      + "ELSE EXTRACT(EPOCH FROM (now() - pg_last_xact_replay_timestamp())) * 1000 END";
+
+  private static final ThreadLocal<Boolean> READ_ONLY = new ThreadLocal<>();
+
+  private static final ThreadLocal<Integer> SHARD = new ThreadLocal<>();
+
+  @Inject
+  ReadYourWritesContext readYourWrites;
+
+  @Inject
+  @DataSource(REPLICA)
+  Instance<AgroalDataSource> replicaDataSource;
+
+  @ConfigProperty(name = "app.datasource.shards", defaultValue = DataSourceUtil.DEFAULT_DATASOURCE_NAME)
+  List<String> shards;
+
+  @ConfigProperty(name = "app.datasource.replica.enabled", defaultValue = "false")
+  boolean enabled;
+
+  @ConfigProperty(name = "app.datasource.replica.max-lag", defaultValue = "1S")
+  Duration maxLag;
+
+  @ConfigProperty(name = "app.datasource.replica.check-interval", defaultValue = "1S")
+  Duration checkInterval;
+
+  private final AtomicInteger nextShard = new AtomicInteger();
+
+  private volatile boolean replicaUsable;
+
+  private ScheduledExecutorService executor;
+
+  private ExecutorService shardExecutor;
+
+  void onStart(@Observes StartupEvent event) {
+
+    if (this.shards.size() > 1) {
+      this.shardExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "shard-query");
+        thread.setDaemon(true);
+        return thread;
+      });
+      LOG.info("Data is sharded across {}", this.shards);
+    }
+    if (!this.enabled) {
+      LOG.info("Read replica is disabled - all database access goes to the primary.");
+      return;
+    }
+    this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "replica-lag-monitor");
+      thread.setDaemon(true);
+      return thread;
+    });
+    long intervalMillis = this.checkInterval.toMillis();
+    this.executor.scheduleWithFixedDelay(this::checkLag, 0, intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  void onStop(@Observes ShutdownEvent event) {
+
+    if (this.executor != null) {
+      this.executor.shutdownNow();
+    }
+    if (this.shardExecutor != null) {
+      this.shardExecutor.shutdownNow();
+    }
+  }
+
+  @Override
+  public String getDefaultTenantId() {
+
+    return DataSourceUtil.DEFAULT_DATASOURCE_NAME;
+  }
+
+  @Override
+  public String resolveTenantId() {
+
+    Integer shard = SHARD.get();
+    if ((shard == null) || (shard.intValue() == 0)) {
+      if (Boolean.TRUE.equals(READ_ONLY.get()) && this.replicaUsable && !this.readYourWrites.isPrimaryRequired()) {
+        return REPLICA;
+      }
+      return this.shards.get(0);
+    }
+    return this.shards.get(shard.intValue());
+  }
+
+  /**
+   * @return {@code true} if the read replica is currently used for {@link ReadOnly} use-cases, {@code false} if all
+   *         access goes to the primary database (disabled, unreachable or lagging too far behind).
+   */
+  public boolean isReplicaUsable() {
+
+    return this.replicaUsable;
+  }
+
+  /**
+   * @return the number of shards.
+   */
+  public int getShardCount() {
+
+    return this.shards.size();
+  }
+
+  /**
+   * @param shard the index of the shard.
+   * @return the {@link AgroalDataSource} of the primary database of the given shard for direct JDBC access that can
+   *         not go through Hibernate (e.g. {@code LISTEN}).
+   */
+  public AgroalDataSource getDataSource(int shard) {
+
+    return DataSources.fromName(this.shards.get(shard));
+  }
+
+  /**
+   * @param id the ID of a task list or task item.
+   * @return the index of the shard holding the entity with the given ID.
+   */
+  public int getShard(Long id) {
+
+    return (int) Math.floorMod(id.longValue(), (long) this.shards.size());
+  }
+
+  /**
+   * @return the index of the shard where to create a new task list (round robin).
+   */
+  public int nextShard() {
+
+    return Math.floorMod(this.nextShard.getAndIncrement(), this.shards.size());
+  }
+
+  /**
+   * Runs the given {@link Callable} on the given shard. The routing only applies to transactions started by the
+   * {@link Callable} or to the current transaction if it did not yet access the database.
+   *
+   * @param <T> type of the result.
+   * @param shard the index of the shard.
+   * @param task the {@link Callable} to run.
+   * @return the result of the {@link Callable}.
+   */
+  public <T> T onShard(int shard, Callable<T> task) {
+
+    Integer previous = SHARD.get();
+    SHARD.set(Integer.valueOf(shard));
+    try {
+      return task.call();
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    } finally {
+      if (previous == null) {
+        SHARD.remove();
+      } else {
+        SHARD.set(previous);
+      }
+    }
+  }
+
+  /**
+   * Runs the given {@link Callable} on all shards in parallel each in its own transaction. With a single shard the
+   * {@link Callable} is simply called in the current thread and transaction.
+   *
+   * @param <T> type of the result.
+   * @param task the {@link Callable} to run.
+   * @return the {@link List} with the results in the order of the shards.
+   */
+  public <T> List<T> onAllShards(Callable<T> task) {
+
+    int shardCount = this.shards.size();
+    if (shardCount == 1) {
+      return List.of(onShard(0, task));
+    }
+    boolean readOnly = Boolean.TRUE.equals(READ_ONLY.get());
+    boolean primaryRequired = Arc.container().requestContext().isActive() && this.readYourWrites.isPrimaryRequired();
+    List<Future<T>> futures = new ArrayList<>(shardCount);
+    for (int i = 0; i < shardCount; i++) {
+      int shard = i;
+      futures.add(this.shardExecutor.submit(() -> callOnShard(shard, task, readOnly, primaryRequired)));
+    }
+    List<T> results = new ArrayList<>(shardCount);
+    try {
+      for (Future<T> future : futures) {
+        results.add(future.get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for shards.", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException(e.getCause());
+    } finally {
+      for (Future<T> future : futures) {
+        future.cancel(true);
+      }
+    }
+    return results;
+  }
+
+  private <T> T callOnShard(int shard, Callable<T> task, boolean readOnly, boolean primaryRequired) {
+
+    ManagedContext requestContext = Arc.container().requestContext();
+    requestContext.activate();
+    try {
+      this.readYourWrites.setPrimaryRequired(primaryRequired);
+      if (readOnly) {
+        READ_ONLY.set(Boolean.TRUE);
+      }
+      return onShard(shard, () -> QuarkusTransaction.requiringNew().call(task));
+    } finally {
+      READ_ONLY.remove();
+      requestContext.terminate();
+    }
+  }
+
+  /**
+   * Enters a {@link ReadOnly} use-case. A use-case called within an existing transaction is not routed as the
+   * session of that transaction is already bound to its datasource and may have seen its own writes.
+   *
+   * @return the previous state to pass to {@link #exitReadOnly(boolean)}.
+   */
+  boolean enterReadOnly() {
+
+    boolean previous = Boolean.TRUE.equals(READ_ONLY.get());
+    READ_ONLY.set(Boolean.valueOf(previous || !QuarkusTransaction.isActive()));
+    return previous;
+  }
+
+  /**
+   * @param previous the result of the corresponding {@link #enterReadOnly()} call.
+   */
+  void exitReadOnly(boolean previous) {
+
+    if (previous) {
+      READ_ONLY.set(Boolean.TRUE);
+    } else {
+      READ_ONLY.remove();
+    }
+  }
+
+  private void checkLag() {
+
+    boolean usable = false;
+    try (Connection connection = this.replicaDataSource.get().getConnection();
+        Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery(SQL_LAG)) {
+      resultSet.next();
+      double lagMillis = resultSet.getDouble(1);
+      // no replayed transaction yet (NULL) counts as lagging
+      usable = !resultSet.wasNull() && (lagMillis <= this.maxLag.toMillis());
+      if (!usable && this.replicaUsable) {
+        LOG.warn("Read replica lags {}ms behind - falling back to primary.", Long.valueOf((long) lagMillis));
+      }
+    } catch (SQLException | RuntimeException e) {
+      if (this.replicaUsable) {
+        LOG.warn("Read replica is unavailable - falling back to primary.", e);
+      }
+    }
+    if (usable && !this.replicaUsable) {
+      LOG.info("Read replica is in sync - routing read-only use-cases to it.");
+    }
+    this.replicaUsable = usable;
+  }
+
+}
@@ -0,0 +1,21 @@
+package org.example.app.general.dataaccess;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import jakarta.interceptor.InterceptorBinding;
+
+/**
+ * Marks a use-case (type or method) that only reads from the database. Its transactions may therefore be served by
+ * the read replica (see {@link DataSourceRouter}). Must not be used for anything that writes.
+ */
+@Inherited
+@InterceptorBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.TYPE, ElementType.METHOD })
+public @interface ReadOnly {
+
+}
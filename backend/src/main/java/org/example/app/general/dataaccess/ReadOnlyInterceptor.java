@@ -0,0 +1,32 @@
+package org.example.app.general.dataaccess;
+
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+/**
+ * {@link Interceptor} for {@link ReadOnly} use-cases. It runs before the transaction interceptor so the routing is
+ * decided before the transaction opens its session.
+ */
+@ReadOnly
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_BEFORE + 100)
+public class ReadOnlyInterceptor {
+
+  @Inject
+  DataSourceRouter router;
+
+  @AroundInvoke
+  Object routeReadOnly(InvocationContext context) throws Exception {
+
+    boolean previous = this.router.enterReadOnly();
+    try {
+      return context.proceed();
+    } finally {
+      this.router.exitReadOnly(previous);
+    }
+  }
+
+}
@@ -0,0 +1,30 @@
+package org.example.app.general.dataaccess;
+
+import jakarta.enterprise.context.RequestScoped;
+
+/**
+ * Request scoped flag telling the {@link DataSourceRouter} that the client recently wrote data and therefore has to
+ * read from the primary until the read replica has caught up.
+ */
+@RequestScoped
+public class ReadYourWritesContext {
+
+  private boolean primaryRequired;
+
+  /**
+   * @return {@code true} if the current request has to be served by the primary database, {@code false} otherwise.
+   */
+  public boolean isPrimaryRequired() {
+
+    return this.primaryRequired;
+  }
+
+  /**
+   * @param primaryRequired new value of {@link #isPrimaryRequired()}.
+   */
+  public void setPrimaryRequired(boolean primaryRequired) {
+
+    this.primaryRequired = primaryRequired;
+  }
+
+}
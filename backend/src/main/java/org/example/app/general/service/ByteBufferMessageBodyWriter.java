@@ -0,0 +1,69 @@
+package org.example.app.general.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.Provider;
+import org.jboss.resteasy.reactive.server.spi.ResteasyReactiveResourceInfo;
+import org.jboss.resteasy.reactive.server.spi.ServerMessageBodyWriter;
+import org.jboss.resteasy.reactive.server.spi.ServerRequestContext;
+
+/**
+ * {@link ServerMessageBodyWriter} for {@link ByteBuffer} entities of any media type. The remaining bytes of the buffer
+ * are written via the {@link org.jboss.resteasy.reactive.server.spi.ServerHttpResponse} of RESTEasy Reactive so status,
+ * headers and filters are handled as for any other entity. A heap buffer spanning its whole backing array (e.g. a
+ * pre-encoded response from a cache) is written without an intermediate copy. The position of the given buffer is not
+ * modified so the same buffer may be written by concurrent requests.
+ */
+@Provider
+@Produces(MediaType.WILDCARD)
+public class ByteBufferMessageBodyWriter implements ServerMessageBodyWriter<ByteBuffer> {
+
+  @Override
+  public boolean isWriteable(Class<?> type, Type genericType, ResteasyReactiveResourceInfo target,
+      MediaType mediaType) {
+
+    return ByteBuffer.class.isAssignableFrom(type);
+  }
+
+  @Override
+  public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+
+    return ByteBuffer.class.isAssignableFrom(type);
+  }
+
+  @Override
+  public void writeResponse(ByteBuffer buffer, Type genericType, ServerRequestContext context) throws IOException {
+
+    context.serverResponse().end(toArray(buffer));
+  }
+
+  @Override
+  public void writeTo(ByteBuffer buffer, Class<?> type, Type genericType, Annotation[] annotations,
+      MediaType mediaType, MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+
+    if (buffer.hasArray()) {
+      entityStream.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+    } else {
+      entityStream.write(toArray(buffer));
+    }
+  }
+
+  private static byte[] toArray(ByteBuffer buffer) {
+
+    if (buffer.hasArray() && (buffer.arrayOffset() == 0) && (buffer.position() == 0)
+        && (buffer.remaining() == buffer.array().length)) {
+      return buffer.array();
+    }
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.duplicate().get(bytes);
+    return bytes;
+  }
+
+}
@@ -0,0 +1,145 @@
+package org.example.app.general.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyReader;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+import org.example.app.general.common.cbor.Cbor;
+import org.example.app.general.common.cbor.CborCodec;
+import org.example.app.general.common.cbor.CborException;
+import org.example.app.general.common.cbor.CborReader;
+import org.example.app.general.common.cbor.CborWriter;
+
+/**
+ * {@link MessageBodyReader} and {@link MessageBodyWriter} for {@value Cbor#MEDIA_TYPE} delegating to the
+ * {@link CborCodec}s available as CDI beans. Besides the types of the codecs it supports {@link List}s of them as CBOR
+ * arrays. REST services offer CBOR to their clients by adding {@value Cbor#MEDIA_TYPE} to {@link Produces} and
+ * {@link Consumes} - clients select it via the {@code Accept} and {@code Content-Type} headers.
+ */
+@Provider
+@Produces(Cbor.MEDIA_TYPE)
+@Consumes(Cbor.MEDIA_TYPE)
+public class CborMessageBodyProvider implements MessageBodyReader<Object>, MessageBodyWriter<Object> {
+
+  @Inject
+  Instance<CborCodec<?>> codecInstances;
+
+  private Map<Class<?>, CborCodec<?>> codecs;
+
+  @PostConstruct
+  void init() {
+
+    this.codecs = new HashMap<>();
+    for (CborCodec<?> codec : this.codecInstances) {
+      this.codecs.put(codec.getType(), codec);
+    }
+  }
+
+  @Override
+  public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+
+    if (Collection.class.isAssignableFrom(type)) {
+      // the element type may be erased (e.g. entity of a Response) - then the codecs are resolved per element
+      Class<?> elementType = getElementType(genericType);
+      return (elementType == null) || this.codecs.containsKey(elementType);
+    }
+    return this.codecs.containsKey(type);
+  }
+
+  @Override
+  public void writeTo(Object value, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+      MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+
+    CborWriter writer = new CborWriter(entityStream);
+    if (value instanceof Collection<?> collection) {
+      writer.writeArrayStart(collection.size());
+      for (Object element : collection) {
+        write(element, writer);
+      }
+    } else {
+      write(value, writer);
+    }
+    writer.flush();
+  }
+
+  private void write(Object value, CborWriter writer) throws IOException {
+
+    if (value == null) {
+      writer.writeNull();
+      return;
+    }
+    CborCodec<Object> codec = getCodec(value.getClass());
+    if (codec == null) {
+      throw new IllegalStateException("No CborCodec available for " + value.getClass().getName());
+    }
+    codec.write(value, writer);
+  }
+
+  @Override
+  public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+
+    if (List.class.equals(type) || Collection.class.equals(type)) {
+      Class<?> elementType = getElementType(genericType);
+      return (elementType != null) && this.codecs.containsKey(elementType);
+    }
+    return this.codecs.containsKey(type);
+  }
+
+  @Override
+  public Object readFrom(Class<Object> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+      MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException {
+
+    CborReader reader = new CborReader(entityStream);
+    try {
+      if (List.class.equals(type) || Collection.class.equals(type)) {
+        CborCodec<Object> codec = getCodec(getElementType(genericType));
+        int size = reader.readArrayStart();
+        List<Object> list = new ArrayList<>(Math.max(0, Math.min(size, 1024)));
+        for (int i = 0; reader.hasNext(size, i); i++) {
+          list.add(reader.readNull() ? null : codec.read(reader));
+        }
+        return list;
+      }
+      return getCodec(type).read(reader);
+    } catch (CborException | RuntimeException e) {
+      throw new BadRequestException("Invalid CBOR request body: " + e.getMessage(), e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private CborCodec<Object> getCodec(Class<?> type) {
+
+    return (CborCodec<Object>) this.codecs.get(type);
+  }
+
+  private static Class<?> getElementType(Type genericType) {
+
+    if (genericType instanceof ParameterizedType parameterizedType) {
+      Type[] arguments = parameterizedType.getActualTypeArguments();
+      if ((arguments.length == 1) && (arguments[0] instanceof Class<?> elementType)) {
+        return elementType;
+      }
+    }
+    return null;
+  }
+
+}
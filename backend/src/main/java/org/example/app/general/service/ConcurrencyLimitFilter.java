@@ -0,0 +1,85 @@
+package org.example.app.general.service;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.Status;
+import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.example.app.general.common.concurrency.AdaptiveConcurrencyLimiter;
+import org.example.app.general.common.concurrency.RequestPriority;
+
+/**
+ * Filter admitting requests to {@link ConcurrencyLimited} REST services via the {@link AdaptiveConcurrencyLimiter}.
+ * Requests exceeding the share of the limit for their {@link RequestPriority} are rejected before any work is done with
+ * {@code 503 Service Unavailable} and a {@code Retry-After} header of {@code app.limiter.retry-after}. The latency of
+ * admitted requests is measured until the response has been written completely (including a streamed body such as an
+ * export) and fed back to the limiter - server errors and connections closed before the end count as dropped.
+ */
+@Provider
+@ConcurrencyLimited
+public class ConcurrencyLimitFilter implements ContainerRequestFilter {
+
+  @Inject
+  AdaptiveConcurrencyLimiter limiter;
+
+  @Inject
+  RoutingContext routingContext;
+
+  @Context
+  ResourceInfo resourceInfo;
+
+  @ConfigProperty(name = "app.limiter.enabled", defaultValue = "true")
+  boolean enabled;
+
+  @ConfigProperty(name = "app.limiter.retry-after", defaultValue = "1S")
+  Duration retryAfter;
+
+  @Override
+  public void filter(ContainerRequestContext requestContext) throws IOException {
+
+    if (!this.enabled) {
+      return;
+    }
+    if (this.limiter.tryAcquire(getPriority(requestContext))) {
+      long start = System.nanoTime();
+      HttpServerResponse response = this.routingContext.response();
+      // called exactly once after the last byte was written or the connection was closed before
+      this.routingContext.addEndHandler(result -> this.limiter.release(System.nanoTime() - start,
+          result.failed() || (response.getStatusCode() >= Status.INTERNAL_SERVER_ERROR.getStatusCode())));
+    } else {
+      requestContext.abortWith(Response.status(Status.SERVICE_UNAVAILABLE)
+          .header(HttpHeaders.RETRY_AFTER, Long.valueOf(Math.max(1, this.retryAfter.toSeconds())))
+          .type(MediaType.TEXT_PLAIN).entity("Too many concurrent requests - please retry later.").build());
+    }
+  }
+
+  private RequestPriority getPriority(ContainerRequestContext requestContext) {
+
+    Method method = this.resourceInfo.getResourceMethod();
+    if (method != null) {
+      Prioritized prioritized = method.getAnnotation(Prioritized.class);
+      if (prioritized != null) {
+        return prioritized.value();
+      }
+    }
+    String httpMethod = requestContext.getMethod();
+    if (HttpMethod.GET.equals(httpMethod) || HttpMethod.HEAD.equals(httpMethod)) {
+      return RequestPriority.INTERACTIVE;
+    }
+    return RequestPriority.WRITE;
+  }
+
+}
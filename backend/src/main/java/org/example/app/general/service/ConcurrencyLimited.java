@@ -0,0 +1,19 @@
+package org.example.app.general.service;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import jakarta.ws.rs.NameBinding;
+
+/**
+ * Binds the {@link ConcurrencyLimitFilter} to a REST service or operation so its requests are admitted by the
+ * {@link org.example.app.general.common.concurrency.AdaptiveConcurrencyLimiter}.
+ */
+@NameBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.TYPE, ElementType.METHOD })
+public @interface ConcurrencyLimited {
+
+}
@@ -0,0 +1,57 @@
+package org.example.app.general.service;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.example.app.general.common.concurrency.AdaptiveConcurrencyLimiter;
+import org.example.app.general.common.concurrency.RequestPriority;
+
+/**
+ * Rest service exporting the metrics of the {@link AdaptiveConcurrencyLimiter} in the Prometheus text format so they
+ * can be scraped like any other target.
+ */
+@Path("/metrics/limiter")
+public class ConcurrencyLimiterMetricsService {
+
+  @Inject
+  private AdaptiveConcurrencyLimiter limiter;
+
+  /**
+   * @return the metrics in the Prometheus text exposition format.
+   */
+  @GET
+  @Produces(MediaType.TEXT_PLAIN)
+  @Operation(summary = "Fetch limiter metrics", description = "Fetch the metrics of the adaptive concurrency limiter")
+  @APIResponse(responseCode = "200", description = "Metrics in Prometheus text format")
+  public String getMetrics() {
+
+    StringBuilder sb = new StringBuilder(1024);
+    gauge(sb, "app_limiter_limit", "Current adaptive concurrency limit", this.limiter.getLimit());
+    gauge(sb, "app_limiter_in_flight", "Requests currently in flight", this.limiter.getInFlight());
+    sb.append("# HELP app_limiter_rtt_seconds Long-term average latency of admitted requests\n");
+    sb.append("# TYPE app_limiter_rtt_seconds gauge\n");
+    sb.append("app_limiter_rtt_seconds ").append(this.limiter.getLongRttNanos() / 1e9).append('\n');
+    sb.append("# HELP app_limiter_accepted_total Admitted requests\n");
+    sb.append("# TYPE app_limiter_accepted_total counter\n");
+    sb.append("app_limiter_accepted_total ").append(this.limiter.getAccepted()).append('\n');
+    sb.append("# HELP app_limiter_rejected_total Requests rejected with 503 by priority\n");
+    sb.append("# TYPE app_limiter_rejected_total counter\n");
+    for (RequestPriority priority : RequestPriority.values()) {
+      sb.append("app_limiter_rejected_total{priority=\"").append(priority.name().toLowerCase()).append("\"} ")
+          .append(this.limiter.getRejected(priority)).append('\n');
+    }
+    return sb.toString();
+  }
+
+  private static void gauge(StringBuilder sb, String name, String help, long value) {
+
+    sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    sb.append("# TYPE ").append(name).append(" gauge\n");
+    sb.append(name).append(' ').append(value).append('\n');
+  }
+
+}
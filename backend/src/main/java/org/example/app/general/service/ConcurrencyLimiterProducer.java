@@ -0,0 +1,59 @@
+package org.example.app.general.service;
+
+import java.time.Duration;
+import java.util.Map;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Produces;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.example.app.general.common.concurrency.AdaptiveConcurrencyLimiter;
+import org.example.app.general.common.concurrency.RequestPriority;
+
+/**
+ * Produces the {@link AdaptiveConcurrencyLimiter} shared by the {@link ConcurrencyLimitFilter} and the
+ * {@link ConcurrencyLimiterMetricsService} from the {@code app.limiter.*} configuration.
+ */
+@ApplicationScoped
+public class ConcurrencyLimiterProducer {
+
+  @ConfigProperty(name = "app.limiter.initial-limit", defaultValue = "20")
+  int initialLimit;
+
+  @ConfigProperty(name = "app.limiter.min-limit", defaultValue = "4")
+  int minLimit;
+
+  @ConfigProperty(name = "app.limiter.max-limit", defaultValue = "200")
+  int maxLimit;
+
+  @ConfigProperty(name = "app.limiter.smoothing", defaultValue = "0.2")
+  double smoothing;
+
+  @ConfigProperty(name = "app.limiter.tolerance", defaultValue = "1.5")
+  double tolerance;
+
+  @ConfigProperty(name = "app.limiter.window", defaultValue = "0.5S")
+  Duration window;
+
+  @ConfigProperty(name = "app.limiter.window-min-samples", defaultValue = "10")
+  int windowMinSamples;
+
+  @ConfigProperty(name = "app.limiter.long-window", defaultValue = "600")
+  int longWindow;
+
+  @ConfigProperty(name = "app.limiter.share.interactive", defaultValue = "0.9")
+  double interactiveShare;
+
+  @ConfigProperty(name = "app.limiter.share.bulk", defaultValue = "0.5")
+  double bulkShare;
+
+  @Produces
+  @ApplicationScoped
+  AdaptiveConcurrencyLimiter limiter() {
+
+    return new AdaptiveConcurrencyLimiter(this.initialLimit, this.minLimit, this.maxLimit, this.smoothing,
+        this.tolerance, this.window.toNanos(), this.windowMinSamples, this.longWindow,
+        Map.of(RequestPriority.WRITE, Double.valueOf(1.0), RequestPriority.INTERACTIVE,
+            Double.valueOf(this.interactiveShare), RequestPriority.BULK, Double.valueOf(this.bulkShare)));
+  }
+
+}
@@ -0,0 +1,34 @@
+package org.example.app.general.service;
+
+import java.io.IOException;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.example.app.general.common.cbor.CborCodec;
+import org.example.app.general.common.cbor.CborReader;
+import org.example.app.general.common.cbor.CborWriter;
+
+/**
+ * {@link CborCodec} for {@link Integer} as CBOR integer, e.g. for versions and counts returned by REST services.
+ */
+@ApplicationScoped
+public class IntegerCborCodec implements CborCodec<Integer> {
+
+  @Override
+  public Class<Integer> getType() {
+
+    return Integer.class;
+  }
+
+  @Override
+  public void write(Integer value, CborWriter writer) throws IOException {
+
+    writer.writeLong(value);
+  }
+
+  @Override
+  public Integer read(CborReader reader) throws IOException {
+
+    return reader.readNullableInteger();
+  }
+
+}
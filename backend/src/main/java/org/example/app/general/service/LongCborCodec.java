@@ -0,0 +1,34 @@
+package org.example.app.general.service;
+
+import java.io.IOException;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.example.app.general.common.cbor.CborCodec;
+import org.example.app.general.common.cbor.CborReader;
+import org.example.app.general.common.cbor.CborWriter;
+
+/**
+ * {@link CborCodec} for {@link Long} as CBOR integer, e.g. for IDs of created objects returned by REST services.
+ */
+@ApplicationScoped
+public class LongCborCodec implements CborCodec<Long> {
+
+  @Override
+  public Class<Long> getType() {
+
+    return Long.class;
+  }
+
+  @Override
+  public void write(Long value, CborWriter writer) throws IOException {
+
+    writer.writeLong(value);
+  }
+
+  @Override
+  public Long read(CborReader reader) throws IOException {
+
+    return reader.readNullableLong();
+  }
+
+}
@@ -0,0 +1,24 @@
+package org.example.app.general.service;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.example.app.general.common.concurrency.RequestPriority;
+
+/**
+ * Overrides the {@link RequestPriority} of a {@link ConcurrencyLimited} REST operation. Without this annotation
+ * {@code GET} requests are {@link RequestPriority#INTERACTIVE interactive} and all other requests are
+ * {@link RequestPriority#WRITE writes}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Prioritized {
+
+  /**
+   * @return the {@link RequestPriority} of the annotated operation.
+   */
+  RequestPriority value();
+
+}
@@ -0,0 +1,60 @@
+package org.example.app.general.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.NewCookie;
+import jakarta.ws.rs.core.Response.Status.Family;
+import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.example.app.general.dataaccess.ReadYourWritesContext;
+
+/**
+ * Filter providing read-your-writes consistency with a read replica. A successful write request sets a short-lived
+ * cookie and while it is present all requests of that client are served by the primary database. The cookie lives for
+ * {@code app.datasource.replica.read-your-writes} that has to be greater than {@code app.datasource.replica.max-lag}.
+ */
+@Provider
+public class ReadYourWritesFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+  /** Name of the cookie marking a client that recently wrote data. */
+  public static final String COOKIE = "read-your-writes";
+
+  private static final Set<String> SAFE_METHODS = Set.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS);
+
+  @Inject
+  ReadYourWritesContext context;
+
+  @ConfigProperty(name = "app.datasource.replica.read-your-writes", defaultValue = "5S")
+  Duration window;
+
+  @Override
+  public void filter(ContainerRequestContext requestContext) throws IOException {
+
+    if (requestContext.getCookies().containsKey(COOKIE)) {
+      this.context.setPrimaryRequired(true);
+    }
+  }
+
+  @Override
+  public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext)
+      throws IOException {
+
+    // searches are sent via POST but do not write
+    if (!SAFE_METHODS.contains(requestContext.getMethod()) && !requestContext.getUriInfo().getPath().endsWith("/search")
+        && (responseContext.getStatusInfo().getFamily() == Family.SUCCESSFUL)) {
+      NewCookie cookie = new NewCookie.Builder(COOKIE).value("1").path("/").httpOnly(true)
+          .maxAge((int) Math.max(1, this.window.toSeconds())).build();
+      responseContext.getHeaders().add(HttpHeaders.SET_COOKIE, cookie);
+    }
+  }
+
+}
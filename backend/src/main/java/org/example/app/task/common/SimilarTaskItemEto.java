@@ -0,0 +1,50 @@
+package org.example.app.task.common;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+/**
+ * Transfer object of a {@link TaskItemEto} found by similarity search together with its similarity to the query.
+ */
+@Schema(name = "SimilarTaskItem", description = "Object that represents a task item similar to a query")
+public class SimilarTaskItemEto {
+
+  @Schema(required = true)
+  private TaskItemEto item;
+
+  @Schema(required = true, description = "Cosine similarity of the title embeddings from -1 to 1")
+  private double similarity;
+
+  /**
+   * @return the similar {@link TaskItemEto}.
+   */
+  public TaskItemEto getItem() {
+
+    return this.item;
+  }
+
+  /**
+   * @param item new value of {@link #getItem()}.
+   */
+  public void setItem(TaskItemEto item) {
+
+    this.item = item;
+  }
+
+  /**
+   * @return the cosine similarity of the embedding of the {@link TaskItemEto#getTitle() title} to the query from
+   *         {@code -1} to {@code 1} (identical).
+   */
+  public double getSimilarity() {
+
+    return this.similarity;
+  }
+
+  /**
+   * @param similarity new value of {@link #getSimilarity()}.
+   */
+  public void setSimilarity(double similarity) {
+
+    this.similarity = similarity;
+  }
+
+}
@@ -0,0 +1,52 @@
+package org.example.app.task.common;
+
+import java.time.LocalDateTime;
+
+import org.example.app.general.common.ApplicationEntity;
+
+/**
+ * Interface for a single task item of a {@link TaskList}.
+ */
+public interface TaskItem extends ApplicationEntity {
+
+  /**
+   * @return the title or description of the task.
+   */
+  String getTitle();
+
+  /**
+   * @param title new value of {@link #getTitle()}.
+   */
+  void setTitle(String title);
+
+  /**
+   * @return {@code true} if this task has been completed, {@code false} otherwise.
+   */
+  boolean isCompleted();
+
+  /**
+   * @param completed new value of {@link #isCompleted()}.
+   */
+  void setCompleted(boolean completed);
+
+  /**
+   * @return {@code true} if this task has been starred as important, {@code false} otherwise.
+   */
+  boolean isStarred();
+
+  /**
+   * @param starred new value of {@link #isStarred()}.
+   */
+  void setStarred(boolean starred);
+
+  /**
+   * @return the point in time until when this task must be completed or {@code null} if there is no deadline.
+   */
+  LocalDateTime getDeadline();
+
+  /**
+   * @param deadline new value of {@link #getDeadline()}.
+   */
+  void setDeadline(LocalDateTime deadline);
+
+}
@@ -0,0 +1,75 @@
+package org.example.app.task.common;
+
+/**
+ * CDI event fired by the use-cases whenever a {@link TaskItem} has been saved or deleted. Observers that cache or
+ * derive data from task items shall use {@code @Observes(during = TransactionPhase.AFTER_SUCCESS)} so they only see
+ * committed changes.
+ */
+public class TaskItemChangeEvent {
+
+  private final Long id;
+
+  private final Long taskListId;
+
+  private final TaskItemEto item;
+
+  private TaskItemChangeEvent(Long id, Long taskListId, TaskItemEto item) {
+
+    super();
+    this.id = id;
+    this.taskListId = taskListId;
+    this.item = item;
+  }
+
+  /**
+   * @return the {@link TaskItem#getId() primary key} of the changed {@link TaskItem}.
+   */
+  public Long getId() {
+
+    return this.id;
+  }
+
+  /**
+   * @return the {@link TaskList#getId() primary key} of the {@link TaskList} the changed {@link TaskItem} belongs to.
+   */
+  public Long getTaskListId() {
+
+    return this.taskListId;
+  }
+
+  /**
+   * @return the {@link TaskItemEto} as saved or {@code null} if {@link #isDeleted() deleted}.
+   */
+  public TaskItemEto getItem() {
+
+    return this.item;
+  }
+
+  /**
+   * @return {@code true} if the {@link TaskItem} has been deleted, {@code false} if it has been inserted or updated.
+   */
+  public boolean isDeleted() {
+
+    return this.item == null;
+  }
+
+  /**
+   * @param item the saved {@link TaskItemEto} (including its new {@link TaskItemEto#getVersion() version}).
+   * @return the {@link TaskItemChangeEvent} for the save.
+   */
+  public static TaskItemChangeEvent ofSave(TaskItemEto item) {
+
+    return new TaskItemChangeEvent(item.getId(), item.getTaskListId(), item);
+  }
+
+  /**
+   * @param id the {@link #getId() ID} of the deleted {@link TaskItem}.
+   * @param taskListId the {@link #getTaskListId() ID of the task list}.
+   * @return the {@link TaskItemChangeEvent} for the deletion.
+   */
+  public static TaskItemChangeEvent ofDelete(Long id, Long taskListId) {
+
+    return new TaskItemChangeEvent(id, taskListId, null);
+  }
+
+}
@@ -0,0 +1,129 @@
+package org.example.app.task.common;
+
+import java.time.LocalDateTime;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.example.app.general.common.AbstractEto;
+
+/**
+ * {@link TaskItem} as Entity Transfer Object (ETO).
+ */
+@Schema(name = "TaskItem", description = "Object that represents a task item")
+public class TaskItemEto extends AbstractEto implements TaskItem {
+
+  @NotBlank
+  @Schema(required = true, example = "Buy eggs", description = "The task title or description")
+  private String title;
+
+  @Schema(example = "false", description = "Whether or not the task is completed")
+  private boolean completed;
+
+  @Schema(example = "false", description = "Whether or not the task has been starred")
+  private boolean starred;
+
+  @Schema(description = "Until when the task must be completed")
+  private LocalDateTime deadline;
+
+  @NotNull
+  @Min(1)
+  @Schema(required = true, example = "1", description = "The id of the task list to which this item belongs")
+  private Long taskListId;
+
+  /**
+   * The constructor.
+   */
+  public TaskItemEto() {
+
+    super();
+  }
+
+  /**
+   * The constructor for projections.
+   *
+   * @param id the {@link #getId() primary key}.
+   * @param version the {@link #getVersion() version}.
+   * @param title the {@link #getTitle() title}.
+   * @param completed the {@link #isCompleted() completed} flag.
+   * @param starred the {@link #isStarred() starred} flag.
+   * @param deadline the {@link #getDeadline() deadline}.
+   * @param taskListId the {@link #getTaskListId() task list ID}.
+   */
+  public TaskItemEto(Long id, Integer version, String title, boolean completed, boolean starred,
+      LocalDateTime deadline, Long taskListId) {
+
+    super(id, version);
+    this.title = title;
+    this.completed = completed;
+    this.starred = starred;
+    this.deadline = deadline;
+    this.taskListId = taskListId;
+  }
+
+  @Override
+  public String getTitle() {
+
+    return this.title;
+  }
+
+  @Override
+  public void setTitle(String title) {
+
+    this.title = title;
+  }
+
+  @Override
+  public boolean isCompleted() {
+
+    return this.completed;
+  }
+
+  @Override
+  public void setCompleted(boolean completed) {
+
+    this.completed = completed;
+  }
+
+  @Override
+  public boolean isStarred() {
+
+    return this.starred;
+  }
+
+  @Override
+  public void setStarred(boolean starred) {
+
+    this.starred = starred;
+  }
+
+  @Override
+  public LocalDateTime getDeadline() {
+
+    return this.deadline;
+  }
+
+  @Override
+  public void setDeadline(LocalDateTime deadline) {
+
+    this.deadline = deadline;
+  }
+
+  /**
+   * @return the {@link TaskList#getId() primary key} of the {@link TaskList} this item belongs to.
+   */
+  public Long getTaskListId() {
+
+    return this.taskListId;
+  }
+
+  /**
+   * @param taskListId new value of {@link #getTaskListId()}.
+   */
+  public void setTaskListId(Long taskListId) {
+
+    this.taskListId = taskListId;
+  }
+
+}
@@ -0,0 +1,20 @@
+package org.example.app.task.common;
+
+import org.example.app.general.common.ApplicationEntity;
+
+/**
+ * Interface for a list of {@link TaskItem task items}.
+ */
+public interface TaskList extends ApplicationEntity {
+
+  /**
+   * @return the title of this task list.
+   */
+  String getTitle();
+
+  /**
+   * @param title new value of {@link #getTitle()}.
+   */
+  void setTitle(String title);
+
+}
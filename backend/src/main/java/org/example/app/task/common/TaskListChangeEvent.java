@@ -0,0 +1,56 @@
+package org.example.app.task.common;
+
+/**
+ * CDI event fired whenever a {@link TaskList} itself or the set of its {@link TaskItem items} has changed in a way
+ * that is not covered by a {@link TaskItemChangeEvent} (e.g. the list has been saved or deleted or items have been
+ * archived). Observers that cache data of task lists shall use
+ * {@code @Observes(during = TransactionPhase.AFTER_SUCCESS)} so they only see committed changes.
+ */
+public class TaskListChangeEvent {
+
+  private final Long taskListId;
+
+  private final boolean deleted;
+
+  private TaskListChangeEvent(Long taskListId, boolean deleted) {
+
+    super();
+    this.taskListId = taskListId;
+    this.deleted = deleted;
+  }
+
+  /**
+   * @return the {@link TaskList#getId() primary key} of the changed {@link TaskList}.
+   */
+  public Long getTaskListId() {
+
+    return this.taskListId;
+  }
+
+  /**
+   * @return {@code true} if the {@link TaskList} has been deleted, {@code false} if it or its items have changed.
+   */
+  public boolean isDeleted() {
+
+    return this.deleted;
+  }
+
+  /**
+   * @param taskListId the {@link #getTaskListId() ID of the task list}.
+   * @return the {@link TaskListChangeEvent} for a change of the list or its items.
+   */
+  public static TaskListChangeEvent ofChange(Long taskListId) {
+
+    return new TaskListChangeEvent(taskListId, false);
+  }
+
+  /**
+   * @param taskListId the {@link #getTaskListId() ID of the deleted task list}.
+   * @return the {@link TaskListChangeEvent} for the deletion.
+   */
+  public static TaskListChangeEvent ofDelete(Long taskListId) {
+
+    return new TaskListChangeEvent(taskListId, true);
+  }
+
+}
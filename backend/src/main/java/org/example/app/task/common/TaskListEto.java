@@ -0,0 +1,50 @@
+package org.example.app.task.common;
+
+import jakarta.validation.constraints.NotBlank;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.example.app.general.common.AbstractEto;
+
+/**
+ * {@link TaskList} as Entity Transfer Object (ETO).
+ */
+@Schema(name = "TaskList", description = "Object that represents a task list")
+public class TaskListEto extends AbstractEto implements TaskList {
+
+  @NotBlank
+  @Schema(required = true, example = "Shopping list", description = "Title of the task list")
+  private String title;
+
+  /**
+   * The constructor.
+   */
+  public TaskListEto() {
+
+    super();
+  }
+
+  /**
+   * The constructor for projections.
+   *
+   * @param id the {@link #getId() primary key}.
+   * @param version the {@link #getVersion() version}.
+   * @param title the {@link #getTitle() title}.
+   */
+  public TaskListEto(Long id, Integer version, String title) {
+
+    super(id, version);
+    this.title = title;
+  }
+
+  @Override
+  public String getTitle() {
+
+    return this.title;
+  }
+
+  @Override
+  public void setTitle(String title) {
+
+    this.title = title;
+  }
+
+}
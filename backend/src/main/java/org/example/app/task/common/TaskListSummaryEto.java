@@ -0,0 +1,107 @@
+package org.example.app.task.common;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+/**
+ * {@link TaskListEto} together with the counters of its {@link TaskItem items} as used e.g. in the sidebar.
+ */
+@Schema(name = "TaskListSummary", description = "Object that represents a task list with the counters of its items")
+public class TaskListSummaryEto extends TaskListEto {
+
+  @Schema(required = true, example = "12", description = "Number of all items including archived ones")
+  private long totalItems;
+
+  @Schema(required = true, example = "5", description = "Number of open (not completed) items")
+  private long openItems;
+
+  @Schema(required = true, example = "7", description = "Number of completed items")
+  private long completedItems;
+
+  @Schema(required = true, example = "2", description = "Number of starred items")
+  private long starredItems;
+
+  @Schema(required = true, example = "1", description = "Number of open items with a deadline in the past")
+  private long overdueItems;
+
+  /**
+   * @return the number of all {@link TaskItem items} of this list including archived ones.
+   */
+  public long getTotalItems() {
+
+    return this.totalItems;
+  }
+
+  /**
+   * @param totalItems new value of {@link #getTotalItems()}.
+   */
+  public void setTotalItems(long totalItems) {
+
+    this.totalItems = totalItems;
+  }
+
+  /**
+   * @return the number of open (not {@link TaskItem#isCompleted() completed}) {@link TaskItem items} of this list.
+   */
+  public long getOpenItems() {
+
+    return this.openItems;
+  }
+
+  /**
+   * @param openItems new value of {@link #getOpenItems()}.
+   */
+  public void setOpenItems(long openItems) {
+
+    this.openItems = openItems;
+  }
+
+  /**
+   * @return the number of {@link TaskItem#isCompleted() completed} {@link TaskItem items} of this list.
+   */
+  public long getCompletedItems() {
+
+    return this.completedItems;
+  }
+
+  /**
+   * @param completedItems new value of {@link #getCompletedItems()}.
+   */
+  public void setCompletedItems(long completedItems) {
+
+    this.completedItems = completedItems;
+  }
+
+  /**
+   * @return the number of {@link TaskItem#isStarred() starred} {@link TaskItem items} of this list.
+   */
+  public long getStarredItems() {
+
+    return this.starredItems;
+  }
+
+  /**
+   * @param starredItems new value of {@link #getStarredItems()}.
+   */
+  public void setStarredItems(long starredItems) {
+
+    this.starredItems = starredItems;
+  }
+
+  /**
+   * @return the number of open {@link TaskItem items} of this list with a {@link TaskItem#getDeadline() deadline} in
+   *         the past.
+   */
+  public long getOverdueItems() {
+
+    return this.overdueItems;
+  }
+
+  /**
+   * @param overdueItems new value of {@link #getOverdueItems()}.
+   */
+  public void setOverdueItems(long overdueItems) {
+
+    this.overdueItems = overdueItems;
+  }
+
+}
@@ -0,0 +1,55 @@
+package org.example.app.task.common;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+/**
+ * Composite transfer object of a {@link TaskListEto} together with all its {@link TaskItemEto items}.
+ */
+@Schema(name = "TaskListWithItems", description = "Object that represents a task list and its task items")
+public class TaskListWithItemsEto {
+
+  @Schema(required = true)
+  private TaskListEto list;
+
+  @Schema(required = true)
+  private List<TaskItemEto> items;
+
+  /**
+   * @return the {@link TaskListEto}.
+   */
+  public TaskListEto getList() {
+
+    return this.list;
+  }
+
+  /**
+   * @param list new value of {@link #getList()}.
+   */
+  public void setList(TaskListEto list) {
+
+    this.list = list;
+  }
+
+  /**
+   * @return the {@link List} of {@link TaskItemEto items} of the {@link #getList() list}.
+   */
+  public List<TaskItemEto> getItems() {
+
+    if (this.items == null) {
+      this.items = new ArrayList<>();
+    }
+    return this.items;
+  }
+
+  /**
+   * @param items new value of {@link #getItems()}.
+   */
+  public void setItems(List<TaskItemEto> items) {
+
+    this.items = items;
+  }
+
+}
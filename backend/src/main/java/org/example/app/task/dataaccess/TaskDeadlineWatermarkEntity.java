@@ -0,0 +1,55 @@
+package org.example.app.task.dataaccess;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import org.example.app.general.dataaccess.ApplicationPersistenceEntity;
+
+/**
+ * Persistent watermark of the deadline scheduler. All deadlines up to {@link #getFiredUntil() fired until} have been
+ * fired so they are neither lost nor fired again after a restart.
+ */
+@Entity
+@Table(name = "TASK_DEADLINE_WATERMARK")
+public class TaskDeadlineWatermarkEntity extends ApplicationPersistenceEntity {
+
+  private String name;
+
+  @Column(name = "FIRED_UNTIL")
+  private LocalDateTime firedUntil;
+
+  /**
+   * @return the unique name of the scheduler owning this watermark.
+   */
+  public String getName() {
+
+    return this.name;
+  }
+
+  /**
+   * @param name new value of {@link #getName()}.
+   */
+  public void setName(String name) {
+
+    this.name = name;
+  }
+
+  /**
+   * @return the point in time up to which (inclusive) all deadlines have been fired.
+   */
+  public LocalDateTime getFiredUntil() {
+
+    return this.firedUntil;
+  }
+
+  /**
+   * @param firedUntil new value of {@link #getFiredUntil()}.
+   */
+  public void setFiredUntil(LocalDateTime firedUntil) {
+
+    this.firedUntil = firedUntil;
+  }
+
+}
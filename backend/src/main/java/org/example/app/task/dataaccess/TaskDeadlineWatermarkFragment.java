@@ -0,0 +1,17 @@
+package org.example.app.task.dataaccess;
+
+/**
+ * Fragment interface for custom queries of {@link TaskDeadlineWatermarkRepository}.
+ */
+public interface TaskDeadlineWatermarkFragment {
+
+  /**
+   * Reads the watermark with a row lock ({@code SELECT ... FOR UPDATE}) held until the end of the transaction. Nodes
+   * running the same scheduler are therefore serialized and the node holding the lock owns the firing.
+   *
+   * @param name the {@link TaskDeadlineWatermarkEntity#getName() name}.
+   * @return the locked {@link TaskDeadlineWatermarkEntity} with the given {@code name} or {@code null} if not found.
+   */
+  TaskDeadlineWatermarkEntity findByNameForUpdate(String name);
+
+}
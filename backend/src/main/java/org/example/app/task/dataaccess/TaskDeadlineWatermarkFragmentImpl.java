@@ -0,0 +1,23 @@
+package org.example.app.task.dataaccess;
+
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.LockModeType;
+import org.example.app.general.dataaccess.ApplicationQueryFragment;
+
+/**
+ * Implementation of {@link TaskDeadlineWatermarkFragment}.
+ */
+@ApplicationScoped
+public class TaskDeadlineWatermarkFragmentImpl extends ApplicationQueryFragment
+    implements TaskDeadlineWatermarkFragment {
+
+  @Override
+  public TaskDeadlineWatermarkEntity findByNameForUpdate(String name) {
+
+    QTaskDeadlineWatermarkEntity watermark = QTaskDeadlineWatermarkEntity.taskDeadlineWatermarkEntity;
+    return new JPAQuery<TaskDeadlineWatermarkEntity>(this.em).select(watermark).from(watermark)
+        .where(watermark.name.eq(name)).setLockMode(LockModeType.PESSIMISTIC_WRITE).fetchOne();
+  }
+
+}
@@ -0,0 +1,17 @@
+package org.example.app.task.dataaccess;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * {@link JpaRepository} for {@link TaskDeadlineWatermarkEntity}.
+ */
+public interface TaskDeadlineWatermarkRepository
+    extends JpaRepository<TaskDeadlineWatermarkEntity, Long>, TaskDeadlineWatermarkFragment {
+
+  /**
+   * @param name the {@link TaskDeadlineWatermarkEntity#getName() name}.
+   * @return the {@link TaskDeadlineWatermarkEntity} with the given {@code name} or {@code null} if not found.
+   */
+  TaskDeadlineWatermarkEntity findByName(String name);
+
+}
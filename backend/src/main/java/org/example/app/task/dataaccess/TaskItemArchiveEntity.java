@@ -0,0 +1,134 @@
+package org.example.app.task.dataaccess;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import org.example.app.general.dataaccess.ApplicationPersistenceEntity;
+import org.example.app.task.common.TaskItem;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Read-only JPA entity for a completed {@link TaskItem} that has been moved from {@link TaskItemEntity TASK_ITEM} to
+ * cold storage by {@link TaskItemArchiveFragment#archiveCompleted(LocalDateTime, long, int) archival}.
+ */
+@Entity
+@Immutable
+@Table(name = "TASK_ITEM_ARCHIVE")
+public class TaskItemArchiveEntity extends ApplicationPersistenceEntity implements TaskItem {
+
+  private String title;
+
+  private boolean completed;
+
+  private boolean starred;
+
+  private LocalDateTime deadline;
+
+  @Column(name = "LIST_ID")
+  private Long taskListId;
+
+  @Column(name = "COMPLETED_AT")
+  private LocalDateTime completedAt;
+
+  @Column(name = "ARCHIVED_AT")
+  private LocalDateTime archivedAt;
+
+  @Override
+  public String getTitle() {
+
+    return this.title;
+  }
+
+  @Override
+  public void setTitle(String title) {
+
+    this.title = title;
+  }
+
+  @Override
+  public boolean isCompleted() {
+
+    return this.completed;
+  }
+
+  @Override
+  public void setCompleted(boolean completed) {
+
+    this.completed = completed;
+  }
+
+  @Override
+  public boolean isStarred() {
+
+    return this.starred;
+  }
+
+  @Override
+  public void setStarred(boolean starred) {
+
+    this.starred = starred;
+  }
+
+  @Override
+  public LocalDateTime getDeadline() {
+
+    return this.deadline;
+  }
+
+  @Override
+  public void setDeadline(LocalDateTime deadline) {
+
+    this.deadline = deadline;
+  }
+
+  /**
+   * @return the {@link TaskListEntity#getId() primary key} of the {@link TaskListEntity} this item belongs to.
+   */
+  public Long getTaskListId() {
+
+    return this.taskListId;
+  }
+
+  /**
+   * @param taskListId new value of {@link #getTaskListId()}.
+   */
+  public void setTaskListId(Long taskListId) {
+
+    this.taskListId = taskListId;
+  }
+
+  /**
+   * @return the point in time when this item has been completed.
+   */
+  public LocalDateTime getCompletedAt() {
+
+    return this.completedAt;
+  }
+
+  /**
+   * @param completedAt new value of {@link #getCompletedAt()}.
+   */
+  public void setCompletedAt(LocalDateTime completedAt) {
+
+    this.completedAt = completedAt;
+  }
+
+  /**
+   * @return the point in time when this item has been moved to the archive.
+   */
+  public LocalDateTime getArchivedAt() {
+
+    return this.archivedAt;
+  }
+
+  /**
+   * @param archivedAt new value of {@link #getArchivedAt()}.
+   */
+  public void setArchivedAt(LocalDateTime archivedAt) {
+
+    this.archivedAt = archivedAt;
+  }
+
+}
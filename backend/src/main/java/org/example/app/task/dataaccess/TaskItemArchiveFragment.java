@@ -0,0 +1,62 @@
+package org.example.app.task.dataaccess;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.example.app.task.common.TaskItemEto;
+import org.example.app.task.common.TaskItemSearchCriteria;
+
+/**
+ * Fragment interface for the archival operations and custom queries of {@link TaskItemArchiveRepository}.
+ */
+public interface TaskItemArchiveFragment {
+
+  /**
+   * Moves a batch of completed {@link TaskItemEntity items} from {@code TASK_ITEM} to {@code TASK_ITEM_ARCHIVE} in a
+   * single statement. Rows locked by concurrent transactions are skipped.
+   *
+   * @param completedBefore only items completed before this point in time are archived.
+   * @param afterId only items with an {@link TaskItemEntity#getId() ID} greater than this value are archived (keyset
+   *        cursor).
+   * @param limit the maximum number of items to archive.
+   * @return the {@link TaskItemRef references} of the archived items.
+   */
+  List<TaskItemRef> archiveCompleted(LocalDateTime completedBefore, long afterId, int limit);
+
+  /**
+   * Moves an archived item back from {@code TASK_ITEM_ARCHIVE} to {@code TASK_ITEM}.
+   *
+   * @param id the {@link TaskItemArchiveEntity#getId() ID} of the item to restore.
+   * @return {@code true} if the item has been restored, {@code false} if it was not archived.
+   */
+  boolean restore(Long id);
+
+  /**
+   * @param id the {@link TaskItemArchiveEntity#getId() primary key} of the requested archived item.
+   * @return the archived {@link TaskItemEto item} with the given ID projected directly from the database without
+   *         loading a {@link TaskItemArchiveEntity} or {@code null} if no such item has been archived.
+   */
+  TaskItemEto findEtoById(Long id);
+
+  /**
+   * @param criteria the {@link TaskItemSearchCriteria} to filter by. Sorting and paging are ignored.
+   * @param afterId only archived items with an {@link TaskItemArchiveEntity#getId() ID} greater than this value are
+   *        returned (keyset cursor).
+   * @param limit the maximum number of items to return.
+   * @param fetchSize the number of rows fetched from the database cursor per round-trip.
+   * @return the {@link Stream} of the matching archived {@link TaskItemEto items} ordered by
+   *         {@link TaskItemArchiveEntity#getId() ID}. Has to be consumed within the current transaction and closed.
+   */
+  Stream<TaskItemEto> streamEtos(TaskItemSearchCriteria criteria, long afterId, int limit, int fetchSize);
+
+  /**
+   * Deletes all archived items of a list with a single statement. As only completed items are archived this is the
+   * archive part of clearing the completed items of a list.
+   *
+   * @param taskListId the {@link TaskListEntity#getId() primary key} of the {@link TaskListEntity}.
+   * @return the {@link List} of the deleted {@link TaskItemEto items}.
+   */
+  List<TaskItemEto> deleteAllInList(Long taskListId);
+
+}
@@ -0,0 +1,98 @@
+package org.example.app.task.dataaccess;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.querydsl.core.types.ConstructorExpression;
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.example.app.general.dataaccess.ApplicationQueryFragment;
+import org.example.app.task.common.TaskItemEto;
+import org.example.app.task.common.TaskItemSearchCriteria;
+
+/**
+ * Implementation of {@link TaskItemArchiveFragment} with native SQL for the archival as JPA can not move rows between
+ * tables.
+ */
+@ApplicationScoped
+public class TaskItemArchiveFragmentImpl extends ApplicationQueryFragment implements TaskItemArchiveFragment {
+
+  private static final String SQL_ARCHIVE = "WITH MOVED AS (DELETE FROM TASK_ITEM WHERE ID IN ("
+      + "SELECT ID FROM TASK_ITEM WHERE COMPLETED = TRUE AND COMPLETED_AT < :completedBefore AND ID > :afterId "
+      + "ORDER BY ID LIMIT :limit FOR UPDATE SKIP LOCKED) "
+      + "RETURNING ID, VERSION, TITLE, COMPLETED, STARRED, DEADLINE, LIST_ID, COMPLETED_AT) "
+      + "INSERT INTO TASK_ITEM_ARCHIVE (ID, VERSION, TITLE, COMPLETED, STARRED, DEADLINE, LIST_ID, COMPLETED_AT, ARCHIVED_AT) "
+      + "SELECT ID, VERSION, TITLE, COMPLETED, STARRED, DEADLINE, LIST_ID, COMPLETED_AT, LOCALTIMESTAMP FROM MOVED "
+      + "RETURNING ID, LIST_ID";
+
+  private static final String SQL_RESTORE = "WITH MOVED AS (DELETE FROM TASK_ITEM_ARCHIVE WHERE ID = :id "
+      + "RETURNING ID, VERSION, TITLE, COMPLETED, STARRED, DEADLINE, LIST_ID, COMPLETED_AT) "
+      + "INSERT INTO TASK_ITEM (ID, VERSION, TITLE, COMPLETED, STARRED, DEADLINE, LIST_ID, COMPLETED_AT) "
+      + "SELECT ID, VERSION, TITLE, COMPLETED, STARRED, DEADLINE, LIST_ID, COMPLETED_AT FROM MOVED RETURNING ID";
+
+  private static final String SQL_DELETE_ALL = "DELETE FROM TASK_ITEM_ARCHIVE WHERE LIST_ID = :listId"
+      + TaskItemFragmentImpl.RETURNING;
+
+  @Override
+  public List<TaskItemRef> archiveCompleted(LocalDateTime completedBefore, long afterId, int limit) {
+
+    List<?> result = this.em.createNativeQuery(SQL_ARCHIVE, Object[].class)
+        .setParameter("completedBefore", completedBefore).setParameter("afterId", Long.valueOf(afterId))
+        .setParameter("limit", Integer.valueOf(limit)).getResultList();
+    List<TaskItemRef> refs = new ArrayList<>(result.size());
+    for (Object row : result) {
+      Object[] columns = (Object[]) row;
+      refs.add(new TaskItemRef(Long.valueOf(((Number) columns[0]).longValue()),
+          Long.valueOf(((Number) columns[1]).longValue())));
+    }
+    return refs;
+  }
+
+  @Override
+  public List<TaskItemEto> deleteAllInList(Long taskListId) {
+
+    List<?> result = this.em.createNativeQuery(SQL_DELETE_ALL, Object[].class).setParameter("listId", taskListId)
+        .getResultList();
+    List<TaskItemEto> items = new ArrayList<>(result.size());
+    for (Object row : result) {
+      items.add(TaskItemFragmentImpl.toEto((Object[]) row));
+    }
+    return items;
+  }
+
+  @Override
+  public boolean restore(Long id) {
+
+    return !this.em.createNativeQuery(SQL_RESTORE, Long.class).setParameter("id", id).getResultList().isEmpty();
+  }
+
+  @Override
+  public TaskItemEto findEtoById(Long id) {
+
+    QTaskItemArchiveEntity item = QTaskItemArchiveEntity.taskItemArchiveEntity;
+    return newReadOnlyQuery().select(toEto(item)).from(item).where(item.id.eq(id)).fetchOne();
+  }
+
+  @Override
+  public Stream<TaskItemEto> streamEtos(TaskItemSearchCriteria criteria, long afterId, int limit, int fetchSize) {
+
+    QTaskItemArchiveEntity item = QTaskItemArchiveEntity.taskItemArchiveEntity;
+    JPAQuery<TaskItemEto> query = newReadOnlyQuery().select(toEto(item)).from(item).where(item.id.gt(afterId));
+    if (criteria.getTitle() != null) {
+      where(query, item.title, criteria.getTitle(), criteria.getTitleOptions());
+    }
+    where(query, item.completed, criteria.getCompleted());
+    where(query, item.starred, criteria.getStarred());
+    return stream(query.orderBy(item.id.asc()).limit(limit), fetchSize);
+  }
+
+  private static ConstructorExpression<TaskItemEto> toEto(QTaskItemArchiveEntity item) {
+
+    return Projections.constructor(TaskItemEto.class, item.id, item.version, item.title, item.completed, item.starred,
+        item.deadline, item.taskListId);
+  }
+
+}
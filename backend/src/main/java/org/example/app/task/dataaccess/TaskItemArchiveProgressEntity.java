@@ -0,0 +1,53 @@
+package org.example.app.task.dataaccess;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import org.example.app.general.dataaccess.ApplicationPersistenceEntity;
+
+/**
+ * Persistent progress of the archival of completed task items so an interrupted run resumes where it stopped.
+ */
+@Entity
+@Table(name = "TASK_ITEM_ARCHIVE_PROGRESS")
+public class TaskItemArchiveProgressEntity extends ApplicationPersistenceEntity {
+
+  private String name;
+
+  @Column(name = "LAST_ID")
+  private long lastId;
+
+  /**
+   * @return the unique name of the archival owning this progress.
+   */
+  public String getName() {
+
+    return this.name;
+  }
+
+  /**
+   * @param name new value of {@link #getName()}.
+   */
+  public void setName(String name) {
+
+    this.name = name;
+  }
+
+  /**
+   * @return the {@link TaskItemEntity#getId() ID} of the last archived item of the current pass or {@code 0} to start
+   *         a new pass from the beginning.
+   */
+  public long getLastId() {
+
+    return this.lastId;
+  }
+
+  /**
+   * @param lastId new value of {@link #getLastId()}.
+   */
+  public void setLastId(long lastId) {
+
+    this.lastId = lastId;
+  }
+
+}
@@ -0,0 +1,17 @@
+package org.example.app.task.dataaccess;
+
+/**
+ * Fragment interface for custom queries of {@link TaskItemArchiveProgressRepository}.
+ */
+public interface TaskItemArchiveProgressFragment {
+
+  /**
+   * Reads the progress with a row lock ({@code SELECT ... FOR UPDATE}) held until the end of the transaction. Nodes
+   * running the archival are therefore serialized batch by batch and each batch continues after the last one.
+   *
+   * @param name the {@link TaskItemArchiveProgressEntity#getName() name}.
+   * @return the locked {@link TaskItemArchiveProgressEntity} with the given {@code name} or {@code null} if not found.
+   */
+  TaskItemArchiveProgressEntity findByNameForUpdate(String name);
+
+}
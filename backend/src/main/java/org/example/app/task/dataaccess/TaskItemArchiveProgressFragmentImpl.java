@@ -0,0 +1,23 @@
+package org.example.app.task.dataaccess;
+
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.LockModeType;
+import org.example.app.general.dataaccess.ApplicationQueryFragment;
+
+/**
+ * Implementation of {@link TaskItemArchiveProgressFragment}.
+ */
+@ApplicationScoped
+public class TaskItemArchiveProgressFragmentImpl extends ApplicationQueryFragment
+    implements TaskItemArchiveProgressFragment {
+
+  @Override
+  public TaskItemArchiveProgressEntity findByNameForUpdate(String name) {
+
+    QTaskItemArchiveProgressEntity progress = QTaskItemArchiveProgressEntity.taskItemArchiveProgressEntity;
+    return new JPAQuery<TaskItemArchiveProgressEntity>(this.em).select(progress).from(progress)
+        .where(progress.name.eq(name)).setLockMode(LockModeType.PESSIMISTIC_WRITE).fetchOne();
+  }
+
+}
@@ -0,0 +1,17 @@
+package org.example.app.task.dataaccess;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * {@link JpaRepository} for {@link TaskItemArchiveProgressEntity}.
+ */
+public interface TaskItemArchiveProgressRepository
+    extends JpaRepository<TaskItemArchiveProgressEntity, Long>, TaskItemArchiveProgressFragment {
+
+  /**
+   * @param name the {@link TaskItemArchiveProgressEntity#getName() name}.
+   * @return the {@link TaskItemArchiveProgressEntity} with the given {@code name} or {@code null} if not found.
+   */
+  TaskItemArchiveProgressEntity findByName(String name);
+
+}
@@ -0,0 +1,19 @@
+package org.example.app.task.dataaccess;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * {@link JpaRepository} for {@link TaskItemArchiveEntity}.
+ */
+public interface TaskItemArchiveRepository extends JpaRepository<TaskItemArchiveEntity, Long>, TaskItemArchiveFragment {
+
+  /**
+   * @param taskListId the {@link TaskListEntity#getId() primary key} of the {@link TaskListEntity}.
+   * @return the {@link List} of archived {@link TaskItemArchiveEntity items} of the specified {@link TaskListEntity}
+   *         ordered by {@link TaskItemArchiveEntity#getId() ID}.
+   */
+  List<TaskItemArchiveEntity> findByTaskListIdOrderById(Long taskListId);
+
+}
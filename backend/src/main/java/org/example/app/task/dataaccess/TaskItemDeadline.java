@@ -0,0 +1,44 @@
+package org.example.app.task.dataaccess;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of a {@link TaskItemEntity} to its {@link #getId() ID} and {@link #getDeadline() deadline} used to
+ * schedule deadlines without loading entire entities.
+ */
+public class TaskItemDeadline {
+
+  private final Long id;
+
+  private final LocalDateTime deadline;
+
+  /**
+   * The constructor.
+   *
+   * @param id the {@link #getId() ID}.
+   * @param deadline the {@link #getDeadline() deadline}.
+   */
+  public TaskItemDeadline(Long id, LocalDateTime deadline) {
+
+    super();
+    this.id = id;
+    this.deadline = deadline;
+  }
+
+  /**
+   * @return the {@link TaskItemEntity#getId() primary key} of the {@link TaskItemEntity}.
+   */
+  public Long getId() {
+
+    return this.id;
+  }
+
+  /**
+   * @return the {@link TaskItemEntity#getDeadline() deadline} of the {@link TaskItemEntity}.
+   */
+  public LocalDateTime getDeadline() {
+
+    return this.deadline;
+  }
+
+}
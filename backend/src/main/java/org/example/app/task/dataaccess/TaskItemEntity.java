@@ -0,0 +1,96 @@
+package org.example.app.task.dataaccess;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import org.example.app.general.dataaccess.ApplicationPersistenceEntity;
+import org.example.app.task.common.TaskItem;
+
+/**
+ * {@link TaskItem} as JPA entity.
+ */
+@Entity
+@Table(name = "TASK_ITEM")
+public class TaskItemEntity extends ApplicationPersistenceEntity implements TaskItem {
+
+  private String title;
+
+  private boolean completed;
+
+  private boolean starred;
+
+  private LocalDateTime deadline;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "LIST_ID")
+  private TaskListEntity taskList;
+
+  @Override
+  public String getTitle() {
+
+    return this.title;
+  }
+
+  @Override
+  public void setTitle(String title) {
+
+    this.title = title;
+  }
+
+  @Override
+  public boolean isCompleted() {
+
+    return this.completed;
+  }
+
+  @Override
+  public void setCompleted(boolean completed) {
+
+    this.completed = completed;
+  }
+
+  @Override
+  public boolean isStarred() {
+
+    return this.starred;
+  }
+
+  @Override
+  public void setStarred(boolean starred) {
+
+    this.starred = starred;
+  }
+
+  @Override
+  public LocalDateTime getDeadline() {
+
+    return this.deadline;
+  }
+
+  @Override
+  public void setDeadline(LocalDateTime deadline) {
+
+    this.deadline = deadline;
+  }
+
+  /**
+   * @return the {@link TaskListEntity} this item belongs to.
+   */
+  public TaskListEntity getTaskList() {
+
+    return this.taskList;
+  }
+
+  /**
+   * @param taskList new value of {@link #getTaskList()}.
+   */
+  public void setTaskList(TaskListEntity taskList) {
+
+    this.taskList = taskList;
+  }
+
+}
@@ -0,0 +1,107 @@
+package org.example.app.task.dataaccess;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.example.app.task.common.TaskItemEto;
+import org.example.app.task.common.TaskItemSearchCriteria;
+import org.springframework.data.domain.Page;
+
+/**
+ * Fragment interface for custom queries of {@link TaskItemRepository}.
+ */
+public interface TaskItemFragment {
+
+  /**
+   * @param from the exclusive lower bound of the {@link TaskItemEntity#getDeadline() deadline}.
+   * @param to the inclusive upper bound of the {@link TaskItemEntity#getDeadline() deadline}.
+   * @return the {@link TaskItemDeadline deadlines} of all open (not {@link TaskItemEntity#isCompleted() completed})
+   *         {@link TaskItemEntity items} with a {@link TaskItemEntity#getDeadline() deadline} in the given range.
+   */
+  List<TaskItemDeadline> findDeadlines(LocalDateTime from, LocalDateTime to);
+
+  /**
+   * @param criteria the {@link TaskItemSearchCriteria}.
+   * @return the {@link Page} of matching {@link TaskItemEto items} across all lists and shards projected directly from
+   *         the database without loading {@link TaskItemEntity entities}.
+   */
+  Page<TaskItemEto> findByCriteria(TaskItemSearchCriteria criteria);
+
+  /**
+   * @param taskListId the {@link TaskListEntity#getId() primary key} of the {@link TaskListEntity}.
+   * @return the {@link List} of {@link TaskItemEto items} of the specified {@link TaskListEntity} ordered by
+   *         {@link TaskItemEntity#getId() ID} projected directly from the database without loading
+   *         {@link TaskItemEntity entities}.
+   */
+  List<TaskItemEto> findEtosByTaskListId(Long taskListId);
+
+  /**
+   * @param taskListIds the {@link TaskListEntity#getId() primary keys} of the {@link TaskListEntity lists}.
+   * @param limitPerList the maximum number of items to return per list or {@code 0} for all items.
+   * @return the {@link List} of {@link TaskItemEto items} of the specified {@link TaskListEntity lists} ordered by
+   *         {@link TaskItemEntity#getTaskList() list} and {@link TaskItemEntity#getId() ID} loaded with a single query
+   *         without loading {@link TaskItemEntity entities}.
+   */
+  List<TaskItemEto> findEtosByTaskListIds(List<Long> taskListIds, int limitPerList);
+
+  /**
+   * @param id the {@link TaskItemEntity#getId() primary key} of the requested item.
+   * @return the {@link TaskItemEto item} with the given ID projected directly from the database without loading a
+   *         {@link TaskItemEntity} or {@code null} if no such item exists.
+   */
+  TaskItemEto findEtoById(Long id);
+
+  /**
+   * @param ids the {@link TaskItemEntity#getId() primary keys} of the requested items.
+   * @return the {@link List} of the existing {@link TaskItemEto items} with the given IDs in arbitrary order projected
+   *         directly from the database with a single query.
+   */
+  List<TaskItemEto> findEtosByIds(List<Long> ids);
+
+  /**
+   * @param criteria the {@link TaskItemSearchCriteria} to filter by. Sorting and paging are ignored.
+   * @param afterId only items with an {@link TaskItemEntity#getId() ID} greater than this value are returned (keyset
+   *        cursor).
+   * @param limit the maximum number of items to return.
+   * @param fetchSize the number of rows fetched from the database cursor per round-trip.
+   * @return the {@link Stream} of the matching {@link TaskItemEto items} ordered by {@link TaskItemEntity#getId() ID}.
+   *         Has to be consumed within the current transaction and closed.
+   */
+  Stream<TaskItemEto> streamEtos(TaskItemSearchCriteria criteria, long afterId, int limit, int fetchSize);
+
+  /**
+   * Marks all open items of a list as {@link TaskItemEntity#isCompleted() completed} with a single statement that
+   * increments their {@link TaskItemEntity#getVersion() version} so optimistic locking of concurrent updates still
+   * holds.
+   *
+   * @param taskListId the {@link TaskListEntity#getId() primary key} of the {@link TaskListEntity}.
+   * @return the {@link List} of the updated {@link TaskItemEto items} with their new state.
+   */
+  List<TaskItemEto> completeAllInList(Long taskListId);
+
+  /**
+   * Deletes all {@link TaskItemEntity#isCompleted() completed} items of a list with a single statement.
+   *
+   * @param taskListId the {@link TaskListEntity#getId() primary key} of the {@link TaskListEntity}.
+   * @return the {@link List} of the deleted {@link TaskItemEto items}.
+   */
+  List<TaskItemEto> deleteCompletedInList(Long taskListId);
+
+  /**
+   * Deletes all items of a list with a single statement.
+   *
+   * @param taskListId the {@link TaskListEntity#getId() primary key} of the {@link TaskListEntity}.
+   * @return the {@link List} of the deleted {@link TaskItemEto items}.
+   */
+  List<TaskItemEto> deleteAllInList(Long taskListId);
+
+  /**
+   * Flushes the pending changes of the persistence context sending the statements as JDBC batches of the given size.
+   * The batch size only applies to this flush so other write paths keep sending single statements.
+   *
+   * @param batchSize the maximum number of statements per JDBC batch.
+   */
+  void flushInBatches(int batchSize);
+
+}
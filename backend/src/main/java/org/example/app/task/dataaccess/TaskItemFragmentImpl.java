@@ -0,0 +1,244 @@
+package org.example.app.task.dataaccess;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import com.querydsl.core.types.ConstructorExpression;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.Query;
+import org.example.app.general.dataaccess.ApplicationQueryFragment;
+import org.example.app.task.common.TaskItemEto;
+import org.example.app.task.common.TaskItemSearchCriteria;
+import org.hibernate.Session;
+import org.springframework.data.domain.Page;
+
+/**
+ * Implementation of {@link TaskItemFragment}.
+ */
+@ApplicationScoped
+public class TaskItemFragmentImpl extends ApplicationQueryFragment implements TaskItemFragment {
+
+  /** Columns to return from bulk statements in the order of {@link #toEto(Object[])}. */
+  static final String RETURNING = " RETURNING ID, VERSION, TITLE, COMPLETED, STARRED, DEADLINE, LIST_ID";
+
+  // window function as Querydsl JPA can not express a limit per group, served by IX_TASK_ITEM_LIST_ID
+  // %s is the condition on LIST_ID built from padded partitions of the IDs (see ApplicationQueryFragment.partitionIn)
+  private static final String SQL_FIND_FIRST_PER_LIST = "SELECT ID, VERSION, TITLE, COMPLETED, STARRED, DEADLINE, "
+      + "LIST_ID FROM (SELECT I.*, ROW_NUMBER() OVER (PARTITION BY LIST_ID ORDER BY ID) AS RN FROM TASK_ITEM I "
+      + "WHERE %s) RANKED WHERE RN <= :limit ORDER BY LIST_ID, ID";
+
+  private static final String SQL_COMPLETE_ALL = "UPDATE TASK_ITEM SET COMPLETED = TRUE, VERSION = VERSION + 1 "
+      + "WHERE LIST_ID = :listId AND COMPLETED = FALSE" + RETURNING;
+
+  private static final String SQL_DELETE_COMPLETED = "DELETE FROM TASK_ITEM WHERE LIST_ID = :listId AND COMPLETED = TRUE"
+      + RETURNING;
+
+  private static final String SQL_DELETE_ALL = "DELETE FROM TASK_ITEM WHERE LIST_ID = :listId" + RETURNING;
+
+  @Override
+  public List<TaskItemDeadline> findDeadlines(LocalDateTime from, LocalDateTime to) {
+
+    QTaskItemEntity item = QTaskItemEntity.taskItemEntity;
+    JPAQuery<TaskItemDeadline> query = new JPAQuery<>(this.em)
+        .select(Projections.constructor(TaskItemDeadline.class, item.id, item.deadline)).from(item);
+    query.where(item.deadline.gt(from), item.deadline.loe(to), item.completed.isFalse());
+    return query.fetch();
+  }
+
+  @Override
+  public Page<TaskItemEto> findByCriteria(TaskItemSearchCriteria criteria) {
+
+    QTaskItemEntity item = QTaskItemEntity.taskItemEntity;
+    Supplier<JPAQuery<TaskItemEto>> querySupplier = () -> {
+      JPAQuery<TaskItemEto> query = newReadOnlyQuery().select(toEto(item)).from(item);
+      where(query, item, criteria);
+      // binary sorting of strings so the order is the same with or without merging shards
+      orderBy(query, criteria.getSort(), name -> toExpression(item, name), true);
+      // unique tie-breaker for stable paging and merging of shards
+      query.orderBy(item.id.asc());
+      return query;
+    };
+    Comparator<TaskItemEto> order = newComparator(criteria.getSort(), TaskItemFragmentImpl::toGetter);
+    return findPaginated(criteria, querySupplier, order.thenComparing(TaskItemEto::getId));
+  }
+
+  @Override
+  public List<TaskItemEto> findEtosByTaskListId(Long taskListId) {
+
+    QTaskItemEntity item = QTaskItemEntity.taskItemEntity;
+    return newReadOnlyQuery().select(toEto(item)).from(item).where(item.taskList.id.eq(taskListId))
+        .orderBy(item.id.asc()).fetch();
+  }
+
+  @Override
+  public List<TaskItemEto> findEtosByTaskListIds(List<Long> taskListIds, int limitPerList) {
+
+    if (limitPerList > 0) {
+      return findFirstPerList(taskListIds, limitPerList);
+    }
+    QTaskItemEntity item = QTaskItemEntity.taskItemEntity;
+    JPAQuery<TaskItemEto> query = newReadOnlyQuery().select(toEto(item)).from(item);
+    whereIn(query, item.taskList.id, taskListIds);
+    return query.orderBy(item.taskList.id.asc(), item.id.asc()).fetch();
+  }
+
+  private List<TaskItemEto> findFirstPerList(List<Long> taskListIds, int limitPerList) {
+
+    List<List<Long>> partitions = partitionIn(taskListIds);
+    if (partitions.isEmpty()) {
+      return new ArrayList<>();
+    }
+    StringBuilder condition = new StringBuilder();
+    for (int i = 0; i < partitions.size(); i++) {
+      if (i > 0) {
+        condition.append(" OR ");
+      }
+      condition.append("LIST_ID IN (:listIds").append(i).append(')');
+    }
+    Query query = this.em.createNativeQuery(String.format(SQL_FIND_FIRST_PER_LIST, condition), Object[].class);
+    for (int i = 0; i < partitions.size(); i++) {
+      query.setParameter("listIds" + i, partitions.get(i));
+    }
+    return toEtos(query.setParameter("limit", Integer.valueOf(limitPerList)).getResultList());
+  }
+
+  @Override
+  public TaskItemEto findEtoById(Long id) {
+
+    QTaskItemEntity item = QTaskItemEntity.taskItemEntity;
+    return newReadOnlyQuery().select(toEto(item)).from(item).where(item.id.eq(id)).fetchOne();
+  }
+
+  @Override
+  public List<TaskItemEto> findEtosByIds(List<Long> ids) {
+
+    QTaskItemEntity item = QTaskItemEntity.taskItemEntity;
+    JPAQuery<TaskItemEto> query = newReadOnlyQuery().select(toEto(item)).from(item);
+    whereIn(query, item.id, ids);
+    return query.fetch();
+  }
+
+  @Override
+  public Stream<TaskItemEto> streamEtos(TaskItemSearchCriteria criteria, long afterId, int limit, int fetchSize) {
+
+    QTaskItemEntity item = QTaskItemEntity.taskItemEntity;
+    JPAQuery<TaskItemEto> query = newReadOnlyQuery().select(toEto(item)).from(item).where(item.id.gt(afterId));
+    where(query, item, criteria);
+    return stream(query.orderBy(item.id.asc()).limit(limit), fetchSize);
+  }
+
+  @Override
+  public List<TaskItemEto> completeAllInList(Long taskListId) {
+
+    return executeReturning(SQL_COMPLETE_ALL, taskListId);
+  }
+
+  @Override
+  public List<TaskItemEto> deleteCompletedInList(Long taskListId) {
+
+    return executeReturning(SQL_DELETE_COMPLETED, taskListId);
+  }
+
+  @Override
+  public List<TaskItemEto> deleteAllInList(Long taskListId) {
+
+    return executeReturning(SQL_DELETE_ALL, taskListId);
+  }
+
+  @Override
+  public void flushInBatches(int batchSize) {
+
+    Session session = this.em.unwrap(Session.class);
+    Integer previous = session.getJdbcBatchSize();
+    session.setJdbcBatchSize(Integer.valueOf(batchSize));
+    try {
+      session.flush();
+    } finally {
+      session.setJdbcBatchSize(previous);
+    }
+  }
+
+  private List<TaskItemEto> executeReturning(String sql, Long taskListId) {
+
+    return toEtos(this.em.createNativeQuery(sql, Object[].class).setParameter("listId", taskListId).getResultList());
+  }
+
+  private static List<TaskItemEto> toEtos(List<?> rows) {
+
+    List<TaskItemEto> items = new ArrayList<>(rows.size());
+    for (Object row : rows) {
+      items.add(toEto((Object[]) row));
+    }
+    return items;
+  }
+
+  private void where(JPAQuery<?> query, QTaskItemEntity item, TaskItemSearchCriteria criteria) {
+
+    if (criteria.getTitle() != null) {
+      // the generic clause would match a missing title as IS NULL
+      where(query, item.title, criteria.getTitle(), criteria.getTitleOptions());
+    }
+    where(query, item.completed, criteria.getCompleted());
+    where(query, item.starred, criteria.getStarred());
+  }
+
+  /**
+   * @param item the {@link QTaskItemEntity} to select from.
+   * @return the constructor projection of the {@link TaskItemEto}. The {@link TaskItemEto#getTaskListId() list ID} is
+   *         read from the foreign key column without joining {@code TASK_LIST}.
+   */
+  static ConstructorExpression<TaskItemEto> toEto(QTaskItemEntity item) {
+
+    return Projections.constructor(TaskItemEto.class, item.id, item.version, item.title, item.completed, item.starred,
+        item.deadline, item.taskList.id);
+  }
+
+  /**
+   * @param row the columns selected by {@link #RETURNING}.
+   * @return the {@link TaskItemEto} mapped from the given row of a native query.
+   */
+  static TaskItemEto toEto(Object[] row) {
+
+    Object deadline = row[5];
+    if (deadline instanceof Timestamp timestamp) {
+      deadline = timestamp.toLocalDateTime();
+    }
+    return new TaskItemEto(Long.valueOf(((Number) row[0]).longValue()), Integer.valueOf(((Number) row[1]).intValue()),
+        (String) row[2], ((Boolean) row[3]).booleanValue(), ((Boolean) row[4]).booleanValue(), (LocalDateTime) deadline,
+        Long.valueOf(((Number) row[6]).longValue()));
+  }
+
+  private static ComparableExpressionBase<?> toExpression(QTaskItemEntity item, String name) {
+
+    return switch (name) {
+      case "id" -> item.id;
+      case "title" -> item.title;
+      case "completed" -> item.completed;
+      case "starred" -> item.starred;
+      case "deadline" -> item.deadline;
+      default -> throw new IllegalArgumentException("Unsupported sort property: " + name);
+    };
+  }
+
+  private static Function<TaskItemEto, ? extends Comparable<?>> toGetter(String name) {
+
+    return switch (name) {
+      case "id" -> TaskItemEto::getId;
+      case "title" -> TaskItemEto::getTitle;
+      case "completed" -> TaskItemEto::isCompleted;
+      case "starred" -> TaskItemEto::isStarred;
+      case "deadline" -> TaskItemEto::getDeadline;
+      default -> throw new IllegalArgumentException("Unsupported sort property: " + name);
+    };
+  }
+
+}
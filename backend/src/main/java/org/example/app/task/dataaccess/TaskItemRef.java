@@ -0,0 +1,41 @@
+package org.example.app.task.dataaccess;
+
+/**
+ * Reference of a {@link TaskItemEntity} by its {@link #getId() ID} and the {@link #getTaskListId() ID of its list}.
+ */
+public class TaskItemRef {
+
+  private final Long id;
+
+  private final Long taskListId;
+
+  /**
+   * The constructor.
+   *
+   * @param id the {@link #getId() ID}.
+   * @param taskListId the {@link #getTaskListId() task list ID}.
+   */
+  public TaskItemRef(Long id, Long taskListId) {
+
+    super();
+    this.id = id;
+    this.taskListId = taskListId;
+  }
+
+  /**
+   * @return the {@link TaskItemEntity#getId() primary key} of the {@link TaskItemEntity}.
+   */
+  public Long getId() {
+
+    return this.id;
+  }
+
+  /**
+   * @return the {@link TaskListEntity#getId() primary key} of the {@link TaskListEntity} the item belongs to.
+   */
+  public Long getTaskListId() {
+
+    return this.taskListId;
+  }
+
+}
@@ -0,0 +1,19 @@
+package org.example.app.task.dataaccess;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * {@link JpaRepository} for {@link TaskItemEntity}.
+ */
+public interface TaskItemRepository extends JpaRepository<TaskItemEntity, Long>, TaskItemFragment {
+
+  /**
+   * @param taskListId the {@link TaskListEntity#getId() primary key} of the {@link TaskListEntity}.
+   * @return the {@link List} of {@link TaskItemEntity items} of the specified {@link TaskListEntity} ordered by
+   *         {@link TaskItemEntity#getId() ID}.
+   */
+  List<TaskItemEntity> findByTaskListIdOrderById(Long taskListId);
+
+}
@@ -0,0 +1,56 @@
+package org.example.app.task.dataaccess;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Entity;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+import org.example.app.general.dataaccess.ApplicationPersistenceEntity;
+import org.example.app.task.common.TaskList;
+
+/**
+ * {@link TaskList} as JPA entity.
+ */
+@Entity
+@Table(name = "TASK_LIST")
+public class TaskListEntity extends ApplicationPersistenceEntity implements TaskList {
+
+  private String title;
+
+  @OneToMany(mappedBy = "taskList", cascade = CascadeType.REMOVE, orphanRemoval = true)
+  private List<TaskItemEntity> items;
+
+  @Override
+  public String getTitle() {
+
+    return this.title;
+  }
+
+  @Override
+  public void setTitle(String title) {
+
+    this.title = title;
+  }
+
+  /**
+   * @return the {@link List} of {@link TaskItemEntity items} of this list.
+   */
+  public List<TaskItemEntity> getItems() {
+
+    if (this.items == null) {
+      this.items = new ArrayList<>();
+    }
+    return this.items;
+  }
+
+  /**
+   * @param items new value of {@link #getItems()}.
+   */
+  public void setItems(List<TaskItemEntity> items) {
+
+    this.items = items;
+  }
+
+}
@@ -0,0 +1,51 @@
+package org.example.app.task.dataaccess;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.example.app.task.common.TaskListEto;
+
+/**
+ * Fragment interface for custom queries of {@link TaskListRepository}.
+ */
+public interface TaskListFragment {
+
+  /**
+   * @return the {@link List} of all {@link TaskListEto task lists} projected directly from the database without
+   *         loading {@link TaskListEntity entities}.
+   */
+  List<TaskListEto> findAllEtos();
+
+  /**
+   * @param id the {@link TaskListEntity#getId() primary key} of the requested list.
+   * @return the {@link TaskListEto} projected directly from the database or {@code null} if no such list exists.
+   */
+  TaskListEto findEtoById(Long id);
+
+  /**
+   * @param ids the {@link TaskListEntity#getId() primary keys} of the requested lists.
+   * @return the {@link List} of the existing {@link TaskListEto task lists} with the given IDs in arbitrary order
+   *         projected directly from the database with a single query.
+   */
+  List<TaskListEto> findEtosByIds(List<Long> ids);
+
+  /**
+   * @param afterId only lists with an {@link TaskListEntity#getId() ID} greater than this value are returned (keyset
+   *        cursor).
+   * @param limit the maximum number of lists to return.
+   * @param fetchSize the number of rows fetched from the database cursor per round-trip.
+   * @return the {@link Stream} of the {@link TaskListEto task lists} ordered by {@link TaskListEntity#getId() ID}.
+   *         Has to be consumed within the current transaction and closed.
+   */
+  Stream<TaskListEto> streamEtos(long afterId, int limit, int fetchSize);
+
+  /**
+   * Deletes a list with a single statement without loading it. Its items have to be deleted before while its archived
+   * items and counters are deleted by the database.
+   *
+   * @param id the {@link TaskListEntity#getId() primary key} of the list to delete.
+   * @return {@code true} if the list has been deleted, {@code false} if it did not exist.
+   */
+  boolean deleteListById(Long id);
+
+}
@@ -0,0 +1,67 @@
+package org.example.app.task.dataaccess;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.querydsl.core.types.ConstructorExpression;
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.impl.JPADeleteClause;
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.example.app.general.dataaccess.ApplicationQueryFragment;
+import org.example.app.task.common.TaskListEto;
+
+/**
+ * Implementation of {@link TaskListFragment}.
+ */
+@ApplicationScoped
+public class TaskListFragmentImpl extends ApplicationQueryFragment implements TaskListFragment {
+
+  @Override
+  public List<TaskListEto> findAllEtos() {
+
+    QTaskListEntity list = QTaskListEntity.taskListEntity;
+    return newReadOnlyQuery().select(toEto(list)).from(list).fetch();
+  }
+
+  @Override
+  public TaskListEto findEtoById(Long id) {
+
+    QTaskListEntity list = QTaskListEntity.taskListEntity;
+    return newReadOnlyQuery().select(toEto(list)).from(list).where(list.id.eq(id)).fetchOne();
+  }
+
+  @Override
+  public List<TaskListEto> findEtosByIds(List<Long> ids) {
+
+    QTaskListEntity list = QTaskListEntity.taskListEntity;
+    JPAQuery<TaskListEto> query = newReadOnlyQuery().select(toEto(list)).from(list);
+    whereIn(query, list.id, ids);
+    return query.fetch();
+  }
+
+  @Override
+  public Stream<TaskListEto> streamEtos(long afterId, int limit, int fetchSize) {
+
+    QTaskListEntity list = QTaskListEntity.taskListEntity;
+    return stream(newReadOnlyQuery().select(toEto(list)).from(list).where(list.id.gt(afterId)).orderBy(list.id.asc())
+        .limit(limit), fetchSize);
+  }
+
+  @Override
+  public boolean deleteListById(Long id) {
+
+    QTaskListEntity list = QTaskListEntity.taskListEntity;
+    return new JPADeleteClause(this.em, list).where(list.id.eq(id)).execute() > 0;
+  }
+
+  /**
+   * @param list the {@link QTaskListEntity} to select from.
+   * @return the constructor projection of the {@link TaskListEto}.
+   */
+  static ConstructorExpression<TaskListEto> toEto(QTaskListEntity list) {
+
+    return Projections.constructor(TaskListEto.class, list.id, list.version, list.title);
+  }
+
+}
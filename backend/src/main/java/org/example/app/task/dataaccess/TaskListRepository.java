@@ -0,0 +1,10 @@
+package org.example.app.task.dataaccess;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * {@link JpaRepository} for {@link TaskListEntity}.
+ */
+public interface TaskListRepository extends JpaRepository<TaskListEntity, Long>, TaskListFragment {
+
+}
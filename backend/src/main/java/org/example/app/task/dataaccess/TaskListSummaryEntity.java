@@ -0,0 +1,116 @@
+package org.example.app.task.dataaccess;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Read-only JPA entity for the counters of the {@link TaskItemEntity items} of a {@link TaskListEntity} including the
+ * {@link TaskItemArchiveEntity archived} ones. The counters are maintained incrementally via
+ * {@link TaskListSummaryFragment#addCounts(Long, long, long, long, long)} in the transaction that changes the items
+ * and corrected via {@link TaskListSummaryFragment#recount(java.util.List)} if they drift.
+ */
+@Entity
+@Immutable
+@Table(name = "TASK_LIST_SUMMARY")
+public class TaskListSummaryEntity {
+
+  @Id
+  @Column(name = "LIST_ID")
+  private Long id;
+
+  @Column(name = "TOTAL_ITEMS")
+  private long totalItems;
+
+  @Column(name = "OPEN_ITEMS")
+  private long openItems;
+
+  @Column(name = "COMPLETED_ITEMS")
+  private long completedItems;
+
+  @Column(name = "STARRED_ITEMS")
+  private long starredItems;
+
+  /**
+   * @return the {@link TaskListEntity#getId() primary key} of the {@link TaskListEntity} these counters belong to.
+   */
+  public Long getId() {
+
+    return this.id;
+  }
+
+  /**
+   * @param id new value of {@link #getId()}.
+   */
+  public void setId(Long id) {
+
+    this.id = id;
+  }
+
+  /**
+   * @return the number of all items.
+   */
+  public long getTotalItems() {
+
+    return this.totalItems;
+  }
+
+  /**
+   * @param totalItems new value of {@link #getTotalItems()}.
+   */
+  public void setTotalItems(long totalItems) {
+
+    this.totalItems = totalItems;
+  }
+
+  /**
+   * @return the number of open (not {@link TaskItemEntity#isCompleted() completed}) items.
+   */
+  public long getOpenItems() {
+
+    return this.openItems;
+  }
+
+  /**
+   * @param openItems new value of {@link #getOpenItems()}.
+   */
+  public void setOpenItems(long openItems) {
+
+    this.openItems = openItems;
+  }
+
+  /**
+   * @return the number of {@link TaskItemEntity#isCompleted() completed} items.
+   */
+  public long getCompletedItems() {
+
+    return this.completedItems;
+  }
+
+  /**
+   * @param completedItems new value of {@link #getCompletedItems()}.
+   */
+  public void setCompletedItems(long completedItems) {
+
+    this.completedItems = completedItems;
+  }
+
+  /**
+   * @return the number of {@link TaskItemEntity#isStarred() starred} items.
+   */
+  public long getStarredItems() {
+
+    return this.starredItems;
+  }
+
+  /**
+   * @param starredItems new value of {@link #getStarredItems()}.
+   */
+  public void setStarredItems(long starredItems) {
+
+    this.starredItems = starredItems;
+  }
+
+}
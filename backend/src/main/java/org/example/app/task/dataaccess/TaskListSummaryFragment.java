@@ -0,0 +1,50 @@
+package org.example.app.task.dataaccess;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.example.app.task.common.TaskListSummaryEto;
+
+/**
+ * Fragment interface for custom queries of {@link TaskListSummaryRepository}.
+ */
+public interface TaskListSummaryFragment {
+
+  /**
+   * Atomically adds the given deltas to the counters of a list creating them if they do not yet exist. Takes a key
+   * share lock on the {@link TaskListEntity list} (like inserting an item does) so it waits for a running
+   * {@link #recount(List) recount} of the list.
+   *
+   * @param listId the {@link TaskListEntity#getId() primary key} of the {@link TaskListEntity}.
+   * @param total the delta for {@link TaskListSummaryEntity#getTotalItems() total items}.
+   * @param open the delta for {@link TaskListSummaryEntity#getOpenItems() open items}.
+   * @param completed the delta for {@link TaskListSummaryEntity#getCompletedItems() completed items}.
+   * @param starred the delta for {@link TaskListSummaryEntity#getStarredItems() starred items}.
+   */
+  void addCounts(Long listId, long total, long open, long completed, long starred);
+
+  /**
+   * @param now the current point in time to determine {@link TaskListSummaryEto#getOverdueItems() overdue items}.
+   * @return the {@link TaskListSummaryEto summaries} of all {@link TaskListEntity lists} ordered by ID.
+   */
+  List<TaskListSummaryEto> findSummaries(LocalDateTime now);
+
+  /**
+   * @param afterId the exclusive lower bound of the {@link TaskListEntity#getId() ID} (keyset cursor).
+   * @param limit the maximum number of IDs to return.
+   * @return the next {@link TaskListEntity#getId() IDs} of {@link TaskListEntity lists} in ascending order.
+   */
+  List<Long> findListIds(long afterId, int limit);
+
+  /**
+   * Recomputes the counters of the given lists from their items and corrects them if they have drifted. The
+   * {@link TaskListEntity lists} are locked before counting so the count waits for transactions with concurrent
+   * {@link #addCounts(Long, long, long, long, long) increments} (including the first one that inserts the counters)
+   * and later increments wait for the recount. Therefore no increment is lost or overwritten.
+   *
+   * @param listIds the {@link TaskListEntity#getId() IDs} of the {@link TaskListEntity lists} to recount.
+   * @return the number of lists whose counters have been corrected.
+   */
+  int recount(List<Long> listIds);
+
+}
@@ -0,0 +1,92 @@
+package org.example.app.task.dataaccess;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.example.app.general.dataaccess.ApplicationQueryFragment;
+import org.example.app.task.common.TaskListSummaryEto;
+
+/**
+ * Implementation of {@link TaskListSummaryFragment}. Counters are written with native SQL as the increments have to be
+ * atomic upserts that JPA can not express.
+ */
+@ApplicationScoped
+public class TaskListSummaryFragmentImpl extends ApplicationQueryFragment implements TaskListSummaryFragment {
+
+  // the key share lock of the list conflicts with the lock of a recount (see SQL_LOCK)
+  private static final String SQL_ADD_COUNTS = "INSERT INTO TASK_LIST_SUMMARY "
+      + "(LIST_ID, TOTAL_ITEMS, OPEN_ITEMS, COMPLETED_ITEMS, STARRED_ITEMS) "
+      + "SELECT L.ID, :total, :open, :completed, :starred "
+      + "FROM (SELECT ID FROM TASK_LIST WHERE ID = :listId FOR KEY SHARE) L ON CONFLICT (LIST_ID) DO UPDATE SET "
+      + "TOTAL_ITEMS = TASK_LIST_SUMMARY.TOTAL_ITEMS + EXCLUDED.TOTAL_ITEMS, "
+      + "OPEN_ITEMS = TASK_LIST_SUMMARY.OPEN_ITEMS + EXCLUDED.OPEN_ITEMS, "
+      + "COMPLETED_ITEMS = TASK_LIST_SUMMARY.COMPLETED_ITEMS + EXCLUDED.COMPLETED_ITEMS, "
+      + "STARRED_ITEMS = TASK_LIST_SUMMARY.STARRED_ITEMS + EXCLUDED.STARRED_ITEMS";
+
+  // locks the lists and not only existing counters as a concurrent first increment would insert the counters
+  private static final String SQL_LOCK = "SELECT ID FROM TASK_LIST WHERE ID IN (:ids) ORDER BY ID FOR UPDATE";
+
+  // lists without items and without counters are skipped so they do not count as drifted
+  private static final String SQL_RECOUNT = "INSERT INTO TASK_LIST_SUMMARY "
+      + "(LIST_ID, TOTAL_ITEMS, OPEN_ITEMS, COMPLETED_ITEMS, STARRED_ITEMS) "
+      + "SELECT L.ID, COUNT(I.LIST_ID), COUNT(*) FILTER (WHERE I.COMPLETED = FALSE), "
+      + "COUNT(*) FILTER (WHERE I.COMPLETED = TRUE), COUNT(*) FILTER (WHERE I.STARRED = TRUE) "
+      + "FROM TASK_LIST L LEFT JOIN (SELECT LIST_ID, COMPLETED, STARRED FROM TASK_ITEM WHERE LIST_ID IN (:ids) "
+      + "UNION ALL SELECT LIST_ID, COMPLETED, STARRED FROM TASK_ITEM_ARCHIVE WHERE LIST_ID IN (:ids)) I "
+      + "ON I.LIST_ID = L.ID WHERE L.ID IN (:ids) GROUP BY L.ID "
+      + "HAVING COUNT(I.LIST_ID) > 0 OR EXISTS (SELECT 1 FROM TASK_LIST_SUMMARY S WHERE S.LIST_ID = L.ID) "
+      + "ON CONFLICT (LIST_ID) DO UPDATE SET TOTAL_ITEMS = EXCLUDED.TOTAL_ITEMS, OPEN_ITEMS = EXCLUDED.OPEN_ITEMS, "
+      + "COMPLETED_ITEMS = EXCLUDED.COMPLETED_ITEMS, STARRED_ITEMS = EXCLUDED.STARRED_ITEMS "
+      + "WHERE (TASK_LIST_SUMMARY.TOTAL_ITEMS, TASK_LIST_SUMMARY.OPEN_ITEMS, TASK_LIST_SUMMARY.COMPLETED_ITEMS, "
+      + "TASK_LIST_SUMMARY.STARRED_ITEMS) IS DISTINCT FROM "
+      + "(EXCLUDED.TOTAL_ITEMS, EXCLUDED.OPEN_ITEMS, EXCLUDED.COMPLETED_ITEMS, EXCLUDED.STARRED_ITEMS)";
+
+  @Override
+  public void addCounts(Long listId, long total, long open, long completed, long starred) {
+
+    this.em.createNativeQuery(SQL_ADD_COUNTS).setParameter("listId", listId).setParameter("total", Long.valueOf(total))
+        .setParameter("open", Long.valueOf(open)).setParameter("completed", Long.valueOf(completed))
+        .setParameter("starred", Long.valueOf(starred)).executeUpdate();
+  }
+
+  @Override
+  public List<TaskListSummaryEto> findSummaries(LocalDateTime now) {
+
+    QTaskListEntity list = QTaskListEntity.taskListEntity;
+    QTaskListSummaryEntity summary = QTaskListSummaryEntity.taskListSummaryEntity;
+    QTaskItemEntity item = QTaskItemEntity.taskItemEntity;
+    JPAQuery<TaskListSummaryEto> query = new JPAQuery<>(this.em).select(Projections.bean(TaskListSummaryEto.class,
+        list.id, list.version, list.title, summary.totalItems.coalesce(0L).as("totalItems"),
+        summary.openItems.coalesce(0L).as("openItems"), summary.completedItems.coalesce(0L).as("completedItems"),
+        summary.starredItems.coalesce(0L).as("starredItems"),
+        ExpressionUtils.as(JPAExpressions.select(item.count()).from(item)
+            .where(item.taskList.id.eq(list.id), item.completed.isFalse(), item.deadline.lt(now)), "overdueItems")))
+        .from(list).leftJoin(summary).on(summary.id.eq(list.id));
+    query.orderBy(list.id.asc());
+    return query.fetch();
+  }
+
+  @Override
+  public List<Long> findListIds(long afterId, int limit) {
+
+    QTaskListEntity list = QTaskListEntity.taskListEntity;
+    return new JPAQuery<>(this.em).select(list.id).from(list).where(list.id.gt(afterId)).orderBy(list.id.asc())
+        .limit(limit).fetch();
+  }
+
+  @Override
+  public int recount(List<Long> listIds) {
+
+    if (listIds.isEmpty()) {
+      return 0;
+    }
+    this.em.createNativeQuery(SQL_LOCK).setParameter("ids", listIds).getResultList();
+    return this.em.createNativeQuery(SQL_RECOUNT).setParameter("ids", listIds).executeUpdate();
+  }
+
+}
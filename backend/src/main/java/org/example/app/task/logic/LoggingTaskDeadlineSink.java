@@ -0,0 +1,25 @@
+package org.example.app.task.logic;
+
+import io.quarkus.arc.DefaultBean;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.example.app.task.common.TaskItemEto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Default {@link TaskDeadlineSink} that only logs reached deadlines.
+ */
+@ApplicationScoped
+@DefaultBean
+public class LoggingTaskDeadlineSink implements TaskDeadlineSink {
+
+  private static final Logger LOG = LoggerFactory.getLogger(LoggingTaskDeadlineSink.class);
+
+  @Override
+  public void onDeadline(TaskItemEto item) {
+
+    LOG.info("Deadline {} reached for task item {} '{}' of task list {}", item.getDeadline(), item.getId(),
+        item.getTitle(), item.getTaskListId());
+  }
+
+}
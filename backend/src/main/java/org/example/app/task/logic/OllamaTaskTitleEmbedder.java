@@ -0,0 +1,57 @@
+package org.example.app.task.logic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.quarkus.arc.DefaultBean;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+import org.openapi.quarkus.ollama_api_yaml.api.DefaultApi;
+import org.openapi.quarkus.ollama_api_yaml.model.Embed200Response;
+import org.openapi.quarkus.ollama_api_yaml.model.EmbedRequest;
+
+/**
+ * Default {@link TaskTitleEmbedder} computing the embeddings of a whole batch of titles with a single request to the
+ * local Ollama service (see {@code ollama_api.yaml}).
+ */
+@ApplicationScoped
+@DefaultBean
+public class OllamaTaskTitleEmbedder implements TaskTitleEmbedder {
+
+  @Inject
+  @RestClient
+  DefaultApi ollama;
+
+  @ConfigProperty(name = "app.task.similarity.model", defaultValue = "nomic-embed-text")
+  String model;
+
+  @Override
+  public String getModel() {
+
+    return this.model;
+  }
+
+  @Override
+  public List<float[]> embed(List<String> titles) {
+
+    EmbedRequest request = new EmbedRequest().model(this.model).input(titles);
+    Embed200Response response = this.ollama.embed(request);
+    List<List<Float>> embeddings = response.getEmbeddings();
+    if ((embeddings == null) || (embeddings.size() != titles.size())) {
+      throw new IllegalStateException("Expected " + titles.size() + " embeddings from model " + this.model
+          + " but got " + ((embeddings == null) ? 0 : embeddings.size()) + ".");
+    }
+    List<float[]> vectors = new ArrayList<>(embeddings.size());
+    for (List<Float> embedding : embeddings) {
+      float[] vector = new float[embedding.size()];
+      for (int i = 0; i < vector.length; i++) {
+        vector[i] = embedding.get(i).floatValue();
+      }
+      vectors.add(vector);
+    }
+    return vectors;
+  }
+
+}
@@ -0,0 +1,37 @@
+package org.example.app.task.logic;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.example.app.general.common.cache.CacheInvalidationEvent;
+import org.example.app.general.dataaccess.CacheInvalidationBus;
+import org.example.app.task.common.TaskItemChangeEvent;
+import org.example.app.task.common.TaskListChangeEvent;
+
+/**
+ * Publishes the {@link TaskItemChangeEvent}s and {@link TaskListChangeEvent}s of the save and delete use cases to the
+ * other nodes of the cluster via the {@link CacheInvalidationBus}. Node-local caches of task lists observe
+ * {@link CacheInvalidationEvent}s of the {@link #TOPIC_TASK_LIST topic} {@value #TOPIC_TASK_LIST} with the IDs of the
+ * changed lists as keys.
+ */
+@ApplicationScoped
+public class TaskChangePublisher {
+
+  /** {@link CacheInvalidationEvent#getTopic() Topic} of changed task lists including their items. */
+  public static final String TOPIC_TASK_LIST = "task-list";
+
+  @Inject
+  private CacheInvalidationBus bus;
+
+  // observed synchronously so the notification is sent within the transaction of the change
+  void onTaskItemChange(@Observes TaskItemChangeEvent event) {
+
+    this.bus.publish(TOPIC_TASK_LIST, event.getTaskListId().toString());
+  }
+
+  void onTaskListChange(@Observes TaskListChangeEvent event) {
+
+    this.bus.publish(TOPIC_TASK_LIST, event.getTaskListId().toString());
+  }
+
+}
@@ -0,0 +1,339 @@
+package org.example.app.task.logic;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.example.app.general.common.scheduling.HierarchicalTimingWheel;
+import org.example.app.general.dataaccess.DataSourceRouter;
+import org.example.app.task.common.TaskItemChangeEvent;
+import org.example.app.task.common.TaskItemEto;
+import org.example.app.task.dataaccess.TaskDeadlineWatermarkEntity;
+import org.example.app.task.dataaccess.TaskDeadlineWatermarkRepository;
+import org.example.app.task.dataaccess.TaskItemDeadline;
+import org.example.app.task.dataaccess.TaskItemEntity;
+import org.example.app.task.dataaccess.TaskItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Scheduler firing the {@link TaskItemEto#getDeadline() deadlines} of open {@link TaskItemEto task items} to the
+ * {@link TaskDeadlineSink}. Instead of polling the database for due items on every tick, the deadlines of a sliding
+ * window ({@code app.task.deadline.window}) are loaded periodically ({@code app.task.deadline.reload-interval}) into a
+ * {@link HierarchicalTimingWheel} so each tick is {@code O(1)} regardless of the number of items. Saved, completed and
+ * deleted items are applied incrementally via {@link TaskItemChangeEvent}.<br>
+ * The wheel only tells when something is due. What is fired is claimed from the database: The firing transaction
+ * locks the {@link TaskDeadlineWatermarkEntity watermark} row (the point in time up to which all deadlines have been
+ * fired), fires all open items with a deadline between the watermark and now and advances the watermark in the same
+ * transaction. As every node of a cluster runs this scheduler the row lock makes the firing single-owner: a node that
+ * gets the lock after another one has fired the same range finds the advanced watermark and fires nothing. If firing
+ * fails, the watermark stays where it was and the range is fired again by the next firing after the next reload, so
+ * neither a failure nor a restart loses deadlines. A deadline is only fired twice if the sink succeeded but the commit
+ * of the watermark failed. Deadlines that are set to a point in time before the watermark are never fired.<br>
+ * With {@link DataSourceRouter sharding} the deadlines of all shards are loaded into the same wheel while each shard
+ * has its own watermark advanced in its own transaction.
+ */
+@ApplicationScoped
+public class TaskDeadlineScheduler {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TaskDeadlineScheduler.class);
+
+  /** {@link TaskDeadlineWatermarkEntity#getName() Name} of the watermark of this scheduler. */
+  static final String WATERMARK_NAME = "task-deadline";
+
+  private static final int WHEEL_BITS = 6;
+
+  private static final int WHEEL_LEVELS = 4;
+
+  private static final int FETCH_CHUNK_SIZE = 1000;
+
+  @Inject
+  private DataSourceRouter router;
+
+  @Inject
+  private TaskItemRepository taskItemRepository;
+
+  @Inject
+  private TaskDeadlineWatermarkRepository watermarkRepository;
+
+  @Inject
+  private TaskListMapper taskListMapper;
+
+  @Inject
+  private TaskDeadlineSink sink;
+
+  @ConfigProperty(name = "app.task.deadline.enabled", defaultValue = "true")
+  boolean enabled;
+
+  @ConfigProperty(name = "app.task.deadline.tick", defaultValue = "1S")
+  Duration tick;
+
+  @ConfigProperty(name = "app.task.deadline.window", defaultValue = "15M")
+  Duration window;
+
+  @ConfigProperty(name = "app.task.deadline.reload-interval", defaultValue = "1M")
+  Duration reloadInterval;
+
+  private final Clock clock = Clock.systemDefaultZone();
+
+  private final ZoneId zone = this.clock.getZone();
+
+  private final Object lock = new Object();
+
+  /** Generation of each item changed via event since the last reload (guarded by {@link #lock}). */
+  private final Map<Long, Long> changes = new HashMap<>();
+
+  private HierarchicalTimingWheel<Long> wheel;
+
+  private long tickMillis;
+
+  private long generation;
+
+  private LocalDateTime firedUntil;
+
+  /** The {@link #firedUntil} at startup used for shards that have no watermark yet. */
+  private LocalDateTime startedFrom;
+
+  private LocalDateTime loadedUntil;
+
+  private boolean failed;
+
+  private boolean retryPending;
+
+  private ScheduledExecutorService executor;
+
+  @ActivateRequestContext
+  void onStart(@Observes StartupEvent event) {
+
+    if (!this.enabled) {
+      LOG.info("Task deadline scheduler is disabled.");
+      return;
+    }
+    if (this.reloadInterval.compareTo(this.window) >= 0) {
+      throw new IllegalStateException("app.task.deadline.reload-interval (" + this.reloadInterval
+          + ") has to be less than app.task.deadline.window (" + this.window + ")");
+    }
+    this.tickMillis = this.tick.toMillis();
+    LocalDateTime now = LocalDateTime.now(this.clock);
+    List<TaskDeadlineWatermarkEntity> watermarks = QuarkusTransaction.requiringNew()
+        .call(() -> this.router.onAllShards(() -> this.watermarkRepository.findByName(WATERMARK_NAME)));
+    LocalDateTime watermark = null;
+    for (TaskDeadlineWatermarkEntity shardWatermark : watermarks) {
+      if ((shardWatermark != null)
+          && ((watermark == null) || shardWatermark.getFiredUntil().isBefore(watermark))) {
+        watermark = shardWatermark.getFiredUntil();
+      }
+    }
+    synchronized (this.lock) {
+      this.firedUntil = (watermark == null) ? now : watermark;
+      this.startedFrom = this.firedUntil;
+      this.loadedUntil = this.firedUntil;
+      this.wheel = new HierarchicalTimingWheel<>(WHEEL_BITS, WHEEL_LEVELS, toTick(now) + 1);
+    }
+    this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "task-deadline-scheduler");
+      thread.setDaemon(true);
+      return thread;
+    });
+    long reloadMillis = this.reloadInterval.toMillis();
+    this.executor.scheduleWithFixedDelay(this::reload, 0, reloadMillis, TimeUnit.MILLISECONDS);
+    this.executor.scheduleAtFixedRate(this::advance, this.tickMillis, this.tickMillis, TimeUnit.MILLISECONDS);
+    LOG.info("Task deadline scheduler started from watermark {}", this.firedUntil);
+  }
+
+  void onStop(@Observes ShutdownEvent event) {
+
+    if (this.executor != null) {
+      this.executor.shutdownNow();
+    }
+  }
+
+  void onTaskItemChange(@Observes(during = TransactionPhase.AFTER_SUCCESS) TaskItemChangeEvent event) {
+
+    synchronized (this.lock) {
+      if (this.wheel == null) {
+        return;
+      }
+      Long id = event.getId();
+      this.changes.put(id, Long.valueOf(++this.generation));
+      TaskItemEto item = event.getItem();
+      if ((item == null) || item.isCompleted() || !isInWindow(item.getDeadline())) {
+        this.wheel.cancel(id);
+      } else {
+        this.wheel.schedule(id, toTick(item.getDeadline()));
+      }
+    }
+  }
+
+  /**
+   * Loads the deadlines of the sliding window from the database and synchronizes the {@link HierarchicalTimingWheel}
+   * with it. Items changed during the query are skipped as their {@link TaskItemChangeEvent} is more recent.
+   */
+  @ActivateRequestContext
+  void reload() {
+
+    try {
+      long reloadGeneration;
+      LocalDateTime from;
+      synchronized (this.lock) {
+        reloadGeneration = this.generation;
+        from = this.firedUntil;
+      }
+      LocalDateTime to = LocalDateTime.now(this.clock).plus(this.window);
+      List<TaskItemDeadline> deadlines = new ArrayList<>();
+      for (List<TaskItemDeadline> shardDeadlines : QuarkusTransaction.requiringNew()
+          .call(() -> this.router.onAllShards(() -> this.taskItemRepository.findDeadlines(from, to)))) {
+        deadlines.addAll(shardDeadlines);
+      }
+      synchronized (this.lock) {
+        Set<Long> ids = new HashSet<>(deadlines.size());
+        for (TaskItemDeadline deadline : deadlines) {
+          Long id = deadline.getId();
+          ids.add(id);
+          if (!isChangedSince(id, reloadGeneration)) {
+            this.wheel.schedule(id, toTick(deadline.getDeadline()));
+          }
+        }
+        for (Long id : new ArrayList<>(this.wheel.keys())) {
+          if (!ids.contains(id) && !isChangedSince(id, reloadGeneration)) {
+            this.wheel.cancel(id);
+          }
+        }
+        this.changes.values().removeIf(g -> g.longValue() <= reloadGeneration);
+        this.loadedUntil = to;
+        // the failed range is still behind the watermark and gets claimed by the next firing
+        this.retryPending = this.failed;
+        this.failed = false;
+      }
+      LOG.debug("Loaded {} deadlines until {}", deadlines.size(), to);
+    } catch (RuntimeException e) {
+      LOG.error("Failed to load task deadlines.", e);
+    }
+  }
+
+  /**
+   * Advances the {@link HierarchicalTimingWheel} to the current time and fires the deadlines of all shards if any are
+   * due or a failed firing has to be retried.
+   */
+  @ActivateRequestContext
+  void advance() {
+
+    try {
+      long nowTick = toTick(LocalDateTime.now(this.clock)) - 1;
+      List<Long> due = new ArrayList<>();
+      LocalDateTime until = toTime(nowTick);
+      boolean retry;
+      synchronized (this.lock) {
+        this.wheel.advanceTo(nowTick, due::add);
+        this.firedUntil = until;
+        retry = this.retryPending;
+        this.retryPending = false;
+      }
+      if (due.isEmpty() && !retry) {
+        return;
+      }
+      for (int shard = 0; shard < this.router.getShardCount(); shard++) {
+        try {
+          int count = this.router.onShard(shard,
+              () -> QuarkusTransaction.requiringNew().call(() -> Integer.valueOf(fire(until)))).intValue();
+          LOG.debug("Fired {} task deadlines of shard {} until {}", count, shard, until);
+        } catch (RuntimeException e) {
+          synchronized (this.lock) {
+            this.failed = true;
+          }
+          LOG.error("Failed to fire task deadlines of shard {} until {} - will retry after next reload.", shard,
+              until, e);
+        }
+      }
+    } catch (RuntimeException e) {
+      LOG.error("Failed to advance task deadline scheduler.", e);
+    }
+  }
+
+  /**
+   * Claims and fires the deadlines of the current shard up to the given point in time.
+   *
+   * @param until the inclusive upper bound of the deadlines to fire.
+   * @return the number of fired deadlines.
+   */
+  private int fire(LocalDateTime until) {
+
+    TaskDeadlineWatermarkEntity watermark = this.watermarkRepository.findByNameForUpdate(WATERMARK_NAME);
+    LocalDateTime from;
+    if (watermark == null) {
+      // first firing of this shard - a concurrent insert of another node fails on the unique name and is retried
+      watermark = new TaskDeadlineWatermarkEntity();
+      watermark.setName(WATERMARK_NAME);
+      from = this.startedFrom;
+    } else {
+      from = watermark.getFiredUntil();
+      if (!until.isAfter(from)) {
+        // already fired by another node
+        return 0;
+      }
+    }
+    List<TaskItemDeadline> deadlines = this.taskItemRepository.findDeadlines(from, until);
+    List<Long> ids = new ArrayList<>(deadlines.size());
+    for (TaskItemDeadline deadline : deadlines) {
+      ids.add(deadline.getId());
+    }
+    int count = 0;
+    for (int start = 0; start < ids.size(); start += FETCH_CHUNK_SIZE) {
+      List<Long> chunk = ids.subList(start, Math.min(ids.size(), start + FETCH_CHUNK_SIZE));
+      for (TaskItemEntity item : this.taskItemRepository.findAllById(chunk)) {
+        this.sink.onDeadline(this.taskListMapper.toEto(item));
+        count++;
+      }
+    }
+    watermark.setFiredUntil(until);
+    this.watermarkRepository.save(watermark);
+    return count;
+  }
+
+  private boolean isInWindow(LocalDateTime deadline) {
+
+    return (deadline != null) && deadline.isAfter(this.firedUntil) && !deadline.isAfter(this.loadedUntil);
+  }
+
+  private boolean isChangedSince(Long id, long sinceGeneration) {
+
+    Long changeGeneration = this.changes.get(id);
+    return (changeGeneration != null) && (changeGeneration.longValue() > sinceGeneration);
+  }
+
+  /**
+   * @param time the {@link LocalDateTime}.
+   * @return the first tick at or after the given {@code time}.
+   */
+  private long toTick(LocalDateTime time) {
+
+    long millis = time.atZone(this.zone).toInstant().toEpochMilli();
+    return Math.floorDiv(millis + this.tickMillis - 1, this.tickMillis);
+  }
+
+  private LocalDateTime toTime(long tickNumber) {
+
+    return LocalDateTime.ofInstant(Instant.ofEpochMilli(tickNumber * this.tickMillis), this.zone);
+  }
+
+}
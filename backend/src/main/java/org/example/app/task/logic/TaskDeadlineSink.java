@@ -0,0 +1,21 @@
+package org.example.app.task.logic;
+
+import org.example.app.task.common.TaskItemEto;
+
+/**
+ * Pluggable sink receiving the {@link TaskItemEto task items} whose {@link TaskItemEto#getDeadline() deadline} has
+ * been reached. Provide a CDI bean implementing this interface to replace the default {@link LoggingTaskDeadlineSink}.
+ *
+ * @see TaskDeadlineScheduler
+ */
+public interface TaskDeadlineSink {
+
+  /**
+   * Called within the transaction that persists the watermark of the {@link TaskDeadlineScheduler}. If this method
+   * throws an exception the watermark is not advanced and the item will be fired again.
+   *
+   * @param item the open {@link TaskItemEto} whose {@link TaskItemEto#getDeadline() deadline} has been reached.
+   */
+  void onDeadline(TaskItemEto item);
+
+}
@@ -0,0 +1,27 @@
+package org.example.app.task.logic;
+
+import org.example.app.task.common.TaskItemEto;
+import org.example.app.task.common.TaskListEto;
+
+/**
+ * Sink receiving the records streamed by {@link UcExportTask}. Implementations write them to the client and report
+ * I/O errors as {@link java.io.UncheckedIOException}.
+ */
+public interface TaskExportSink {
+
+  /**
+   * @param list the next exported {@link TaskListEto}.
+   */
+  void list(TaskListEto list);
+
+  /**
+   * @param item the next exported {@link TaskItemEto}.
+   */
+  void item(TaskItemEto item);
+
+  /**
+   * Called after each chunk of records so the data written so far reaches the client.
+   */
+  void flush();
+
+}
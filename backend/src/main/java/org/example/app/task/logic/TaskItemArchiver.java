@@ -0,0 +1,167 @@
+package org.example.app.task.logic;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.example.app.general.dataaccess.DataSourceRouter;
+import org.example.app.task.common.TaskListChangeEvent;
+import org.example.app.task.dataaccess.TaskItemArchiveProgressEntity;
+import org.example.app.task.dataaccess.TaskItemArchiveProgressRepository;
+import org.example.app.task.dataaccess.TaskItemArchiveRepository;
+import org.example.app.task.dataaccess.TaskItemRef;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Background job moving {@link org.example.app.task.common.TaskItem#isCompleted() completed}
+ * {@link org.example.app.task.common.TaskItem task items} older than {@code app.task.archive.age} from the hot
+ * {@code TASK_ITEM} table to the cold {@code TASK_ITEM_ARCHIVE} table. Each batch of {@code app.task.archive.batch-size}
+ * items is moved by a single statement in its own transaction together with the
+ * {@link TaskItemArchiveProgressEntity progress} so an interrupted run resumes where it stopped. The progress is locked
+ * for the batch so multiple nodes take turns instead of archiving the same range. The job pauses for
+ * {@code app.task.archive.pause} between batches to throttle the load on the database and starts a new pass every
+ * {@code app.task.archive.interval}.
+ */
+@ApplicationScoped
+public class TaskItemArchiver {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TaskItemArchiver.class);
+
+  /** {@link TaskItemArchiveProgressEntity#getName() Name} of the progress of this archival. */
+  static final String PROGRESS_NAME = "task-item-archive";
+
+  @Inject
+  private DataSourceRouter router;
+
+  @Inject
+  private TaskItemArchiveRepository archiveRepository;
+
+  @Inject
+  private TaskItemArchiveProgressRepository progressRepository;
+
+  @Inject
+  private Event<TaskListChangeEvent> changeEvent;
+
+  @ConfigProperty(name = "app.task.archive.enabled", defaultValue = "false")
+  boolean enabled;
+
+  @ConfigProperty(name = "app.task.archive.age", defaultValue = "90D")
+  Duration age;
+
+  @ConfigProperty(name = "app.task.archive.batch-size", defaultValue = "500")
+  int batchSize;
+
+  @ConfigProperty(name = "app.task.archive.pause", defaultValue = "0.2S")
+  Duration pause;
+
+  @ConfigProperty(name = "app.task.archive.interval", defaultValue = "1H")
+  Duration interval;
+
+  private ScheduledExecutorService executor;
+
+  void onStart(@Observes StartupEvent event) {
+
+    if (!this.enabled) {
+      LOG.info("Archival of completed task items is disabled.");
+      return;
+    }
+    this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "task-item-archiver");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.executor.scheduleWithFixedDelay(this::run, 0, this.interval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  void onStop(@Observes ShutdownEvent event) {
+
+    if (this.executor != null) {
+      this.executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Runs a complete pass archiving all eligible items of all shards batch by batch.
+   *
+   * @return the total number of archived items.
+   */
+  @ActivateRequestContext
+  public long run() {
+
+    LocalDateTime completedBefore = LocalDateTime.now().minus(this.age);
+    long total = 0;
+    for (int shard = 0; shard < this.router.getShardCount(); shard++) {
+      total += this.router.onShard(shard, () -> Long.valueOf(runShard(completedBefore))).longValue();
+    }
+    return total;
+  }
+
+  private long runShard(LocalDateTime completedBefore) {
+
+    long total = 0;
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        int count = QuarkusTransaction.requiringNew().call(() -> archiveBatch(completedBefore));
+        if (count == 0) {
+          break;
+        }
+        total += count;
+        Thread.sleep(this.pause.toMillis());
+      }
+      if (total > 0) {
+        LOG.info("Archived {} task items completed before {}", total, completedBefore);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (RuntimeException e) {
+      LOG.error("Archival of task items failed after {} items - will resume with next run.", total, e);
+    }
+    return total;
+  }
+
+  private int archiveBatch(LocalDateTime completedBefore) {
+
+    // the lock serializes the batches of all nodes so they never archive the same range
+    TaskItemArchiveProgressEntity progress = this.progressRepository.findByNameForUpdate(PROGRESS_NAME);
+    if (progress == null) {
+      // first run on this shard - a concurrent insert of another node fails on the unique name and resumes next run
+      progress = new TaskItemArchiveProgressEntity();
+      progress.setName(PROGRESS_NAME);
+    }
+    List<TaskItemRef> refs = this.archiveRepository.archiveCompleted(completedBefore, progress.getLastId(),
+        this.batchSize);
+    if (refs.isEmpty()) {
+      // pass completed - start the next pass from the beginning
+      progress.setLastId(0);
+    } else {
+      long lastId = progress.getLastId();
+      Set<Long> listIds = new HashSet<>();
+      for (TaskItemRef ref : refs) {
+        lastId = Math.max(lastId, ref.getId().longValue());
+        listIds.add(ref.getTaskListId());
+      }
+      progress.setLastId(lastId);
+      for (Long listId : listIds) {
+        this.changeEvent.fire(TaskListChangeEvent.ofChange(listId));
+      }
+    }
+    this.progressRepository.save(progress);
+    return refs.size();
+  }
+
+}
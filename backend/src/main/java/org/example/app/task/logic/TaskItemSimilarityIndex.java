@@ -0,0 +1,457 @@
+package org.example.app.task.logic;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.example.app.general.common.cache.CacheInvalidationEvent;
+import org.example.app.general.common.vector.HnswIndex;
+import org.example.app.general.dataaccess.DataSourceRouter;
+import org.example.app.task.common.TaskItemChangeEvent;
+import org.example.app.task.common.TaskItemEto;
+import org.example.app.task.common.TaskItemSearchCriteria;
+import org.example.app.task.dataaccess.TaskItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the embeddings of the {@link TaskItemEto#getTitle() titles} of all task items in an off-heap
+ * {@link HnswIndex} persisted to {@code app.task.similarity.file} for fast similarity search. The embeddings are
+ * computed by the {@link TaskTitleEmbedder} in the background:
+ * <ul>
+ * <li>Saved and deleted items of this node are collected for {@code app.task.similarity.window} and then embedded in
+ * batches of {@code app.task.similarity.batch-size} titles. Saves that do not change the title are ignored.</li>
+ * <li>For lists changed on other nodes (see {@link TaskChangePublisher}) the titles of their items are checked.</li>
+ * <li>At startup and every {@code app.task.similarity.reconcile-interval} all items are compared with the index to
+ * catch up with changes missed while the node was down, archived items and deletions on other nodes.</li>
+ * </ul>
+ * If the embedder fails (e.g. Ollama is not running) the pending changes are retried after
+ * {@code app.task.similarity.retry-delay}. Hits may therefore be slightly stale and have to be loaded from the database.
+ */
+@ApplicationScoped
+public class TaskItemSimilarityIndex {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TaskItemSimilarityIndex.class);
+
+  private static final int RECONCILE_CHUNK_SIZE = 10_000;
+
+  private static final int RECONCILE_FETCH_SIZE = 1000;
+
+  /** Minimum number of deleted nodes before the index is compacted. */
+  private static final int MIN_DELETED_TO_COMPACT = 1000;
+
+  @Inject
+  private DataSourceRouter router;
+
+  @Inject
+  private TaskItemRepository taskItemRepository;
+
+  @Inject
+  private TaskTitleEmbedder embedder;
+
+  @ConfigProperty(name = "app.task.similarity.enabled", defaultValue = "true")
+  boolean enabled;
+
+  @ConfigProperty(name = "app.task.similarity.file", defaultValue = "data/task-similarity.hnsw")
+  String file;
+
+  @ConfigProperty(name = "app.task.similarity.dimension", defaultValue = "768")
+  int dimension;
+
+  @ConfigProperty(name = "app.task.similarity.m", defaultValue = "16")
+  int m;
+
+  @ConfigProperty(name = "app.task.similarity.ef-construction", defaultValue = "100")
+  int efConstruction;
+
+  @ConfigProperty(name = "app.task.similarity.ef-search", defaultValue = "64")
+  int efSearch;
+
+  @ConfigProperty(name = "app.task.similarity.batch-size", defaultValue = "64")
+  int batchSize;
+
+  @ConfigProperty(name = "app.task.similarity.window", defaultValue = "1S")
+  Duration window;
+
+  @ConfigProperty(name = "app.task.similarity.retry-delay", defaultValue = "1M")
+  Duration retryDelay;
+
+  @ConfigProperty(name = "app.task.similarity.reconcile-interval", defaultValue = "6H")
+  Duration reconcileInterval;
+
+  @ConfigProperty(name = "app.task.similarity.max-deleted-ratio", defaultValue = "0.3")
+  double maxDeletedRatio;
+
+  private final Object lock = new Object();
+
+  /** Pending titles by item ID or {@code null} to remove the item (guarded by {@link #lock}). */
+  private final Map<Long, String> pendingItems = new LinkedHashMap<>();
+
+  /** IDs of lists changed on other nodes (guarded by {@link #lock}). */
+  private final Set<Long> pendingLists = new HashSet<>();
+
+  private boolean reconcileRequested;
+
+  private boolean flushScheduled;
+
+  private volatile HnswIndex index;
+
+  private ScheduledExecutorService executor;
+
+  void onStart(@Observes StartupEvent event) {
+
+    if (!this.enabled) {
+      LOG.info("Similarity search of task items is disabled.");
+      return;
+    }
+    this.index = openIndex();
+    LOG.info("Opened similarity index {} with {} task items embedded by {}.", this.file,
+        Integer.valueOf(this.index.size()), this.embedder.getModel());
+    this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "task-item-similarity-index");
+      thread.setDaemon(true);
+      return thread;
+    });
+    long intervalMillis = this.reconcileInterval.toMillis();
+    this.executor.scheduleWithFixedDelay(this::requestReconcile, 0, intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  void onStop(@Observes ShutdownEvent event) {
+
+    if (this.executor != null) {
+      this.executor.shutdownNow();
+      try {
+        this.executor.awaitTermination(this.window.toMillis() * 10, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    if (this.index != null) {
+      try {
+        this.index.close();
+      } catch (IOException e) {
+        LOG.warn("Failed to close similarity index {}.", this.file, e);
+      }
+    }
+  }
+
+  /**
+   * @return {@code true} if similarity search is available, {@code false} if disabled.
+   */
+  public boolean isEnabled() {
+
+    return this.index != null;
+  }
+
+  /**
+   * @param item the {@link TaskItemEto} from the database.
+   * @return the embedding of its {@link TaskItemEto#getTitle() title} from the index or {@code null} if not indexed
+   *         or outdated.
+   */
+  public float[] getVector(TaskItemEto item) {
+
+    HnswIndex hnsw = requireIndex();
+    if (!isCurrent(hnsw, item.getId(), item.getTitle())) {
+      return null;
+    }
+    return hnsw.getVector(item.getId().longValue());
+  }
+
+  /**
+   * @param title the text to embed.
+   * @return the embedding of the given text computed by the {@link TaskTitleEmbedder}.
+   */
+  public float[] embed(String title) {
+
+    requireIndex();
+    return this.embedder.embed(List.of(title)).get(0);
+  }
+
+  /**
+   * @param vector the embedding to search for.
+   * @param k the maximum number of hits.
+   * @return the {@link HnswIndex.Hit hits} of the (approximately) {@code k} nearest items by descending similarity.
+   */
+  public List<HnswIndex.Hit> search(float[] vector, int k) {
+
+    return requireIndex().search(vector, k, this.efSearch);
+  }
+
+  void onTaskItemChange(@Observes(during = TransactionPhase.AFTER_SUCCESS) TaskItemChangeEvent event) {
+
+    HnswIndex hnsw = this.index;
+    if (hnsw == null) {
+      return;
+    }
+    String title = event.isDeleted() ? null : event.getItem().getTitle();
+    if ((title != null) && isCurrent(hnsw, event.getId(), title)) {
+      // e.g. toggled completed
+      return;
+    }
+    synchronized (this.lock) {
+      this.pendingItems.put(event.getId(), title);
+      scheduleFlush(this.window.toMillis());
+    }
+  }
+
+  void onInvalidation(@Observes CacheInvalidationEvent event) {
+
+    if ((this.index == null) || !event.isTopic(TaskChangePublisher.TOPIC_TASK_LIST)) {
+      return;
+    }
+    synchronized (this.lock) {
+      if (event.isAll()) {
+        this.reconcileRequested = true;
+      } else {
+        for (String key : event.getKeys()) {
+          this.pendingLists.add(Long.valueOf(key));
+        }
+      }
+      scheduleFlush(this.window.toMillis());
+    }
+  }
+
+  /**
+   * Requests to {@link #reconcile() reconcile} the index with the next {@link #flush() flush}.
+   */
+  void requestReconcile() {
+
+    synchronized (this.lock) {
+      this.reconcileRequested = true;
+      scheduleFlush(0);
+    }
+  }
+
+  private void scheduleFlush(long delayMillis) {
+
+    if (!this.flushScheduled) {
+      this.flushScheduled = true;
+      this.executor.schedule(this::flush, delayMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Applies all pending changes to the index. Synchronized so a flush triggered outside of the background thread (e.g.
+   * by a benchmark) returns after a running flush has completed.
+   */
+  @ActivateRequestContext
+  synchronized void flush() {
+
+    Map<Long, String> items;
+    Set<Long> lists;
+    boolean reconcile;
+    synchronized (this.lock) {
+      items = new LinkedHashMap<>(this.pendingItems);
+      lists = new HashSet<>(this.pendingLists);
+      reconcile = this.reconcileRequested;
+      this.pendingItems.clear();
+      this.pendingLists.clear();
+      this.reconcileRequested = false;
+      this.flushScheduled = false;
+    }
+    try {
+      if (reconcile) {
+        reconcile();
+      } else {
+        for (Long listId : lists) {
+          for (TaskItemEto item : this.router.onShard(this.router.getShard(listId), () -> QuarkusTransaction
+              .requiringNew().call(() -> this.taskItemRepository.findEtosByTaskListId(listId)))) {
+            items.putIfAbsent(item.getId(), item.getTitle());
+          }
+        }
+      }
+      update(items);
+      compactIfRequired();
+    } catch (RuntimeException e) {
+      LOG.warn("Failed to update similarity index - retrying in {}.", this.retryDelay, e);
+      synchronized (this.lock) {
+        // newer changes win
+        for (Map.Entry<Long, String> entry : items.entrySet()) {
+          this.pendingItems.putIfAbsent(entry.getKey(), entry.getValue());
+        }
+        this.pendingLists.addAll(lists);
+        this.reconcileRequested |= reconcile;
+        this.flushScheduled = true;
+        this.executor.schedule(this::flush, this.retryDelay.toMillis(), TimeUnit.MILLISECONDS);
+      }
+    }
+  }
+
+  /**
+   * Compares all items of all shards with the index, embeds missing or changed titles and removes items that no
+   * longer exist.
+   */
+  private void reconcile() {
+
+    HnswIndex hnsw = requireIndex();
+    long start = System.currentTimeMillis();
+    long[] seen = new long[Math.max(16, hnsw.size())];
+    int seenCount = 0;
+    for (int shard = 0; shard < this.router.getShardCount(); shard++) {
+      long afterId = 0;
+      while (afterId >= 0) {
+        long cursor = afterId;
+        List<TaskItemEto> chunk = this.router.onShard(shard,
+            () -> QuarkusTransaction.requiringNew().call(() -> findChunk(cursor)));
+        Map<Long, String> items = new LinkedHashMap<>();
+        for (TaskItemEto item : chunk) {
+          if (seenCount == seen.length) {
+            seen = Arrays.copyOf(seen, seenCount * 2);
+          }
+          seen[seenCount++] = item.getId().longValue();
+          items.put(item.getId(), item.getTitle());
+        }
+        update(items);
+        afterId = (chunk.size() < RECONCILE_CHUNK_SIZE) ? -1 : chunk.get(chunk.size() - 1).getId().longValue();
+      }
+    }
+    Arrays.sort(seen, 0, seenCount);
+    Map<Integer, List<Long>> missing = new HashMap<>();
+    for (long id : hnsw.getIds()) {
+      if (Arrays.binarySearch(seen, 0, seenCount, id) < 0) {
+        Long itemId = Long.valueOf(id);
+        missing.computeIfAbsent(Integer.valueOf(this.router.getShard(itemId)), s -> new ArrayList<>()).add(itemId);
+      }
+    }
+    int removed = 0;
+    for (Map.Entry<Integer, List<Long>> entry : missing.entrySet()) {
+      List<Long> ids = entry.getValue();
+      for (int i = 0; i < ids.size(); i += RECONCILE_FETCH_SIZE) {
+        List<Long> batch = ids.subList(i, Math.min(ids.size(), i + RECONCILE_FETCH_SIZE));
+        // items created since they have been scanned still exist
+        Set<Long> existing = new HashSet<>();
+        for (TaskItemEto item : this.router.onShard(entry.getKey().intValue(),
+            () -> QuarkusTransaction.requiringNew().call(() -> this.taskItemRepository.findEtosByIds(batch)))) {
+          existing.add(item.getId());
+        }
+        for (Long id : batch) {
+          if (!existing.contains(id) && hnsw.remove(id.longValue())) {
+            removed++;
+          }
+        }
+      }
+    }
+    hnsw.force();
+    LOG.info("Reconciled similarity index with {} task items in {}ms ({} removed).", Integer.valueOf(seenCount),
+        Long.valueOf(System.currentTimeMillis() - start), Integer.valueOf(removed));
+  }
+
+  private List<TaskItemEto> findChunk(long afterId) {
+
+    try (Stream<TaskItemEto> items = this.taskItemRepository.streamEtos(new TaskItemSearchCriteria(), afterId,
+        RECONCILE_CHUNK_SIZE, RECONCILE_FETCH_SIZE)) {
+      return items.toList();
+    }
+  }
+
+  private void update(Map<Long, String> items) {
+
+    HnswIndex hnsw = requireIndex();
+    List<Long> ids = new ArrayList<>(this.batchSize);
+    List<String> titles = new ArrayList<>(this.batchSize);
+    for (Map.Entry<Long, String> entry : items.entrySet()) {
+      String title = entry.getValue();
+      if (title == null) {
+        hnsw.remove(entry.getKey().longValue());
+      } else if (!isCurrent(hnsw, entry.getKey(), title)) {
+        ids.add(entry.getKey());
+        titles.add(title);
+        if (ids.size() >= this.batchSize) {
+          add(hnsw, ids, titles);
+          ids.clear();
+          titles.clear();
+        }
+      }
+    }
+    if (!ids.isEmpty()) {
+      add(hnsw, ids, titles);
+    }
+  }
+
+  private void add(HnswIndex hnsw, List<Long> ids, List<String> titles) {
+
+    List<float[]> vectors = this.embedder.embed(titles);
+    for (int i = 0; i < ids.size(); i++) {
+      hnsw.add(ids.get(i).longValue(), checksum(titles.get(i)), vectors.get(i));
+    }
+  }
+
+  private void compactIfRequired() {
+
+    HnswIndex hnsw = requireIndex();
+    int deleted = hnsw.getDeletedCount();
+    if ((deleted < MIN_DELETED_TO_COMPACT) || (deleted < this.maxDeletedRatio * (hnsw.size() + deleted))) {
+      return;
+    }
+    long start = System.currentTimeMillis();
+    Path path = Path.of(this.file);
+    Path compactPath = path.resolveSibling(path.getFileName() + ".compact");
+    try {
+      hnsw.compact(compactPath).close();
+      HnswIndex.move(compactPath, path);
+      HnswIndex old = hnsw;
+      this.index = openIndex();
+      // searches still running on the old index keep working on its mapping
+      old.close();
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to compact similarity index " + this.file, e);
+    }
+    LOG.info("Compacted similarity index dropping {} deleted nodes in {}ms.", Integer.valueOf(deleted),
+        Long.valueOf(System.currentTimeMillis() - start));
+  }
+
+  private HnswIndex openIndex() {
+
+    long fingerprint = UUID.nameUUIDFromBytes(this.embedder.getModel().getBytes(StandardCharsets.UTF_8))
+        .getMostSignificantBits();
+    try {
+      return HnswIndex.open(Path.of(this.file), this.dimension, this.m, this.efConstruction, fingerprint);
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to open similarity index " + this.file, e);
+    }
+  }
+
+  private HnswIndex requireIndex() {
+
+    HnswIndex hnsw = this.index;
+    if (hnsw == null) {
+      throw new IllegalStateException("Similarity search of task items is disabled.");
+    }
+    return hnsw;
+  }
+
+  private static boolean isCurrent(HnswIndex hnsw, Long itemId, String title) {
+
+    Integer checksum = hnsw.getChecksum(itemId.longValue());
+    return (checksum != null) && (checksum.intValue() == checksum(title));
+  }
+
+  private static int checksum(String title) {
+
+    return title.hashCode();
+  }
+
+}
@@ -0,0 +1,445 @@
+package org.example.app.task.logic;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.example.app.general.dataaccess.DataSourceRouter;
+import org.example.app.task.common.TaskItemChangeEvent;
+import org.example.app.task.common.TaskItemEto;
+import org.example.app.task.dataaccess.TaskItemEntity;
+import org.example.app.task.dataaccess.TaskItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Write-behind buffer for toggling {@link TaskItemEto#isCompleted() completed} and {@link TaskItemEto#isStarred()
+ * starred} of {@link TaskItemEto task items}. Toggles of the same item within {@code app.task.toggle.window} are
+ * coalesced to its latest state and all pending items are flushed per shard in a single transaction with one query
+ * loading the items and version-checked updates sent as JDBC batches of {@code app.task.toggle.batch-size}. If that
+ * transaction fails, the items are retried one by one so only the item causing the failure (e.g. a concurrent
+ * modification) is dropped. Until then reads of this node {@link #apply(TaskItemEto)
+ * see the pending state}. Searches and the {@link org.example.app.task.common.TaskListSummaryEto summaries} reflect a
+ * toggle once it has been flushed. See {@link TaskItemToggleDurability} for the guarantees of
+ * {@code app.task.toggle.durability}.<br>
+ * <b>Versions:</b> A flushed toggle increments the {@link TaskItemEto#getVersion() version} of an item once - if it
+ * changes the stored state at all, so coalesced toggles result in a single increment and toggling back and forth
+ * within a window in none. The pending state returned by {@link #add(TaskItemEto, Boolean, Boolean) add} and
+ * {@link #apply(TaskItemEto) apply} already contains the version the flush will write, i.e. the stored version plus
+ * one if the pending toggle changes the stored state. Hence a client can save an item right after toggling it and a
+ * save with the pending version is accepted (see {@link #discard(TaskItemEto)}).<br>
+ * A regular save or delete of an item {@link #discard(Long) discards} its pending toggle as the client sent the
+ * complete state it has seen. Bulk operations only discard what they overwrite: completing all items of a list
+ * {@link #discardCompleted(Long) discards} the pending {@code completed} flags of its items, deleting items discards
+ * their toggles and deleting the list {@link #discardList(Long) discards} the toggles of all its items.
+ */
+@ApplicationScoped
+public class TaskItemToggleBuffer {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TaskItemToggleBuffer.class);
+
+  @Inject
+  private DataSourceRouter router;
+
+  @Inject
+  private TaskItemRepository taskItemRepository;
+
+  @Inject
+  private TaskListMapper taskListMapper;
+
+  @Inject
+  private TaskListCounters taskListCounters;
+
+  @Inject
+  private Event<TaskItemChangeEvent> changeEvent;
+
+  @ConfigProperty(name = "app.task.toggle.window", defaultValue = "0.2S")
+  Duration window;
+
+  @ConfigProperty(name = "app.task.toggle.max-pending", defaultValue = "10000")
+  int maxPending;
+
+  @ConfigProperty(name = "app.task.toggle.batch-size", defaultValue = "100")
+  int batchSize;
+
+  private final Object lock = new Object();
+
+  /** Pending toggles by item ID (guarded by {@link #lock}). */
+  private final Map<Long, Toggle> pending = new HashMap<>();
+
+  private long generation;
+
+  private boolean flushScheduled;
+
+  private ScheduledExecutorService executor;
+
+  void onStart(@Observes StartupEvent event) {
+
+    this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "task-item-toggle-flush");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  void onStop(@Observes ShutdownEvent event) {
+
+    if (this.executor != null) {
+      this.executor.shutdown();
+      try {
+        this.executor.awaitTermination(this.window.toMillis() * 10, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      // flush what is left so a regular shutdown does not lose toggles
+      flush();
+    }
+  }
+
+  /**
+   * @param item the {@link TaskItemEto} to toggle as stored in the database. Will be modified to the pending state
+   *        including its version.
+   * @param completed the new value of {@link TaskItemEto#isCompleted()} or {@code null} to keep it.
+   * @param starred the new value of {@link TaskItemEto#isStarred()} or {@code null} to keep it.
+   * @return the {@link CompletableFuture} completed when the toggle has been committed.
+   */
+  public CompletableFuture<Void> add(TaskItemEto item, Boolean completed, Boolean starred) {
+
+    synchronized (this.lock) {
+      Toggle toggle = this.pending.get(item.getId());
+      if (toggle == null) {
+        toggle = new Toggle(item.getId(), item.getTaskListId());
+        this.pending.put(item.getId(), toggle);
+      }
+      if (completed != null) {
+        toggle.completed = completed;
+      }
+      if (starred != null) {
+        toggle.starred = starred;
+      }
+      toggle.generation = ++this.generation;
+      toggle.applyTo(item);
+      if (this.pending.size() >= this.maxPending) {
+        this.flushScheduled = true;
+        this.executor.execute(this::flush);
+      } else if (!this.flushScheduled) {
+        this.flushScheduled = true;
+        this.executor.schedule(this::flush, this.window.toMillis(), TimeUnit.MILLISECONDS);
+      }
+      return toggle.flushed;
+    }
+  }
+
+  /**
+   * @param item the {@link TaskItemEto} read from the database. Will be modified to the pending state including its
+   *        version.
+   */
+  public void apply(TaskItemEto item) {
+
+    synchronized (this.lock) {
+      Toggle toggle = this.pending.get(item.getId());
+      if (toggle != null) {
+        toggle.applyTo(item);
+      }
+    }
+  }
+
+  /**
+   * @param items the {@link List} of {@link TaskItemEto task items} read from the database. Will be modified to the
+   *        pending state.
+   */
+  public void apply(List<TaskItemEto> items) {
+
+    synchronized (this.lock) {
+      if (this.pending.isEmpty()) {
+        return;
+      }
+      for (TaskItemEto item : items) {
+        Toggle toggle = this.pending.get(item.getId());
+        if (toggle != null) {
+          toggle.applyTo(item);
+        }
+      }
+    }
+  }
+
+  /**
+   * @param itemId the {@link TaskItemEto#getId() ID} of the item whose pending toggle shall be dropped as it gets
+   *        saved or deleted.
+   */
+  public void discard(Long itemId) {
+
+    Toggle toggle;
+    synchronized (this.lock) {
+      toggle = this.pending.remove(itemId);
+    }
+    if (toggle != null) {
+      toggle.flushed.complete(null);
+    }
+  }
+
+  /**
+   * @param item the {@link TaskItemEto} as stored in the database whose pending toggle shall be dropped as it gets
+   *        saved.
+   * @return {@code true} if the dropped toggle changed the stored state so clients have seen the item with its
+   *         {@link TaskItemEto#getVersion() version} plus one, {@code false} otherwise.
+   */
+  public boolean discard(TaskItemEto item) {
+
+    Toggle toggle;
+    synchronized (this.lock) {
+      toggle = this.pending.remove(item.getId());
+    }
+    if (toggle == null) {
+      return false;
+    }
+    toggle.flushed.complete(null);
+    return toggle.changes(item.isCompleted(), item.isStarred());
+  }
+
+  /**
+   * @param taskListId the {@link TaskItemEto#getTaskListId() ID of the list} whose pending toggles shall be dropped as
+   *        it gets updated or deleted as a whole.
+   */
+  public void discardList(Long taskListId) {
+
+    List<Toggle> toggles = new ArrayList<>();
+    synchronized (this.lock) {
+      if (this.pending.isEmpty()) {
+        return;
+      }
+      Iterator<Toggle> iterator = this.pending.values().iterator();
+      while (iterator.hasNext()) {
+        Toggle toggle = iterator.next();
+        if (toggle.taskListId.equals(taskListId)) {
+          iterator.remove();
+          toggles.add(toggle);
+        }
+      }
+    }
+    for (Toggle toggle : toggles) {
+      toggle.flushed.complete(null);
+    }
+  }
+
+  /**
+   * Drops the pending {@link TaskItemEto#isCompleted() completed} flags of all items of a list as they get overwritten
+   * by a bulk update. Pending {@link TaskItemEto#isStarred() starred} flags are kept.
+   *
+   * @param taskListId the {@link TaskItemEto#getTaskListId() ID of the list} whose items get completed as a whole.
+   */
+  public void discardCompleted(Long taskListId) {
+
+    List<Toggle> toggles = new ArrayList<>();
+    synchronized (this.lock) {
+      if (this.pending.isEmpty()) {
+        return;
+      }
+      Iterator<Toggle> iterator = this.pending.values().iterator();
+      while (iterator.hasNext()) {
+        Toggle toggle = iterator.next();
+        if (toggle.taskListId.equals(taskListId) && (toggle.completed != null)) {
+          if (toggle.starred == null) {
+            iterator.remove();
+            toggles.add(toggle);
+          } else {
+            toggle.completed = null;
+            // a running flush must not write the dropped flag
+            toggle.generation = ++this.generation;
+          }
+        }
+      }
+    }
+    for (Toggle toggle : toggles) {
+      toggle.flushed.complete(null);
+    }
+  }
+
+  /**
+   * Flushes all pending toggles.
+   */
+  @ActivateRequestContext
+  void flush() {
+
+    List<Toggle> toggles;
+    synchronized (this.lock) {
+      this.flushScheduled = false;
+      toggles = new ArrayList<>(this.pending.size());
+      for (Toggle toggle : this.pending.values()) {
+        toggles.add(toggle.copy());
+      }
+    }
+    if (toggles.isEmpty()) {
+      return;
+    }
+    Map<Integer, List<Toggle>> shards = new HashMap<>();
+    for (Toggle toggle : toggles) {
+      shards.computeIfAbsent(Integer.valueOf(this.router.getShard(toggle.itemId)), s -> new ArrayList<>()).add(toggle);
+    }
+    for (Map.Entry<Integer, List<Toggle>> entry : shards.entrySet()) {
+      int shard = entry.getKey().intValue();
+      List<Toggle> shardToggles = entry.getValue();
+      try {
+        this.router.onShard(shard, () -> QuarkusTransaction.requiringNew().call(() -> flushShard(shardToggles)));
+        complete(shardToggles, null);
+      } catch (RuntimeException e) {
+        LOG.warn("Failed to flush {} toggled task items - retrying them one by one.",
+            Integer.valueOf(shardToggles.size()), e);
+        flushEach(shard, shardToggles);
+      }
+    }
+  }
+
+  private void flushEach(int shard, List<Toggle> toggles) {
+
+    for (Toggle toggle : toggles) {
+      List<Toggle> single = List.of(toggle);
+      Throwable error = null;
+      try {
+        this.router.onShard(shard, () -> QuarkusTransaction.requiringNew().call(() -> flushShard(single)));
+      } catch (RuntimeException e) {
+        LOG.error("Failed to flush toggled task item {} - discarding it.", toggle.itemId, e);
+        error = e;
+      }
+      complete(single, error);
+    }
+  }
+
+  private Void flushShard(List<Toggle> toggles) {
+
+    Map<Long, Toggle> toggleMap = new HashMap<>(toggles.size());
+    for (Toggle toggle : toggles) {
+      toggleMap.put(toggle.itemId, toggle);
+    }
+    List<TaskItemEto> oldItems = new ArrayList<>();
+    List<TaskItemEntity> entities = new ArrayList<>();
+    for (TaskItemEntity entity : this.taskItemRepository.findAllById(toggleMap.keySet())) {
+      Toggle toggle = toggleMap.get(entity.getId());
+      // only changed items get a new version as reported by apply
+      if (toggle.changes(entity.isCompleted(), entity.isStarred()) && isCurrent(toggle)) {
+        oldItems.add(this.taskListMapper.toEto(entity));
+        if (toggle.completed != null) {
+          entity.setCompleted(toggle.completed.booleanValue());
+        }
+        if (toggle.starred != null) {
+          entity.setStarred(toggle.starred.booleanValue());
+        }
+        entities.add(entity);
+      }
+    }
+    // batches of version checked updates
+    this.taskItemRepository.flushInBatches(this.batchSize);
+    for (int i = 0; i < entities.size(); i++) {
+      TaskItemEto result = this.taskListMapper.toEto(entities.get(i));
+      this.taskListCounters.update(oldItems.get(i), result);
+      this.changeEvent.fire(TaskItemChangeEvent.ofSave(result));
+    }
+    return null;
+  }
+
+  private boolean isCurrent(Toggle toggle) {
+
+    synchronized (this.lock) {
+      Toggle current = this.pending.get(toggle.itemId);
+      return (current != null) && (current.generation == toggle.generation);
+    }
+  }
+
+  private void complete(List<Toggle> toggles, Throwable error) {
+
+    List<CompletableFuture<Void>> futures = new ArrayList<>(toggles.size());
+    synchronized (this.lock) {
+      for (Toggle toggle : toggles) {
+        Toggle current = this.pending.get(toggle.itemId);
+        // on success keep toggles that changed again during the flush for the next flush
+        if ((current != null) && ((error != null) || (current.generation == toggle.generation))) {
+          this.pending.remove(toggle.itemId);
+          futures.add(current.flushed);
+        }
+      }
+    }
+    for (CompletableFuture<Void> future : futures) {
+      if (error == null) {
+        future.complete(null);
+      } else {
+        future.completeExceptionally(error);
+      }
+    }
+  }
+
+  private static final class Toggle {
+
+    private final Long itemId;
+
+    private final Long taskListId;
+
+    private final CompletableFuture<Void> flushed;
+
+    private Boolean completed;
+
+    private Boolean starred;
+
+    private long generation;
+
+    private Toggle(Long itemId, Long taskListId) {
+
+      this(itemId, taskListId, new CompletableFuture<>());
+    }
+
+    private Toggle(Long itemId, Long taskListId, CompletableFuture<Void> flushed) {
+
+      super();
+      this.itemId = itemId;
+      this.taskListId = taskListId;
+      this.flushed = flushed;
+    }
+
+    private boolean changes(boolean storedCompleted, boolean storedStarred) {
+
+      return ((this.completed != null) && (this.completed.booleanValue() != storedCompleted))
+          || ((this.starred != null) && (this.starred.booleanValue() != storedStarred));
+    }
+
+    private void applyTo(TaskItemEto item) {
+
+      if (!changes(item.isCompleted(), item.isStarred())) {
+        return;
+      }
+      if (this.completed != null) {
+        item.setCompleted(this.completed.booleanValue());
+      }
+      if (this.starred != null) {
+        item.setStarred(this.starred.booleanValue());
+      }
+      if (item.getVersion() != null) {
+        item.setVersion(Integer.valueOf(item.getVersion().intValue() + 1));
+      }
+    }
+
+    private Toggle copy() {
+
+      Toggle copy = new Toggle(this.itemId, this.taskListId, this.flushed);
+      copy.completed = this.completed;
+      copy.starred = this.starred;
+      copy.generation = this.generation;
+      return copy;
+    }
+  }
+
+}
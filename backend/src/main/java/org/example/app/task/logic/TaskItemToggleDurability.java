@@ -0,0 +1,21 @@
+package org.example.app.task.logic;
+
+/**
+ * Durability of the toggles of {@link org.example.app.task.common.TaskItem#isCompleted() completed} and
+ * {@link org.example.app.task.common.TaskItem#isStarred() starred} buffered by the {@link TaskItemToggleBuffer}.
+ */
+public enum TaskItemToggleDurability {
+
+  /**
+   * A toggle is acknowledged as soon as it is buffered. Toggles not yet flushed are lost if the node crashes. Best
+   * latency for high-frequency toggles.
+   */
+  BUFFERED,
+
+  /**
+   * A toggle is acknowledged after the batch containing it has been committed (group commit). Toggles of concurrent
+   * requests are still coalesced and written together.
+   */
+  FLUSHED
+
+}
@@ -0,0 +1,52 @@
+package org.example.app.task.logic;
+
+import java.util.Objects;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.example.app.task.common.TaskItemEto;
+import org.example.app.task.dataaccess.TaskListSummaryEntity;
+import org.example.app.task.dataaccess.TaskListSummaryRepository;
+
+/**
+ * Maintains the {@link TaskListSummaryEntity counters} of the {@link org.example.app.task.common.TaskList lists}
+ * incrementally within the transaction that saves or deletes a {@link TaskItemEto task item}. Archiving or restoring
+ * an item does not change the counters as they include archived items.
+ */
+@ApplicationScoped
+public class TaskListCounters {
+
+  @Inject
+  private TaskListSummaryRepository summaryRepository;
+
+  /**
+   * @param oldItem the {@link TaskItemEto} before the change or {@code null} if it has been inserted.
+   * @param newItem the {@link TaskItemEto} after the change or {@code null} if it has been deleted.
+   */
+  public void update(TaskItemEto oldItem, TaskItemEto newItem) {
+
+    if ((oldItem != null) && (newItem != null) && Objects.equals(oldItem.getTaskListId(), newItem.getTaskListId())) {
+      long open = count(!newItem.isCompleted()) - count(!oldItem.isCompleted());
+      long completed = count(newItem.isCompleted()) - count(oldItem.isCompleted());
+      long starred = count(newItem.isStarred()) - count(oldItem.isStarred());
+      if ((open != 0) || (completed != 0) || (starred != 0)) {
+        this.summaryRepository.addCounts(newItem.getTaskListId(), 0, open, completed, starred);
+      }
+      return;
+    }
+    if (oldItem != null) {
+      this.summaryRepository.addCounts(oldItem.getTaskListId(), -1, -count(!oldItem.isCompleted()),
+          -count(oldItem.isCompleted()), -count(oldItem.isStarred()));
+    }
+    if (newItem != null) {
+      this.summaryRepository.addCounts(newItem.getTaskListId(), 1, count(!newItem.isCompleted()),
+          count(newItem.isCompleted()), count(newItem.isStarred()));
+    }
+  }
+
+  private static long count(boolean flag) {
+
+    return flag ? 1 : 0;
+  }
+
+}
@@ -0,0 +1,72 @@
+package org.example.app.task.logic;
+
+import java.util.List;
+
+import org.example.app.task.common.TaskItemEto;
+import org.example.app.task.common.TaskListEto;
+import org.example.app.task.dataaccess.TaskItemArchiveEntity;
+import org.example.app.task.dataaccess.TaskItemEntity;
+import org.example.app.task.dataaccess.TaskListEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+
+/**
+ * Mapper for {@link TaskListEntity} and {@link TaskItemEntity} to and from their ETOs.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.JAKARTA)
+public interface TaskListMapper {
+
+  /**
+   * @param entity the {@link TaskListEntity} to map.
+   * @return the mapped {@link TaskListEto}.
+   */
+  TaskListEto toEto(TaskListEntity entity);
+
+  /**
+   * @param entities the {@link List} of {@link TaskListEntity} to map.
+   * @return the {@link List} of mapped {@link TaskListEto}s.
+   */
+  List<TaskListEto> toEtos(List<TaskListEntity> entities);
+
+  /**
+   * @param eto the {@link TaskListEto} to map.
+   * @return the mapped {@link TaskListEntity}.
+   */
+  @Mapping(target = "items", ignore = true)
+  TaskListEntity toEntity(TaskListEto eto);
+
+  /**
+   * @param entity the {@link TaskItemEntity} to map.
+   * @return the mapped {@link TaskItemEto}.
+   */
+  @Mapping(target = "taskListId", source = "taskList.id")
+  TaskItemEto toEto(TaskItemEntity entity);
+
+  /**
+   * @param entities the {@link List} of {@link TaskItemEntity} to map.
+   * @return the {@link List} of mapped {@link TaskItemEto}s.
+   */
+  List<TaskItemEto> toItemEtos(List<TaskItemEntity> entities);
+
+  /**
+   * @param eto the {@link TaskItemEto} to map. The {@link TaskItemEntity#getTaskList() task list} has to be set by the
+   *        caller.
+   * @return the mapped {@link TaskItemEntity}.
+   */
+  @Mapping(target = "taskList", ignore = true)
+  TaskItemEntity toEntity(TaskItemEto eto);
+
+  /**
+   * @param entity the archived {@link TaskItemArchiveEntity} to map.
+   * @return the mapped {@link TaskItemEto}.
+   */
+  TaskItemEto toEto(TaskItemArchiveEntity entity);
+
+  /**
+   * @param entities the {@link List} of archived {@link TaskItemArchiveEntity} to map.
+   * @return the {@link List} of mapped {@link TaskItemEto}s.
+   */
+  List<TaskItemEto> toArchivedItemEtos(List<TaskItemArchiveEntity> entities);
+
+}
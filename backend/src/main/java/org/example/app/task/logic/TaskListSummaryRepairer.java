@@ -0,0 +1,113 @@
+package org.example.app.task.logic;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.example.app.general.dataaccess.DataSourceRouter;
+import org.example.app.task.dataaccess.TaskListSummaryEntity;
+import org.example.app.task.dataaccess.TaskListSummaryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Background job recomputing the {@link TaskListSummaryEntity counters} of all lists from their items every
+ * {@code app.task.summary.repair.interval} and correcting those that have drifted (e.g. due to manual changes in the
+ * database). The lists are processed in batches of {@code app.task.summary.repair.batch-size} each in its own
+ * transaction so the lists are only locked briefly.
+ */
+@ApplicationScoped
+public class TaskListSummaryRepairer {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TaskListSummaryRepairer.class);
+
+  @Inject
+  private DataSourceRouter router;
+
+  @Inject
+  private TaskListSummaryRepository summaryRepository;
+
+  @ConfigProperty(name = "app.task.summary.repair.enabled", defaultValue = "true")
+  boolean enabled;
+
+  @ConfigProperty(name = "app.task.summary.repair.batch-size", defaultValue = "1000")
+  int batchSize;
+
+  @ConfigProperty(name = "app.task.summary.repair.interval", defaultValue = "6H")
+  Duration interval;
+
+  private ScheduledExecutorService executor;
+
+  void onStart(@Observes StartupEvent event) {
+
+    if (!this.enabled) {
+      LOG.info("Repair of task list summaries is disabled.");
+      return;
+    }
+    this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "task-list-summary-repairer");
+      thread.setDaemon(true);
+      return thread;
+    });
+    long intervalMillis = this.interval.toMillis();
+    this.executor.scheduleWithFixedDelay(this::run, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  void onStop(@Observes ShutdownEvent event) {
+
+    if (this.executor != null) {
+      this.executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Recomputes the counters of all lists of all shards batch by batch.
+   *
+   * @return the number of lists whose counters have been corrected.
+   */
+  @ActivateRequestContext
+  public long run() {
+
+    long repaired = 0;
+    for (int shard = 0; shard < this.router.getShardCount(); shard++) {
+      repaired += this.router.onShard(shard, () -> Long.valueOf(runShard())).longValue();
+    }
+    return repaired;
+  }
+
+  private long runShard() {
+
+    long repaired = 0;
+    long lastId = 0;
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        long afterId = lastId;
+        List<Long> ids = QuarkusTransaction.requiringNew()
+            .call(() -> this.summaryRepository.findListIds(afterId, this.batchSize));
+        if (ids.isEmpty()) {
+          break;
+        }
+        repaired += QuarkusTransaction.requiringNew().call(() -> Integer.valueOf(this.summaryRepository.recount(ids)))
+            .intValue();
+        lastId = ids.get(ids.size() - 1).longValue();
+      }
+      if (repaired > 0) {
+        LOG.warn("Repaired drifted counters of {} task lists.", repaired);
+      }
+    } catch (RuntimeException e) {
+      LOG.error("Repair of task list summaries failed after list {} - will retry with next run.", lastId, e);
+    }
+    return repaired;
+  }
+
+}
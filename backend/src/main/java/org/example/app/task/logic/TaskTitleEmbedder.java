@@ -0,0 +1,25 @@
+package org.example.app.task.logic;
+
+import java.util.List;
+
+/**
+ * Computes embedding vectors of {@link org.example.app.task.common.TaskItem#getTitle() task titles} for the
+ * {@link TaskItemSimilarityIndex}. Provide a CDI bean implementing this interface to replace the default
+ * {@link OllamaTaskTitleEmbedder}.
+ */
+public interface TaskTitleEmbedder {
+
+  /**
+   * @return the name of the embedding model. Vectors of different models are not comparable so the
+   *         {@link TaskItemSimilarityIndex} is rebuilt if it changes.
+   */
+  String getModel();
+
+  /**
+   * @param titles the {@link List} of titles to embed.
+   * @return the {@link List} with the embedding vector of each title in the same order. All vectors have
+   *         {@code app.task.similarity.dimension} dimensions.
+   */
+  List<float[]> embed(List<String> titles);
+
+}
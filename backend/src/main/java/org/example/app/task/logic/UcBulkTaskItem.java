@@ -0,0 +1,108 @@
+package org.example.app.task.logic;
+
+import java.util.List;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.transaction.Transactional;
+import org.example.app.general.dataaccess.DataSourceRouter;
+import org.example.app.task.common.TaskItemChangeEvent;
+import org.example.app.task.common.TaskItemEto;
+import org.example.app.task.common.TaskListChangeEvent;
+import org.example.app.task.dataaccess.TaskItemArchiveRepository;
+import org.example.app.task.dataaccess.TaskItemRepository;
+import org.example.app.task.dataaccess.TaskListEntity;
+import org.example.app.task.dataaccess.TaskListRepository;
+import org.example.app.task.dataaccess.TaskListSummaryRepository;
+
+/**
+ * Use-Case for set-based bulk operations on all {@link org.example.app.task.common.TaskItem items} of a
+ * {@link org.example.app.task.common.TaskList task list}. Each operation is a single SQL statement per table instead
+ * of loading and updating every entity so large lists neither cause thousands of statements nor a bloated persistence
+ * context. Updates increment the versions of the items so optimistic locking of concurrent updates still holds.
+ */
+@ApplicationScoped
+@Named
+@Transactional
+public class UcBulkTaskItem {
+
+  @Inject
+  private DataSourceRouter router;
+
+  @Inject
+  private TaskListRepository taskListRepository;
+
+  @Inject
+  private TaskItemRepository taskItemRepository;
+
+  @Inject
+  private TaskItemArchiveRepository taskItemArchiveRepository;
+
+  @Inject
+  private TaskListSummaryRepository summaryRepository;
+
+  @Inject
+  private TaskItemToggleBuffer toggleBuffer;
+
+  @Inject
+  private Event<TaskItemChangeEvent> changeEvent;
+
+  @Inject
+  private Event<TaskListChangeEvent> listChangeEvent;
+
+  /**
+   * @param listId the {@link TaskListEntity#getId() primary key} of the {@link TaskListEntity}.
+   * @return the number of items that have been marked as completed or {@code null} if the list does not exist.
+   */
+  public Integer completeAll(Long listId) {
+
+    return this.router.onShard(this.router.getShard(listId), () -> {
+      if (!this.taskListRepository.existsById(listId)) {
+        return null;
+      }
+      this.toggleBuffer.discardCompleted(listId);
+      List<TaskItemEto> items = this.taskItemRepository.completeAllInList(listId);
+      if (!items.isEmpty()) {
+        this.summaryRepository.addCounts(listId, 0, -items.size(), items.size(), 0);
+      }
+      for (TaskItemEto item : items) {
+        this.changeEvent.fire(TaskItemChangeEvent.ofSave(item));
+      }
+      return Integer.valueOf(items.size());
+    });
+  }
+
+  /**
+   * Deletes all completed items of a list including the archived ones.
+   *
+   * @param listId the {@link TaskListEntity#getId() primary key} of the {@link TaskListEntity}.
+   * @return the number of deleted items or {@code null} if the list does not exist.
+   */
+  public Integer deleteCompleted(Long listId) {
+
+    return this.router.onShard(this.router.getShard(listId), () -> {
+      if (!this.taskListRepository.existsById(listId)) {
+        return null;
+      }
+      List<TaskItemEto> items = this.taskItemRepository.deleteCompletedInList(listId);
+      List<TaskItemEto> archived = this.taskItemArchiveRepository.deleteAllInList(listId);
+      long count = items.size() + archived.size();
+      long starred = items.stream().filter(TaskItemEto::isStarred).count()
+          + archived.stream().filter(TaskItemEto::isStarred).count();
+      if (count > 0) {
+        this.summaryRepository.addCounts(listId, -count, 0, -count, -starred);
+      }
+      for (TaskItemEto item : items) {
+        this.toggleBuffer.discard(item.getId());
+        this.changeEvent.fire(TaskItemChangeEvent.ofDelete(item.getId(), listId));
+      }
+      if (!archived.isEmpty()) {
+        this.listChangeEvent.fire(TaskListChangeEvent.ofChange(listId));
+      }
+      return Integer.valueOf((int) count);
+    });
+  }
+
+}
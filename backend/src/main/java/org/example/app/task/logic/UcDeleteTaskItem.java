@@ -0,0 +1,72 @@
+package org.example.app.task.logic;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.transaction.Transactional;
+import org.example.app.general.dataaccess.DataSourceRouter;
+import org.example.app.task.common.TaskItemChangeEvent;
+import org.example.app.task.dataaccess.TaskItemArchiveEntity;
+import org.example.app.task.dataaccess.TaskItemArchiveRepository;
+import org.example.app.task.dataaccess.TaskItemEntity;
+import org.example.app.task.dataaccess.TaskItemRepository;
+
+/**
+ * Use-Case to delete {@link org.example.app.task.common.TaskItem task items}.
+ */
+@ApplicationScoped
+@Named
+@Transactional
+public class UcDeleteTaskItem {
+
+  @Inject
+  private DataSourceRouter router;
+
+  @Inject
+  private TaskItemRepository taskItemRepository;
+
+  @Inject
+  private TaskItemArchiveRepository taskItemArchiveRepository;
+
+  @Inject
+  private TaskListMapper taskListMapper;
+
+  @Inject
+  private TaskListCounters taskListCounters;
+
+  @Inject
+  private Event<TaskItemChangeEvent> changeEvent;
+
+  @Inject
+  private TaskItemToggleBuffer toggleBuffer;
+
+  /**
+   * @param itemId the {@link TaskItemEntity#getId() primary key} of the {@link TaskItemEntity} to delete.
+   */
+  public void delete(Long itemId) {
+
+    this.router.onShard(this.router.getShard(itemId), () -> {
+      doDelete(itemId);
+      return null;
+    });
+  }
+
+  private void doDelete(Long itemId) {
+
+    this.toggleBuffer.discard(itemId);
+    TaskItemEntity entity = this.taskItemRepository.findById(itemId).orElse(null);
+    if (entity == null) {
+      TaskItemArchiveEntity archived = this.taskItemArchiveRepository.findById(itemId).orElse(null);
+      if (archived != null) {
+        this.taskItemArchiveRepository.deleteById(itemId);
+        this.taskListCounters.update(this.taskListMapper.toEto(archived), null);
+      }
+      return;
+    }
+    this.changeEvent.fire(TaskItemChangeEvent.ofDelete(itemId, entity.getTaskList().getId()));
+    this.taskListCounters.update(this.taskListMapper.toEto(entity), null);
+    this.taskItemRepository.delete(entity);
+  }
+
+}
@@ -0,0 +1,70 @@
+package org.example.app.task.logic;
+
+import java.util.List;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.transaction.Transactional;
+import org.example.app.general.dataaccess.DataSourceRouter;
+import org.example.app.task.common.TaskItemChangeEvent;
+import org.example.app.task.common.TaskItemEto;
+import org.example.app.task.common.TaskListChangeEvent;
+import org.example.app.task.dataaccess.TaskItemRepository;
+import org.example.app.task.dataaccess.TaskListEntity;
+import org.example.app.task.dataaccess.TaskListRepository;
+
+/**
+ * Use-Case to delete {@link org.example.app.task.common.TaskList task lists} including their
+ * {@link org.example.app.task.common.TaskItem items}.
+ */
+@ApplicationScoped
+@Named
+@Transactional
+public class UcDeleteTaskList {
+
+  @Inject
+  private DataSourceRouter router;
+
+  @Inject
+  private TaskListRepository taskListRepository;
+
+  @Inject
+  private TaskItemRepository taskItemRepository;
+
+  @Inject
+  private TaskItemToggleBuffer toggleBuffer;
+
+  @Inject
+  private Event<TaskItemChangeEvent> changeEvent;
+
+  @Inject
+  private Event<TaskListChangeEvent> listChangeEvent;
+
+  /**
+   * @param listId the {@link TaskListEntity#getId() primary key} of the {@link TaskListEntity} to delete.
+   */
+  public void delete(Long listId) {
+
+    this.router.onShard(this.router.getShard(listId), () -> {
+      doDelete(listId);
+      return null;
+    });
+  }
+
+  private void doDelete(Long listId) {
+
+    // set-based so neither the list nor its items are loaded into the persistence context
+    List<TaskItemEto> items = this.taskItemRepository.deleteAllInList(listId);
+    if (!this.taskListRepository.deleteListById(listId)) {
+      return;
+    }
+    this.toggleBuffer.discardList(listId);
+    for (TaskItemEto item : items) {
+      this.changeEvent.fire(TaskItemChangeEvent.ofDelete(item.getId(), listId));
+    }
+    this.listChangeEvent.fire(TaskListChangeEvent.ofDelete(listId));
+  }
+
+}
@@ -0,0 +1,172 @@
+package org.example.app.task.logic;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.stream.Stream;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.example.app.general.dataaccess.DataSourceRouter;
+import org.example.app.general.dataaccess.ReadOnly;
+import org.example.app.task.common.TaskItemEto;
+import org.example.app.task.common.TaskItemSearchCriteria;
+import org.example.app.task.common.TaskListEto;
+import org.example.app.task.dataaccess.TaskItemArchiveRepository;
+import org.example.app.task.dataaccess.TaskItemRepository;
+import org.example.app.task.dataaccess.TaskListRepository;
+
+/**
+ * Use-Case to export all {@link org.example.app.task.common.TaskList task lists} and
+ * {@link org.example.app.task.common.TaskItem task items}. Shard by shard all lists are exported followed by all
+ * matching items (optionally merged with the archived items) - each ordered by ID. As lists and items share the same
+ * sequence the ID of the last exported record is sufficient to resume an interrupted export. The records are read in
+ * chunks of {@code app.task.export.chunk-size} rows per transaction from a database cursor fetching
+ * {@code app.task.export.fetch-size} rows per round-trip and projected directly into ETOs so the memory stays constant
+ * independent of the size of the tables.
+ */
+@ApplicationScoped
+@Named
+@ReadOnly
+public class UcExportTask {
+
+  @Inject
+  private DataSourceRouter router;
+
+  @Inject
+  private TaskListRepository taskListRepository;
+
+  @Inject
+  private TaskItemRepository taskItemRepository;
+
+  @Inject
+  private TaskItemArchiveRepository taskItemArchiveRepository;
+
+  @ConfigProperty(name = "app.task.export.fetch-size", defaultValue = "1000")
+  int fetchSize;
+
+  @ConfigProperty(name = "app.task.export.chunk-size", defaultValue = "50000")
+  int chunkSize;
+
+  @ConfigProperty(name = "app.task.export.transaction-timeout", defaultValue = "10M")
+  Duration transactionTimeout;
+
+  /**
+   * @param criteria the {@link TaskItemSearchCriteria} to filter the items by. Sorting and paging are ignored.
+   * @param afterId the {@link TaskListEto#getId() ID} of the last record received from an interrupted export to
+   *        resume after or {@code null} to export from the start.
+   * @param includeArchived - {@code true} to also export the archived items, {@code false} otherwise.
+   * @param sink the {@link TaskExportSink} receiving the records.
+   */
+  @ActivateRequestContext
+  public void export(TaskItemSearchCriteria criteria, Long afterId, boolean includeArchived, TaskExportSink sink) {
+
+    int firstShard = 0;
+    if (afterId != null) {
+      firstShard = this.router.getShard(afterId);
+    }
+    for (int shard = firstShard; shard < this.router.getShardCount(); shard++) {
+      long cursor = 0;
+      if ((afterId != null) && (shard == firstShard)) {
+        cursor = afterId.longValue();
+      }
+      long shardCursor = cursor;
+      this.router.onShard(shard, () -> {
+        exportShard(criteria, shardCursor, includeArchived, sink);
+        return null;
+      });
+    }
+  }
+
+  private void exportShard(TaskItemSearchCriteria criteria, long afterId, boolean includeArchived,
+      TaskExportSink sink) {
+
+    long itemCursor = afterId;
+    if ((afterId == 0) || inTransaction(() -> Boolean.valueOf(this.taskListRepository.existsById(afterId)))) {
+      long listCursor = afterId;
+      while (listCursor >= 0) {
+        long cursor = listCursor;
+        listCursor = inTransaction(() -> Long.valueOf(exportLists(cursor, sink))).longValue();
+        sink.flush();
+      }
+      itemCursor = 0;
+    }
+    while (itemCursor >= 0) {
+      long cursor = itemCursor;
+      itemCursor = inTransaction(() -> Long.valueOf(exportItems(criteria, cursor, includeArchived, sink))).longValue();
+      sink.flush();
+    }
+  }
+
+  /**
+   * @return the ID of the last exported list to continue with or {@code -1} if all lists have been exported.
+   */
+  private long exportLists(long afterId, TaskExportSink sink) {
+
+    int count = 0;
+    long last = afterId;
+    try (Stream<TaskListEto> lists = this.taskListRepository.streamEtos(afterId, this.chunkSize, this.fetchSize)) {
+      Iterator<TaskListEto> iterator = lists.iterator();
+      while (iterator.hasNext()) {
+        TaskListEto list = iterator.next();
+        sink.list(list);
+        last = list.getId().longValue();
+        count++;
+      }
+    }
+    return (count < this.chunkSize) ? -1 : last;
+  }
+
+  /**
+   * @return the ID of the last exported item to continue with or {@code -1} if all items have been exported.
+   */
+  private long exportItems(TaskItemSearchCriteria criteria, long afterId, boolean includeArchived,
+      TaskExportSink sink) {
+
+    int count = 0;
+    long last = afterId;
+    try (Stream<TaskItemEto> items = this.taskItemRepository.streamEtos(criteria, afterId, this.chunkSize,
+        this.fetchSize);
+        Stream<TaskItemEto> archivedItems = includeArchived
+            ? this.taskItemArchiveRepository.streamEtos(criteria, afterId, this.chunkSize, this.fetchSize)
+            : Stream.empty()) {
+      // merge both cursors by ID - an item is either in the hot or in the archive table
+      Iterator<TaskItemEto> itemIterator = items.iterator();
+      Iterator<TaskItemEto> archivedIterator = archivedItems.iterator();
+      TaskItemEto item = next(itemIterator);
+      TaskItemEto archived = next(archivedIterator);
+      while ((count < this.chunkSize) && ((item != null) || (archived != null))) {
+        TaskItemEto current;
+        if ((archived == null) || ((item != null) && (item.getId().longValue() < archived.getId().longValue()))) {
+          current = item;
+          item = next(itemIterator);
+        } else {
+          current = archived;
+          archived = next(archivedIterator);
+        }
+        sink.item(current);
+        last = current.getId().longValue();
+        count++;
+      }
+    }
+    return (count < this.chunkSize) ? -1 : last;
+  }
+
+  private static TaskItemEto next(Iterator<TaskItemEto> iterator) {
+
+    if (iterator.hasNext()) {
+      return iterator.next();
+    }
+    return null;
+  }
+
+  private <T> T inTransaction(Callable<T> task) {
+
+    return QuarkusTransaction.requiringNew().timeout((int) this.transactionTimeout.toSeconds()).call(task);
+  }
+
+}
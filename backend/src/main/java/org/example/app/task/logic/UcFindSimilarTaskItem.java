@@ -0,0 +1,93 @@
+package org.example.app.task.logic;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import org.example.app.general.common.vector.HnswIndex;
+import org.example.app.task.common.SimilarTaskItemEto;
+import org.example.app.task.common.TaskItemEto;
+
+/**
+ * Use-Case to find {@link org.example.app.task.common.TaskItem task items} with a similar
+ * {@link TaskItemEto#getTitle() title} (e.g. to detect duplicates) via the {@link TaskItemSimilarityIndex}. The hits
+ * are loaded from the database so items deleted since they have been indexed are omitted. Not transactional as
+ * embedding a query may call the embedding service which shall not hold a database connection.
+ */
+@ApplicationScoped
+@Named
+public class UcFindSimilarTaskItem {
+
+  @Inject
+  private TaskItemSimilarityIndex index;
+
+  @Inject
+  private UcFindTaskItem ucFindTaskItem;
+
+  /**
+   * @return {@code true} if similarity search is available, {@code false} if disabled.
+   */
+  public boolean isEnabled() {
+
+    return this.index.isEnabled();
+  }
+
+  /**
+   * @param itemId the {@link TaskItemEto#getId() primary key} of the {@link TaskItemEto} to find similar items for.
+   * @param k the maximum number of similar items to return.
+   * @param minSimilarity the minimum {@link SimilarTaskItemEto#getSimilarity() similarity} of the items to return.
+   * @return the {@link List} of up to {@code k} {@link SimilarTaskItemEto similar items} (excluding the given item) by
+   *         descending similarity or {@code null} if the given item does not exist.
+   */
+  public List<SimilarTaskItemEto> findSimilar(Long itemId, int k, double minSimilarity) {
+
+    TaskItemEto item = this.ucFindTaskItem.findById(itemId);
+    if (item == null) {
+      return null;
+    }
+    float[] vector = this.index.getVector(item);
+    if (vector == null) {
+      // not yet indexed
+      vector = this.index.embed(item.getTitle());
+    }
+    return find(vector, k, minSimilarity, itemId);
+  }
+
+  /**
+   * @param title the title to find similar items for (e.g. of a new item before it is saved).
+   * @param k the maximum number of similar items to return.
+   * @param minSimilarity the minimum {@link SimilarTaskItemEto#getSimilarity() similarity} of the items to return.
+   * @return the {@link List} of up to {@code k} {@link SimilarTaskItemEto similar items} by descending similarity.
+   */
+  public List<SimilarTaskItemEto> findSimilar(String title, int k, double minSimilarity) {
+
+    return find(this.index.embed(title), k, minSimilarity, null);
+  }
+
+  private List<SimilarTaskItemEto> find(float[] vector, int k, double minSimilarity, Long excludedId) {
+
+    List<HnswIndex.Hit> hits = this.index.search(vector, (excludedId == null) ? k : k + 1);
+    List<Long> ids = new ArrayList<>(hits.size());
+    Map<Long, HnswIndex.Hit> hitMap = new HashMap<>();
+    for (HnswIndex.Hit hit : hits) {
+      Long id = Long.valueOf(hit.id());
+      if ((hit.similarity() >= minSimilarity) && !id.equals(excludedId) && (ids.size() < k)) {
+        ids.add(id);
+        hitMap.put(id, hit);
+      }
+    }
+    List<SimilarTaskItemEto> result = new ArrayList<>(ids.size());
+    for (TaskItemEto item : this.ucFindTaskItem.findByIds(ids)) {
+      SimilarTaskItemEto similar = new SimilarTaskItemEto();
+      similar.setItem(item);
+      similar.setSimilarity(hitMap.get(item.getId()).similarity());
+      result.add(similar);
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,116 @@
+package org.example.app.task.logic;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.transaction.Transactional;
+import org.example.app.general.dataaccess.DataSourceRouter;
+import org.example.app.general.dataaccess.ReadOnly;
+import org.example.app.task.common.TaskItemEto;
+import org.example.app.task.common.TaskItemSearchCriteria;
+import org.example.app.task.dataaccess.TaskItemArchiveRepository;
+import org.example.app.task.dataaccess.TaskItemRepository;
+import org.springframework.data.domain.Page;
+
+/**
+ * Use-Case to find {@link org.example.app.task.common.TaskItem task items}.
+ */
+@ApplicationScoped
+@Named
+@Transactional
+@ReadOnly
+public class UcFindTaskItem {
+
+  @Inject
+  private DataSourceRouter router;
+
+  @Inject
+  private TaskItemRepository taskItemRepository;
+
+  @Inject
+  private TaskItemArchiveRepository taskItemArchiveRepository;
+
+  @Inject
+  private TaskItemToggleBuffer toggleBuffer;
+
+  /**
+   * @param itemId the {@link TaskItemEto#getId() primary key} of the requested {@link TaskItemEto}.
+   * @return the {@link TaskItemEto} or {@code null} if no such {@link TaskItemEto} exists.
+   */
+  public TaskItemEto findById(Long itemId) {
+
+    return findById(itemId, false);
+  }
+
+  /**
+   * @param itemId the {@link TaskItemEto#getId() primary key} of the requested {@link TaskItemEto}.
+   * @param includeArchived - {@code true} to also find the item if it has been archived, {@code false} otherwise.
+   * @return the {@link TaskItemEto} or {@code null} if no such {@link TaskItemEto} exists.
+   */
+  public TaskItemEto findById(Long itemId, boolean includeArchived) {
+
+    return this.router.onShard(this.router.getShard(itemId), () -> {
+      TaskItemEto item = this.taskItemRepository.findEtoById(itemId);
+      if (item != null) {
+        this.toggleBuffer.apply(item);
+        return item;
+      }
+      if (includeArchived) {
+        return this.taskItemArchiveRepository.findEtoById(itemId);
+      }
+      return null;
+    });
+  }
+
+  /**
+   * @param itemId the {@link TaskItemEto#getId() primary key} of the requested {@link TaskItemEto}.
+   * @return the (non-archived) {@link TaskItemEto} as stored in the database without its pending toggle (see
+   *         {@link TaskItemToggleBuffer}) or {@code null} if no such {@link TaskItemEto} exists.
+   */
+  public TaskItemEto findStoredById(Long itemId) {
+
+    return this.router.onShard(this.router.getShard(itemId), () -> this.taskItemRepository.findEtoById(itemId));
+  }
+
+  /**
+   * @param itemIds the {@link TaskItemEto#getId() primary keys} of the requested {@link TaskItemEto task items}.
+   * @return the {@link List} of the existing {@link TaskItemEto task items} in the order of the given IDs loaded with
+   *         a single query per shard.
+   */
+  public List<TaskItemEto> findByIds(List<Long> itemIds) {
+
+    Map<Long, TaskItemEto> itemMap = new HashMap<>();
+    if (!itemIds.isEmpty()) {
+      for (List<TaskItemEto> shardItems : this.router
+          .onAllShards(() -> this.taskItemRepository.findEtosByIds(itemIds))) {
+        this.toggleBuffer.apply(shardItems);
+        for (TaskItemEto item : shardItems) {
+          itemMap.put(item.getId(), item);
+        }
+      }
+    }
+    List<TaskItemEto> items = new ArrayList<>(itemMap.size());
+    for (Long id : itemIds) {
+      TaskItemEto item = itemMap.get(id);
+      if (item != null) {
+        items.add(item);
+      }
+    }
+    return items;
+  }
+
+  /**
+   * @param criteria the {@link TaskItemSearchCriteria}.
+   * @return the {@link Page} of matching {@link TaskItemEto task items} across all lists (and shards).
+   */
+  public Page<TaskItemEto> findByCriteria(TaskItemSearchCriteria criteria) {
+
+    return this.taskItemRepository.findByCriteria(criteria);
+  }
+
+}
@@ -0,0 +1,195 @@
+package org.example.app.task.logic;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.example.app.general.dataaccess.DataSourceRouter;
+import org.example.app.general.dataaccess.ReadOnly;
+import org.example.app.task.common.TaskItemEto;
+import org.example.app.task.common.TaskListEto;
+import org.example.app.task.common.TaskListSummaryEto;
+import org.example.app.task.common.TaskListWithItemsEto;
+import org.example.app.task.dataaccess.TaskItemArchiveRepository;
+import org.example.app.task.dataaccess.TaskItemRepository;
+import org.example.app.task.dataaccess.TaskListRepository;
+import org.example.app.task.dataaccess.TaskListSummaryRepository;
+
+/**
+ * Use-Case to find {@link org.example.app.task.common.TaskList task lists}.
+ */
+@ApplicationScoped
+@Named
+@Transactional
+@ReadOnly
+public class UcFindTaskList {
+
+  @Inject
+  private DataSourceRouter router;
+
+  @Inject
+  private TaskListRepository taskListRepository;
+
+  @Inject
+  private TaskItemRepository taskItemRepository;
+
+  @Inject
+  private TaskItemArchiveRepository taskItemArchiveRepository;
+
+  @Inject
+  private TaskListSummaryRepository taskListSummaryRepository;
+
+  @Inject
+  private TaskListMapper taskListMapper;
+
+  @Inject
+  private TaskItemToggleBuffer toggleBuffer;
+
+  @ConfigProperty(name = "app.task.lists-with-items.max-lists", defaultValue = "100")
+  int maxLists;
+
+  /**
+   * @return the {@link List} with all {@link TaskListEto task lists}.
+   */
+  public List<TaskListEto> findAll() {
+
+    List<TaskListEto> lists = new ArrayList<>();
+    for (List<TaskListEto> shardLists : this.router
+        .onAllShards(() -> this.taskListRepository.findAllEtos())) {
+      lists.addAll(shardLists);
+    }
+    return lists;
+  }
+
+  /**
+   * @param listId the {@link TaskListEto#getId() primary key} of the requested {@link TaskListEto}.
+   * @return the {@link TaskListEto} or {@code null} if no such {@link TaskListEto} exists.
+   */
+  public TaskListEto findById(Long listId) {
+
+    return this.router.onShard(this.router.getShard(listId), () -> this.taskListRepository.findEtoById(listId));
+  }
+
+  /**
+   * @param listId the {@link TaskListEto#getId() primary key} of the requested {@link TaskListEto}.
+   * @return the {@link TaskListWithItemsEto} or {@code null} if no such {@link TaskListEto} exists.
+   */
+  public TaskListWithItemsEto findWithItems(Long listId) {
+
+    return findWithItems(listId, false);
+  }
+
+  /**
+   * @param listId the {@link TaskListEto#getId() primary key} of the requested {@link TaskListEto}.
+   * @param includeArchived - {@code true} to also include the archived items, {@code false} otherwise.
+   * @return the {@link TaskListWithItemsEto} or {@code null} if no such {@link TaskListEto} exists.
+   */
+  public TaskListWithItemsEto findWithItems(Long listId, boolean includeArchived) {
+
+    return this.router.onShard(this.router.getShard(listId), () -> doFindWithItems(listId, includeArchived));
+  }
+
+  /**
+   * Finds multiple lists with their items in a constant number of queries (one for the lists and one for their items
+   * per shard) instead of one request and two queries per list.
+   *
+   * @param listIds the {@link TaskListEto#getId() primary keys} of the requested {@link TaskListEto task lists}.
+   * @param limitPerList the maximum number of items per list (the first ones by {@link TaskItemEto#getId() ID}) or
+   *        {@code 0} for all items.
+   * @return the {@link List} of {@link TaskListWithItemsEto} in the order of the given {@code listIds}. IDs of lists
+   *         that do not exist are omitted, duplicate IDs are only returned once.
+   * @throws IllegalArgumentException if more than {@code app.task.lists-with-items.max-lists} lists are requested.
+   */
+  public List<TaskListWithItemsEto> findWithItems(List<Long> listIds, int limitPerList) {
+
+    List<Long> ids = new ArrayList<>(new LinkedHashSet<>(listIds));
+    if (ids.isEmpty()) {
+      return new ArrayList<>();
+    } else if (ids.size() > this.maxLists) {
+      throw new IllegalArgumentException(
+          "At most " + this.maxLists + " task lists can be requested at once but got " + ids.size() + ".");
+    }
+    Map<Long, TaskListWithItemsEto> resultMap = new HashMap<>();
+    // each shard simply does not find the IDs held by other shards
+    for (Map<Long, TaskListWithItemsEto> shardResults : this.router
+        .onAllShards(() -> doFindWithItems(ids, limitPerList))) {
+      resultMap.putAll(shardResults);
+    }
+    List<TaskListWithItemsEto> results = new ArrayList<>(resultMap.size());
+    for (Long id : ids) {
+      TaskListWithItemsEto result = resultMap.get(id);
+      if (result != null) {
+        results.add(result);
+      }
+    }
+    return results;
+  }
+
+  private Map<Long, TaskListWithItemsEto> doFindWithItems(List<Long> listIds, int limitPerList) {
+
+    List<TaskListEto> lists = this.taskListRepository.findEtosByIds(listIds);
+    Map<Long, TaskListWithItemsEto> results = new HashMap<>();
+    if (lists.isEmpty()) {
+      return results;
+    }
+    for (TaskListEto list : lists) {
+      TaskListWithItemsEto result = new TaskListWithItemsEto();
+      result.setList(list);
+      result.setItems(new ArrayList<>());
+      results.put(list.getId(), result);
+    }
+    List<TaskItemEto> items = this.taskItemRepository.findEtosByTaskListIds(new ArrayList<>(results.keySet()),
+        limitPerList);
+    this.toggleBuffer.apply(items);
+    for (TaskItemEto item : items) {
+      results.get(item.getTaskListId()).getItems().add(item);
+    }
+    return results;
+  }
+
+  private TaskListWithItemsEto doFindWithItems(Long listId, boolean includeArchived) {
+
+    TaskListEto list = this.taskListRepository.findEtoById(listId);
+    if (list == null) {
+      return null;
+    }
+    TaskListWithItemsEto result = new TaskListWithItemsEto();
+    result.setList(list);
+    List<TaskItemEto> items = this.taskItemRepository.findEtosByTaskListId(listId);
+    this.toggleBuffer.apply(items);
+    if (includeArchived) {
+      items.addAll(this.taskListMapper
+          .toArchivedItemEtos(this.taskItemArchiveRepository.findByTaskListIdOrderById(listId)));
+      items.sort(Comparator.comparing(TaskItemEto::getId));
+    }
+    result.setItems(items);
+    return result;
+  }
+
+  /**
+   * @return the {@link TaskListSummaryEto summaries} with the item counters of all task lists.
+   */
+  public List<TaskListSummaryEto> findSummaries() {
+
+    LocalDateTime now = LocalDateTime.now();
+    List<TaskListSummaryEto> summaries = new ArrayList<>();
+    for (List<TaskListSummaryEto> shardSummaries : this.router
+        .onAllShards(() -> this.taskListSummaryRepository.findSummaries(now))) {
+      summaries.addAll(shardSummaries);
+    }
+    if (this.router.getShardCount() > 1) {
+      summaries.sort(Comparator.comparing(TaskListSummaryEto::getId));
+    }
+    return summaries;
+  }
+
+}
@@ -0,0 +1,95 @@
+package org.example.app.task.logic;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.transaction.Transactional;
+import org.example.app.general.dataaccess.DataSourceRouter;
+import org.example.app.task.common.TaskItemChangeEvent;
+import org.example.app.task.common.TaskItemEto;
+import org.example.app.task.common.TaskListChangeEvent;
+import org.example.app.task.dataaccess.TaskItemArchiveRepository;
+import org.example.app.task.dataaccess.TaskItemEntity;
+import org.example.app.task.dataaccess.TaskItemRepository;
+import org.example.app.task.dataaccess.TaskListRepository;
+
+/**
+ * Use-Case to save (insert or update) {@link org.example.app.task.common.TaskItem task items}.
+ */
+@ApplicationScoped
+@Named
+@Transactional
+public class UcSaveTaskItem {
+
+  @Inject
+  private DataSourceRouter router;
+
+  @Inject
+  private TaskItemRepository taskItemRepository;
+
+  @Inject
+  private TaskItemArchiveRepository taskItemArchiveRepository;
+
+  @Inject
+  private TaskListRepository taskListRepository;
+
+  @Inject
+  private TaskListMapper taskListMapper;
+
+  @Inject
+  private TaskListCounters taskListCounters;
+
+  @Inject
+  private Event<TaskItemChangeEvent> changeEvent;
+
+  @Inject
+  private Event<TaskListChangeEvent> listChangeEvent;
+
+  @Inject
+  private TaskItemToggleBuffer toggleBuffer;
+
+  /**
+   * @param item the {@link TaskItemEto} to save.
+   * @return the saved {@link TaskItemEto} with its new {@link TaskItemEto#getId() primary key} and
+   *         {@link TaskItemEto#getVersion() version}.
+   */
+  public TaskItemEto save(TaskItemEto item) {
+
+    int shard = this.router.getShard(item.getTaskListId());
+    if ((item.getId() != null) && (this.router.getShard(item.getId()) != shard)) {
+      throw new IllegalArgumentException("TaskItem with id " + item.getId() + " can not be moved to TaskList with id "
+          + item.getTaskListId() + " as it is located on another shard.");
+    }
+    return this.router.onShard(shard, () -> doSave(item));
+  }
+
+  private TaskItemEto doSave(TaskItemEto item) {
+
+    TaskItemEto old = null;
+    if (item.getId() != null) {
+      // an archived item is moved back to TASK_ITEM when it gets modified
+      this.taskItemArchiveRepository.restore(item.getId());
+      old = this.taskItemRepository.findById(item.getId()).map(this.taskListMapper::toEto).orElse(null);
+      if (old == null) {
+        this.toggleBuffer.discard(item.getId());
+      } else if (this.toggleBuffer.discard(old) && (item.getVersion() != null)
+          && (item.getVersion().intValue() == old.getVersion().intValue() + 1)) {
+        // the client has seen the pending toggle with the version its flush would have written
+        item.setVersion(old.getVersion());
+      }
+    }
+    TaskItemEntity entity = this.taskListMapper.toEntity(item);
+    entity.setTaskList(this.taskListRepository.getOne(item.getTaskListId()));
+    entity = this.taskItemRepository.saveAndFlush(entity);
+    TaskItemEto result = this.taskListMapper.toEto(entity);
+    this.taskListCounters.update(old, result);
+    this.changeEvent.fire(TaskItemChangeEvent.ofSave(result));
+    if ((old != null) && !old.getTaskListId().equals(result.getTaskListId())) {
+      // the item has been moved to another list
+      this.listChangeEvent.fire(TaskListChangeEvent.ofChange(old.getTaskListId()));
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,51 @@
+package org.example.app.task.logic;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.transaction.Transactional;
+import org.example.app.general.dataaccess.DataSourceRouter;
+import org.example.app.task.common.TaskListChangeEvent;
+import org.example.app.task.common.TaskListEto;
+import org.example.app.task.dataaccess.TaskListEntity;
+import org.example.app.task.dataaccess.TaskListRepository;
+
+/**
+ * Use-Case to save (insert or update) {@link org.example.app.task.common.TaskList task lists}.
+ */
+@ApplicationScoped
+@Named
+@Transactional
+public class UcSaveTaskList {
+
+  @Inject
+  private DataSourceRouter router;
+
+  @Inject
+  private TaskListRepository taskListRepository;
+
+  @Inject
+  private TaskListMapper taskListMapper;
+
+  @Inject
+  private Event<TaskListChangeEvent> changeEvent;
+
+  /**
+   * @param taskList the {@link TaskListEto} to save.
+   * @return the saved {@link TaskListEto} with its new {@link TaskListEto#getId() primary key} and
+   *         {@link TaskListEto#getVersion() version}.
+   */
+  public TaskListEto save(TaskListEto taskList) {
+
+    // a new list is placed round robin and its ID generated by the shard determines its location from then on
+    int shard = (taskList.getId() == null) ? this.router.nextShard() : this.router.getShard(taskList.getId());
+    return this.router.onShard(shard, () -> {
+      TaskListEntity entity = this.taskListMapper.toEntity(taskList);
+      entity = this.taskListRepository.saveAndFlush(entity);
+      this.changeEvent.fire(TaskListChangeEvent.ofChange(entity.getId()));
+      return this.taskListMapper.toEto(entity);
+    });
+  }
+
+}
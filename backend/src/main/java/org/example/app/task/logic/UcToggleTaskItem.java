@@ -0,0 +1,63 @@
+package org.example.app.task.logic;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.example.app.task.common.TaskItemEto;
+
+/**
+ * Use-Case to toggle {@link TaskItemEto#isCompleted() completed} and {@link TaskItemEto#isStarred() starred} of a
+ * {@link org.example.app.task.common.TaskItem task item} via the write-behind {@link TaskItemToggleBuffer}.
+ */
+@ApplicationScoped
+@Named
+public class UcToggleTaskItem {
+
+  @Inject
+  private UcFindTaskItem ucFindTaskItem;
+
+  @Inject
+  private TaskItemToggleBuffer buffer;
+
+  @ConfigProperty(name = "app.task.toggle.durability", defaultValue = "BUFFERED")
+  TaskItemToggleDurability durability;
+
+  @ConfigProperty(name = "app.task.toggle.flush-timeout", defaultValue = "5S")
+  Duration flushTimeout;
+
+  /**
+   * @param itemId the {@link TaskItemEto#getId() primary key} of the {@link TaskItemEto} to toggle.
+   * @param completed the new value of {@link TaskItemEto#isCompleted()} or {@code null} to keep it.
+   * @param starred the new value of {@link TaskItemEto#isStarred()} or {@code null} to keep it.
+   * @return the {@link TaskItemEto} with the toggled state and the {@link TaskItemEto#getVersion() version} it gets
+   *         when the toggle is flushed (see {@link TaskItemToggleBuffer}) or {@code null} if no such (non-archived)
+   *         item exists.
+   */
+  public TaskItemEto toggle(Long itemId, Boolean completed, Boolean starred) {
+
+    TaskItemEto item = this.ucFindTaskItem.findStoredById(itemId);
+    if (item == null) {
+      return null;
+    }
+    CompletableFuture<Void> flushed = this.buffer.add(item, completed, starred);
+    if (this.durability == TaskItemToggleDurability.FLUSHED) {
+      try {
+        flushed.get(this.flushTimeout.toMillis(), TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for toggle of TaskItem " + itemId, e);
+      } catch (ExecutionException | TimeoutException e) {
+        throw new IllegalStateException("Failed to persist toggle of TaskItem " + itemId, e);
+      }
+    }
+    return item;
+  }
+
+}
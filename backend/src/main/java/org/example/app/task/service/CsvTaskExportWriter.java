@@ -0,0 +1,89 @@
+package org.example.app.task.service;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import org.example.app.task.common.TaskItemEto;
+import org.example.app.task.common.TaskListEto;
+
+/**
+ * {@link TaskExportWriter} for {@link TaskExportFormat#CSV}. Lists and items share the same columns with a
+ * {@code type} column to distinguish them - columns not applicable to a record are empty.
+ */
+public class CsvTaskExportWriter extends TaskExportWriter {
+
+  private static final String HEADER = "type,id,version,task_list_id,title,completed,starred,deadline\r\n";
+
+  /**
+   * The constructor.
+   *
+   * @param writer the {@link Writer} to write to.
+   */
+  public CsvTaskExportWriter(Writer writer) {
+
+    super(writer);
+  }
+
+  @Override
+  public void start() throws IOException {
+
+    this.writer.write(HEADER);
+  }
+
+  @Override
+  protected void writeList(TaskListEto list) throws IOException {
+
+    this.writer.write("list,");
+    this.writer.write(Long.toString(list.getId()));
+    this.writer.write(',');
+    this.writer.write(String.valueOf(list.getVersion()));
+    this.writer.write(",,");
+    writeString(list.getTitle());
+    this.writer.write(",,,\r\n");
+  }
+
+  @Override
+  protected void writeItem(TaskItemEto item) throws IOException {
+
+    this.writer.write("item,");
+    this.writer.write(Long.toString(item.getId()));
+    this.writer.write(',');
+    this.writer.write(String.valueOf(item.getVersion()));
+    this.writer.write(',');
+    this.writer.write(String.valueOf(item.getTaskListId()));
+    this.writer.write(',');
+    writeString(item.getTitle());
+    this.writer.write(',');
+    this.writer.write(Boolean.toString(item.isCompleted()));
+    this.writer.write(',');
+    this.writer.write(Boolean.toString(item.isStarred()));
+    this.writer.write(',');
+    if (item.getDeadline() != null) {
+      this.writer.write(item.getDeadline().toString());
+    }
+    this.writer.write("\r\n");
+  }
+
+  private void writeString(String value) throws IOException {
+
+    if (value == null) {
+      return;
+    }
+    boolean quote = false;
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if ((c == ',') || (c == '"') || (c == '\n') || (c == '\r')) {
+        quote = true;
+        break;
+      }
+    }
+    if (quote) {
+      this.writer.write('"');
+      this.writer.write(value.replace("\"", "\"\""));
+      this.writer.write('"');
+    } else {
+      this.writer.write(value);
+    }
+  }
+
+}
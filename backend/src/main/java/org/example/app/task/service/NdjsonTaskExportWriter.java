@@ -0,0 +1,90 @@
+package org.example.app.task.service;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import org.example.app.task.common.TaskItemEto;
+import org.example.app.task.common.TaskListEto;
+
+/**
+ * {@link TaskExportWriter} for {@link TaskExportFormat#NDJSON}. Each record is a JSON object on its own line with the
+ * properties of the ETO and a {@code type} of {@code list} or {@code item}.
+ */
+public class NdjsonTaskExportWriter extends TaskExportWriter {
+
+  /**
+   * The constructor.
+   *
+   * @param writer the {@link Writer} to write to.
+   */
+  public NdjsonTaskExportWriter(Writer writer) {
+
+    super(writer);
+  }
+
+  @Override
+  protected void writeList(TaskListEto list) throws IOException {
+
+    this.writer.write("{\"type\":\"list\",\"id\":");
+    this.writer.write(Long.toString(list.getId()));
+    this.writer.write(",\"version\":");
+    this.writer.write(String.valueOf(list.getVersion()));
+    this.writer.write(",\"title\":");
+    writeString(list.getTitle());
+    this.writer.write("}\n");
+  }
+
+  @Override
+  protected void writeItem(TaskItemEto item) throws IOException {
+
+    this.writer.write("{\"type\":\"item\",\"id\":");
+    this.writer.write(Long.toString(item.getId()));
+    this.writer.write(",\"version\":");
+    this.writer.write(String.valueOf(item.getVersion()));
+    this.writer.write(",\"taskListId\":");
+    this.writer.write(String.valueOf(item.getTaskListId()));
+    this.writer.write(",\"title\":");
+    writeString(item.getTitle());
+    this.writer.write(",\"completed\":");
+    this.writer.write(Boolean.toString(item.isCompleted()));
+    this.writer.write(",\"starred\":");
+    this.writer.write(Boolean.toString(item.isStarred()));
+    this.writer.write(",\"deadline\":");
+    if (item.getDeadline() == null) {
+      this.writer.write("null");
+    } else {
+      this.writer.write('"');
+      this.writer.write(item.getDeadline().toString());
+      this.writer.write('"');
+    }
+    this.writer.write("}\n");
+  }
+
+  private void writeString(String value) throws IOException {
+
+    if (value == null) {
+      this.writer.write("null");
+      return;
+    }
+    this.writer.write('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"' -> this.writer.write("\\\"");
+        case '\\' -> this.writer.write("\\\\");
+        case '\n' -> this.writer.write("\\n");
+        case '\r' -> this.writer.write("\\r");
+        case '\t' -> this.writer.write("\\t");
+        default -> {
+          if (c < 0x20) {
+            this.writer.write(String.format("\\u%04x", Integer.valueOf(c)));
+          } else {
+            this.writer.write(c);
+          }
+        }
+      }
+    }
+    this.writer.write('"');
+  }
+
+}
@@ -0,0 +1,69 @@
+package org.example.app.task.service;
+
+import java.io.Writer;
+
+/**
+ * Formats of the export of {@link TaskService}.
+ */
+public enum TaskExportFormat {
+
+  /** Newline delimited JSON with one object per record. */
+  NDJSON("application/x-ndjson", "ndjson"),
+
+  /** Comma separated values (RFC 4180) with a header line. */
+  CSV("text/csv", "csv");
+
+  private final String mediaType;
+
+  private final String extension;
+
+  private TaskExportFormat(String mediaType, String extension) {
+
+    this.mediaType = mediaType;
+    this.extension = extension;
+  }
+
+  /**
+   * @return the media type of the format.
+   */
+  public String getMediaType() {
+
+    return this.mediaType;
+  }
+
+  /**
+   * @return the file extension of the format.
+   */
+  public String getExtension() {
+
+    return this.extension;
+  }
+
+  /**
+   * @param value the {@link #getExtension() extension} or name of the format (case insensitive).
+   * @return the corresponding {@link TaskExportFormat}.
+   * @throws IllegalArgumentException if no such format exists.
+   */
+  public static TaskExportFormat of(String value) {
+
+    for (TaskExportFormat format : values()) {
+      if (format.extension.equalsIgnoreCase(value) || format.name().equalsIgnoreCase(value)) {
+        return format;
+      }
+    }
+    throw new IllegalArgumentException("Unsupported export format: " + value);
+  }
+
+  /**
+   * @param writer the {@link Writer} to write to.
+   * @return a new {@link TaskExportWriter} writing this format.
+   */
+  public TaskExportWriter newWriter(Writer writer) {
+
+    return switch (this) {
+      case NDJSON -> new NdjsonTaskExportWriter(writer);
+      case CSV -> new CsvTaskExportWriter(writer);
+    };
+  }
+
+}
@@ -0,0 +1,82 @@
+package org.example.app.task.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+import org.example.app.task.common.TaskItemEto;
+import org.example.app.task.common.TaskListEto;
+import org.example.app.task.logic.TaskExportSink;
+
+/**
+ * Abstract base for a {@link TaskExportSink} writing the records as text to a {@link Writer}. The records are written
+ * by hand without reflection based data binding as the export produces millions of them.
+ */
+public abstract class TaskExportWriter implements TaskExportSink {
+
+  /** The {@link Writer} to write to. */
+  protected final Writer writer;
+
+  /**
+   * The constructor.
+   *
+   * @param writer the {@link Writer} to write to.
+   */
+  protected TaskExportWriter(Writer writer) {
+
+    super();
+    this.writer = writer;
+  }
+
+  /**
+   * Writes the header (if any) of the format.
+   *
+   * @throws IOException on I/O error.
+   */
+  public void start() throws IOException {
+
+  }
+
+  @Override
+  public void list(TaskListEto list) {
+
+    try {
+      writeList(list);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void item(TaskItemEto item) {
+
+    try {
+      writeItem(item);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void flush() {
+
+    try {
+      this.writer.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * @param list the {@link TaskListEto} to write.
+   * @throws IOException on I/O error.
+   */
+  protected abstract void writeList(TaskListEto list) throws IOException;
+
+  /**
+   * @param item the {@link TaskItemEto} to write.
+   * @throws IOException on I/O error.
+   */
+  protected abstract void writeItem(TaskItemEto item) throws IOException;
+
+}
@@ -0,0 +1,79 @@
+package org.example.app.task.service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.example.app.general.common.cbor.CborCodec;
+import org.example.app.general.common.cbor.CborReader;
+import org.example.app.general.common.cbor.CborWriter;
+import org.example.app.task.common.TaskItemEto;
+
+/**
+ * {@link CborCodec} for {@link TaskItemEto} as map with the same keys as its JSON representation. The
+ * {@link TaskItemEto#getDeadline() deadline} is written as ISO-8601 text string and omitted if {@code null}.
+ */
+@ApplicationScoped
+public class TaskItemCborCodec implements CborCodec<TaskItemEto> {
+
+  private static final byte[] KEY_COMPLETED = CborWriter.encode("completed");
+
+  private static final byte[] KEY_STARRED = CborWriter.encode("starred");
+
+  private static final byte[] KEY_DEADLINE = CborWriter.encode("deadline");
+
+  private static final byte[] KEY_TASK_LIST_ID = CborWriter.encode("taskListId");
+
+  @Override
+  public Class<TaskItemEto> getType() {
+
+    return TaskItemEto.class;
+  }
+
+  @Override
+  public void write(TaskItemEto item, CborWriter writer) throws IOException {
+
+    LocalDateTime deadline = item.getDeadline();
+    writer.writeMapStart((deadline == null) ? 6 : 7);
+    writer.writeEncoded(TaskListCborCodec.KEY_ID);
+    writer.writeLong(item.getId());
+    writer.writeEncoded(TaskListCborCodec.KEY_VERSION);
+    writer.writeLong(item.getVersion());
+    writer.writeEncoded(TaskListCborCodec.KEY_TITLE);
+    writer.writeString(item.getTitle());
+    writer.writeEncoded(KEY_COMPLETED);
+    writer.writeBoolean(item.isCompleted());
+    writer.writeEncoded(KEY_STARRED);
+    writer.writeBoolean(item.isStarred());
+    if (deadline != null) {
+      writer.writeEncoded(KEY_DEADLINE);
+      writer.writeString(deadline.toString());
+    }
+    writer.writeEncoded(KEY_TASK_LIST_ID);
+    writer.writeLong(item.getTaskListId());
+  }
+
+  @Override
+  public TaskItemEto read(CborReader reader) throws IOException {
+
+    TaskItemEto item = new TaskItemEto();
+    int size = reader.readMapStart();
+    for (int i = 0; reader.hasNext(size, i); i++) {
+      switch (reader.readString()) {
+        case "id" -> item.setId(reader.readNullableLong());
+        case "version" -> item.setVersion(reader.readNullableInteger());
+        case "title" -> item.setTitle(reader.readString());
+        case "completed" -> item.setCompleted(reader.readBoolean());
+        case "starred" -> item.setStarred(reader.readBoolean());
+        case "deadline" -> {
+          String deadline = reader.readString();
+          item.setDeadline((deadline == null) ? null : LocalDateTime.parse(deadline));
+        }
+        case "taskListId" -> item.setTaskListId(reader.readNullableLong());
+        default -> reader.skip();
+      }
+    }
+    return item;
+  }
+
+}
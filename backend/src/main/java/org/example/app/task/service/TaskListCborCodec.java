@@ -0,0 +1,57 @@
+package org.example.app.task.service;
+
+import java.io.IOException;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.example.app.general.common.cbor.CborCodec;
+import org.example.app.general.common.cbor.CborReader;
+import org.example.app.general.common.cbor.CborWriter;
+import org.example.app.task.common.TaskListEto;
+
+/**
+ * {@link CborCodec} for {@link TaskListEto} as map with the same keys as its JSON representation.
+ */
+@ApplicationScoped
+public class TaskListCborCodec implements CborCodec<TaskListEto> {
+
+  static final byte[] KEY_ID = CborWriter.encode("id");
+
+  static final byte[] KEY_VERSION = CborWriter.encode("version");
+
+  static final byte[] KEY_TITLE = CborWriter.encode("title");
+
+  @Override
+  public Class<TaskListEto> getType() {
+
+    return TaskListEto.class;
+  }
+
+  @Override
+  public void write(TaskListEto list, CborWriter writer) throws IOException {
+
+    writer.writeMapStart(3);
+    writer.writeEncoded(KEY_ID);
+    writer.writeLong(list.getId());
+    writer.writeEncoded(KEY_VERSION);
+    writer.writeLong(list.getVersion());
+    writer.writeEncoded(KEY_TITLE);
+    writer.writeString(list.getTitle());
+  }
+
+  @Override
+  public TaskListEto read(CborReader reader) throws IOException {
+
+    TaskListEto list = new TaskListEto();
+    int size = reader.readMapStart();
+    for (int i = 0; reader.hasNext(size, i); i++) {
+      switch (reader.readString()) {
+        case "id" -> list.setId(reader.readNullableLong());
+        case "version" -> list.setVersion(reader.readNullableInteger());
+        case "title" -> list.setTitle(reader.readString());
+        default -> reader.skip();
+      }
+    }
+    return list;
+  }
+
+}
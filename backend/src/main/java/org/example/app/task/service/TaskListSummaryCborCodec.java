@@ -0,0 +1,76 @@
+package org.example.app.task.service;
+
+import java.io.IOException;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.example.app.general.common.cbor.CborCodec;
+import org.example.app.general.common.cbor.CborReader;
+import org.example.app.general.common.cbor.CborWriter;
+import org.example.app.task.common.TaskListSummaryEto;
+
+/**
+ * {@link CborCodec} for {@link TaskListSummaryEto} as map with the same keys as its JSON representation.
+ */
+@ApplicationScoped
+public class TaskListSummaryCborCodec implements CborCodec<TaskListSummaryEto> {
+
+  private static final byte[] KEY_TOTAL_ITEMS = CborWriter.encode("totalItems");
+
+  private static final byte[] KEY_OPEN_ITEMS = CborWriter.encode("openItems");
+
+  private static final byte[] KEY_COMPLETED_ITEMS = CborWriter.encode("completedItems");
+
+  private static final byte[] KEY_STARRED_ITEMS = CborWriter.encode("starredItems");
+
+  private static final byte[] KEY_OVERDUE_ITEMS = CborWriter.encode("overdueItems");
+
+  @Override
+  public Class<TaskListSummaryEto> getType() {
+
+    return TaskListSummaryEto.class;
+  }
+
+  @Override
+  public void write(TaskListSummaryEto summary, CborWriter writer) throws IOException {
+
+    writer.writeMapStart(8);
+    writer.writeEncoded(TaskListCborCodec.KEY_ID);
+    writer.writeLong(summary.getId());
+    writer.writeEncoded(TaskListCborCodec.KEY_VERSION);
+    writer.writeLong(summary.getVersion());
+    writer.writeEncoded(TaskListCborCodec.KEY_TITLE);
+    writer.writeString(summary.getTitle());
+    writer.writeEncoded(KEY_TOTAL_ITEMS);
+    writer.writeLong(summary.getTotalItems());
+    writer.writeEncoded(KEY_OPEN_ITEMS);
+    writer.writeLong(summary.getOpenItems());
+    writer.writeEncoded(KEY_COMPLETED_ITEMS);
+    writer.writeLong(summary.getCompletedItems());
+    writer.writeEncoded(KEY_STARRED_ITEMS);
+    writer.writeLong(summary.getStarredItems());
+    writer.writeEncoded(KEY_OVERDUE_ITEMS);
+    writer.writeLong(summary.getOverdueItems());
+  }
+
+  @Override
+  public TaskListSummaryEto read(CborReader reader) throws IOException {
+
+    TaskListSummaryEto summary = new TaskListSummaryEto();
+    int size = reader.readMapStart();
+    for (int i = 0; reader.hasNext(size, i); i++) {
+      switch (reader.readString()) {
+        case "id" -> summary.setId(reader.readNullableLong());
+        case "version" -> summary.setVersion(reader.readNullableInteger());
+        case "title" -> summary.setTitle(reader.readString());
+        case "totalItems" -> summary.setTotalItems(reader.readLong());
+        case "openItems" -> summary.setOpenItems(reader.readLong());
+        case "completedItems" -> summary.setCompletedItems(reader.readLong());
+        case "starredItems" -> summary.setStarredItems(reader.readLong());
+        case "overdueItems" -> summary.setOverdueItems(reader.readLong());
+        default -> reader.skip();
+      }
+    }
+    return summary;
+  }
+
+}
@@ -0,0 +1,79 @@
+package org.example.app.task.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.example.app.general.common.cbor.CborCodec;
+import org.example.app.general.common.cbor.CborReader;
+import org.example.app.general.common.cbor.CborWriter;
+import org.example.app.task.common.TaskItemEto;
+import org.example.app.task.common.TaskListWithItemsEto;
+
+/**
+ * {@link CborCodec} for {@link TaskListWithItemsEto} as map with the same keys as its JSON representation.
+ */
+@ApplicationScoped
+public class TaskListWithItemsCborCodec implements CborCodec<TaskListWithItemsEto> {
+
+  private static final byte[] KEY_LIST = CborWriter.encode("list");
+
+  private static final byte[] KEY_ITEMS = CborWriter.encode("items");
+
+  @Inject
+  TaskListCborCodec listCodec;
+
+  @Inject
+  TaskItemCborCodec itemCodec;
+
+  @Override
+  public Class<TaskListWithItemsEto> getType() {
+
+    return TaskListWithItemsEto.class;
+  }
+
+  @Override
+  public void write(TaskListWithItemsEto listWithItems, CborWriter writer) throws IOException {
+
+    writer.writeMapStart(2);
+    writer.writeEncoded(KEY_LIST);
+    if (listWithItems.getList() == null) {
+      writer.writeNull();
+    } else {
+      this.listCodec.write(listWithItems.getList(), writer);
+    }
+    writer.writeEncoded(KEY_ITEMS);
+    List<TaskItemEto> items = listWithItems.getItems();
+    writer.writeArrayStart(items.size());
+    for (TaskItemEto item : items) {
+      this.itemCodec.write(item, writer);
+    }
+  }
+
+  @Override
+  public TaskListWithItemsEto read(CborReader reader) throws IOException {
+
+    TaskListWithItemsEto listWithItems = new TaskListWithItemsEto();
+    int size = reader.readMapStart();
+    for (int i = 0; reader.hasNext(size, i); i++) {
+      switch (reader.readString()) {
+        case "list" -> listWithItems.setList(reader.readNull() ? null : this.listCodec.read(reader));
+        case "items" -> {
+          if (!reader.readNull()) {
+            int itemCount = reader.readArrayStart();
+            List<TaskItemEto> items = new ArrayList<>(Math.max(0, Math.min(itemCount, 1024)));
+            for (int j = 0; reader.hasNext(itemCount, j); j++) {
+              items.add(this.itemCodec.read(reader));
+            }
+            listWithItems.setItems(items);
+          }
+        }
+        default -> reader.skip();
+      }
+    }
+    return listWithItems;
+  }
+
+}
@@ -0,0 +1,184 @@
+package org.example.app.task.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.json.bind.Jsonb;
+import jakarta.ws.rs.core.MediaType;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.example.app.general.common.cache.CacheInvalidationEvent;
+import org.example.app.general.common.cache.EncodedResponse;
+import org.example.app.general.common.cache.EncodedResponseCache;
+import org.example.app.general.common.cbor.Cbor;
+import org.example.app.general.common.cbor.CborWriter;
+import org.example.app.task.common.TaskItemChangeEvent;
+import org.example.app.task.common.TaskListChangeEvent;
+import org.example.app.task.common.TaskListWithItemsEto;
+import org.example.app.task.logic.TaskChangePublisher;
+import org.example.app.task.logic.UcFindTaskList;
+
+/**
+ * Cache of {@link TaskListWithItemsEto}s already encoded as JSON or CBOR and optionally gzip compressed so popular
+ * task lists are neither loaded from the database nor serialized again until they change. Entries are invalidated by
+ * the {@link TaskItemChangeEvent}s and {@link TaskListChangeEvent}s of the save and delete use cases once their
+ * transaction has been committed and by the {@link CacheInvalidationEvent}s for changes of other nodes.
+ */
+@ApplicationScoped
+public class TaskListWithItemsResponseCache {
+
+  /** Bodies smaller than this are not worth to be compressed. */
+  private static final int MIN_GZIP_SIZE = 1024;
+
+  private static final List<String> MEDIA_TYPES = List.of(MediaType.APPLICATION_JSON, Cbor.MEDIA_TYPE);
+
+  @Inject
+  private UcFindTaskList ucFindTaskList;
+
+  @Inject
+  private Jsonb jsonb;
+
+  @Inject
+  private TaskListWithItemsCborCodec cborCodec;
+
+  @ConfigProperty(name = "app.task.response-cache.enabled", defaultValue = "false")
+  boolean enabled;
+
+  @ConfigProperty(name = "app.task.response-cache.max-bytes", defaultValue = "67108864")
+  long maxBytes;
+
+  @ConfigProperty(name = "app.task.response-cache.gzip", defaultValue = "true")
+  boolean gzip;
+
+  @ConfigProperty(name = "app.task.response-cache.quiet-period", defaultValue = "1S")
+  Duration quietPeriod;
+
+  private EncodedResponseCache<Key> cache;
+
+  @PostConstruct
+  void init() {
+
+    this.cache = new EncodedResponseCache<>(this.maxBytes, this.quietPeriod.toNanos());
+  }
+
+  /**
+   * @param taskListId the {@link TaskListWithItemsEto#getList() ID of the task list}.
+   * @param includeArchived {@code true} to include archived items, {@code false} otherwise.
+   * @param acceptableMediaTypes the {@link MediaType}s accepted by the client in the order of preference.
+   * @return the {@link EncodedResponse} or {@code null} if the task list does not exist.
+   */
+  public EncodedResponse get(Long taskListId, boolean includeArchived, List<MediaType> acceptableMediaTypes) {
+
+    Key key = new Key(taskListId, includeArchived, selectMediaType(acceptableMediaTypes));
+    Object token = null;
+    if (this.enabled) {
+      EncodedResponse response = this.cache.get(key);
+      if (response != null) {
+        return response;
+      }
+      token = this.cache.startLoad(key);
+    }
+    TaskListWithItemsEto listWithItems = this.ucFindTaskList.findWithItems(taskListId, includeArchived);
+    if (listWithItems == null) {
+      return null;
+    }
+    byte[] body = encode(listWithItems, key.mediaType());
+    byte[] gzipBody = null;
+    if (this.gzip && (body.length >= MIN_GZIP_SIZE)) {
+      gzipBody = compress(body);
+    }
+    EncodedResponse response = new EncodedResponse(key.mediaType(), body, gzipBody);
+    if (token != null) {
+      this.cache.put(key, token, response);
+    }
+    return response;
+  }
+
+  void onTaskItemChange(@Observes(during = TransactionPhase.AFTER_SUCCESS) TaskItemChangeEvent event) {
+
+    invalidate(event.getTaskListId());
+  }
+
+  void onTaskListChange(@Observes(during = TransactionPhase.AFTER_SUCCESS) TaskListChangeEvent event) {
+
+    invalidate(event.getTaskListId());
+  }
+
+  void onInvalidation(@Observes CacheInvalidationEvent event) {
+
+    if (!event.isTopic(TaskChangePublisher.TOPIC_TASK_LIST)) {
+      return;
+    }
+    if (event.isAll()) {
+      this.cache.invalidateAll();
+    } else {
+      for (String key : event.getKeys()) {
+        invalidate(Long.valueOf(key));
+      }
+    }
+  }
+
+  /**
+   * @param taskListId the ID of the task list whose cached responses shall be removed, e.g. because it has pending
+   *        changes that are not yet committed.
+   */
+  public void invalidate(Long taskListId) {
+
+    for (String mediaType : MEDIA_TYPES) {
+      this.cache.invalidate(new Key(taskListId, false, mediaType));
+      this.cache.invalidate(new Key(taskListId, true, mediaType));
+    }
+  }
+
+  private static String selectMediaType(List<MediaType> acceptableMediaTypes) {
+
+    for (MediaType acceptable : acceptableMediaTypes) {
+      for (String mediaType : MEDIA_TYPES) {
+        if (acceptable.isCompatible(MediaType.valueOf(mediaType))) {
+          return mediaType;
+        }
+      }
+    }
+    return MediaType.APPLICATION_JSON;
+  }
+
+  private byte[] encode(TaskListWithItemsEto listWithItems, String mediaType) {
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+    if (Cbor.MEDIA_TYPE.equals(mediaType)) {
+      try {
+        CborWriter writer = new CborWriter(out);
+        this.cborCodec.write(listWithItems, writer);
+        writer.flush();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    } else {
+      this.jsonb.toJson(listWithItems, out);
+    }
+    return out.toByteArray();
+  }
+
+  private static byte[] compress(byte[] body) {
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+    try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+      gzipOut.write(body);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+
+  private record Key(Long taskListId, boolean includeArchived, String mediaType) {
+  }
+
+}
@@ -0,0 +1,565 @@
+package org.example.app.task.service;
+
+import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+import jakarta.inject.Inject;
+import jakarta.validation.Valid;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.ServiceUnavailableException;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.ResponseBuilder;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.example.app.general.common.cache.EncodedResponse;
+import org.example.app.general.common.cbor.Cbor;
+import org.example.app.general.common.concurrency.RequestPriority;
+import org.example.app.general.service.ConcurrencyLimited;
+import org.example.app.general.service.Prioritized;
+import org.example.app.task.common.SimilarTaskItemEto;
+import org.example.app.task.common.TaskItemEto;
+import org.example.app.task.common.TaskItemSearchCriteria;
+import org.example.app.task.common.TaskListEto;
+import org.example.app.task.common.TaskListSummaryEto;
+import org.example.app.task.common.TaskListWithItemsEto;
+import org.example.app.task.logic.UcBulkTaskItem;
+import org.example.app.task.logic.UcDeleteTaskItem;
+import org.example.app.task.logic.UcDeleteTaskList;
+import org.example.app.task.logic.UcExportTask;
+import org.example.app.task.logic.UcFindSimilarTaskItem;
+import org.example.app.task.logic.UcFindTaskItem;
+import org.example.app.task.logic.UcFindTaskList;
+import org.example.app.task.logic.UcSaveTaskItem;
+import org.example.app.task.logic.UcSaveTaskList;
+import org.example.app.task.logic.UcToggleTaskItem;
+import org.jboss.resteasy.reactive.Separator;
+import org.springframework.data.domain.Page;
+
+/**
+ * Rest service for {@link org.example.app.task.common.TaskList} and {@link org.example.app.task.common.TaskItem}.
+ * Besides JSON the transfer objects can be sent and received as compact binary {@value Cbor#MEDIA_TYPE} selected via
+ * the {@code Accept} and {@code Content-Type} headers.
+ */
+@Path("/task")
+@ConcurrencyLimited
+@Consumes({ MediaType.APPLICATION_JSON, Cbor.MEDIA_TYPE })
+@Produces({ MediaType.APPLICATION_JSON, Cbor.MEDIA_TYPE })
+public class TaskService {
+
+  /** Name of the HTTP header with the total number of search hits. */
+  public static final String HEADER_TOTAL_COUNT = "X-Total-Count";
+
+  private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
+  private static final int MAX_SIMILAR = 100;
+
+  @Inject
+  private UcFindTaskList ucFindTaskList;
+
+  @Inject
+  private UcSaveTaskList ucSaveTaskList;
+
+  @Inject
+  private UcDeleteTaskList ucDeleteTaskList;
+
+  @Inject
+  private UcBulkTaskItem ucBulkTaskItem;
+
+  @Inject
+  private UcFindTaskItem ucFindTaskItem;
+
+  @Inject
+  private UcFindSimilarTaskItem ucFindSimilarTaskItem;
+
+  @Inject
+  private UcSaveTaskItem ucSaveTaskItem;
+
+  @Inject
+  private UcDeleteTaskItem ucDeleteTaskItem;
+
+  @Inject
+  private UcToggleTaskItem ucToggleTaskItem;
+
+  @Inject
+  private UcExportTask ucExportTask;
+
+  @Inject
+  private TaskListWithItemsResponseCache taskListWithItemsCache;
+
+  /**
+   * @return all {@link TaskListEto task lists}.
+   */
+  @GET
+  @Path("/lists")
+  @Operation(summary = "Fetch task lists", description = "Fetch all task lists")
+  @APIResponse(responseCode = "200", description = "Task lists")
+  @APIResponse(responseCode = "500", description = "Server unavailable or a server-side error occurred")
+  public List<TaskListEto> findTaskLists() {
+
+    return this.ucFindTaskList.findAll();
+  }
+
+  /**
+   * @return the {@link TaskListSummaryEto summaries} of all task lists.
+   */
+  @GET
+  @Path("/lists/summary")
+  @Operation(summary = "Fetch task list summaries", description = "Fetch all task lists with the counters of their items")
+  @APIResponse(responseCode = "200", description = "Task list summaries")
+  @APIResponse(responseCode = "500", description = "Server unavailable or a server-side error occurred")
+  public List<TaskListSummaryEto> findTaskListSummaries() {
+
+    return this.ucFindTaskList.findSummaries();
+  }
+
+  /**
+   * @param taskList the {@link TaskListEto} to save (insert or update).
+   * @return the {@link Response} with the new ID if created or the new version if updated.
+   */
+  @POST
+  @Path("/list")
+  @Operation(summary = "Create or update task list", description = "Update a task list or creates a new one if the id is empty.")
+  @APIResponse(responseCode = "200", description = "Task list successfully updated")
+  @APIResponse(responseCode = "201", description = "Task list successfully created")
+  @APIResponse(responseCode = "400", description = "Validation error")
+  @APIResponse(responseCode = "500", description = "Server unavailable or a server-side error occurred")
+  public Response saveTask(@Valid TaskListEto taskList) {
+
+    TaskListEto saved = this.ucSaveTaskList.save(taskList);
+    if (taskList.getId() == null) {
+      return Response.created(URI.create("/task/list/" + saved.getId())).entity(saved.getId()).build();
+    }
+    return Response.ok(saved.getVersion()).build();
+  }
+
+  /**
+   * @param id the {@link TaskListEto#getId() primary key} of the requested {@link TaskListEto}.
+   * @return the {@link TaskListEto} for the given {@code id}.
+   */
+  @GET
+  @Path("/list/{id}")
+  @Operation(summary = "Fetch task list", description = "Fetch a task list")
+  @APIResponse(responseCode = "200", description = "Task list")
+  @APIResponse(responseCode = "404", description = "Task list not found")
+  @APIResponse(responseCode = "500", description = "Server unavailable or a server-side error occurred")
+  public TaskListEto findTaskList(
+      @Parameter(description = "The id of the task list to retrieve", required = true, example = "1", schema = @Schema(type = SchemaType.INTEGER)) @PathParam("id") Long id) {
+
+    TaskListEto task = this.ucFindTaskList.findById(id);
+    if (task == null) {
+      throw new NotFoundException("TaskList with id " + id + " does not exist.");
+    }
+    return task;
+  }
+
+  /**
+   * @param id the {@link TaskListEto#getId() primary key} of the requested {@link TaskListEto}.
+   * @return the {@link TaskListWithItemsEto} for the given {@code id}.
+   */
+  @GET
+  @Path("/list-with-items/{id}")
+  @Operation(summary = "Fetch task list with tasks", description = "Fetch a task list including all of its task items")
+  @APIResponse(responseCode = "200", description = "Task list with task items", content = @Content(schema = @Schema(implementation = TaskListWithItemsEto.class)))
+  @APIResponse(responseCode = "404", description = "Task list not found")
+  @APIResponse(responseCode = "500", description = "Server unavailable or a server-side error occurred")
+  public Response findTaskListWithItems(
+      @Parameter(description = "The id of the task list to retrieve", required = true, example = "1", schema = @Schema(type = SchemaType.INTEGER)) @PathParam("id") Long id,
+      @Parameter(description = "Whether to include archived task items", example = "false") @QueryParam("includeArchived") boolean includeArchived,
+      @Context HttpHeaders headers) {
+
+    EncodedResponse encoded = this.taskListWithItemsCache.get(id, includeArchived, headers.getAcceptableMediaTypes());
+    if (encoded == null) {
+      throw new NotFoundException("TaskList with id " + id + " does not exist.");
+    }
+    // the cached bytes are wrapped and never copied, see ByteBufferMessageBodyWriter
+    ResponseBuilder response = Response.ok().type(encoded.getMediaType()).header(HttpHeaders.VARY,
+        HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+    if ((encoded.getGzipBody() != null) && acceptsGzip(headers.getHeaderString(HttpHeaders.ACCEPT_ENCODING))) {
+      response.header(HttpHeaders.CONTENT_ENCODING, "gzip").entity(ByteBuffer.wrap(encoded.getGzipBody()));
+    } else {
+      response.entity(ByteBuffer.wrap(encoded.getBody()));
+    }
+    return response.build();
+  }
+
+  /**
+   * @param ids the {@link TaskListEto#getId() primary keys} of the requested {@link TaskListEto task lists}.
+   * @param limit the maximum number of task items per list or {@code null} for all items.
+   * @return the {@link List} of {@link TaskListWithItemsEto} in the order of the given {@code ids}.
+   */
+  @GET
+  @Path("/lists-with-items")
+  @Operation(summary = "Fetch multiple task lists with tasks", description = "Fetch multiple task lists including "
+      + "their task items with a constant number of queries. IDs of task lists that do not exist are omitted.")
+  @APIResponse(responseCode = "200", description = "Task lists with task items")
+  @APIResponse(responseCode = "400", description = "Invalid limit or too many task lists")
+  @APIResponse(responseCode = "500", description = "Server unavailable or a server-side error occurred")
+  public List<TaskListWithItemsEto> findTaskListsWithItems(
+      @Parameter(description = "The comma separated ids of the task lists to retrieve", required = true, example = "1,2,3") @QueryParam("ids") @Separator(",") List<Long> ids,
+      @Parameter(description = "The maximum number of task items per task list", example = "10") @QueryParam("limit") Integer limit) {
+
+    if ((limit != null) && (limit.intValue() <= 0)) {
+      throw new BadRequestException("The limit has to be positive.");
+    }
+    try {
+      return this.ucFindTaskList.findWithItems(ids, (limit == null) ? 0 : limit.intValue());
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException(e.getMessage());
+    }
+  }
+
+  /**
+   * @param id the {@link TaskListEto#getId() primary key} of the {@link TaskListEto} to delete.
+   */
+  @DELETE
+  @Path("/list/{id}")
+  @Operation(summary = "Delete task list", description = "Deletes an entire task list")
+  @APIResponse(responseCode = "204", description = "Task list deleted")
+  @APIResponse(responseCode = "500", description = "Server unavailable or a server-side error occurred")
+  public void deleteTaskList(
+      @Parameter(description = "The id of the task list to delete", required = true, example = "1", schema = @Schema(type = SchemaType.INTEGER)) @PathParam("id") Long id) {
+
+    this.ucDeleteTaskList.delete(id);
+  }
+
+  /**
+   * @param id the {@link TaskListEto#getId() primary key} of the {@link TaskListEto} whose items to complete.
+   * @return the number of items that have been marked as completed.
+   */
+  @POST
+  @Path("/list/{id}/complete-all")
+  @Operation(summary = "Complete all task items", description = "Marks all open task items of a task list as completed with a single statement")
+  @APIResponse(responseCode = "200", description = "Number of completed task items")
+  @APIResponse(responseCode = "404", description = "Task list not found")
+  @APIResponse(responseCode = "500", description = "Server unavailable or a server-side error occurred")
+  public Integer completeAllTaskItems(
+      @Parameter(description = "The id of the task list", required = true, example = "1", schema = @Schema(type = SchemaType.INTEGER)) @PathParam("id") Long id) {
+
+    Integer count = this.ucBulkTaskItem.completeAll(id);
+    if (count == null) {
+      throw new NotFoundException("TaskList with id " + id + " does not exist.");
+    }
+    return count;
+  }
+
+  /**
+   * @param id the {@link TaskListEto#getId() primary key} of the {@link TaskListEto} whose completed items to delete.
+   * @return the number of deleted items.
+   */
+  @DELETE
+  @Path("/list/{id}/completed")
+  @Operation(summary = "Clear completed task items", description = "Deletes all completed (including archived) task items of a task list with a single statement")
+  @APIResponse(responseCode = "200", description = "Number of deleted task items")
+  @APIResponse(responseCode = "404", description = "Task list not found")
+  @APIResponse(responseCode = "500", description = "Server unavailable or a server-side error occurred")
+  public Integer deleteCompletedTaskItems(
+      @Parameter(description = "The id of the task list", required = true, example = "1", schema = @Schema(type = SchemaType.INTEGER)) @PathParam("id") Long id) {
+
+    Integer count = this.ucBulkTaskItem.deleteCompleted(id);
+    if (count == null) {
+      throw new NotFoundException("TaskList with id " + id + " does not exist.");
+    }
+    return count;
+  }
+
+  /**
+   * @param item the {@link TaskItemEto} to save (insert or update).
+   * @return the {@link Response} with the new ID if created or the new version if updated.
+   */
+  @POST
+  @Path("/item")
+  @Operation(summary = "Add or update task item", description = "Update a task item or add it as a new item if the id is empty")
+  @APIResponse(responseCode = "200", description = "Task successfully updated")
+  @APIResponse(responseCode = "201", description = "Task successfully created")
+  @APIResponse(responseCode = "400", description = "Validation error")
+  @APIResponse(responseCode = "500", description = "Server unavailable or a server-side error occurred")
+  public Response saveTaskItem(@Valid TaskItemEto item) {
+
+    TaskItemEto saved = this.ucSaveTaskItem.save(item);
+    if (item.getId() == null) {
+      return Response.created(URI.create("/task/item/" + saved.getId())).entity(saved.getId()).build();
+    }
+    return Response.ok(saved.getVersion()).build();
+  }
+
+  /**
+   * @param id the {@link TaskItemEto#getId() primary key} of the {@link TaskItemEto} to toggle.
+   * @param completed the new value of {@link TaskItemEto#isCompleted()} or {@code null} to keep it.
+   * @param starred the new value of {@link TaskItemEto#isStarred()} or {@code null} to keep it.
+   * @return the {@link TaskItemEto} with the toggled state.
+   */
+  @POST
+  @Path("/item/{id}/toggle")
+  @Operation(summary = "Toggle task item", description = "Set completed and/or starred of a task item. Rapid toggles are coalesced and written behind.")
+  @APIResponse(responseCode = "200", description = "Task item with the toggled state")
+  @APIResponse(responseCode = "400", description = "Neither completed nor starred given")
+  @APIResponse(responseCode = "404", description = "Task item not found")
+  @APIResponse(responseCode = "500", description = "Server unavailable or a server-side error occurred")
+  public TaskItemEto toggleTaskItem(
+      @Parameter(description = "The id of the task item to toggle", required = true, example = "1", schema = @Schema(type = SchemaType.INTEGER)) @PathParam("id") Long id,
+      @Parameter(description = "The new completed state", example = "true") @QueryParam("completed") Boolean completed,
+      @Parameter(description = "The new starred state", example = "true") @QueryParam("starred") Boolean starred) {
+
+    if ((completed == null) && (starred == null)) {
+      throw new BadRequestException("Either completed or starred has to be given.");
+    }
+    TaskItemEto item = this.ucToggleTaskItem.toggle(id, completed, starred);
+    if (item == null) {
+      throw new NotFoundException("TaskItem with id " + id + " does not exist.");
+    }
+    // the pending state has to be visible immediately
+    this.taskListWithItemsCache.invalidate(item.getTaskListId());
+    return item;
+  }
+
+  /**
+   * @param id the {@link TaskItemEto#getId() primary key} of the requested {@link TaskItemEto}.
+   * @return the {@link TaskItemEto} for the given {@code id}.
+   */
+  @GET
+  @Path("/item/{id}")
+  @Operation(summary = "Fetch task item", description = "Fetch a task item")
+  @APIResponse(responseCode = "200", description = "Task item")
+  @APIResponse(responseCode = "404", description = "Task item not found")
+  @APIResponse(responseCode = "500", description = "Server unavailable or a server-side error occurred")
+  public TaskItemEto findTaskItem(
+      @Parameter(description = "The id of the task item to retrieve", required = true, example = "1", schema = @Schema(type = SchemaType.INTEGER)) @PathParam("id") Long id,
+      @Parameter(description = "Whether to also find the task item if archived", example = "false") @QueryParam("includeArchived") boolean includeArchived) {
+
+    TaskItemEto item = this.ucFindTaskItem.findById(id, includeArchived);
+    if (item == null) {
+      throw new NotFoundException("TaskItem with id " + id + " does not exist.");
+    }
+    return item;
+  }
+
+  /**
+   * @param id the {@link TaskItemEto#getId() primary key} of the {@link TaskItemEto} to find similar items for.
+   * @param k the maximum number of similar items.
+   * @param minSimilarity the minimum {@link SimilarTaskItemEto#getSimilarity() similarity}.
+   * @return the {@link List} of {@link SimilarTaskItemEto similar task items} by descending similarity.
+   */
+  @GET
+  @Path("/item/{id}/similar")
+  @Produces(MediaType.APPLICATION_JSON)
+  @Operation(summary = "Find similar task items", description = "Find the task items with the most similar titles (e.g. duplicates) via embeddings in an approximate nearest neighbor index")
+  @APIResponse(responseCode = "200", description = "Similar task items")
+  @APIResponse(responseCode = "400", description = "Invalid k")
+  @APIResponse(responseCode = "404", description = "Task item not found")
+  @APIResponse(responseCode = "503", description = "Similarity search is disabled")
+  @APIResponse(responseCode = "500", description = "Server unavailable or a server-side error occurred")
+  public List<SimilarTaskItemEto> findSimilarTaskItems(
+      @Parameter(description = "The id of the task item to find similar items for", required = true, example = "1", schema = @Schema(type = SchemaType.INTEGER)) @PathParam("id") Long id,
+      @Parameter(description = "The maximum number of similar task items", example = "10") @QueryParam("k") @DefaultValue("10") int k,
+      @Parameter(description = "The minimum cosine similarity from -1 to 1", example = "0.5") @QueryParam("minSimilarity") @DefaultValue("-1") double minSimilarity) {
+
+    checkSimilarityQuery(k);
+    List<SimilarTaskItemEto> items = this.ucFindSimilarTaskItem.findSimilar(id, k, minSimilarity);
+    if (items == null) {
+      throw new NotFoundException("TaskItem with id " + id + " does not exist.");
+    }
+    return items;
+  }
+
+  /**
+   * @param title the title to find similar items for.
+   * @param k the maximum number of similar items.
+   * @param minSimilarity the minimum {@link SimilarTaskItemEto#getSimilarity() similarity}.
+   * @return the {@link List} of {@link SimilarTaskItemEto similar task items} by descending similarity.
+   */
+  @GET
+  @Path("/item/similar")
+  @Produces(MediaType.APPLICATION_JSON)
+  @Operation(summary = "Find task items similar to a title", description = "Find the task items with the most similar titles to the given title (e.g. to warn about a duplicate before adding it)")
+  @APIResponse(responseCode = "200", description = "Similar task items")
+  @APIResponse(responseCode = "400", description = "Missing title or invalid k")
+  @APIResponse(responseCode = "503", description = "Similarity search is disabled")
+  @APIResponse(responseCode = "500", description = "Server unavailable or a server-side error occurred")
+  public List<SimilarTaskItemEto> findSimilarTaskItemsByTitle(
+      @Parameter(description = "The title to find similar task items for", required = true, example = "Buy milk") @QueryParam("title") String title,
+      @Parameter(description = "The maximum number of similar task items", example = "10") @QueryParam("k") @DefaultValue("10") int k,
+      @Parameter(description = "The minimum cosine similarity from -1 to 1", example = "0.5") @QueryParam("minSimilarity") @DefaultValue("-1") double minSimilarity) {
+
+    if ((title == null) || title.isBlank()) {
+      throw new BadRequestException("The title is required.");
+    }
+    checkSimilarityQuery(k);
+    return this.ucFindSimilarTaskItem.findSimilar(title, k, minSimilarity);
+  }
+
+  private void checkSimilarityQuery(int k) {
+
+    if ((k <= 0) || (k > MAX_SIMILAR)) {
+      throw new BadRequestException("The k has to be in the range from 1 to " + MAX_SIMILAR + ".");
+    }
+    if (!this.ucFindSimilarTaskItem.isEnabled()) {
+      throw new ServiceUnavailableException("Similarity search of task items is disabled.");
+    }
+  }
+
+  /**
+   * @param criteria the {@link TaskItemSearchCriteria}.
+   * @return the {@link Response} with the {@link List} of matching {@link TaskItemEto task items} of the requested page
+   *         and the total number of hits in the header {@value #HEADER_TOTAL_COUNT} if requested.
+   */
+  @POST
+  @Path("/item/search")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Prioritized(RequestPriority.INTERACTIVE)
+  @Operation(summary = "Search task items", description = "Search task items across all task lists")
+  @APIResponse(responseCode = "200", description = "Task items of the requested page")
+  @APIResponse(responseCode = "500", description = "Server unavailable or a server-side error occurred")
+  public Response findTaskItems(TaskItemSearchCriteria criteria) {
+
+    Page<TaskItemEto> page = this.ucFindTaskItem.findByCriteria(criteria);
+    ResponseBuilder response = Response.ok(page.getContent());
+    if (criteria.isDetermineTotal()) {
+      response.header(HEADER_TOTAL_COUNT, Long.valueOf(page.getTotalElements()));
+    }
+    return response.build();
+  }
+
+  /**
+   * @param id the {@link TaskItemEto#getId() primary key} of the {@link TaskItemEto} to delete.
+   */
+  @DELETE
+  @Path("/item/{id}")
+  @Operation(summary = "Delete task item", description = "Delete a task item")
+  @APIResponse(responseCode = "204", description = "Task item deleted")
+  @APIResponse(responseCode = "500", description = "Server unavailable or a server-side error occurred")
+  public void deleteTaskItem(
+      @Parameter(description = "The id of the task item to delete", required = true, example = "1", schema = @Schema(type = SchemaType.INTEGER)) @PathParam("id") Long id) {
+
+    this.ucDeleteTaskItem.delete(id);
+  }
+
+  /**
+   * @param title the optional {@link TaskItemEto#getTitle() title} the exported items have to contain.
+   * @param completed the optional {@link TaskItemEto#isCompleted() completed} flag the exported items have to match.
+   * @param starred the optional {@link TaskItemEto#isStarred() starred} flag the exported items have to match.
+   * @param afterId the ID of the last record received from an interrupted export to resume after.
+   * @param includeArchived - {@code true} to also export the archived items, {@code false} otherwise.
+   * @param format the {@link TaskExportFormat#getExtension() export format}.
+   * @param acceptEncoding the {@code Accept-Encoding} header to decide about gzip compression.
+   * @return the {@link Response} streaming all task lists followed by all matching task items.
+   */
+  @GET
+  @Path("/export")
+  @Produces({ "application/x-ndjson", "text/csv" })
+  @Prioritized(RequestPriority.BULK)
+  @Operation(summary = "Export tasks", description = "Stream all task lists followed by all matching task items - "
+      + "each ordered by ID. Pass the ID of the last received record as afterId to resume an interrupted download.")
+  @APIResponse(responseCode = "200", description = "Task lists and items as NDJSON or CSV")
+  @APIResponse(responseCode = "400", description = "Unsupported format")
+  @APIResponse(responseCode = "500", description = "Server unavailable or a server-side error occurred")
+  public Response exportTasks(@QueryParam("title") String title, @QueryParam("completed") Boolean completed,
+      @QueryParam("starred") Boolean starred, @QueryParam("afterId") Long afterId,
+      @QueryParam("includeArchived") boolean includeArchived,
+      @QueryParam("format") @DefaultValue("ndjson") String format,
+      @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) {
+
+    TaskExportFormat exportFormat;
+    try {
+      exportFormat = TaskExportFormat.of(format);
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException(e.getMessage());
+    }
+    TaskItemSearchCriteria criteria = new TaskItemSearchCriteria();
+    criteria.setTitle(title);
+    criteria.setCompleted(completed);
+    criteria.setStarred(starred);
+    boolean gzip = acceptsGzip(acceptEncoding);
+    StreamingOutput output = out -> {
+      // sync flush so every chunk reaches the client and an interrupted download can be resumed
+      OutputStream target = gzip ? new GZIPOutputStream(out, EXPORT_BUFFER_SIZE, true) : out;
+      Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8),
+          EXPORT_BUFFER_SIZE);
+      TaskExportWriter exportWriter = exportFormat.newWriter(writer);
+      try {
+        exportWriter.start();
+        this.ucExportTask.export(criteria, afterId, includeArchived, exportWriter);
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+      writer.flush();
+      if (gzip) {
+        ((GZIPOutputStream) target).finish();
+      }
+    };
+    ResponseBuilder response = Response.ok(output, exportFormat.getMediaType())
+        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks." + exportFormat.getExtension() + "\"")
+        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    if (gzip) {
+      response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+    return response.build();
+  }
+
+  /**
+   * @param acceptEncoding the {@code Accept-Encoding} header or {@code null} if absent.
+   * @return {@code true} if the client accepts gzip, {@code false} otherwise. A quality value ({@code q}) of zero
+   *         excludes a coding (e.g. {@code gzip;q=0}) and the wildcard {@code *} only applies if gzip is not listed.
+   */
+  static boolean acceptsGzip(String acceptEncoding) {
+
+    if (acceptEncoding == null) {
+      return false;
+    }
+    double gzip = -1;
+    double any = -1;
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parts = coding.split(";");
+      String name = parts[0].trim().toLowerCase(Locale.ROOT);
+      double quality = 1;
+      for (int i = 1; i < parts.length; i++) {
+        String parameter = parts[i].trim();
+        if ((parameter.length() > 2) && parameter.substring(0, 2).equalsIgnoreCase("q=")) {
+          try {
+            quality = Double.parseDouble(parameter.substring(2).trim());
+          } catch (NumberFormatException e) {
+            // an invalid quality value is as good as none
+            quality = 0;
+          }
+        }
+      }
+      if (name.equals("gzip") || name.equals("x-gzip")) {
+        gzip = Math.max(gzip, quality);
+      } else if (name.equals("*")) {
+        any = quality;
+      }
+    }
+    if (gzip >= 0) {
+      return gzip > 0;
+    }
+    return any > 0;
+  }
+
+}
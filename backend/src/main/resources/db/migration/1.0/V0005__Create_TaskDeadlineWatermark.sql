@@ -0,0 +1,8 @@
+CREATE TABLE TASK_DEADLINE_WATERMARK (
+  ID                      BIGINT NOT NULL,
+  VERSION                 INT NOT NULL,
+  NAME                    VARCHAR(64) NOT NULL,
+  FIRED_UNTIL             TIMESTAMP NOT NULL,
+  CONSTRAINT PK_TASK_DEADLINE_WATERMARK PRIMARY KEY (ID),
+  CONSTRAINT UC_TASK_DEADLINE_WATERMARK_NAME UNIQUE (NAME)
+)
\ No newline at end of file
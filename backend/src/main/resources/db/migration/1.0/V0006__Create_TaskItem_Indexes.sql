@@ -0,0 +1,4 @@
+-- items of a list ordered by id (list-with-items) - also serves as index for the foreign key FK_ITEM_LIST
+CREATE INDEX IX_TASK_ITEM_LIST_ID ON TASK_ITEM (LIST_ID, ID);
+-- upcoming deadlines of open items (TaskDeadlineScheduler)
+CREATE INDEX IX_TASK_ITEM_OPEN_DEADLINE ON TASK_ITEM (DEADLINE) WHERE COMPLETED = FALSE AND DEADLINE IS NOT NULL;
\ No newline at end of file
@@ -0,0 +1,46 @@
+-- point in time when an item has been completed (maintained by trigger as the application never writes it)
+ALTER TABLE TASK_ITEM ADD COLUMN COMPLETED_AT TIMESTAMP;
+UPDATE TASK_ITEM SET COMPLETED_AT = LOCALTIMESTAMP WHERE COMPLETED = TRUE;
+
+CREATE FUNCTION TASK_ITEM_SET_COMPLETED_AT() RETURNS TRIGGER AS $$
+BEGIN
+  IF NOT COALESCE(NEW.COMPLETED, FALSE) THEN
+    NEW.COMPLETED_AT := NULL;
+  ELSIF NEW.COMPLETED_AT IS NULL THEN
+    NEW.COMPLETED_AT := LOCALTIMESTAMP;
+  END IF;
+  RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER TRG_TASK_ITEM_COMPLETED_AT BEFORE INSERT OR UPDATE ON TASK_ITEM
+  FOR EACH ROW EXECUTE FUNCTION TASK_ITEM_SET_COMPLETED_AT();
+
+-- candidates for archival scanned in ID order by TaskItemArchiver
+CREATE INDEX IX_TASK_ITEM_COMPLETED ON TASK_ITEM (ID) WHERE COMPLETED = TRUE;
+
+-- cold storage for completed items moved out of TASK_ITEM
+CREATE TABLE TASK_ITEM_ARCHIVE (
+  ID                      BIGINT NOT NULL,
+  VERSION                 INT NOT NULL,
+  TITLE                   VARCHAR(64) NOT NULL,
+  COMPLETED               BOOLEAN,
+  STARRED                 BOOLEAN,
+  DEADLINE                TIMESTAMP,
+  LIST_ID                 BIGINT,
+  COMPLETED_AT            TIMESTAMP,
+  ARCHIVED_AT             TIMESTAMP NOT NULL,
+  CONSTRAINT PK_TASK_ITEM_ARCHIVE PRIMARY KEY (ID),
+  CONSTRAINT FK_ITEM_ARCHIVE_LIST FOREIGN KEY (LIST_ID) REFERENCES TASK_LIST(ID) ON DELETE CASCADE
+);
+CREATE INDEX IX_TASK_ITEM_ARCHIVE_LIST_ID ON TASK_ITEM_ARCHIVE (LIST_ID, ID);
+
+-- resumable progress (keyset cursor) of TaskItemArchiver
+CREATE TABLE TASK_ITEM_ARCHIVE_PROGRESS (
+  ID                      BIGINT NOT NULL,
+  VERSION                 INT NOT NULL,
+  NAME                    VARCHAR(64) NOT NULL,
+  LAST_ID                 BIGINT NOT NULL,
+  CONSTRAINT PK_TASK_ITEM_ARCHIVE_PROGRESS PRIMARY KEY (ID),
+  CONSTRAINT UC_TASK_ITEM_ARCHIVE_PROGRESS_NAME UNIQUE (NAME)
+)
\ No newline at end of file
@@ -0,0 +1,20 @@
+-- incrementally maintained item counters per list (including archived items) - see TaskListSummaryEntity
+CREATE TABLE TASK_LIST_SUMMARY (
+  LIST_ID                 BIGINT NOT NULL,
+  TOTAL_ITEMS             BIGINT NOT NULL,
+  OPEN_ITEMS              BIGINT NOT NULL,
+  COMPLETED_ITEMS         BIGINT NOT NULL,
+  STARRED_ITEMS           BIGINT NOT NULL,
+  CONSTRAINT PK_TASK_LIST_SUMMARY PRIMARY KEY (LIST_ID),
+  CONSTRAINT FK_SUMMARY_LIST FOREIGN KEY (LIST_ID) REFERENCES TASK_LIST(ID) ON DELETE CASCADE
+);
+
+INSERT INTO TASK_LIST_SUMMARY (LIST_ID, TOTAL_ITEMS, OPEN_ITEMS, COMPLETED_ITEMS, STARRED_ITEMS)
+  SELECT L.ID, COUNT(I.LIST_ID), COUNT(*) FILTER (WHERE I.COMPLETED = FALSE), COUNT(*) FILTER (WHERE I.COMPLETED = TRUE),
+    COUNT(*) FILTER (WHERE I.STARRED = TRUE)
+  FROM TASK_LIST L LEFT JOIN (SELECT LIST_ID, COMPLETED, STARRED FROM TASK_ITEM
+    UNION ALL SELECT LIST_ID, COMPLETED, STARRED FROM TASK_ITEM_ARCHIVE) I ON I.LIST_ID = L.ID
+  GROUP BY L.ID;
+
+-- overdue items per list are time dependent and therefore counted on read (index-only)
+CREATE INDEX IX_TASK_ITEM_LIST_OPEN_DEADLINE ON TASK_ITEM (LIST_ID, DEADLINE) WHERE COMPLETED = FALSE
\ No newline at end of file
@@ -0,0 +1,13 @@
+-- Sharding (see DataSourceRouter): every shard only generates IDs with ID % ${shardCount} = ${shardIndex} so the shard of
+-- any list or item is determined by its ID. With a single shard this changes nothing. Existing rows are never touched
+-- here - if a shard was initialized from a copy of another database, remove the rows that belong to other shards with
+-- the operational script db/sharding/split-shard.sql (see documentation/sharding.adoc).
+DO $$
+DECLARE
+  NEXT_ID BIGINT;
+BEGIN
+  SELECT LAST_VALUE + 1 INTO NEXT_ID FROM HIBERNATE_SEQUENCE;
+  NEXT_ID := NEXT_ID + MOD(MOD(${shardIndex} - NEXT_ID, ${shardCount}) + ${shardCount}, ${shardCount});
+  EXECUTE 'ALTER SEQUENCE HIBERNATE_SEQUENCE INCREMENT BY ${shardCount} RESTART WITH ' || NEXT_ID;
+END
+$$;
\ No newline at end of file
@@ -0,0 +1,35 @@
+-- Operational step of sharding (see documentation/sharding.adoc) - NOT a Flyway migration.
+-- Irreversibly deletes all task lists and items of a shard database that belong to another shard, e.g. after the
+-- database was initialized from a copy or backup of another shard. A row belongs to the shard of its list
+-- (LIST_ID % shard_count, the own ID for lists and items without list). Run it only against the database of the given
+-- shard and only after the other shards have been verified to hold their rows:
+--   psql -v shard_index=1 -v shard_count=2 -f split-shard.sql <url of shard 1>
+-- The script aborts without deleting anything if an item is not co-located with its list (ID % shard_count differs
+-- from LIST_ID % shard_count) as such an item would end up on a different shard than the router expects.
+-- Afterwards the counters of the affected lists are corrected by TaskListSummaryRepairer.
+\set ON_ERROR_STOP on
+
+BEGIN;
+SELECT set_config('split_shard.shard_count', :'shard_count', true);
+DO $$
+DECLARE
+  SHARD_COUNT BIGINT := current_setting('split_shard.shard_count')::BIGINT;
+  MISPLACED BIGINT;
+  EXAMPLES TEXT;
+BEGIN
+  SELECT COUNT(*), STRING_AGG(T || ' ' || ID || ' of list ' || LIST_ID, ', ') FILTER (WHERE N <= 10)
+    INTO MISPLACED, EXAMPLES
+    FROM (SELECT T, ID, LIST_ID, ROW_NUMBER() OVER (ORDER BY ID) AS N
+      FROM (SELECT 'TASK_ITEM' AS T, ID, LIST_ID FROM TASK_ITEM
+        UNION ALL SELECT 'TASK_ITEM_ARCHIVE', ID, LIST_ID FROM TASK_ITEM_ARCHIVE) I
+      WHERE LIST_ID IS NOT NULL AND MOD(ID, SHARD_COUNT) <> MOD(LIST_ID, SHARD_COUNT)) M;
+  IF MISPLACED > 0 THEN
+    RAISE EXCEPTION '% items are not on the shard of their list (e.g. %) - re-key them before splitting', MISPLACED,
+      EXAMPLES;
+  END IF;
+END
+$$;
+DELETE FROM TASK_ITEM WHERE MOD(COALESCE(LIST_ID, ID), :shard_count) <> :shard_index;
+DELETE FROM TASK_ITEM_ARCHIVE WHERE MOD(COALESCE(LIST_ID, ID), :shard_count) <> :shard_index;
+DELETE FROM TASK_LIST WHERE MOD(ID, :shard_count) <> :shard_index;
+COMMIT;
@@ -0,0 +1,158 @@
+package org.example.app.general.common.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test of {@link EncodedResponseCache} with a manual clock.
+ */
+class EncodedResponseCacheTest {
+
+  private static final int BODY_SIZE = 100;
+
+  /** {@link EncodedResponse#getSize() Size} of a response with a body of {@link #BODY_SIZE}. */
+  private static final long SIZE = EncodedResponse.OVERHEAD + BODY_SIZE;
+
+  private static final long QUIET_PERIOD = 1000;
+
+  private long now = 1;
+
+  @Test
+  void evictsLeastRecentlyUsedByBytes() {
+
+    EncodedResponseCache<String> cache = new EncodedResponseCache<>(3 * SIZE, 0, () -> this.now);
+    assertThat(load(cache, "a", BODY_SIZE)).isTrue();
+    assertThat(load(cache, "b", BODY_SIZE)).isTrue();
+    assertThat(load(cache, "c", BODY_SIZE)).isTrue();
+    assertThat(cache.getBytes()).isEqualTo(3 * SIZE);
+    assertThat(cache.getEvictions()).isZero();
+    // a is now used more recently than b
+    assertThat(cache.get("a")).isNotNull();
+    assertThat(load(cache, "d", BODY_SIZE)).isTrue();
+    assertThat(cache.size()).isEqualTo(3);
+    assertThat(cache.getBytes()).isEqualTo(3 * SIZE);
+    assertThat(cache.getEvictions()).isEqualTo(1);
+    assertThat(cache.get("b")).isNull();
+    // a response of twice the size evicts the two least recently used ones (c and a)
+    assertThat(load(cache, "e", EncodedResponse.OVERHEAD + 2 * BODY_SIZE)).isTrue();
+    assertThat(cache.getEvictions()).isEqualTo(3);
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.getBytes()).isEqualTo(SIZE + SIZE + EncodedResponse.OVERHEAD + BODY_SIZE);
+    assertThat(cache.get("c")).isNull();
+    assertThat(cache.get("a")).isNull();
+    assertThat(cache.get("d")).isNotNull();
+    assertThat(cache.get("e")).isNotNull();
+    assertThat(cache.getHits()).isEqualTo(3);
+    assertThat(cache.getMisses()).isEqualTo(3);
+  }
+
+  @Test
+  void replacesEntryOfSameKey() {
+
+    EncodedResponseCache<String> cache = new EncodedResponseCache<>(3 * SIZE, 0, () -> this.now);
+    assertThat(load(cache, "a", BODY_SIZE)).isTrue();
+    assertThat(load(cache, "a", 2 * BODY_SIZE)).isTrue();
+    assertThat(cache.size()).isEqualTo(1);
+    assertThat(cache.getBytes()).isEqualTo(SIZE + BODY_SIZE);
+    assertThat(cache.get("a").getBody()).hasSize(2 * BODY_SIZE);
+  }
+
+  @Test
+  void rejectsResponseLargerThanTheCache() {
+
+    EncodedResponseCache<String> cache = new EncodedResponseCache<>(2 * SIZE, 0, () -> this.now);
+    assertThat(load(cache, "a", BODY_SIZE)).isTrue();
+    assertThat(load(cache, "b", (int) (2 * SIZE))).isFalse();
+    assertThat(cache.get("b")).isNull();
+    assertThat(cache.get("a")).isNotNull();
+    assertThat(cache.getBytes()).isEqualTo(SIZE);
+  }
+
+  @Test
+  void rejectsPutAfterInvalidationDuringLoad() {
+
+    EncodedResponseCache<String> cache = new EncodedResponseCache<>(10 * SIZE, 0, () -> this.now);
+    assertThat(load(cache, "a", BODY_SIZE)).isTrue();
+    Object token = cache.startLoad("a");
+    cache.invalidate("a");
+    assertThat(cache.get("a")).isNull();
+    assertThat(cache.getBytes()).isZero();
+    assertThat(cache.put("a", token, response(BODY_SIZE))).isFalse();
+    assertThat(cache.get("a")).isNull();
+    // the next load is cached again
+    assertThat(load(cache, "a", BODY_SIZE)).isTrue();
+
+    token = cache.startLoad("b");
+    Object otherToken = cache.startLoad("c");
+    cache.invalidateAll();
+    assertThat(cache.put("b", token, response(BODY_SIZE))).isFalse();
+    assertThat(cache.put("c", otherToken, response(BODY_SIZE))).isFalse();
+    assertThat(cache.size()).isZero();
+    assertThat(cache.getBytes()).isZero();
+  }
+
+  @Test
+  void rejectsPutOfSupersededLoad() {
+
+    EncodedResponseCache<String> cache = new EncodedResponseCache<>(10 * SIZE, 0, () -> this.now);
+    Object first = cache.startLoad("a");
+    Object second = cache.startLoad("a");
+    assertThat(cache.put("a", first, response(BODY_SIZE))).isFalse();
+    assertThat(cache.put("a", second, response(BODY_SIZE))).isTrue();
+    // a token can only be used once
+    assertThat(cache.put("a", second, response(BODY_SIZE))).isFalse();
+    assertThat(cache.put("a", null, response(BODY_SIZE))).isFalse();
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  void startsNoLoadWithinQuietPeriodAfterInvalidation() {
+
+    EncodedResponseCache<String> cache = new EncodedResponseCache<>(10 * SIZE, QUIET_PERIOD, () -> this.now);
+    assertThat(load(cache, "a", BODY_SIZE)).isTrue();
+    cache.invalidate("a");
+    this.now += QUIET_PERIOD - 1;
+    assertThat(cache.startLoad("a")).isNull();
+    assertThat(cache.put("a", null, response(BODY_SIZE))).isFalse();
+    // other keys are not affected
+    assertThat(load(cache, "b", BODY_SIZE)).isTrue();
+    this.now++;
+    assertThat(load(cache, "a", BODY_SIZE)).isTrue();
+
+    cache.invalidateAll();
+    this.now += QUIET_PERIOD - 1;
+    assertThat(cache.startLoad("a")).isNull();
+    assertThat(cache.startLoad("c")).isNull();
+    this.now++;
+    assertThat(load(cache, "c", BODY_SIZE)).isTrue();
+    assertThat(load(cache, "a", BODY_SIZE)).isTrue();
+  }
+
+  @Test
+  void keepsQuietPeriodForManyInvalidatedKeys() {
+
+    EncodedResponseCache<Integer> cache = new EncodedResponseCache<>(10 * SIZE, QUIET_PERIOD, () -> this.now);
+    cache.invalidate(Integer.valueOf(-1));
+    this.now += QUIET_PERIOD;
+    // more invalidations than remembered before expired ones are purged
+    for (int i = 0; i < 2000; i++) {
+      cache.invalidate(Integer.valueOf(i));
+    }
+    for (int i = 0; i < 2000; i++) {
+      assertThat(cache.startLoad(Integer.valueOf(i))).as("key %d", i).isNull();
+    }
+    assertThat(cache.startLoad(Integer.valueOf(-1))).isNotNull();
+  }
+
+  private static <K> boolean load(EncodedResponseCache<K> cache, K key, int bodySize) {
+
+    return cache.put(key, cache.startLoad(key), response(bodySize));
+  }
+
+  private static EncodedResponse response(int bodySize) {
+
+    return new EncodedResponse("application/json", new byte[bodySize], null);
+  }
+
+}
@@ -0,0 +1,184 @@
+package org.example.app.general.common.cbor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HexFormat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test of {@link CborReader}.
+ */
+class CborReaderTest {
+
+  @Test
+  void readsWhatTheWriterWrote() throws IOException {
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    CborWriter writer = new CborWriter(out);
+    long[] numbers = { 0, 23, 24, 255, 256, 65535, 65536, 4294967295L, 4294967296L, Long.MAX_VALUE, -1, -24, -25,
+        -256, -257, Long.MIN_VALUE };
+    String large = "ä".repeat(10_000);
+    writer.writeArrayStart(numbers.length + 6);
+    for (long number : numbers) {
+      writer.writeLong(number);
+    }
+    writer.writeString("text");
+    writer.writeString(large);
+    writer.writeString(null);
+    writer.writeBoolean(true);
+    writer.writeBoolean(false);
+    writer.writeLong(Integer.valueOf(Integer.MIN_VALUE));
+    writer.flush();
+    CborReader reader = new CborReader(new ByteArrayInputStream(out.toByteArray()));
+    assertThat(reader.readArrayStart()).isEqualTo(numbers.length + 6);
+    for (long number : numbers) {
+      assertThat(reader.readLong()).isEqualTo(number);
+    }
+    assertThat(reader.readString()).isEqualTo("text");
+    assertThat(reader.readString()).isEqualTo(large);
+    assertThat(reader.readString()).isNull();
+    assertThat(reader.readBoolean()).isTrue();
+    assertThat(reader.readBoolean()).isFalse();
+    assertThat(reader.readNullableInteger()).isEqualTo(Integer.MIN_VALUE);
+  }
+
+  @Test
+  void readsStringsLargerThanTheBufferFromSlowStreams() throws IOException {
+
+    String text = "0123456789".repeat(3_000);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    CborWriter writer = new CborWriter(out);
+    writer.writeString(text);
+    writer.writeLong(7);
+    writer.flush();
+    CborReader reader = new CborReader(new TrickleInputStream(out.toByteArray()));
+    assertThat(reader.readString()).isEqualTo(text);
+    assertThat(reader.readLong()).isEqualTo(7);
+  }
+
+  @Test
+  void readsIndefiniteLengthMapsArraysAndStrings() throws IOException {
+
+    // {_ "a": [_ 1, 2], "b": (_ "strea" "ming")}
+    CborReader reader = reader("bf6161" + "9f0102ff" + "6162" + "7f657374726561646d696e67ff" + "ff");
+    int size = reader.readMapStart();
+    assertThat(size).isEqualTo(-1);
+    assertThat(reader.hasNext(size, 0)).isTrue();
+    assertThat(reader.readString()).isEqualTo("a");
+    int arraySize = reader.readArrayStart();
+    assertThat(arraySize).isEqualTo(-1);
+    assertThat(reader.hasNext(arraySize, 0)).isTrue();
+    assertThat(reader.readLong()).isEqualTo(1);
+    assertThat(reader.hasNext(arraySize, 1)).isTrue();
+    assertThat(reader.readLong()).isEqualTo(2);
+    assertThat(reader.hasNext(arraySize, 2)).isFalse();
+    assertThat(reader.hasNext(size, 1)).isTrue();
+    assertThat(reader.readString()).isEqualTo("b");
+    assertThat(reader.readString()).isEqualTo("streaming");
+    assertThat(reader.hasNext(size, 2)).isFalse();
+  }
+
+  @Test
+  void skipsUnknownValues() throws IOException {
+
+    // [h'0102', (_ h'01' h'02'), -500, 1.5 (half), 100000.0 (single), 1.1 (double), undefined, simple(24: 32),
+    // 0("2013-03-21T20:04:00Z"), {"x": [_ {}, []]}, {_ "y": null}, 42]
+    CborReader reader = reader("8c" + "420102" + "5f41014102ff" + "3901f3" + "f93e00" + "fa47c35000"
+        + "fb3ff199999999999a" + "f7" + "f820" + "c074323031332d30332d32315432303a30343a30305a" + "a161789fa080ff"
+        + "bf6179f6ff" + "182a");
+    assertThat(reader.readArrayStart()).isEqualTo(12);
+    for (int i = 0; i < 11; i++) {
+      reader.skip();
+    }
+    assertThat(reader.readLong()).isEqualTo(42);
+  }
+
+  @Test
+  void readsNullAndUndefinedAsNull() throws IOException {
+
+    CborReader reader = reader("f6f7f6f601");
+    assertThat(reader.readString()).isNull();
+    assertThat(reader.readNullableLong()).isNull();
+    assertThat(reader.readNullableInteger()).isNull();
+    assertThat(reader.readNull()).isTrue();
+    assertThat(reader.readNull()).isFalse();
+    assertThat(reader.readNullableLong()).isEqualTo(1);
+  }
+
+  @Test
+  void rejectsUnexpectedTypes() {
+
+    assertThatThrownBy(() -> reader("01").readString()).isInstanceOf(CborException.class)
+        .hasMessage("Expected text string but found CBOR initial byte 0x1");
+    assertThatThrownBy(() -> reader("6161").readLong()).isInstanceOf(CborException.class);
+    assertThatThrownBy(() -> reader("80").readMapStart()).isInstanceOf(CborException.class);
+    assertThatThrownBy(() -> reader("a0").readArrayStart()).isInstanceOf(CborException.class);
+    assertThatThrownBy(() -> reader("01").readBoolean()).isInstanceOf(CborException.class);
+    // reserved additional information
+    assertThatThrownBy(() -> reader("1c").readLong()).isInstanceOf(CborException.class);
+    assertThatThrownBy(() -> reader("fc").skip()).isInstanceOf(CborException.class);
+  }
+
+  @Test
+  void rejectsTruncatedInput() {
+
+    assertThatThrownBy(() -> reader("").readMapStart()).isInstanceOf(EOFException.class);
+    assertThatThrownBy(() -> reader("1a0001").readLong()).isInstanceOf(EOFException.class);
+    assertThatThrownBy(() -> reader("64616263").readString()).isInstanceOf(EOFException.class);
+    assertThatThrownBy(() -> reader("7f6161").readString()).isInstanceOf(EOFException.class);
+    assertThatThrownBy(() -> reader("9f01").skip()).isInstanceOf(EOFException.class);
+    assertThatThrownBy(() -> reader("a2616101").skip()).isInstanceOf(EOFException.class);
+    assertThatThrownBy(() -> reader("5a00010000" + "00".repeat(100)).skip()).isInstanceOf(EOFException.class);
+  }
+
+  @Test
+  void rejectsOversizedInput() {
+
+    // text string of 2 GiB and of more than Long.MAX_VALUE bytes
+    assertThatThrownBy(() -> reader("7a80000000").readString()).isInstanceOf(CborException.class)
+        .hasMessageContaining("exceeds the limit");
+    assertThatThrownBy(() -> reader("7bffffffffffffffff").readString()).isInstanceOf(CborException.class)
+        .hasMessageContaining("exceeds the limit");
+    assertThatThrownBy(() -> reader("9b0000000100000000").readArrayStart()).isInstanceOf(CborException.class)
+        .hasMessageContaining("exceeds the limit");
+    assertThatThrownBy(() -> reader("bb8000000000000000").readMapStart()).isInstanceOf(CborException.class)
+        .hasMessageContaining("exceeds the limit");
+    assertThatThrownBy(() -> reader("1bffffffffffffffff").readLong()).isInstanceOf(CborException.class)
+        .hasMessageContaining("range of long");
+    assertThatThrownBy(() -> reader("1a80000000").readNullableInteger()).isInstanceOf(CborException.class)
+        .hasMessageContaining("range of int");
+    assertThatThrownBy(() -> reader("81".repeat(100) + "00").skip()).isInstanceOf(CborException.class)
+        .hasMessageContaining("Nesting depth");
+  }
+
+  private static CborReader reader(String hex) {
+
+    return new CborReader(new ByteArrayInputStream(HexFormat.of().parseHex(hex)));
+  }
+
+  /**
+   * {@link InputStream} returning at most 1000 bytes per read like a slow network connection.
+   */
+  private static class TrickleInputStream extends ByteArrayInputStream {
+
+    TrickleInputStream(byte[] bytes) {
+
+      super(bytes);
+    }
+
+    @Override
+    public synchronized int read(byte[] b, int off, int len) {
+
+      return super.read(b, off, Math.min(len, 1000));
+    }
+
+  }
+
+}
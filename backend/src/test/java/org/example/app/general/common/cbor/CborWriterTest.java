@@ -0,0 +1,112 @@
+package org.example.app.general.common.cbor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HexFormat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test of {@link CborWriter} against the encodings of RFC 8949 (appendix A).
+ */
+class CborWriterTest {
+
+  @Test
+  void writesIntegersInPreferredSerialization() throws IOException {
+
+    assertThat(write(w -> w.writeLong(0))).isEqualTo("00");
+    assertThat(write(w -> w.writeLong(23))).isEqualTo("17");
+    assertThat(write(w -> w.writeLong(24))).isEqualTo("1818");
+    assertThat(write(w -> w.writeLong(255))).isEqualTo("18ff");
+    assertThat(write(w -> w.writeLong(256))).isEqualTo("190100");
+    assertThat(write(w -> w.writeLong(1_000_000))).isEqualTo("1a000f4240");
+    assertThat(write(w -> w.writeLong(1_000_000_000_000L))).isEqualTo("1b000000e8d4a51000");
+    assertThat(write(w -> w.writeLong(Long.MAX_VALUE))).isEqualTo("1b7fffffffffffffff");
+    assertThat(write(w -> w.writeLong(-1))).isEqualTo("20");
+    assertThat(write(w -> w.writeLong(-100))).isEqualTo("3863");
+    assertThat(write(w -> w.writeLong(-1000))).isEqualTo("3903e7");
+    assertThat(write(w -> w.writeLong(Long.MIN_VALUE))).isEqualTo("3b7fffffffffffffff");
+    assertThat(write(w -> w.writeLong(Integer.valueOf(10)))).isEqualTo("0a");
+    assertThat(write(w -> w.writeLong((Number) null))).isEqualTo("f6");
+  }
+
+  @Test
+  void writesStringsAndSimpleValues() throws IOException {
+
+    assertThat(write(w -> w.writeString(""))).isEqualTo("60");
+    assertThat(write(w -> w.writeString("IETF"))).isEqualTo("6449455446");
+    assertThat(write(w -> w.writeString("ü"))).isEqualTo("62c3bc");
+    assertThat(write(w -> w.writeString(null))).isEqualTo("f6");
+    assertThat(write(w -> w.writeBoolean(false))).isEqualTo("f4");
+    assertThat(write(w -> w.writeBoolean(true))).isEqualTo("f5");
+    assertThat(write(CborWriter::writeNull)).isEqualTo("f6");
+  }
+
+  @Test
+  void writesContainersWithDefiniteLength() throws IOException {
+
+    assertThat(write(w -> {
+      w.writeMapStart(2);
+      w.writeEncoded(CborWriter.encode("a"));
+      w.writeLong(1);
+      w.writeEncoded(CborWriter.encode("b"));
+      w.writeArrayStart(2);
+      w.writeLong(2);
+      w.writeLong(3);
+    })).isEqualTo("a26161016162820203");
+    assertThat(write(w -> w.writeArrayStart(25))).isEqualTo("9819");
+  }
+
+  @Test
+  void encodesConstantKeys() {
+
+    assertThat(HexFormat.of().formatHex(CborWriter.encode("id"))).isEqualTo("626964");
+    String key = "k".repeat(24);
+    assertThat(HexFormat.of().formatHex(CborWriter.encode(key)))
+        .isEqualTo("7818" + HexFormat.of().formatHex(key.getBytes()));
+    assertThatThrownBy(() -> CborWriter.encode("k".repeat(256))).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void writesStringsLargerThanTheBuffer() throws IOException {
+
+    String text = "x".repeat(20_000);
+    String hex = write(w -> {
+      w.writeLong(1);
+      w.writeString(text);
+      w.writeLong(2);
+    });
+    assertThat(hex).startsWith("01794e20").endsWith("7802").hasSize(2 * (1 + 3 + text.length() + 1));
+  }
+
+  @Test
+  void flushesOnlyOnRequest() throws IOException {
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    CborWriter writer = new CborWriter(out);
+    writer.writeLong(1);
+    assertThat(out.size()).isZero();
+    writer.flush();
+    assertThat(out.toByteArray()).containsExactly(1);
+  }
+
+  private static String write(CborAction action) throws IOException {
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    CborWriter writer = new CborWriter(out);
+    action.write(writer);
+    writer.flush();
+    return HexFormat.of().formatHex(out.toByteArray());
+  }
+
+  @FunctionalInterface
+  private interface CborAction {
+
+    void write(CborWriter writer) throws IOException;
+
+  }
+
+}
@@ -0,0 +1,160 @@
+package org.example.app.general.common.concurrency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test of {@link AdaptiveConcurrencyLimiter}. The windows have no minimum duration so each window ends with its
+ * {@code windowMinSamples}-th sample and the limit math is deterministic.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+  private static final int INITIAL_LIMIT = 20;
+
+  private static final long MILLIS = 1_000_000;
+
+  @Test
+  void growsByQueueAllowanceWhileLatencyIsStable() {
+
+    AdaptiveConcurrencyLimiter limiter = limiter(INITIAL_LIMIT, 200, INITIAL_LIMIT);
+    window(limiter, INITIAL_LIMIT, 1 * MILLIS, false);
+    double limit = INITIAL_LIMIT + Math.sqrt(INITIAL_LIMIT);
+    assertThat(limiter.getLimit()).isEqualTo((int) limit);
+    assertThat(limiter.getLongRttNanos()).isEqualTo(1 * MILLIS);
+    window(limiter, INITIAL_LIMIT, 1 * MILLIS, false);
+    limit = limit + Math.sqrt(limit);
+    assertThat(limiter.getLimit()).isEqualTo((int) limit);
+  }
+
+  @Test
+  void shrinksByGradientWhenLatencyRises() {
+
+    AdaptiveConcurrencyLimiter limiter = limiter(INITIAL_LIMIT, 200, INITIAL_LIMIT);
+    window(limiter, INITIAL_LIMIT, 1 * MILLIS, false);
+    double limit = INITIAL_LIMIT + Math.sqrt(INITIAL_LIMIT);
+    window(limiter, INITIAL_LIMIT, 3 * MILLIS, false);
+    // long RTT = 1ms + (3ms - 1ms) * 2 / (9 + 1), gradient = 1.5 * 1.4ms / 3ms
+    assertThat(limiter.getLongRttNanos()).isCloseTo(1_400_000L, within(1L));
+    double gradient = 1.5 * 1.4 / 3;
+    assertThat(limiter.getLimit()).isEqualTo((int) (limit * gradient + Math.sqrt(limit))).isEqualTo(22);
+  }
+
+  @Test
+  void limitsGradientToHalf() {
+
+    AdaptiveConcurrencyLimiter limiter = limiter(INITIAL_LIMIT, 200, INITIAL_LIMIT);
+    window(limiter, INITIAL_LIMIT, 1 * MILLIS, false);
+    double limit = INITIAL_LIMIT + Math.sqrt(INITIAL_LIMIT);
+    window(limiter, INITIAL_LIMIT, 100 * MILLIS, false);
+    assertThat(limiter.getLimit()).isEqualTo((int) (limit * 0.5 + Math.sqrt(limit))).isEqualTo(17);
+  }
+
+  @Test
+  void decaysLongRttAfterLatencyDropped() {
+
+    AdaptiveConcurrencyLimiter limiter = limiter(INITIAL_LIMIT, 200, INITIAL_LIMIT);
+    window(limiter, INITIAL_LIMIT, 10 * MILLIS, false);
+    window(limiter, INITIAL_LIMIT, 1 * MILLIS, false);
+    // 10ms + (1ms - 10ms) * 0.2 = 8.2ms is more than twice the short RTT and decays by 5%
+    assertThat(limiter.getLongRttNanos()).isCloseTo(7_790_000L, within(1L));
+  }
+
+  @Test
+  void backsOffOnDroppedRequests() {
+
+    // even if the windows are application limited
+    AdaptiveConcurrencyLimiter limiter = limiter(INITIAL_LIMIT, 200, 2);
+    window(limiter, 2, 1 * MILLIS, true);
+    assertThat(limiter.getLimit()).isEqualTo(18);
+    window(limiter, 2, 1 * MILLIS, true);
+    assertThat(limiter.getLimit()).isEqualTo(16);
+  }
+
+  @Test
+  void keepsLimitWithinBounds() {
+
+    AdaptiveConcurrencyLimiter limiter = limiter(INITIAL_LIMIT, 30, 1);
+    for (int i = 0; i < 50; i++) {
+      window(limiter, 1, 1 * MILLIS, true);
+    }
+    assertThat(limiter.getLimit()).isEqualTo(4);
+    limiter = limiter(INITIAL_LIMIT, 30, INITIAL_LIMIT);
+    for (int i = 0; i < 5; i++) {
+      window(limiter, INITIAL_LIMIT, 1 * MILLIS, false);
+    }
+    assertThat(limiter.getLimit()).isEqualTo(30);
+  }
+
+  @Test
+  void ignoresApplicationLimitedWindows() {
+
+    AdaptiveConcurrencyLimiter limiter = limiter(INITIAL_LIMIT, 200, 5);
+    window(limiter, 5, 1 * MILLIS, false);
+    window(limiter, 5, 50 * MILLIS, false);
+    assertThat(limiter.getLimit()).isEqualTo(INITIAL_LIMIT);
+    assertThat(limiter.getLongRttNanos()).isCloseTo(10_800_000L, within(1L));
+  }
+
+  @Test
+  void admitsPrioritiesUpToTheirShare() {
+
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(INITIAL_LIMIT, 4, 200, 1, 1.5, 0, 1, 9,
+        Map.of(RequestPriority.BULK, Double.valueOf(0.5), RequestPriority.INTERACTIVE, Double.valueOf(0.9)));
+    for (int i = 0; i < 10; i++) {
+      assertThat(limiter.tryAcquire(RequestPriority.BULK)).isTrue();
+    }
+    assertThat(limiter.tryAcquire(RequestPriority.BULK)).isFalse();
+    for (int i = 0; i < 8; i++) {
+      assertThat(limiter.tryAcquire(RequestPriority.INTERACTIVE)).isTrue();
+    }
+    assertThat(limiter.tryAcquire(RequestPriority.INTERACTIVE)).isFalse();
+    assertThat(limiter.tryAcquire(RequestPriority.WRITE)).isTrue();
+    assertThat(limiter.tryAcquire(RequestPriority.WRITE)).isTrue();
+    assertThat(limiter.tryAcquire(RequestPriority.WRITE)).isFalse();
+    assertThat(limiter.getInFlight()).isEqualTo(INITIAL_LIMIT);
+    assertThat(limiter.getAccepted()).isEqualTo(INITIAL_LIMIT);
+    assertThat(limiter.getRejected(RequestPriority.BULK)).isEqualTo(1);
+    assertThat(limiter.getRejected(RequestPriority.INTERACTIVE)).isEqualTo(1);
+    assertThat(limiter.getRejected(RequestPriority.WRITE)).isEqualTo(1);
+    limiter.release(1 * MILLIS, false);
+    assertThat(limiter.getInFlight()).isEqualTo(INITIAL_LIMIT - 1);
+    assertThat(limiter.tryAcquire(RequestPriority.WRITE)).isTrue();
+  }
+
+  @Test
+  void rejectsInvalidLimits() {
+
+    assertThatThrownBy(() -> limiter(3, 200, 1)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> limiter(INITIAL_LIMIT, 10, 1)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> limiter(INITIAL_LIMIT, 3, 1)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  /**
+   * @return a new {@link AdaptiveConcurrencyLimiter} with the default tolerance, full smoothing and a long-term
+   *         average of 9 windows (factor 0.2) whose windows end after the given number of samples.
+   */
+  private static AdaptiveConcurrencyLimiter limiter(int initialLimit, int maxLimit, int windowSamples) {
+
+    return new AdaptiveConcurrencyLimiter(initialLimit, 4, maxLimit, 1, 1.5, 0, windowSamples, 9, Map.of());
+  }
+
+  /**
+   * Runs a window of the given number of concurrent requests that all take the given RTT. The number has to match
+   * the {@code windowSamples} of the {@link #limiter(int, int, int) limiter}.
+   */
+  private static void window(AdaptiveConcurrencyLimiter limiter, int concurrency, long rttNanos, boolean dropped) {
+
+    for (int i = 0; i < concurrency; i++) {
+      assertThat(limiter.tryAcquire(RequestPriority.WRITE)).isTrue();
+    }
+    for (int i = 0; i < concurrency; i++) {
+      limiter.release(rttNanos, dropped);
+    }
+  }
+
+}
@@ -0,0 +1,128 @@
+package org.example.app.general.common.scheduling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test of {@link HierarchicalTimingWheel}.
+ */
+class HierarchicalTimingWheelTest {
+
+  @Test
+  void expiresOnLowestLevel() {
+
+    HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(2, 3, 0);
+    wheel.schedule("a", 2);
+    List<String> expired = new ArrayList<>();
+    assertThat(wheel.advanceTo(1, expired::add)).isZero();
+    assertThat(wheel.advanceTo(2, expired::add)).isEqualTo(1);
+    assertThat(expired).containsExactly("a");
+    assertThat(wheel.size()).isZero();
+    assertThat(wheel.getCurrentTick()).isEqualTo(3);
+  }
+
+  @Test
+  void cascadesFromUpperLevelsAtExactTick() {
+
+    // 4 slots per level so ticks 4..15 are on level 1 and 16..63 on level 2
+    HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(2, 3, 1);
+    long[] ticks = { 4, 5, 7, 15, 16, 17, 31, 48, 63 };
+    for (long tick : ticks) {
+      wheel.schedule(Long.valueOf(tick), tick);
+    }
+    Map<Long, Long> expiredAt = advanceTickByTick(wheel, 70);
+    for (long tick : ticks) {
+      assertThat(expiredAt.get(Long.valueOf(tick))).as("timer %d", tick).isEqualTo(tick);
+    }
+  }
+
+  @Test
+  void reparksTimersBeyondHorizon() {
+
+    // the horizon of the wheel is 63 ticks
+    HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(2, 3, 0);
+    long[] ticks = { 64, 100, 200, 1000 };
+    for (long tick : ticks) {
+      wheel.schedule(Long.valueOf(tick), tick);
+    }
+    Map<Long, Long> expiredAt = advanceTickByTick(wheel, 1100);
+    for (long tick : ticks) {
+      assertThat(expiredAt.get(Long.valueOf(tick))).as("timer %d", tick).isEqualTo(tick);
+    }
+  }
+
+  @Test
+  void expiresOverdueTimersWithNextTick() {
+
+    HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(2, 3, 10);
+    wheel.schedule("late", 3);
+    List<String> expired = new ArrayList<>();
+    wheel.advanceTo(10, expired::add);
+    assertThat(expired).containsExactly("late");
+  }
+
+  @Test
+  void reschedulesAndCancels() {
+
+    HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(2, 3, 0);
+    wheel.schedule("moved", 5);
+    wheel.schedule("moved", 40);
+    wheel.schedule("cancelled", 20);
+    assertThat(wheel.cancel("cancelled")).isTrue();
+    assertThat(wheel.cancel("cancelled")).isFalse();
+    assertThat(wheel.keys()).containsExactly("moved");
+    assertThat(wheel.getExpirationTick("moved")).isEqualTo(40);
+    Map<String, Long> expiredAt = advanceTickByTick(wheel, 50);
+    assertThat(expiredAt).containsExactly(Map.entry("moved", Long.valueOf(40)));
+  }
+
+  @Test
+  void matchesReferenceForRandomOperations() {
+
+    SplittableRandom random = new SplittableRandom(42);
+    long start = 1_000_003;
+    HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(3, 3, start);
+    Map<Integer, Long> expected = new HashMap<>();
+    Map<Integer, Long> actual = new HashMap<>();
+    for (long tick = start; tick < start + 5000; tick++) {
+      for (int i = 0; i < 3; i++) {
+        Integer key = Integer.valueOf(random.nextInt(2000));
+        if (actual.containsKey(key)) {
+          continue;
+        }
+        if (random.nextInt(10) == 0) {
+          wheel.cancel(key);
+          expected.remove(key);
+        } else {
+          // beyond the horizon of 511 ticks in some cases
+          long expiration = tick + random.nextInt(700);
+          wheel.schedule(key, expiration);
+          expected.put(key, Long.valueOf(expiration));
+        }
+      }
+      long current = tick;
+      wheel.advanceTo(tick, key -> actual.put(key, Long.valueOf(current)));
+    }
+    advanceTickByTick(wheel, start + 6000).forEach(actual::put);
+    assertThat(actual).isEqualTo(expected);
+    assertThat(wheel.size()).isZero();
+  }
+
+  private static <K> Map<K, Long> advanceTickByTick(HierarchicalTimingWheel<K> wheel, long until) {
+
+    Map<K, Long> expiredAt = new HashMap<>();
+    for (long tick = wheel.getCurrentTick(); tick <= until; tick++) {
+      long current = tick;
+      wheel.advanceTo(tick, key -> expiredAt.put(key, Long.valueOf(current)));
+    }
+    return expiredAt;
+  }
+
+}
@@ -0,0 +1,275 @@
+package org.example.app.general.common.vector;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import org.example.app.general.common.vector.HnswIndex.Hit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test of {@link HnswIndex}.
+ */
+class HnswIndexTest {
+
+  private static final int DIMENSION = 32;
+
+  private static final int M = 16;
+
+  private static final int EF_CONSTRUCTION = 200;
+
+  private static final long FINGERPRINT = 43;
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void recallAgainstBruteForce() throws IOException {
+
+    SplittableRandom random = new SplittableRandom(43);
+    int count = 3000;
+    try (HnswIndex index = open("recall.idx")) {
+      for (int i = 0; i < count; i++) {
+        index.add(i, i, randomVector(random));
+      }
+      assertThat(index.size()).isEqualTo(count);
+      int k = 10;
+      int queries = 100;
+      int found = 0;
+      for (int q = 0; q < queries; q++) {
+        float[] query = randomVector(random);
+        Set<Long> expected = bruteForce(index, query, k);
+        for (Hit hit : index.search(query, k, 100)) {
+          if (expected.contains(Long.valueOf(hit.id()))) {
+            found++;
+          }
+        }
+      }
+      double recall = (double) found / (queries * k);
+      assertThat(recall).as("recall@%d", k).isGreaterThanOrEqualTo(0.9);
+    }
+  }
+
+  @Test
+  void searchReturnsHitsOrderedBySimilarity() throws IOException {
+
+    SplittableRandom random = new SplittableRandom(1);
+    try (HnswIndex index = open("order.idx")) {
+      for (int i = 0; i < 200; i++) {
+        index.add(i, 0, randomVector(random));
+      }
+      float[] vector = index.getVector(7);
+      List<Hit> hits = index.search(vector, 5, 50);
+      assertThat(hits).hasSize(5);
+      assertThat(hits.get(0).id()).isEqualTo(7);
+      assertThat(hits.get(0).similarity()).isBetween(0.99f, 1f);
+      for (int i = 1; i < hits.size(); i++) {
+        assertThat(hits.get(i).similarity()).isLessThanOrEqualTo(hits.get(i - 1).similarity());
+      }
+    }
+  }
+
+  @Test
+  void addReplacesExistingId() throws IOException {
+
+    try (HnswIndex index = open("replace.idx")) {
+      index.add(1, 10, unitVector(0));
+      index.add(2, 20, unitVector(1));
+      index.add(1, 11, unitVector(2));
+      assertThat(index.size()).isEqualTo(2);
+      assertThat(index.getDeletedCount()).isEqualTo(1);
+      assertThat(index.getChecksum(1)).isEqualTo(11);
+      assertThat(index.getVector(1)).isEqualTo(unitVector(2));
+      List<Hit> hits = index.search(unitVector(2), 1, 10);
+      assertThat(hits).extracting(Hit::id).containsExactly(1L);
+      assertThat(index.search(unitVector(0), 2, 10)).extracting(Hit::id).containsExactlyInAnyOrder(1L, 2L);
+    }
+  }
+
+  @Test
+  void removeSkipsDeletedNodes() throws IOException {
+
+    SplittableRandom random = new SplittableRandom(2);
+    try (HnswIndex index = open("remove.idx")) {
+      for (int i = 0; i < 500; i++) {
+        index.add(i, i, randomVector(random));
+      }
+      float[] query = index.getVector(42);
+      for (int i = 0; i < 500; i += 2) {
+        assertThat(index.remove(i)).isTrue();
+      }
+      assertThat(index.remove(42)).isFalse();
+      assertThat(index.remove(1000)).isFalse();
+      assertThat(index.size()).isEqualTo(250);
+      assertThat(index.getDeletedCount()).isEqualTo(250);
+      assertThat(index.getChecksum(42)).isNull();
+      assertThat(index.getVector(42)).isNull();
+      List<Hit> hits = index.search(query, 20, 100);
+      assertThat(hits).hasSize(20);
+      assertThat(hits).allSatisfy(hit -> assertThat(hit.id() % 2).isEqualTo(1));
+    }
+  }
+
+  @Test
+  void compactDropsDeletedNodes() throws IOException {
+
+    SplittableRandom random = new SplittableRandom(3);
+    Path file = this.dir.resolve("compact.idx");
+    Path compactFile = this.dir.resolve("compact.idx.new");
+    try (HnswIndex index = HnswIndex.open(file, DIMENSION, M, EF_CONSTRUCTION, FINGERPRINT)) {
+      for (int i = 0; i < 300; i++) {
+        index.add(i, i * 7, randomVector(random));
+      }
+      for (int i = 0; i < 100; i++) {
+        index.remove(i);
+      }
+      try (HnswIndex compacted = index.compact(compactFile)) {
+        assertThat(compacted.size()).isEqualTo(200);
+        assertThat(compacted.getDeletedCount()).isZero();
+        assertThat(compacted.getChecksum(10)).isNull();
+        assertThat(compacted.getChecksum(150)).isEqualTo(150 * 7);
+        // the vector is quantized again so it may differ in the last bits
+        assertThat(compacted.getVector(150)).containsExactly(index.getVector(150), within(0.001f));
+        assertThat(sorted(compacted.getIds())).isEqualTo(sorted(index.getIds()));
+        assertThat(compacted.search(index.getVector(250), 1, 50)).extracting(Hit::id).containsExactly(250L);
+      }
+    }
+    HnswIndex.move(compactFile, file);
+    assertThat(compactFile).doesNotExist();
+    try (HnswIndex index = HnswIndex.open(file, DIMENSION, M, EF_CONSTRUCTION, FINGERPRINT)) {
+      assertThat(index.size()).isEqualTo(200);
+      assertThat(index.getDeletedCount()).isZero();
+      assertThat(index.getChecksum(10)).isNull();
+      assertThat(index.getChecksum(299)).isEqualTo(299 * 7);
+    }
+  }
+
+  @Test
+  void reopenKeepsVectors() throws IOException {
+
+    SplittableRandom random = new SplittableRandom(4);
+    float[][] vectors = new float[100][];
+    try (HnswIndex index = open("reopen.idx")) {
+      for (int i = 0; i < vectors.length; i++) {
+        index.add(i, i, randomVector(random));
+        vectors[i] = index.getVector(i);
+      }
+      index.remove(5);
+    }
+    try (HnswIndex index = open("reopen.idx")) {
+      assertThat(index.size()).isEqualTo(99);
+      assertThat(index.getDeletedCount()).isEqualTo(1);
+      assertThat(index.getChecksum(5)).isNull();
+      assertThat(index.getVector(50)).isEqualTo(vectors[50]);
+      assertThat(index.search(vectors[50], 1, 50)).extracting(Hit::id).containsExactly(50L);
+      index.add(100, 100, randomVector(random));
+      assertThat(index.size()).isEqualTo(100);
+    }
+  }
+
+  @Test
+  void reopenWithOtherFingerprintRecreatesIndex() throws IOException {
+
+    Path file = this.dir.resolve("fingerprint.idx");
+    try (HnswIndex index = HnswIndex.open(file, DIMENSION, M, EF_CONSTRUCTION, FINGERPRINT)) {
+      index.add(1, 1, unitVector(0));
+    }
+    try (HnswIndex index = HnswIndex.open(file, DIMENSION, M, EF_CONSTRUCTION, FINGERPRINT + 1)) {
+      assertThat(index.size()).isZero();
+      assertThat(index.getChecksum(1)).isNull();
+      assertThat(index.search(unitVector(0), 1, 10)).isEmpty();
+    }
+    try (HnswIndex index = HnswIndex.open(file, DIMENSION * 2, M, EF_CONSTRUCTION, FINGERPRINT + 1)) {
+      assertThat(index.size()).isZero();
+      assertThat(index.getDimension()).isEqualTo(DIMENSION * 2);
+    }
+  }
+
+  @Test
+  void rejectsWrongDimension() throws IOException {
+
+    try (HnswIndex index = open("dimension.idx")) {
+      assertThatThrownBy(() -> index.add(1, 1, new float[DIMENSION + 1]))
+          .isInstanceOf(IllegalArgumentException.class);
+      assertThatThrownBy(() -> index.search(new float[DIMENSION - 1], 1, 10))
+          .isInstanceOf(IllegalArgumentException.class);
+      assertThat(index.size()).isZero();
+    }
+    assertThatThrownBy(() -> HnswIndex.open(this.dir.resolve("invalid.idx"), DIMENSION, M, M - 1, FINGERPRINT))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThat(Files.exists(this.dir.resolve("invalid.idx"))).isFalse();
+  }
+
+  private HnswIndex open(String name) throws IOException {
+
+    return HnswIndex.open(this.dir.resolve(name), DIMENSION, M, EF_CONSTRUCTION, FINGERPRINT);
+  }
+
+  private static float[] randomVector(SplittableRandom random) {
+
+    float[] vector = new float[DIMENSION];
+    for (int i = 0; i < DIMENSION; i++) {
+      vector[i] = (float) (random.nextDouble() * 2 - 1);
+    }
+    return vector;
+  }
+
+  private static float[] unitVector(int dimension) {
+
+    float[] vector = new float[DIMENSION];
+    vector[dimension] = 1;
+    return vector;
+  }
+
+  /**
+   * @return the IDs of the {@code k} vectors most similar to the query. Compares with the quantized vectors of the
+   *         index so the recall measures the graph search rather than the quantization.
+   */
+  private static Set<Long> bruteForce(HnswIndex index, float[] query, int k) {
+
+    long[] ids = index.getIds();
+    double[] similarities = new double[ids.length];
+    Integer[] order = new Integer[ids.length];
+    for (int i = 0; i < ids.length; i++) {
+      similarities[i] = cosine(query, index.getVector(ids[i]));
+      order[i] = Integer.valueOf(i);
+    }
+    Arrays.sort(order, (a, b) -> Double.compare(similarities[b.intValue()], similarities[a.intValue()]));
+    Set<Long> result = new HashSet<>();
+    for (int i = 0; i < k; i++) {
+      result.add(Long.valueOf(ids[order[i].intValue()]));
+    }
+    return result;
+  }
+
+  private static double cosine(float[] a, float[] b) {
+
+    double dot = 0;
+    double normA = 0;
+    double normB = 0;
+    for (int i = 0; i < a.length; i++) {
+      dot += a[i] * b[i];
+      normA += a[i] * a[i];
+      normB += b[i] * b[i];
+    }
+    return dot / Math.sqrt(normA * normB);
+  }
+
+  private static long[] sorted(long[] ids) {
+
+    long[] result = ids.clone();
+    Arrays.sort(result);
+    return result;
+  }
+
+}
@@ -0,0 +1,58 @@
+package org.example.app.general.dataaccess;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.util.Map;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test that {@link DataSourceRouter} falls back to the primary database if the read replica does not pass the lag
+ * check. The replica points to a port without a database so every lag check fails like for a replica that can not
+ * keep up. A request routed to the replica would therefore fail.
+ */
+@QuarkusTest
+@TestProfile(DataSourceRouterFallbackTest.UnavailableReplicaTestProfile.class)
+class DataSourceRouterFallbackTest {
+
+  @Inject
+  AgroalDataSource primary;
+
+  @Inject
+  DataSourceRouter router;
+
+  @Test
+  void routesReadRequestToPrimary() throws InterruptedException {
+
+    ReplicaTestSupport.writeMarker(this.primary, ReplicaTestProfile.PRIMARY);
+    // give the lag monitor the chance to run a few times
+    Thread.sleep(500);
+    assertThat(this.router.isReplicaUsable()).isFalse();
+    given().when().get("/task/list/{id}", Long.valueOf(ReplicaTestProfile.MARKER_LIST_ID)).then().statusCode(200)
+        .body("title", is(ReplicaTestProfile.PRIMARY));
+  }
+
+  /**
+   * {@link QuarkusTestProfile} with an unreachable read replica.
+   */
+  public static class UnavailableReplicaTestProfile implements QuarkusTestProfile {
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+
+      return Map.of("quarkus.datasource.replica.jdbc.url", "jdbc:postgresql://localhost:1/replica", //
+          "quarkus.datasource.replica.devservices.enabled", "false", //
+          "app.datasource.replica.enabled", "true", //
+          "app.datasource.replica.check-interval", "0.1S");
+    }
+
+  }
+
+}
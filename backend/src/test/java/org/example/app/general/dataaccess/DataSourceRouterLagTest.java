@@ -0,0 +1,128 @@
+package org.example.app.general.dataaccess;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test that {@link DataSourceRouter} falls back to the primary database while a reachable read replica lags behind
+ * more than {@code app.datasource.replica.max-lag} and uses the replica again once it caught up. The replica is a
+ * separate database that is not in recovery. Therefore the connections of the replica put the schema
+ * {@value #LAG_SCHEMA} in front of {@code pg_catalog}, whose functions simulate a streaming replica with the replay lag
+ * stored in a table.
+ */
+@QuarkusTest
+@TestProfile(DataSourceRouterLagTest.LaggingReplicaTestProfile.class)
+class DataSourceRouterLagTest {
+
+  static final String LAG_SCHEMA = "REPLICA_LAG";
+
+  private static final String[] SQL_SIMULATE_REPLICA = {
+      "CREATE SCHEMA IF NOT EXISTS " + LAG_SCHEMA,
+      "CREATE TABLE IF NOT EXISTS " + LAG_SCHEMA + ".STATE (LAG_SECONDS INT NOT NULL)",
+      "CREATE OR REPLACE FUNCTION " + LAG_SCHEMA + ".pg_is_in_recovery() RETURNS BOOLEAN AS 'SELECT TRUE' LANGUAGE SQL",
+      "CREATE OR REPLACE FUNCTION " + LAG_SCHEMA + ".pg_last_wal_receive_lsn() RETURNS PG_LSN "
+          + "AS 'SELECT ''0/2''::PG_LSN' LANGUAGE SQL",
+      "CREATE OR REPLACE FUNCTION " + LAG_SCHEMA + ".pg_last_wal_replay_lsn() RETURNS PG_LSN "
+          + "AS 'SELECT CASE WHEN MAX(LAG_SECONDS) > 0 THEN ''0/1'' ELSE ''0/2'' END::PG_LSN FROM " + LAG_SCHEMA
+          + ".STATE' LANGUAGE SQL",
+      "CREATE OR REPLACE FUNCTION " + LAG_SCHEMA + ".pg_last_xact_replay_timestamp() RETURNS TIMESTAMPTZ "
+          + "AS 'SELECT now() - make_interval(secs => MAX(LAG_SECONDS)) FROM " + LAG_SCHEMA + ".STATE' LANGUAGE SQL" };
+
+  private static final long TIMEOUT_MILLIS = 10_000;
+
+  @Inject
+  AgroalDataSource primary;
+
+  @Inject
+  @DataSource(DataSourceRouter.REPLICA)
+  AgroalDataSource replica;
+
+  @Inject
+  DataSourceRouter router;
+
+  @BeforeEach
+  void simulateReplica() throws SQLException {
+
+    try (Connection connection = this.replica.getConnection(); Statement statement = connection.createStatement()) {
+      for (String sql : SQL_SIMULATE_REPLICA) {
+        statement.execute(sql);
+      }
+    }
+  }
+
+  @Test
+  void routesReadRequestToPrimaryWhileReplicaLags() throws Exception {
+
+    ReplicaTestSupport.writeMarker(this.primary, ReplicaTestProfile.PRIMARY);
+    setLagSeconds(10);
+    awaitReplicaUsable(false);
+    given().when().get("/task/list/{id}", Long.valueOf(ReplicaTestProfile.MARKER_LIST_ID)).then().statusCode(200)
+        .body("title", is(ReplicaTestProfile.PRIMARY));
+    // the replica is reachable and only excluded because of the lag
+    setLagSeconds(0);
+    awaitReplicaUsable(true);
+    setLagSeconds(10);
+    awaitReplicaUsable(false);
+  }
+
+  private void setLagSeconds(int seconds) throws SQLException {
+
+    try (Connection connection = this.replica.getConnection()) {
+      try (Statement statement = connection.createStatement()) {
+        statement.execute("DELETE FROM " + LAG_SCHEMA + ".STATE");
+      }
+      try (PreparedStatement statement = connection
+          .prepareStatement("INSERT INTO " + LAG_SCHEMA + ".STATE (LAG_SECONDS) VALUES (?)")) {
+        statement.setInt(1, seconds);
+        statement.executeUpdate();
+      }
+    }
+  }
+
+  private void awaitReplicaUsable(boolean usable) throws InterruptedException {
+
+    long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+    while (this.router.isReplicaUsable() != usable) {
+      assertThat(System.currentTimeMillis()).as("replica usable=%s within %dms", usable, TIMEOUT_MILLIS)
+          .isLessThan(deadline);
+      Thread.sleep(50);
+    }
+  }
+
+  /**
+   * {@link QuarkusTestProfile} with a separate database as read replica whose connections resolve the functions of the
+   * lag check to the simulation in {@value DataSourceRouterLagTest#LAG_SCHEMA}.
+   */
+  public static class LaggingReplicaTestProfile implements QuarkusTestProfile {
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+
+      // an empty URL removes the default stand-in so dev services start a second database
+      return Map.of("quarkus.datasource.replica.jdbc.url", "", //
+          "quarkus.datasource.replica.jdbc.new-connection-sql",
+          "SET search_path TO " + LAG_SCHEMA + ", pg_catalog, public", //
+          "app.datasource.replica.enabled", "true", //
+          "app.datasource.replica.max-lag", "1S", //
+          "app.datasource.replica.check-interval", "0.1S");
+    }
+
+  }
+
+}
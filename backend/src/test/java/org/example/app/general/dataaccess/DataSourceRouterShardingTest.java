@@ -0,0 +1,142 @@
+package org.example.app.general.dataaccess;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import org.example.app.task.service.TaskService;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test of sharding with two database instances of {@link ShardTestProfile}: placement and co-location by ID, routing of
+ * single-entity requests to their shard and queries across all shards including the merge of sorted pages.
+ */
+@QuarkusTest
+@TestProfile(ShardTestProfile.class)
+class DataSourceRouterShardingTest {
+
+  private static final String SQL_COUNT_LIST = "SELECT COUNT(*) FROM TASK_LIST WHERE ID = ?";
+
+  private static final String SQL_COUNT_ITEM = "SELECT COUNT(*) FROM TASK_ITEM WHERE ID = ? AND LIST_ID = ?";
+
+  /** Titles that sort differently by code point than with a linguistic collation of the database. */
+  private static final List<String> TITLES = List.of("Zebra", "apple", "Äpfel", "Apple", "banana", "Banana", "zoo",
+      "ästhetik");
+
+  private static final String PREFIX = "shard-merge ";
+
+  @Inject
+  AgroalDataSource shard0;
+
+  @Inject
+  @DataSource(ShardTestProfile.SHARD1)
+  AgroalDataSource shard1;
+
+  @Inject
+  DataSourceRouter router;
+
+  @Test
+  void placesListsRoundRobinAndColocatesItems() {
+
+    assertThat(this.router.getShardCount()).isEqualTo(2);
+    long[] listIds = createListOnEachShard("Sharding");
+    for (int shard = 0; shard < 2; shard++) {
+      long listId = listIds[shard];
+      long itemId = createItem(listId, "Item of shard " + shard);
+      assertThat(this.router.getShard(Long.valueOf(itemId))).as("shard of item %d", itemId).isEqualTo(shard);
+      assertThat(count(dataSource(shard), SQL_COUNT_LIST, listId)).isEqualTo(1);
+      assertThat(count(dataSource(1 - shard), SQL_COUNT_LIST, listId)).isZero();
+      assertThat(count(dataSource(shard), SQL_COUNT_ITEM, itemId, listId)).isEqualTo(1);
+      given().when().get("/task/list/{id}", Long.valueOf(listId)).then().statusCode(200).body("title",
+          is("Sharding"));
+      given().when().get("/task/item/{id}", Long.valueOf(itemId)).then().statusCode(200).body("title",
+          is("Item of shard " + shard));
+    }
+    List<Long> allIds = given().when().get("/task/lists").then().statusCode(200).extract().jsonPath().getList("id",
+        Long.class);
+    assertThat(allIds).contains(Long.valueOf(listIds[0]), Long.valueOf(listIds[1]));
+  }
+
+  @Test
+  void mergesSortedPagesOfAllShards() {
+
+    long[] listIds = createListOnEachShard("Merge");
+    List<String> expected = new ArrayList<>();
+    for (int i = 0; i < TITLES.size(); i++) {
+      String title = PREFIX + TITLES.get(i);
+      createItem(listIds[i % 2], title);
+      expected.add(title);
+    }
+    // binary order by code point as UTF-8 strings (no surrogates here so String order matches)
+    expected.sort(Comparator.naturalOrder());
+    int pageSize = 3;
+    List<String> titles = new ArrayList<>();
+    for (int page = 0; (page * pageSize) < expected.size(); page++) {
+      Response response = given().contentType(ContentType.JSON.withCharset(StandardCharsets.UTF_8))
+          .body("{\"title\":\"" + PREFIX + "%\",\"pageNumber\":" + page + ",\"pageSize\":" + pageSize
+              + ",\"determineTotal\":true,\"sort\":[{\"name\":\"title\",\"direction\":\"ASC\"}]}")
+          .when().post("/task/item/search");
+      response.then().statusCode(200).header(TaskService.HEADER_TOTAL_COUNT, Integer.toString(expected.size()));
+      titles.addAll(response.jsonPath().getList("title", String.class));
+    }
+    assertThat(titles).containsExactlyElementsOf(expected);
+  }
+
+  private long[] createListOnEachShard(String title) {
+
+    long[] listIds = { -1, -1 };
+    // lists are placed round robin so at most a few attempts are needed
+    for (int i = 0; (i < 10) && ((listIds[0] < 0) || (listIds[1] < 0)); i++) {
+      long listId = Long.parseLong(given().contentType(ContentType.JSON).body("{\"title\":\"" + title + "\"}").when()
+          .post("/task/list").then().statusCode(201).extract().asString());
+      listIds[this.router.getShard(Long.valueOf(listId))] = listId;
+    }
+    assertThat(listIds).doesNotContain(-1);
+    return listIds;
+  }
+
+  private static long createItem(long listId, String title) {
+
+    return Long.parseLong(given().contentType(ContentType.JSON)
+        .body("{\"title\":\"" + title + "\",\"taskListId\":" + listId + "}").when().post("/task/item").then()
+        .statusCode(201).extract().asString());
+  }
+
+  private AgroalDataSource dataSource(int shard) {
+
+    return (shard == 0) ? this.shard0 : this.shard1;
+  }
+
+  private static long count(AgroalDataSource dataSource, String sql, long... ids) {
+
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement statement = connection.prepareStatement(sql)) {
+      for (int i = 0; i < ids.length; i++) {
+        statement.setLong(i + 1, ids[i]);
+      }
+      try (ResultSet resultSet = statement.executeQuery()) {
+        resultSet.next();
+        return resultSet.getLong(1);
+      }
+    } catch (SQLException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+}
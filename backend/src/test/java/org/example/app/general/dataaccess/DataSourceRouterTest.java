@@ -0,0 +1,87 @@
+package org.example.app.general.dataaccess;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.example.app.general.service.ReadYourWritesFilter;
+import org.example.app.task.logic.UcFindTaskList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test of the routing of {@link DataSourceRouter} and {@link ReadOnlyInterceptor} between the primary database and the
+ * read replica of {@link ReplicaTestProfile}. Each test method runs in its own request context so the session opened by
+ * the first database access is not shared across tests.
+ */
+@QuarkusTest
+@TestProfile(ReplicaTestProfile.class)
+class DataSourceRouterTest {
+
+  private static final long ID = ReplicaTestProfile.MARKER_LIST_ID;
+
+  @Inject
+  AgroalDataSource primary;
+
+  @Inject
+  @DataSource(DataSourceRouter.REPLICA)
+  AgroalDataSource replica;
+
+  @Inject
+  DataSourceRouter router;
+
+  @Inject
+  ReadYourWritesContext readYourWrites;
+
+  @Inject
+  UcFindTaskList ucFindTaskList;
+
+  @BeforeEach
+  void setUp() {
+
+    ReplicaTestSupport.writeMarkers(this.primary, this.replica);
+    ReplicaTestSupport.awaitReplicaUsable(this.router);
+  }
+
+  @Test
+  void routesReadOnlyUseCaseToReplica() {
+
+    assertThat(this.ucFindTaskList.findById(Long.valueOf(ID)).getTitle()).isEqualTo(DataSourceRouter.REPLICA);
+  }
+
+  @Test
+  void routesReadOnlyUseCaseToPrimaryIfPrimaryRequired() {
+
+    this.readYourWrites.setPrimaryRequired(true);
+    assertThat(this.ucFindTaskList.findById(Long.valueOf(ID)).getTitle()).isEqualTo(ReplicaTestProfile.PRIMARY);
+  }
+
+  @Test
+  void routesReadOnlyUseCaseInExistingTransactionToPrimary() {
+
+    String title = QuarkusTransaction.requiringNew()
+        .call(() -> this.ucFindTaskList.findById(Long.valueOf(ID)).getTitle());
+    assertThat(title).isEqualTo(ReplicaTestProfile.PRIMARY);
+  }
+
+  @Test
+  void routesReadRequestToReplica() {
+
+    given().when().get("/task/list/{id}", Long.valueOf(ID)).then().statusCode(200)
+        .body("title", is(DataSourceRouter.REPLICA));
+  }
+
+  @Test
+  void pinsReadRequestWithReadYourWritesCookieToPrimary() {
+
+    given().cookie(ReadYourWritesFilter.COOKIE, "1").when().get("/task/list/{id}", Long.valueOf(ID)).then()
+        .statusCode(200).body("title", is(ReplicaTestProfile.PRIMARY));
+  }
+
+}
@@ -0,0 +1,33 @@
+package org.example.app.general.dataaccess;
+
+import java.util.Map;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+
+/**
+ * {@link QuarkusTestProfile} with a separate database as stand-in for the read replica. The datasource
+ * {@value DataSourceRouter#REPLICA} gets its own dev services PostgreSQL instead of pointing at the primary and is
+ * migrated by Flyway so both databases have the same schema. As nothing is replicated, data written to only one of them
+ * shows which database served a request.
+ */
+public class ReplicaTestProfile implements QuarkusTestProfile {
+
+  /** ID of the {@code TASK_LIST} whose title tells the database that served the request. */
+  public static final long MARKER_LIST_ID = 900_000_001L;
+
+  /** {@code TITLE} of the {@link #MARKER_LIST_ID marker list} in the primary database. */
+  public static final String PRIMARY = "primary";
+
+  @Override
+  public Map<String, String> getConfigOverrides() {
+
+    // an empty URL removes the default stand-in so dev services start a second database
+    return Map.of("quarkus.datasource.replica.jdbc.url", "", //
+        "quarkus.flyway.replica.migrate-at-start", "true", //
+        "quarkus.flyway.replica.placeholders.shardIndex", "0", //
+        "quarkus.flyway.replica.placeholders.shardCount", "1", //
+        "app.datasource.replica.enabled", "true", //
+        "app.datasource.replica.check-interval", "0.1S");
+  }
+
+}
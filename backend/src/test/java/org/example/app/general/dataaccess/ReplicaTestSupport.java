@@ -0,0 +1,73 @@
+package org.example.app.general.dataaccess;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+/**
+ * Helper for tests with {@link ReplicaTestProfile}.
+ */
+public final class ReplicaTestSupport {
+
+  private static final String SQL_MARKER = "INSERT INTO TASK_LIST (ID, VERSION, TITLE) VALUES (?, 0, ?) "
+      + "ON CONFLICT (ID) DO UPDATE SET TITLE = EXCLUDED.TITLE";
+
+  private static final long TIMEOUT_MILLIS = 10_000;
+
+  private ReplicaTestSupport() {
+
+    super();
+  }
+
+  /**
+   * Writes the {@link ReplicaTestProfile#MARKER_LIST_ID marker list} with a different title into each database.
+   *
+   * @param primary the {@link DataSource} of the primary database.
+   * @param replica the {@link DataSource} of the read replica.
+   */
+  public static void writeMarkers(DataSource primary, DataSource replica) {
+
+    writeMarker(primary, ReplicaTestProfile.PRIMARY);
+    writeMarker(replica, DataSourceRouter.REPLICA);
+  }
+
+  /**
+   * @param dataSource the {@link DataSource} of the database to write to.
+   * @param title the title of the {@link ReplicaTestProfile#MARKER_LIST_ID marker list}.
+   */
+  public static void writeMarker(DataSource dataSource, String title) {
+
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement statement = connection.prepareStatement(SQL_MARKER)) {
+      statement.setLong(1, ReplicaTestProfile.MARKER_LIST_ID);
+      statement.setString(2, title);
+      statement.executeUpdate();
+    } catch (SQLException e) {
+      throw new IllegalStateException("Failed to write marker " + title, e);
+    }
+  }
+
+  /**
+   * Waits until the {@link DataSourceRouter} has measured that the read replica is in sync.
+   *
+   * @param router the {@link DataSourceRouter}.
+   */
+  public static void awaitReplicaUsable(DataSourceRouter router) {
+
+    long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+    while (!router.isReplicaUsable()) {
+      if (System.currentTimeMillis() > deadline) {
+        throw new IllegalStateException("Read replica did not become usable.");
+      }
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,29 @@
+package org.example.app.general.dataaccess;
+
+import java.util.Map;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+
+/**
+ * {@link QuarkusTestProfile} with two shards (see {@link DataSourceRouter}). The default datasource is shard
+ * {@code 0} and the datasource {@value #SHARD1} gets its own dev services PostgreSQL migrated as shard {@code 1}. The
+ * read replica is disabled so every access goes to the primary database of its shard.
+ */
+public class ShardTestProfile implements QuarkusTestProfile {
+
+  /** Name of the datasource of the second shard. */
+  public static final String SHARD1 = "shard1";
+
+  @Override
+  public Map<String, String> getConfigOverrides() {
+
+    return Map.of("app.datasource.shards", "<default>," + SHARD1, //
+        "quarkus.flyway.placeholders.shardCount", "2", //
+        "quarkus.datasource." + SHARD1 + ".db-kind", "postgresql", //
+        "quarkus.flyway." + SHARD1 + ".migrate-at-start", "true", //
+        "quarkus.flyway." + SHARD1 + ".placeholders.shardIndex", "1", //
+        "quarkus.flyway." + SHARD1 + ".placeholders.shardCount", "2", //
+        "app.datasource.replica.enabled", "false");
+  }
+
+}
@@ -0,0 +1,46 @@
+package org.example.app.general.service;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.nullValue;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test of {@link ReadYourWritesFilter}. The pinning of requests with the cookie to the primary database is tested by
+ * {@link org.example.app.general.dataaccess.DataSourceRouterTest}.
+ */
+@QuarkusTest
+class ReadYourWritesFilterTest {
+
+  @Test
+  void setsCookieAfterSuccessfulWrite() {
+
+    given().contentType(ContentType.JSON).body("{\"title\":\"Read your writes\"}").when().post("/task/list").then()
+        .statusCode(201).cookie(ReadYourWritesFilter.COOKIE, "1")
+        .header("Set-Cookie", containsString("Max-Age=5"));
+  }
+
+  @Test
+  void setsNoCookieAfterFailedWrite() {
+
+    given().contentType(ContentType.JSON).body("{\"title\":\"\"}").when().post("/task/list").then().statusCode(400)
+        .cookie(ReadYourWritesFilter.COOKIE, nullValue());
+  }
+
+  @Test
+  void setsNoCookieAfterRead() {
+
+    given().when().get("/task/lists").then().statusCode(200).cookie(ReadYourWritesFilter.COOKIE, nullValue());
+  }
+
+  @Test
+  void setsNoCookieAfterSearch() {
+
+    given().contentType(ContentType.JSON).body("{}").when().post("/task/item/search").then().statusCode(200)
+        .cookie(ReadYourWritesFilter.COOKIE, nullValue());
+  }
+
+}
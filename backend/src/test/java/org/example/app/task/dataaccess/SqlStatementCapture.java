@@ -0,0 +1,46 @@
+package org.example.app.task.dataaccess;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * {@link StatementInspector} recording the SQL that Hibernate sends to the database on the current thread while
+ * {@link #capture(Runnable) capturing}. Other statements pass unchanged.
+ */
+@ApplicationScoped
+@PersistenceUnitExtension
+public class SqlStatementCapture implements StatementInspector {
+
+  private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+  @Override
+  public String inspect(String sql) {
+
+    List<String> statements = STATEMENTS.get();
+    if (statements != null) {
+      statements.add(sql);
+    }
+    return sql;
+  }
+
+  /**
+   * @param action the {@link Runnable} calling the repository on the current thread.
+   * @return the {@link List} of the SQL statements prepared by Hibernate while running the given action.
+   */
+  public List<String> capture(Runnable action) {
+
+    List<String> statements = new ArrayList<>();
+    STATEMENTS.set(statements);
+    try {
+      action.run();
+    } finally {
+      STATEMENTS.remove();
+    }
+    return statements;
+  }
+
+}
@@ -0,0 +1,676 @@
+package org.example.app.task.dataaccess;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Generator for synthetic {@code TASK_LIST} and {@code TASK_ITEM} data at production scale. Rows are streamed into the
+ * database via PostgreSQL {@code COPY ... FROM STDIN} so millions of rows can be loaded in seconds with constant memory.
+ * The generated data is fully determined by the {@link #setSeed(long) seed} and the other properties so performance
+ * tests can be compared across runs. Usage:
+ *
+ * <pre>
+ * TaskDataGenerator generator = new TaskDataGenerator();
+ * generator.setSeed(42);
+ * generator.setListCount(100_000);
+ * generator.setItemsPerList(ItemCountDistribution.exponential(20, 500));
+ * generator.generate(dataSource);
+ * </pre>
+ *
+ * With multiple shards (see {@link org.example.app.general.dataaccess.DataSourceRouter}) generate the data of each shard
+ * with its {@link #setShardIndex(int) shard index} and {@link #setShardCount(int) shard count} into its datasource.
+ */
+public class TaskDataGenerator {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TaskDataGenerator.class);
+
+  /** Default {@link #getFirstId() first ID} - above the test-data and initial value of {@code HIBERNATE_SEQUENCE}. */
+  public static final long DEFAULT_FIRST_ID = 100_000_000L;
+
+  /** Default {@link #getDeadlineBase() deadline base} - fixed to keep the data deterministic. */
+  public static final LocalDateTime DEFAULT_DEADLINE_BASE = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+  /** Default {@link #getVocabulary() vocabulary}. */
+  public static final List<String> DEFAULT_VOCABULARY = List.of("Buy", "Milk", "Butter", "Bread", "Honey", "Call",
+      "Mom", "Dentist", "Fix", "Bike", "Paint", "Fence", "Book", "Flight", "Hotel", "Renew", "Passport", "Clean",
+      "Garage", "Water", "Plants", "Pay", "Rent", "Tax", "Return", "Jigsaw", "Glue", "Pack", "Sunscreen", "Swimsuit",
+      "Order", "Present", "Email", "Boss", "Review", "Report", "Walk", "Dog", "Cook", "Dinner", "Grocery", "Shopping",
+      "Repair", "Sink", "Plan", "Trip", "Visit", "Grandma", "Update", "Resume");
+
+  private static final int MAX_TITLE_LENGTH = 64;
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+  private static final String COPY_LIST = "COPY TASK_LIST (ID, VERSION, TITLE) FROM STDIN";
+
+  private static final String COPY_ITEM = "COPY TASK_ITEM (ID, VERSION, LIST_ID, TITLE, COMPLETED, STARRED, DEADLINE) FROM STDIN";
+
+  private static final String INSERT_SUMMARY = "INSERT INTO TASK_LIST_SUMMARY (LIST_ID, TOTAL_ITEMS, OPEN_ITEMS, "
+      + "COMPLETED_ITEMS, STARRED_ITEMS) SELECT L.ID, COUNT(I.ID), COUNT(*) FILTER (WHERE I.COMPLETED = FALSE), "
+      + "COUNT(*) FILTER (WHERE I.COMPLETED = TRUE), COUNT(*) FILTER (WHERE I.STARRED = TRUE) FROM TASK_LIST L "
+      + "LEFT JOIN TASK_ITEM I ON I.LIST_ID = L.ID WHERE L.ID BETWEEN ? AND ? GROUP BY L.ID";
+
+  private long seed;
+
+  private long firstId;
+
+  private int shardIndex;
+
+  private int shardCount;
+
+  private int listCount;
+
+  private ItemCountDistribution itemsPerList;
+
+  private double completedRatio;
+
+  private double starredRatio;
+
+  private double deadlineRatio;
+
+  private LocalDateTime deadlineBase;
+
+  private int deadlinePastDays;
+
+  private int deadlineFutureDays;
+
+  private List<String> vocabulary;
+
+  private int maxTitleWords;
+
+  private boolean updateSequence;
+
+  private long generatedLists;
+
+  private long generatedItems;
+
+  /**
+   * The constructor.
+   */
+  public TaskDataGenerator() {
+
+    super();
+    this.firstId = DEFAULT_FIRST_ID;
+    this.shardCount = 1;
+    this.listCount = 1000;
+    this.itemsPerList = ItemCountDistribution.uniform(0, 20);
+    this.completedRatio = 0.5;
+    this.starredRatio = 0.2;
+    this.deadlineRatio = 0.3;
+    this.deadlineBase = DEFAULT_DEADLINE_BASE;
+    this.deadlinePastDays = 30;
+    this.deadlineFutureDays = 90;
+    this.vocabulary = DEFAULT_VOCABULARY;
+    this.maxTitleWords = 3;
+    this.updateSequence = true;
+  }
+
+  /**
+   * @return the seed of the pseudo random generator. The same seed and properties always produce the same data.
+   */
+  public long getSeed() {
+
+    return this.seed;
+  }
+
+  /**
+   * @param seed new value of {@link #getSeed()}.
+   */
+  public void setSeed(long seed) {
+
+    this.seed = seed;
+  }
+
+  /**
+   * @return the lower bound of the generated IDs. Lists and items share an ID range starting here so they never collide
+   *         with each other or with IDs from {@code HIBERNATE_SEQUENCE} generated before. Only IDs of the
+   *         {@link #getShardIndex() shard} are used so with a single shard the range is contiguous.
+   */
+  public long getFirstId() {
+
+    return this.firstId;
+  }
+
+  /**
+   * @param firstId new value of {@link #getFirstId()}.
+   */
+  public void setFirstId(long firstId) {
+
+    this.firstId = firstId;
+  }
+
+  /**
+   * @return the index of the shard to generate the data for. All generated IDs satisfy
+   *         {@code ID % shardCount == shardIndex} like the IDs from the {@code HIBERNATE_SEQUENCE} of the shard.
+   */
+  public int getShardIndex() {
+
+    return this.shardIndex;
+  }
+
+  /**
+   * @param shardIndex new value of {@link #getShardIndex()}.
+   */
+  public void setShardIndex(int shardIndex) {
+
+    this.shardIndex = shardIndex;
+  }
+
+  /**
+   * @return the total number of shards. Defaults to {@code 1}.
+   */
+  public int getShardCount() {
+
+    return this.shardCount;
+  }
+
+  /**
+   * @param shardCount new value of {@link #getShardCount()}.
+   */
+  public void setShardCount(int shardCount) {
+
+    if (shardCount < 1) {
+      throw new IllegalArgumentException("At least one shard is required but got " + shardCount);
+    }
+    this.shardCount = shardCount;
+  }
+
+  /**
+   * @return the number of {@code TASK_LIST} rows to generate.
+   */
+  public int getListCount() {
+
+    return this.listCount;
+  }
+
+  /**
+   * @param listCount new value of {@link #getListCount()}.
+   */
+  public void setListCount(int listCount) {
+
+    this.listCount = listCount;
+  }
+
+  /**
+   * @return the {@link ItemCountDistribution} for the number of {@code TASK_ITEM} rows per {@code TASK_LIST}.
+   */
+  public ItemCountDistribution getItemsPerList() {
+
+    return this.itemsPerList;
+  }
+
+  /**
+   * @param itemsPerList new value of {@link #getItemsPerList()}.
+   */
+  public void setItemsPerList(ItemCountDistribution itemsPerList) {
+
+    this.itemsPerList = Objects.requireNonNull(itemsPerList, "itemsPerList");
+  }
+
+  /**
+   * @return the probability in the range from {@code 0} to {@code 1} that a generated item is completed.
+   */
+  public double getCompletedRatio() {
+
+    return this.completedRatio;
+  }
+
+  /**
+   * @param completedRatio new value of {@link #getCompletedRatio()}.
+   */
+  public void setCompletedRatio(double completedRatio) {
+
+    this.completedRatio = requireRatio(completedRatio, "completedRatio");
+  }
+
+  /**
+   * @return the probability in the range from {@code 0} to {@code 1} that a generated item is starred.
+   */
+  public double getStarredRatio() {
+
+    return this.starredRatio;
+  }
+
+  /**
+   * @param starredRatio new value of {@link #getStarredRatio()}.
+   */
+  public void setStarredRatio(double starredRatio) {
+
+    this.starredRatio = requireRatio(starredRatio, "starredRatio");
+  }
+
+  /**
+   * @return the probability in the range from {@code 0} to {@code 1} that a generated item has a deadline.
+   */
+  public double getDeadlineRatio() {
+
+    return this.deadlineRatio;
+  }
+
+  /**
+   * @param deadlineRatio new value of {@link #getDeadlineRatio()}.
+   */
+  public void setDeadlineRatio(double deadlineRatio) {
+
+    this.deadlineRatio = requireRatio(deadlineRatio, "deadlineRatio");
+  }
+
+  /**
+   * @return the point in time deadlines are spread around. Fixed by default instead of "now" to stay deterministic.
+   */
+  public LocalDateTime getDeadlineBase() {
+
+    return this.deadlineBase;
+  }
+
+  /**
+   * @param deadlineBase new value of {@link #getDeadlineBase()}.
+   */
+  public void setDeadlineBase(LocalDateTime deadlineBase) {
+
+    this.deadlineBase = Objects.requireNonNull(deadlineBase, "deadlineBase");
+  }
+
+  /**
+   * @return the maximum number of days a deadline may lie before the {@link #getDeadlineBase() deadline base} (overdue
+   *         items).
+   */
+  public int getDeadlinePastDays() {
+
+    return this.deadlinePastDays;
+  }
+
+  /**
+   * @param deadlinePastDays new value of {@link #getDeadlinePastDays()}.
+   */
+  public void setDeadlinePastDays(int deadlinePastDays) {
+
+    this.deadlinePastDays = deadlinePastDays;
+  }
+
+  /**
+   * @return the maximum number of days a deadline may lie after the {@link #getDeadlineBase() deadline base}.
+   */
+  public int getDeadlineFutureDays() {
+
+    return this.deadlineFutureDays;
+  }
+
+  /**
+   * @param deadlineFutureDays new value of {@link #getDeadlineFutureDays()}.
+   */
+  public void setDeadlineFutureDays(int deadlineFutureDays) {
+
+    this.deadlineFutureDays = deadlineFutureDays;
+  }
+
+  /**
+   * @return the {@link List} of words titles are composed from.
+   */
+  public List<String> getVocabulary() {
+
+    return this.vocabulary;
+  }
+
+  /**
+   * @param vocabulary new value of {@link #getVocabulary()}.
+   */
+  public void setVocabulary(List<String> vocabulary) {
+
+    if ((vocabulary == null) || vocabulary.isEmpty()) {
+      throw new IllegalArgumentException("Vocabulary must not be empty!");
+    }
+    this.vocabulary = List.copyOf(vocabulary);
+  }
+
+  /**
+   * @return the maximum number of {@link #getVocabulary() words} per title.
+   */
+  public int getMaxTitleWords() {
+
+    return this.maxTitleWords;
+  }
+
+  /**
+   * @param maxTitleWords new value of {@link #getMaxTitleWords()}.
+   */
+  public void setMaxTitleWords(int maxTitleWords) {
+
+    if (maxTitleWords < 1) {
+      throw new IllegalArgumentException("Titles need at least one word but got " + maxTitleWords);
+    }
+    this.maxTitleWords = maxTitleWords;
+  }
+
+  /**
+   * @return {@code true} to move {@code HIBERNATE_SEQUENCE} behind the generated IDs so the application does not
+   *         generate colliding primary keys afterwards, {@code false} otherwise.
+   */
+  public boolean isUpdateSequence() {
+
+    return this.updateSequence;
+  }
+
+  /**
+   * @param updateSequence new value of {@link #isUpdateSequence()}.
+   */
+  public void setUpdateSequence(boolean updateSequence) {
+
+    this.updateSequence = updateSequence;
+  }
+
+  /**
+   * @return the number of {@code TASK_LIST} rows generated by the last {@link #generate(Connection) generation}.
+   */
+  public long getGeneratedLists() {
+
+    return this.generatedLists;
+  }
+
+  /**
+   * @return the number of {@code TASK_ITEM} rows generated by the last {@link #generate(Connection) generation}.
+   */
+  public long getGeneratedItems() {
+
+    return this.generatedItems;
+  }
+
+  /**
+   * @param dataSource the {@link DataSource} of the PostgreSQL database to fill.
+   * @see #generate(Connection)
+   */
+  public void generate(DataSource dataSource) {
+
+    try (Connection connection = dataSource.getConnection()) {
+      boolean autoCommit = connection.getAutoCommit();
+      connection.setAutoCommit(false);
+      try {
+        generate(connection);
+        connection.commit();
+      } catch (RuntimeException | SQLException e) {
+        connection.rollback();
+        throw e;
+      } finally {
+        connection.setAutoCommit(autoCommit);
+      }
+    } catch (SQLException e) {
+      throw new IllegalStateException("Failed to generate task data.", e);
+    }
+  }
+
+  /**
+   * Generates the configured data within the current transaction of the given {@link Connection} including the
+   * {@code TASK_LIST_SUMMARY} rows of the generated lists. The caller is responsible to commit.
+   *
+   * @param connection the {@link Connection} to the PostgreSQL database to fill.
+   * @throws SQLException on database error.
+   */
+  public void generate(Connection connection) throws SQLException {
+
+    if ((this.shardIndex < 0) || (this.shardIndex >= this.shardCount)) {
+      throw new IllegalArgumentException(
+          "Shard index " + this.shardIndex + " is not in the range from 0 to " + (this.shardCount - 1));
+    }
+    long start = System.nanoTime();
+    CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+    // the same seed must produce the same rows for the same configuration - therefore the lists are generated twice
+    // (once for TASK_LIST and once to derive the TASK_ITEM rows) from separate but deterministic random streams
+    long step = this.shardCount;
+    long firstListId = this.firstId + Math.floorMod(this.shardIndex - this.firstId, step);
+    long lastListId = firstListId + (this.listCount - 1) * step;
+    try (RowWriter writer = new RowWriter(copyManager.copyIn(COPY_LIST))) {
+      SplittableRandom random = new SplittableRandom(this.seed);
+      for (long listId = firstListId; listId <= lastListId; listId += step) {
+        writer.add(listId).add(0).add(newTitle(random)).endRow();
+      }
+      this.generatedLists = writer.finish();
+    }
+    long lastId = lastListId;
+    try (RowWriter writer = new RowWriter(copyManager.copyIn(COPY_ITEM))) {
+      SplittableRandom random = new SplittableRandom(this.seed ^ 0x5DEECE66DL);
+      for (long listId = firstListId; listId <= lastListId; listId += step) {
+        int count = this.itemsPerList.next(random);
+        for (int i = 0; i < count; i++) {
+          lastId += step;
+          writer.add(lastId).add(0).add(listId).add(newTitle(random));
+          writer.add(random.nextDouble() < this.completedRatio);
+          writer.add(random.nextDouble() < this.starredRatio);
+          writer.add(newDeadline(random)).endRow();
+        }
+      }
+      this.generatedItems = writer.finish();
+    }
+    // the counters are maintained incrementally by the application and must match the generated items
+    try (PreparedStatement statement = connection.prepareStatement(INSERT_SUMMARY)) {
+      statement.setLong(1, firstListId);
+      statement.setLong(2, lastListId);
+      statement.executeUpdate();
+    }
+    if (this.updateSequence) {
+      try (Statement statement = connection.createStatement()) {
+        // the next value is the last ID plus the increment of the sequence that is the shard count when sharded
+        statement.execute("SELECT setval('HIBERNATE_SEQUENCE', GREATEST(" + lastId
+            + ", (SELECT last_value FROM HIBERNATE_SEQUENCE)))");
+      }
+    }
+    LOG.info("Generated {} task lists and {} task items with seed {} in {}ms", this.generatedLists,
+        this.generatedItems, this.seed, (System.nanoTime() - start) / 1_000_000);
+  }
+
+  private String newTitle(SplittableRandom random) {
+
+    int words = 1 + random.nextInt(this.maxTitleWords);
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < words; i++) {
+      String word = this.vocabulary.get(random.nextInt(this.vocabulary.size()));
+      if ((sb.length() + word.length() + 1) > MAX_TITLE_LENGTH) {
+        break;
+      }
+      if (i > 0) {
+        sb.append(' ');
+      }
+      sb.append(word);
+    }
+    return sb.toString();
+  }
+
+  private LocalDateTime newDeadline(SplittableRandom random) {
+
+    if (random.nextDouble() >= this.deadlineRatio) {
+      return null;
+    }
+    long minutes = (this.deadlinePastDays + this.deadlineFutureDays) * 24L * 60L;
+    long offset = (minutes > 0) ? random.nextLong(minutes) : 0;
+    return this.deadlineBase.minusDays(this.deadlinePastDays).plusMinutes(offset);
+  }
+
+  private static double requireRatio(double ratio, String name) {
+
+    if ((ratio < 0) || (ratio > 1)) {
+      throw new IllegalArgumentException(name + " must be in the range from 0 to 1 but got " + ratio);
+    }
+    return ratio;
+  }
+
+  /**
+   * Distribution of the number of {@code TASK_ITEM} rows per {@code TASK_LIST}.
+   */
+  @FunctionalInterface
+  public interface ItemCountDistribution {
+
+    /**
+     * @param random the {@link SplittableRandom} to draw from.
+     * @return the number of items for the next list.
+     */
+    int next(SplittableRandom random);
+
+    /**
+     * @param count the fixed number of items per list.
+     * @return the {@link ItemCountDistribution} always returning the given {@code count}.
+     */
+    static ItemCountDistribution constant(int count) {
+
+      return random -> count;
+    }
+
+    /**
+     * @param min the minimum number of items per list.
+     * @param max the maximum number of items per list.
+     * @return the {@link ItemCountDistribution} uniformly distributed in the range from {@code min} to {@code max}.
+     */
+    static ItemCountDistribution uniform(int min, int max) {
+
+      if ((min < 0) || (max < min)) {
+        throw new IllegalArgumentException("Invalid range [" + min + "," + max + "]");
+      }
+      return random -> min + random.nextInt(max - min + 1);
+    }
+
+    /**
+     * Long-tail distribution where most lists are small and few lists are huge - what we see in production.
+     *
+     * @param mean the average number of items per list.
+     * @param max the upper bound of items per list.
+     * @return the exponential {@link ItemCountDistribution} with the given {@code mean} capped at {@code max}.
+     */
+    static ItemCountDistribution exponential(double mean, int max) {
+
+      if ((mean <= 0) || (max < 0)) {
+        throw new IllegalArgumentException("Invalid mean " + mean + " or max " + max);
+      }
+      return random -> (int) Math.min(max, Math.floor(-mean * Math.log(1 - random.nextDouble())));
+    }
+  }
+
+  /**
+   * Encodes rows in PostgreSQL {@code COPY} text format and streams them in chunks to a {@link CopyIn}.
+   */
+  private static final class RowWriter implements AutoCloseable {
+
+    private final CopyIn copyIn;
+
+    private final byte[] buffer;
+
+    private int length;
+
+    private boolean rowStart;
+
+    private long rows;
+
+    private RowWriter(CopyIn copyIn) {
+
+      this.copyIn = copyIn;
+      this.buffer = new byte[BUFFER_SIZE];
+      this.rowStart = true;
+    }
+
+    private RowWriter add(long value) throws SQLException {
+
+      return addRaw(Long.toString(value));
+    }
+
+    private RowWriter add(boolean value) throws SQLException {
+
+      return addRaw(value ? "t" : "f");
+    }
+
+    private RowWriter add(LocalDateTime value) throws SQLException {
+
+      if (value == null) {
+        return addRaw("\\N");
+      }
+      return addRaw(TIMESTAMP_FORMAT.format(value));
+    }
+
+    private RowWriter add(String value) throws SQLException {
+
+      StringBuilder sb = new StringBuilder(value.length());
+      for (int i = 0; i < value.length(); i++) {
+        char c = value.charAt(i);
+        switch (c) {
+          case '\\' -> sb.append("\\\\");
+          case '\t' -> sb.append("\\t");
+          case '\n' -> sb.append("\\n");
+          case '\r' -> sb.append("\\r");
+          default -> sb.append(c);
+        }
+      }
+      return addRaw(sb.toString());
+    }
+
+    private RowWriter addRaw(String value) throws SQLException {
+
+      if (!this.rowStart) {
+        write((byte) '\t');
+      }
+      this.rowStart = false;
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      if ((this.length + bytes.length) > this.buffer.length) {
+        flush();
+      }
+      System.arraycopy(bytes, 0, this.buffer, this.length, bytes.length);
+      this.length += bytes.length;
+      return this;
+    }
+
+    private void endRow() throws SQLException {
+
+      write((byte) '\n');
+      this.rowStart = true;
+      this.rows++;
+    }
+
+    private void write(byte b) throws SQLException {
+
+      if (this.length == this.buffer.length) {
+        flush();
+      }
+      this.buffer[this.length++] = b;
+    }
+
+    private void flush() throws SQLException {
+
+      if (this.length > 0) {
+        this.copyIn.writeToCopy(this.buffer, 0, this.length);
+        this.length = 0;
+      }
+    }
+
+    private long finish() throws SQLException {
+
+      flush();
+      long copied = this.copyIn.endCopy();
+      if (copied != this.rows) {
+        LOG.warn("COPY reported {} rows but {} rows have been written", copied, this.rows);
+      }
+      return copied;
+    }
+
+    @Override
+    public void close() throws SQLException {
+
+      if (this.copyIn.isActive()) {
+        this.copyIn.cancelCopy();
+      }
+    }
+  }
+
+}
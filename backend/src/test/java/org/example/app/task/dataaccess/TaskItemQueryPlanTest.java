@@ -0,0 +1,332 @@
+package org.example.app.task.dataaccess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.example.app.task.common.TaskItemEto;
+import org.example.app.task.common.TaskItemSearchCriteria;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+
+/**
+ * Plan regression test of the hot queries on {@code TASK_ITEM} and {@code TASK_ITEM_ARCHIVE}. Synthetic data is
+ * generated with {@link TaskDataGenerator} and analyzed so the planner works with realistic statistics. Each test calls
+ * a repository method, captures the SQL generated by Hibernate with {@link SqlStatementCapture} and asserts via
+ * {@code EXPLAIN} with the same parameter values that the query still uses its index. So a changed query or a dropped
+ * index fails here instead of degrading to a sequential scan in production. Statements that modify data are rolled
+ * back.
+ */
+@QuarkusTest
+@TestInstance(Lifecycle.PER_CLASS)
+class TaskItemQueryPlanTest {
+
+  private static final long FIRST_ID = 200_000_000L;
+
+  private static final int LIST_COUNT = 5000;
+
+  private static final long LIST_ID = FIRST_ID + LIST_COUNT / 2;
+
+  private static final List<Long> LIST_IDS = List.of(Long.valueOf(LIST_ID), Long.valueOf(LIST_ID + 1),
+      Long.valueOf(LIST_ID + 2), Long.valueOf(LIST_ID + 3));
+
+  /** First generated item as the items follow the lists in the same ID range. */
+  private static final long ITEM_ID = FIRST_ID + LIST_COUNT;
+
+  private static final int ARCHIVED_ITEMS = 10_000;
+
+  private static final int LIMIT = 1000;
+
+  @Inject
+  DataSource dataSource;
+
+  @Inject
+  SqlStatementCapture capture;
+
+  @Inject
+  TaskItemRepository taskItemRepository;
+
+  @Inject
+  TaskItemArchiveRepository taskItemArchiveRepository;
+
+  @Inject
+  TaskListSummaryRepository taskListSummaryRepository;
+
+  @BeforeAll
+  void generate() throws SQLException {
+
+    TaskDataGenerator generator = new TaskDataGenerator();
+    generator.setSeed(29);
+    generator.setFirstId(FIRST_ID);
+    generator.setListCount(LIST_COUNT);
+    generator.setItemsPerList(TaskDataGenerator.ItemCountDistribution.uniform(0, 40));
+    generator.generate(this.dataSource);
+    // completed items are archived right after the generation as their completion time is set on insert
+    inRequestContext(() -> QuarkusTransaction.requiringNew().run(() -> this.taskItemArchiveRepository
+        .archiveCompleted(LocalDateTime.now().plusDays(1), FIRST_ID, ARCHIVED_ITEMS)));
+    try (Connection connection = this.dataSource.getConnection(); Statement statement = connection.createStatement()) {
+      statement.execute("ANALYZE TASK_ITEM");
+      statement.execute("ANALYZE TASK_ITEM_ARCHIVE");
+    }
+  }
+
+  /**
+   * {@link TaskItemFragment#findEtosByTaskListId(Long)} of a list with its items.
+   */
+  @Test
+  void itemsOfList() {
+
+    String sql = captureSql(() -> this.taskItemRepository.findEtosByTaskListId(Long.valueOf(LIST_ID)));
+    assertPlan(sql, "IX_TASK_ITEM_LIST_ID", Long.valueOf(LIST_ID));
+  }
+
+  /**
+   * {@link TaskItemFragment#findEtosByTaskListIds(List, int)} of multiple lists with all their items.
+   */
+  @Test
+  void itemsOfLists() {
+
+    String sql = captureSql(() -> this.taskItemRepository.findEtosByTaskListIds(LIST_IDS, 0));
+    assertPlan(sql, "IX_TASK_ITEM_LIST_ID", LIST_IDS.toArray());
+  }
+
+  /**
+   * {@link TaskItemFragment#findEtosByTaskListIds(List, int)} of multiple lists with the first items per list
+   * ({@code ROW_NUMBER()} window). The list IDs are padded like for the other IN-expressions so three lists share the
+   * statement of four.
+   */
+  @Test
+  void firstItemsOfLists() {
+
+    List<Long> listIds = LIST_IDS.subList(0, 3);
+    String sql = captureSql(() -> this.taskItemRepository.findEtosByTaskListIds(listIds, 10));
+    assertThat(sql).isEqualTo(captureSql(() -> this.taskItemRepository.findEtosByTaskListIds(LIST_IDS, 10)));
+    List<Object> values = new ArrayList<>(listIds);
+    values.add(listIds.get(2));
+    values.add(Integer.valueOf(10));
+    assertPlan(sql, "IX_TASK_ITEM_LIST_ID", values.toArray());
+  }
+
+  /**
+   * {@link TaskItemFragment#findEtoById(Long)} and {@link TaskItemArchiveFragment#findEtoById(Long)} of a single item.
+   */
+  @Test
+  void itemById() {
+
+    String sql = captureSql(() -> this.taskItemRepository.findEtoById(Long.valueOf(ITEM_ID)));
+    assertPlan(sql, "PK_TASK_ITEM", Long.valueOf(ITEM_ID));
+    sql = captureSql(() -> this.taskItemArchiveRepository.findEtoById(Long.valueOf(ITEM_ID)));
+    assertPlan(sql, "PK_TASK_ITEM_ARCHIVE", Long.valueOf(ITEM_ID));
+  }
+
+  /**
+   * {@link TaskItemFragment#findEtosByIds(List)} as used for the hits of the similarity search.
+   */
+  @Test
+  void itemsById() {
+
+    List<Long> ids = List.of(Long.valueOf(ITEM_ID), Long.valueOf(ITEM_ID + 7), Long.valueOf(ITEM_ID + 42),
+        Long.valueOf(ITEM_ID + 99));
+    String sql = captureSql(() -> this.taskItemRepository.findEtosByIds(ids));
+    assertPlan(sql, "PK_TASK_ITEM", ids.toArray());
+  }
+
+  /**
+   * {@link TaskItemFragment#findDeadlines(LocalDateTime, LocalDateTime)} for the window of the deadline scheduler.
+   */
+  @Test
+  void openDeadlinesInWindow() {
+
+    LocalDateTime from = TaskDataGenerator.DEFAULT_DEADLINE_BASE;
+    LocalDateTime to = from.plusMinutes(15);
+    String sql = captureSql(() -> this.taskItemRepository.findDeadlines(from, to));
+    assertPlan(sql, "IX_TASK_ITEM_OPEN_DEADLINE", from, to, Boolean.FALSE);
+  }
+
+  /**
+   * First page of {@link TaskItemFragment#findByCriteria(TaskItemSearchCriteria)} without sorting that is ordered by
+   * the ID as tie-breaker.
+   */
+  @Test
+  void searchFirstPage() {
+
+    TaskItemSearchCriteria criteria = new TaskItemSearchCriteria();
+    criteria.setCompleted(Boolean.FALSE);
+    criteria.setPageSize(10);
+    String sql = captureSql(() -> this.taskItemRepository.findByCriteria(criteria));
+    assertPlan(sql, "PK_TASK_ITEM", Boolean.FALSE, Integer.valueOf(10));
+  }
+
+  /**
+   * {@link TaskItemFragment#streamEtos(TaskItemSearchCriteria, long, int, int)} with the keyset cursor of the export.
+   */
+  @Test
+  void exportChunkOfItems() {
+
+    String sql = captureSql(() -> {
+      try (Stream<TaskItemEto> items = this.taskItemRepository.streamEtos(new TaskItemSearchCriteria(), ITEM_ID,
+          LIMIT, LIMIT)) {
+        items.findFirst();
+      }
+    });
+    assertPlan(sql, "PK_TASK_ITEM", Long.valueOf(ITEM_ID), Integer.valueOf(LIMIT));
+  }
+
+  /**
+   * {@link TaskItemArchiveFragment#streamEtos(TaskItemSearchCriteria, long, int, int)} with the keyset cursor of the
+   * export.
+   */
+  @Test
+  void exportChunkOfArchivedItems() {
+
+    String sql = captureSql(() -> {
+      try (Stream<TaskItemEto> items = this.taskItemArchiveRepository.streamEtos(new TaskItemSearchCriteria(),
+          ITEM_ID, LIMIT, LIMIT)) {
+        items.findFirst();
+      }
+    });
+    assertPlan(sql, "PK_TASK_ITEM_ARCHIVE", Long.valueOf(ITEM_ID), Integer.valueOf(LIMIT));
+  }
+
+  /**
+   * {@link TaskItemArchiveRepository#findByTaskListIdOrderById(Long)} of a list with its archived items.
+   */
+  @Test
+  void archivedItemsOfList() {
+
+    String sql = captureSql(() -> this.taskItemArchiveRepository.findByTaskListIdOrderById(Long.valueOf(LIST_ID)));
+    assertPlan(sql, "IX_TASK_ITEM_ARCHIVE_LIST_ID", Long.valueOf(LIST_ID));
+  }
+
+  /**
+   * {@link TaskItemArchiveFragment#archiveCompleted(LocalDateTime, long, int)} scanning the archival candidates.
+   */
+  @Test
+  void archivalCandidates() {
+
+    LocalDateTime completedBefore = LocalDateTime.now().minusDays(90);
+    String sql = captureSql(
+        () -> this.taskItemArchiveRepository.archiveCompleted(completedBefore, FIRST_ID, 500));
+    assertPlan(sql, "IX_TASK_ITEM_COMPLETED", completedBefore, Long.valueOf(FIRST_ID), Integer.valueOf(500));
+  }
+
+  /**
+   * The overdue items counted per list by {@link TaskListSummaryFragment#findSummaries(LocalDateTime)}. The lists are
+   * read completely so only the subquery is asserted.
+   */
+  @Test
+  void overdueItemsOfSummaries() {
+
+    LocalDateTime now = TaskDataGenerator.DEFAULT_DEADLINE_BASE;
+    String sql = captureSql(() -> this.taskListSummaryRepository.findSummaries(now));
+    Long zero = Long.valueOf(0);
+    String plan = explain(sql, zero, zero, zero, zero, Boolean.FALSE, now);
+    assertThat(plan).as("plan of %s", sql).containsIgnoringCase("IX_TASK_ITEM_LIST_OPEN_DEADLINE");
+  }
+
+  /**
+   * {@link TaskItemFragment#completeAllInList(Long)} that may use any index on the list.
+   */
+  @Test
+  void completeAllInList() {
+
+    String sql = captureSql(() -> this.taskItemRepository.completeAllInList(Long.valueOf(LIST_ID)));
+    assertPlan(sql, "IX_TASK_ITEM_LIST_", Long.valueOf(LIST_ID));
+  }
+
+  /**
+   * {@link TaskItemFragment#deleteCompletedInList(Long)}.
+   */
+  @Test
+  void deleteCompletedInList() {
+
+    String sql = captureSql(() -> this.taskItemRepository.deleteCompletedInList(Long.valueOf(LIST_ID)));
+    assertPlan(sql, "IX_TASK_ITEM_LIST_ID", Long.valueOf(LIST_ID));
+  }
+
+  /**
+   * @param action the {@link Runnable} calling a single repository method. Runs in a transaction that is rolled back.
+   * @return the SQL statement generated for the repository call.
+   */
+  private String captureSql(Runnable action) {
+
+    List<String> statements = new ArrayList<>();
+    inRequestContext(() -> statements.addAll(this.capture.capture(() -> {
+      QuarkusTransaction.begin();
+      try {
+        action.run();
+      } finally {
+        QuarkusTransaction.rollback();
+      }
+    })));
+    assertThat(statements).as("statements of the repository call").hasSize(1);
+    return statements.get(0);
+  }
+
+  // the tenant of the session is only resolved within a request context (see DataSourceRouter)
+  private static void inRequestContext(Runnable action) {
+
+    ManagedContext requestContext = Arc.container().requestContext();
+    if (requestContext.isActive()) {
+      action.run();
+      return;
+    }
+    requestContext.activate();
+    try {
+      action.run();
+    } finally {
+      requestContext.terminate();
+    }
+  }
+
+  private void assertPlan(String sql, String index, Object... values) {
+
+    String plan = explain(sql, values);
+    assertThat(plan).as("plan of %s", sql).containsIgnoringCase(index).doesNotContain("Seq Scan");
+  }
+
+  /**
+   * @param sql the captured SQL with JDBC parameters.
+   * @param values the values of the parameters in the order of their occurrence in the SQL so the planner chooses
+   *        the same plan as for the execution (e.g. a partial index on {@code COMPLETED = FALSE} requires the value).
+   * @return the plan of the given SQL.
+   */
+  private String explain(String sql, Object... values) {
+
+    long parameters = sql.chars().filter(c -> c == '?').count();
+    assertThat(parameters).as("parameters of %s", sql).isEqualTo(values.length);
+    StringBuilder plan = new StringBuilder();
+    try (Connection connection = this.dataSource.getConnection();
+        PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+      for (int i = 0; i < values.length; i++) {
+        statement.setObject(i + 1, values[i]);
+      }
+      try (ResultSet resultSet = statement.executeQuery()) {
+        while (resultSet.next()) {
+          plan.append(resultSet.getString(1)).append('\n');
+        }
+      }
+    } catch (SQLException e) {
+      throw new IllegalStateException("Failed to explain " + sql, e);
+    }
+    return plan.toString();
+  }
+
+}
@@ -0,0 +1,124 @@
+package org.example.app.task.dataaccess;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import javax.sql.DataSource;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.example.app.task.common.TaskItemEto;
+import org.example.app.task.common.TaskListEto;
+import org.example.app.task.logic.TaskListMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Benchmark comparing the heap allocations per row of loading the items of a task list via managed
+ * {@link TaskItemEntity entities} mapped by {@link TaskListMapper} ("entity") with the constructor projection of
+ * {@link TaskItemFragment#findEtosByTaskListId(Long)} ("projection"). Each list is loaded in its own transaction like
+ * in a request. Allocations are measured per thread so the JDBC driver, Hibernate and the mapping are included. Run
+ * against a PostgreSQL database (e.g. dev services) with:
+ *
+ * <pre>
+ * mvn test -Dtest=TaskReadAllocationBenchmark -Dbenchmark=true
+ * </pre>
+ */
+@QuarkusTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TaskReadAllocationBenchmark {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TaskReadAllocationBenchmark.class);
+
+  private static final int LIST_COUNT = 200;
+
+  private static final int WARMUP_ROUNDS = 5;
+
+  private static final int ROUNDS = 10;
+
+  @Inject
+  DataSource dataSource;
+
+  @Inject
+  TaskListRepository taskListRepository;
+
+  @Inject
+  TaskItemRepository taskItemRepository;
+
+  @Inject
+  TaskListMapper taskListMapper;
+
+  @Test
+  void benchmark() {
+
+    TaskDataGenerator generator = new TaskDataGenerator();
+    generator.setSeed(42);
+    generator.setListCount(LIST_COUNT);
+    generator.setItemsPerList(TaskDataGenerator.ItemCountDistribution.uniform(50, 150));
+    generator.generate(this.dataSource);
+    List<Long> listIds = new ArrayList<>();
+    for (TaskListEto list : QuarkusTransaction.requiringNew().call(() -> this.taskListRepository.findAllEtos())) {
+      if (list.getId().longValue() >= generator.getFirstId()) {
+        listIds.add(list.getId());
+      }
+    }
+    Function<Long, List<TaskItemEto>> entity = listId -> this.taskListMapper
+        .toItemEtos(this.taskItemRepository.findByTaskListIdOrderById(listId));
+    Function<Long, List<TaskItemEto>> projection = listId -> this.taskItemRepository.findEtosByTaskListId(listId);
+    for (int i = 0; i < WARMUP_ROUNDS; i++) {
+      run(listIds, entity);
+      run(listIds, projection);
+    }
+    Result entityResult = new Result();
+    Result projectionResult = new Result();
+    for (int i = 0; i < ROUNDS; i++) {
+      entityResult.add(run(listIds, entity));
+      projectionResult.add(run(listIds, projection));
+    }
+    LOG.info("{}", entityResult.format("entity"));
+    LOG.info("{}", projectionResult.format("projection"));
+  }
+
+  private static Result run(List<Long> listIds, Function<Long, List<TaskItemEto>> loader) {
+
+    com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().threadId();
+    Result result = new Result();
+    long startBytes = threads.getThreadAllocatedBytes(threadId);
+    long start = System.nanoTime();
+    for (Long listId : listIds) {
+      result.rows += QuarkusTransaction.requiringNew().call(() -> loader.apply(listId)).size();
+    }
+    result.nanos = System.nanoTime() - start;
+    result.bytes = threads.getThreadAllocatedBytes(threadId) - startBytes;
+    return result;
+  }
+
+  private static final class Result {
+
+    private long rows;
+
+    private long bytes;
+
+    private long nanos;
+
+    private void add(Result result) {
+
+      this.rows += result.rows;
+      this.bytes += result.bytes;
+      this.nanos += result.nanos;
+    }
+
+    private String format(String name) {
+
+      return String.format("%-10s %,12d rows %,10d bytes/row %,8d ns/row", name, this.rows, this.bytes / this.rows,
+          this.nanos / this.rows);
+    }
+  }
+
+}
@@ -0,0 +1,79 @@
+package org.example.app.task.logic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Deterministic local stand-in of the {@link OllamaTaskTitleEmbedder} for tests and benchmarks so they neither need
+ * Ollama nor a model download. Uses feature hashing of the lower-case words and character trigrams of the title into
+ * {@code app.task.similarity.dimension} signed buckets normalized to unit length. Titles sharing words or word parts
+ * therefore get similar vectors which is good enough to exercise the index.
+ */
+@ApplicationScoped
+public class HashingTaskTitleEmbedder implements TaskTitleEmbedder {
+
+  @ConfigProperty(name = "app.task.similarity.dimension", defaultValue = "768")
+  int dimension;
+
+  @Override
+  public String getModel() {
+
+    return "hashing-" + this.dimension;
+  }
+
+  @Override
+  public List<float[]> embed(List<String> titles) {
+
+    List<float[]> vectors = new ArrayList<>(titles.size());
+    for (String title : titles) {
+      vectors.add(embed(title));
+    }
+    return vectors;
+  }
+
+  private float[] embed(String title) {
+
+    float[] vector = new float[this.dimension];
+    String text = title.toLowerCase(Locale.ROOT);
+    for (String word : text.split("\\W+")) {
+      if (!word.isEmpty()) {
+        // words weigh more than their trigrams
+        add(vector, "w:" + word, 2);
+        String padded = " " + word + " ";
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+          add(vector, padded.substring(i, i + 3), 1);
+        }
+      }
+    }
+    double sum = 0;
+    for (float value : vector) {
+      sum += value * value;
+    }
+    if (sum > 0) {
+      float norm = (float) Math.sqrt(sum);
+      for (int i = 0; i < vector.length; i++) {
+        vector[i] /= norm;
+      }
+    }
+    return vector;
+  }
+
+  private void add(float[] vector, String feature, float weight) {
+
+    int hash = mix(feature.hashCode());
+    int bucket = Math.floorMod(hash, this.dimension);
+    // independent bit of the hash for the sign so collisions cancel out on average
+    vector[bucket] += ((hash >>> 31) == 0) ? weight : -weight;
+  }
+
+  private static int mix(int hash) {
+
+    int h = hash * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+}
@@ -0,0 +1,151 @@
+package org.example.app.task.logic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import javax.sql.DataSource;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.example.app.task.common.TaskListEto;
+import org.example.app.task.dataaccess.TaskDataGenerator;
+import org.example.app.task.dataaccess.TaskItemEntity;
+import org.example.app.task.dataaccess.TaskItemRepository;
+import org.example.app.task.dataaccess.TaskListRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Benchmark comparing the per-entity path ("entity") of completing all items, clearing the completed items and
+ * deleting a task list with the set-based statements of {@link UcBulkTaskItem} and {@link UcDeleteTaskList} ("bulk").
+ * The per-entity path loads the {@link TaskItemEntity entities} and lets Hibernate flush one update or delete per row.
+ * Each path works on its own generated lists so both see the same data. Each list is processed in its own transaction
+ * like in a request. Run against a PostgreSQL database (e.g. dev services) with:
+ *
+ * <pre>
+ * mvn test -Dtest=TaskBulkOperationBenchmark -Dbenchmark=true
+ * </pre>
+ */
+@QuarkusTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TaskBulkOperationBenchmark {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TaskBulkOperationBenchmark.class);
+
+  private static final int LIST_COUNT = 100;
+
+  @Inject
+  DataSource dataSource;
+
+  @Inject
+  TaskListRepository taskListRepository;
+
+  @Inject
+  TaskItemRepository taskItemRepository;
+
+  @Inject
+  UcBulkTaskItem ucBulkTaskItem;
+
+  @Inject
+  UcDeleteTaskList ucDeleteTaskList;
+
+  @Test
+  void benchmark() {
+
+    TaskDataGenerator generator = new TaskDataGenerator();
+    generator.setSeed(42);
+    generator.setListCount(2 * LIST_COUNT);
+    generator.setItemsPerList(TaskDataGenerator.ItemCountDistribution.uniform(500, 1500));
+    generator.setCompletedRatio(0.5);
+    generator.generate(this.dataSource);
+    List<Long> entityListIds = new ArrayList<>();
+    List<Long> bulkListIds = new ArrayList<>();
+    for (TaskListEto list : QuarkusTransaction.requiringNew().call(() -> this.taskListRepository.findAllEtos())) {
+      if (list.getId().longValue() >= generator.getFirstId()) {
+        if ((list.getId().longValue() % 2) == 0) {
+          entityListIds.add(list.getId());
+        } else {
+          bulkListIds.add(list.getId());
+        }
+      }
+    }
+    // clear completed first so complete-all still has open items to update
+    LOG.info("{}", run(entityListIds, this::deleteCompletedPerEntity).format("entity", "clear-completed"));
+    LOG.info("{}", run(bulkListIds, listId -> this.ucBulkTaskItem.deleteCompleted(listId).intValue())
+        .format("bulk", "clear-completed"));
+    LOG.info("{}", run(entityListIds, this::completeAllPerEntity).format("entity", "complete-all"));
+    LOG.info("{}", run(bulkListIds, listId -> this.ucBulkTaskItem.completeAll(listId).intValue())
+        .format("bulk", "complete-all"));
+    LOG.info("{}", run(entityListIds, this::deleteListPerEntity).format("entity", "delete-list"));
+    LOG.info("{}", run(bulkListIds, listId -> {
+      int count = this.taskItemRepository.findByTaskListIdOrderById(listId).size();
+      this.ucDeleteTaskList.delete(listId);
+      return count;
+    }).format("bulk", "delete-list"));
+  }
+
+  private int completeAllPerEntity(Long listId) {
+
+    int count = 0;
+    for (TaskItemEntity item : this.taskItemRepository.findByTaskListIdOrderById(listId)) {
+      if (!item.isCompleted()) {
+        item.setCompleted(true);
+        count++;
+      }
+    }
+    this.taskItemRepository.flush();
+    return count;
+  }
+
+  private int deleteCompletedPerEntity(Long listId) {
+
+    List<TaskItemEntity> completed = new ArrayList<>();
+    for (TaskItemEntity item : this.taskItemRepository.findByTaskListIdOrderById(listId)) {
+      if (item.isCompleted()) {
+        completed.add(item);
+      }
+    }
+    this.taskItemRepository.deleteAll(completed);
+    this.taskItemRepository.flush();
+    return completed.size();
+  }
+
+  private int deleteListPerEntity(Long listId) {
+
+    int count = this.taskItemRepository.findByTaskListIdOrderById(listId).size();
+    // cascades to the items of the list one by one
+    this.taskListRepository.deleteById(listId);
+    this.taskListRepository.flush();
+    return count;
+  }
+
+  private static Result run(List<Long> listIds, ToIntFunction<Long> operation) {
+
+    Result result = new Result();
+    long start = System.nanoTime();
+    for (Long listId : listIds) {
+      result.rows += QuarkusTransaction.requiringNew().call(() -> Integer.valueOf(operation.applyAsInt(listId)))
+          .intValue();
+    }
+    result.nanos = System.nanoTime() - start;
+    return result;
+  }
+
+  private static final class Result {
+
+    private long rows;
+
+    private long nanos;
+
+    private String format(String name, String operation) {
+
+      return String.format("%-7s %-16s %,10d rows %,10d ns/row", name, operation, this.rows,
+          this.nanos / Math.max(1, this.rows));
+    }
+  }
+
+}
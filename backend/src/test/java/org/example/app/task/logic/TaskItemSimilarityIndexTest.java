@@ -0,0 +1,257 @@
+package org.example.app.task.logic;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Alternative;
+import jakarta.inject.Inject;
+import org.example.app.general.common.vector.HnswIndex;
+import org.example.app.task.common.TaskItemEto;
+import org.example.app.task.common.TaskListEto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test of {@link TaskItemSimilarityIndex} and the k-NN search of {@code /task/item/{id}/similar} with the
+ * deterministic {@link HashingTaskTitleEmbedder}. The titles use made-up words so items of other tests in the same
+ * database do not get in between. The embedded titles are recorded by the {@link RecordingEmbedder} to verify the
+ * batching and what a reconcile re-embeds.
+ */
+@QuarkusTest
+@TestProfile(TaskItemSimilarityIndexTest.SimilarityTestProfile.class)
+class TaskItemSimilarityIndexTest {
+
+  private static final int BATCH_SIZE = 2;
+
+  private static final long TIMEOUT_MILLIS = 10_000;
+
+  @Inject
+  AgroalDataSource dataSource;
+
+  @Inject
+  TaskItemSimilarityIndex index;
+
+  @Inject
+  UcSaveTaskList ucSaveTaskList;
+
+  @Inject
+  UcSaveTaskItem ucSaveTaskItem;
+
+  @Inject
+  UcDeleteTaskItem ucDeleteTaskItem;
+
+  @Inject
+  UcFindTaskItem ucFindTaskItem;
+
+  private Long taskListId;
+
+  @BeforeEach
+  void catchUp() {
+
+    TaskListEto list = new TaskListEto();
+    list.setTitle("Similar");
+    this.taskListId = this.ucSaveTaskList.save(list).getId();
+    // the index is up to date and the reconcile at startup does not interfere
+    this.index.requestReconcile();
+    this.index.flush();
+    RecordingEmbedder.BATCHES.clear();
+  }
+
+  @Test
+  void embedsSavedItemsInBackgroundBatches() {
+
+    TaskItemEto feed = newItem("zyxquokka feed");
+    TaskItemEto feedTwice = newItem("zyxquokka feed twice");
+    TaskItemEto wash = newItem("zyxquokka wash");
+    TaskItemEto tune = newItem("qwvxylo tune");
+    TaskItemEto tuneAgain = newItem("qwvxylo tune again");
+    await("items indexed", () -> isIndexed(feed, feedTwice, wash, tune, tuneAgain));
+    List<String> embedded = new ArrayList<>();
+    for (List<String> batch : RecordingEmbedder.BATCHES) {
+      assertThat(batch).hasSizeLessThanOrEqualTo(BATCH_SIZE);
+      embedded.addAll(batch);
+    }
+    assertThat(embedded).contains(feed.getTitle(), feedTwice.getTitle(), wash.getTitle(), tune.getTitle(),
+        tuneAgain.getTitle());
+    // the items saved within the window have been embedded together
+    assertThat(RecordingEmbedder.BATCHES).anySatisfy(batch -> assertThat(batch).hasSize(BATCH_SIZE));
+    given().queryParam("k", 1).when().get("/task/item/{id}/similar", feed.getId()).then().statusCode(200)
+        .body("item.id", contains(feedTwice.getId().intValue()));
+    given().queryParam("k", 1).when().get("/task/item/{id}/similar", tune.getId()).then().statusCode(200)
+        .body("item.id", contains(tuneAgain.getId().intValue()));
+    // a save that keeps the title is not embedded again
+    RecordingEmbedder.BATCHES.clear();
+    TaskItemEto completed = this.ucFindTaskItem.findById(feed.getId());
+    completed.setCompleted(true);
+    this.ucSaveTaskItem.save(completed);
+    this.index.flush();
+    assertThat(RecordingEmbedder.BATCHES).isEmpty();
+  }
+
+  @Test
+  void removesDeletedItems() {
+
+    TaskItemEto sing = newItem("zyxquokka sing");
+    TaskItemEto singLoud = newItem("zyxquokka sing loud");
+    await("items indexed", () -> isIndexed(sing, singLoud));
+    float[] vector = this.index.getVector(singLoud);
+    this.ucDeleteTaskItem.delete(singLoud.getId());
+    await("tombstone of deleted item", () -> !hits(vector).contains(singLoud.getId()));
+    assertThat(hits(vector)).contains(sing.getId());
+    given().queryParam("k", 5).when().get("/task/item/{id}/similar", sing.getId()).then().statusCode(200)
+        .body("item.id", not(hasItem(singLoud.getId().intValue())));
+  }
+
+  @Test
+  void reconcileCatchesUpWithMissedChanges() throws SQLException {
+
+    TaskItemEto jump = newItem("zyxquokka jump");
+    TaskItemEto jumpHigh = newItem("zyxquokka jump high");
+    TaskItemEto renamed = newItem("zyxquokka jump far");
+    await("items indexed", () -> isIndexed(jump, jumpHigh, renamed));
+    float[] vector = this.index.getVector(jumpHigh);
+    // changes that bypass the events like on another node while this one was down
+    execute("DELETE FROM TASK_ITEM WHERE ID = ?", jumpHigh.getId());
+    execute("UPDATE TASK_ITEM SET TITLE = 'qwvxylo jump', VERSION = VERSION + 1 WHERE ID = ?", renamed.getId());
+    assertThat(hits(vector)).contains(jumpHigh.getId());
+    RecordingEmbedder.BATCHES.clear();
+    this.index.requestReconcile();
+    this.index.flush();
+    assertThat(hits(vector)).doesNotContain(jumpHigh.getId()).contains(jump.getId());
+    assertThat(isIndexed(this.ucFindTaskItem.findById(renamed.getId()))).isTrue();
+    assertThat(RecordingEmbedder.BATCHES).containsExactly(List.of("qwvxylo jump"));
+  }
+
+  @Test
+  void reopenKeepsIndexedItems() throws SQLException {
+
+    TaskItemEto swim = newItem("zyxquokka swim");
+    TaskItemEto swimFast = newItem("zyxquokka swim fast");
+    await("items indexed", () -> isIndexed(swim, swimFast));
+    float[] vector = this.index.getVector(swim);
+    this.index.onStop(null);
+    try {
+      execute("UPDATE TASK_ITEM SET TITLE = 'zyxquokka swim slow', VERSION = VERSION + 1 WHERE ID = ?",
+          swimFast.getId());
+    } finally {
+      this.index.onStart(null);
+    }
+    assertThat(this.index.getVector(swim)).isEqualTo(vector);
+    this.index.requestReconcile();
+    this.index.flush();
+    // only the title changed while the index was closed is embedded again
+    assertThat(RecordingEmbedder.BATCHES).containsExactly(List.of("zyxquokka swim slow"));
+    assertThat(isIndexed(this.ucFindTaskItem.findById(swimFast.getId()))).isTrue();
+    given().queryParam("k", 1).when().get("/task/item/{id}/similar", swim.getId()).then().statusCode(200)
+        .body("item.title", contains("zyxquokka swim slow"));
+  }
+
+  private TaskItemEto newItem(String title) {
+
+    TaskItemEto item = new TaskItemEto();
+    item.setTitle(title);
+    item.setTaskListId(this.taskListId);
+    return this.ucSaveTaskItem.save(item);
+  }
+
+  private boolean isIndexed(TaskItemEto... items) {
+
+    for (TaskItemEto item : items) {
+      if (this.index.getVector(item) == null) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private List<Long> hits(float[] vector) {
+
+    List<Long> ids = new ArrayList<>();
+    for (HnswIndex.Hit hit : this.index.search(vector, 5)) {
+      ids.add(Long.valueOf(hit.id()));
+    }
+    return ids;
+  }
+
+  private void execute(String sql, Long id) throws SQLException {
+
+    try (Connection connection = this.dataSource.getConnection();
+        PreparedStatement statement = connection.prepareStatement(sql)) {
+      statement.setLong(1, id.longValue());
+      assertThat(statement.executeUpdate()).as(sql).isEqualTo(1);
+    }
+  }
+
+  private static void await(String description, BooleanSupplier condition) {
+
+    long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+    while (!condition.getAsBoolean()) {
+      assertThat(System.currentTimeMillis()).as("%s within %dms", description, TIMEOUT_MILLIS).isLessThan(deadline);
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+
+  /**
+   * {@link HashingTaskTitleEmbedder} recording the titles of each call in {@link #BATCHES}.
+   */
+  @Alternative
+  @ApplicationScoped
+  static class RecordingEmbedder extends HashingTaskTitleEmbedder {
+
+    static final List<List<String>> BATCHES = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public List<float[]> embed(List<String> titles) {
+
+      BATCHES.add(List.copyOf(titles));
+      return super.embed(titles);
+    }
+
+  }
+
+  /**
+   * {@link QuarkusTestProfile} with a separate index file, a short window and small batches.
+   */
+  public static class SimilarityTestProfile implements QuarkusTestProfile {
+
+    @Override
+    public Set<Class<?>> getEnabledAlternatives() {
+
+      return Set.of(RecordingEmbedder.class);
+    }
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+
+      return Map.of("app.task.similarity.file", "target/task-similarity-test.hnsw", //
+          "app.task.similarity.dimension", "256", //
+          "app.task.similarity.window", "0.5S", //
+          "app.task.similarity.batch-size", String.valueOf(BATCH_SIZE));
+    }
+
+  }
+
+}
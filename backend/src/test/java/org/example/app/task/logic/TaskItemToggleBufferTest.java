@@ -0,0 +1,330 @@
+package org.example.app.task.logic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.arc.ClientProxy;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.example.app.task.common.TaskItemChangeEvent;
+import org.example.app.task.common.TaskItemEto;
+import org.example.app.task.common.TaskListEto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test of {@link TaskItemToggleBuffer} and the durability modes of {@link UcToggleTaskItem}. The flush window is so
+ * long that toggles are only flushed when the test calls {@link TaskItemToggleBuffer#flush()}. Updates of items titled
+ * {@value #BROKEN} are rejected by a trigger to simulate the failure of a single item.
+ */
+@QuarkusTest
+@TestProfile(TaskItemToggleBufferTest.ManualFlushTestProfile.class)
+class TaskItemToggleBufferTest {
+
+  static final String BROKEN = "Broken";
+
+  private static final String[] SQL_CREATE_TRIGGER = {
+      "CREATE OR REPLACE FUNCTION REJECT_BROKEN_ITEM() RETURNS TRIGGER AS $$ BEGIN IF NEW.TITLE = '" + BROKEN
+          + "' THEN RAISE EXCEPTION 'rejected update of item %', NEW.ID; END IF; RETURN NEW; END $$ LANGUAGE plpgsql",
+      "CREATE OR REPLACE TRIGGER REJECT_BROKEN_ITEM BEFORE UPDATE ON TASK_ITEM FOR EACH ROW "
+          + "EXECUTE FUNCTION REJECT_BROKEN_ITEM()" };
+
+  private static final String[] SQL_DROP_TRIGGER = { "DROP TRIGGER IF EXISTS REJECT_BROKEN_ITEM ON TASK_ITEM",
+      "DROP FUNCTION IF EXISTS REJECT_BROKEN_ITEM()" };
+
+  private static final long TIMEOUT_MILLIS = 10_000;
+
+  @Inject
+  AgroalDataSource dataSource;
+
+  @Inject
+  TaskItemToggleBuffer buffer;
+
+  @Inject
+  UcToggleTaskItem ucToggleTaskItem;
+
+  @Inject
+  UcFindTaskItem ucFindTaskItem;
+
+  @Inject
+  UcSaveTaskItem ucSaveTaskItem;
+
+  @Inject
+  UcSaveTaskList ucSaveTaskList;
+
+  private Long taskListId;
+
+  @BeforeEach
+  void createList() throws SQLException {
+
+    TaskListEto list = new TaskListEto();
+    list.setTitle("Toggles");
+    this.taskListId = this.ucSaveTaskList.save(list).getId();
+    execute(SQL_CREATE_TRIGGER);
+  }
+
+  @AfterEach
+  void cleanUp() throws SQLException {
+
+    FlushHook.ACTION.set(null);
+    ClientProxy.unwrap(this.ucToggleTaskItem).durability = TaskItemToggleDurability.BUFFERED;
+    this.buffer.discardList(this.taskListId);
+    execute(SQL_DROP_TRIGGER);
+  }
+
+  @Test
+  void toggleReportsVersionOfFlush() {
+
+    TaskItemEto item = newItem("Milk");
+    int version = item.getVersion().intValue();
+    TaskItemEto toggled = this.ucToggleTaskItem.toggle(item.getId(), Boolean.TRUE, null);
+    assertThat(toggled.isCompleted()).isTrue();
+    assertThat(toggled.getVersion()).isEqualTo(version + 1);
+    TaskItemEto found = this.ucFindTaskItem.findById(item.getId());
+    assertThat(found.isCompleted()).isTrue();
+    assertThat(found.getVersion()).isEqualTo(version + 1);
+    // BUFFERED returns before the toggle is written
+    TaskItemEto stored = this.ucFindTaskItem.findStoredById(item.getId());
+    assertThat(stored.isCompleted()).isFalse();
+    assertThat(stored.getVersion()).isEqualTo(version);
+    this.buffer.flush();
+    stored = this.ucFindTaskItem.findStoredById(item.getId());
+    assertThat(stored.isCompleted()).isTrue();
+    assertThat(stored.getVersion()).isEqualTo(toggled.getVersion());
+    // the client can save with the version it got from the toggle
+    toggled.setTitle("Oat milk");
+    TaskItemEto saved = this.ucSaveTaskItem.save(toggled);
+    assertThat(saved.getVersion()).isEqualTo(version + 2);
+  }
+
+  @Test
+  void saveWithPendingVersionDiscardsToggle() {
+
+    TaskItemEto item = newItem("Bread");
+    int version = item.getVersion().intValue();
+    TaskItemEto toggled = this.ucToggleTaskItem.toggle(item.getId(), null, Boolean.TRUE);
+    toggled.setTitle("Rye bread");
+    TaskItemEto saved = this.ucSaveTaskItem.save(toggled);
+    assertThat(saved.isStarred()).isTrue();
+    assertThat(saved.getVersion()).isEqualTo(version + 1);
+    this.buffer.flush();
+    TaskItemEto stored = this.ucFindTaskItem.findStoredById(item.getId());
+    assertThat(stored.getTitle()).isEqualTo("Rye bread");
+    assertThat(stored.isStarred()).isTrue();
+    assertThat(stored.getVersion()).isEqualTo(saved.getVersion());
+  }
+
+  @Test
+  void coalescesTogglesIntoSingleVersion() {
+
+    TaskItemEto item = newItem("Eggs");
+    int version = item.getVersion().intValue();
+    this.ucToggleTaskItem.toggle(item.getId(), Boolean.TRUE, null);
+    this.ucToggleTaskItem.toggle(item.getId(), null, Boolean.TRUE);
+    TaskItemEto toggled = this.ucToggleTaskItem.toggle(item.getId(), Boolean.FALSE, null);
+    assertThat(toggled.isCompleted()).isFalse();
+    assertThat(toggled.isStarred()).isTrue();
+    assertThat(toggled.getVersion()).isEqualTo(version + 1);
+    this.buffer.flush();
+    TaskItemEto stored = this.ucFindTaskItem.findStoredById(item.getId());
+    assertThat(stored.isCompleted()).isFalse();
+    assertThat(stored.isStarred()).isTrue();
+    assertThat(stored.getVersion()).isEqualTo(version + 1);
+    // toggling back and forth within a window does not change the item at all
+    this.ucToggleTaskItem.toggle(item.getId(), Boolean.TRUE, null);
+    toggled = this.ucToggleTaskItem.toggle(item.getId(), Boolean.FALSE, null);
+    assertThat(toggled.getVersion()).isEqualTo(version + 1);
+    this.buffer.flush();
+    assertThat(this.ucFindTaskItem.findStoredById(item.getId()).getVersion()).isEqualTo(version + 1);
+  }
+
+  @Test
+  void keepsToggleChangedDuringFlushForNextFlush() throws Exception {
+
+    TaskItemEto item = newItem("Butter");
+    int version = item.getVersion().intValue();
+    CompletableFuture<Void> flushed = this.buffer.add(this.ucFindTaskItem.findStoredById(item.getId()), Boolean.TRUE,
+        null);
+    // toggles again while the first flush is in progress
+    FlushHook.ACTION.set(() -> this.buffer.add(item, null, Boolean.TRUE));
+    this.buffer.flush();
+    assertThat(FlushHook.ACTION.get()).as("hook called").isNull();
+    TaskItemEto stored = this.ucFindTaskItem.findStoredById(item.getId());
+    assertThat(stored.isCompleted()).isTrue();
+    assertThat(stored.isStarred()).isFalse();
+    assertThat(stored.getVersion()).isEqualTo(version + 1);
+    assertThat(flushed).isNotDone();
+    TaskItemEto found = this.ucFindTaskItem.findById(item.getId());
+    assertThat(found.isStarred()).isTrue();
+    assertThat(found.getVersion()).isEqualTo(version + 2);
+    this.buffer.flush();
+    flushed.get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    stored = this.ucFindTaskItem.findStoredById(item.getId());
+    assertThat(stored.isCompleted()).isTrue();
+    assertThat(stored.isStarred()).isTrue();
+    assertThat(stored.getVersion()).isEqualTo(version + 2);
+  }
+
+  @Test
+  void retriesItemsOneByOne() throws Exception {
+
+    TaskItemEto good = newItem("Cheese");
+    TaskItemEto broken = newItem(BROKEN);
+    CompletableFuture<Void> goodFlushed = this.buffer.add(this.ucFindTaskItem.findStoredById(good.getId()),
+        Boolean.TRUE, null);
+    CompletableFuture<Void> brokenFlushed = this.buffer.add(this.ucFindTaskItem.findStoredById(broken.getId()),
+        Boolean.TRUE, null);
+    this.buffer.flush();
+    goodFlushed.get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    assertThat(brokenFlushed).isCompletedExceptionally();
+    assertThat(this.ucFindTaskItem.findStoredById(good.getId()).isCompleted()).isTrue();
+    TaskItemEto stored = this.ucFindTaskItem.findStoredById(broken.getId());
+    assertThat(stored.isCompleted()).isFalse();
+    assertThat(stored.getVersion()).isEqualTo(broken.getVersion());
+    // the failed toggle has been dropped
+    assertThat(this.ucFindTaskItem.findById(broken.getId()).isCompleted()).isFalse();
+  }
+
+  @Test
+  void discardDropsPendingToggles() {
+
+    TaskItemEto saved = newItem("Apples");
+    TaskItemEto completedAndStarred = newItem("Pears");
+    TaskItemEto starred = newItem("Plums");
+    CompletableFuture<Void> savedFlushed = this.buffer.add(this.ucFindTaskItem.findStoredById(saved.getId()),
+        Boolean.TRUE, null);
+    this.buffer.add(this.ucFindTaskItem.findStoredById(completedAndStarred.getId()), Boolean.TRUE, Boolean.TRUE);
+    this.buffer.add(this.ucFindTaskItem.findStoredById(starred.getId()), null, Boolean.TRUE);
+    this.buffer.discard(saved.getId());
+    assertThat(savedFlushed).isCompleted();
+    assertThat(this.ucFindTaskItem.findById(saved.getId()).isCompleted()).isFalse();
+    // completing all items overwrites the completed flags only
+    this.buffer.discardCompleted(this.taskListId);
+    TaskItemEto found = this.ucFindTaskItem.findById(completedAndStarred.getId());
+    assertThat(found.isCompleted()).isFalse();
+    assertThat(found.isStarred()).isTrue();
+    assertThat(this.ucFindTaskItem.findById(starred.getId()).isStarred()).isTrue();
+    this.buffer.flush();
+    assertThat(this.ucFindTaskItem.findStoredById(saved.getId()).getVersion()).isEqualTo(saved.getVersion());
+    TaskItemEto stored = this.ucFindTaskItem.findStoredById(completedAndStarred.getId());
+    assertThat(stored.isCompleted()).isFalse();
+    assertThat(stored.isStarred()).isTrue();
+    assertThat(this.ucFindTaskItem.findStoredById(starred.getId()).isStarred()).isTrue();
+    // deleting the list drops the toggles of all its items
+    CompletableFuture<Void> listFlushed = this.buffer.add(this.ucFindTaskItem.findStoredById(saved.getId()),
+        Boolean.TRUE, null);
+    this.buffer.discardList(this.taskListId);
+    assertThat(listFlushed).isCompleted();
+    this.buffer.flush();
+    assertThat(this.ucFindTaskItem.findStoredById(saved.getId()).isCompleted()).isFalse();
+  }
+
+  @Test
+  void flushedDurabilityWaitsForFlush() throws Exception {
+
+    ClientProxy.unwrap(this.ucToggleTaskItem).durability = TaskItemToggleDurability.FLUSHED;
+    TaskItemEto item = newItem("Flour");
+    CompletableFuture<TaskItemEto> toggled = CompletableFuture
+        .supplyAsync(() -> this.ucToggleTaskItem.toggle(item.getId(), Boolean.TRUE, null));
+    awaitPending(item.getId());
+    assertThat(toggled).isNotDone();
+    this.buffer.flush();
+    TaskItemEto result = toggled.get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    TaskItemEto stored = this.ucFindTaskItem.findStoredById(item.getId());
+    assertThat(stored.isCompleted()).isTrue();
+    assertThat(stored.getVersion()).isEqualTo(result.getVersion());
+  }
+
+  @Test
+  void flushedDurabilityReportsFailure() {
+
+    ClientProxy.unwrap(this.ucToggleTaskItem).durability = TaskItemToggleDurability.FLUSHED;
+    TaskItemEto broken = newItem(BROKEN);
+    CompletableFuture<Void> flush = CompletableFuture.runAsync(() -> {
+      awaitPending(broken.getId());
+      this.buffer.flush();
+    });
+    assertThatThrownBy(() -> this.ucToggleTaskItem.toggle(broken.getId(), Boolean.TRUE, null))
+        .isInstanceOf(IllegalStateException.class).hasMessageContaining("Failed to persist toggle");
+    flush.join();
+    assertThat(this.ucFindTaskItem.findStoredById(broken.getId()).isCompleted()).isFalse();
+  }
+
+  private void awaitPending(Long itemId) {
+
+    long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+    while (!this.ucFindTaskItem.findById(itemId).isCompleted()) {
+      assertThat(System.currentTimeMillis()).as("toggle pending within %dms", TIMEOUT_MILLIS).isLessThan(deadline);
+      try {
+        Thread.sleep(10);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+
+  private TaskItemEto newItem(String title) {
+
+    TaskItemEto item = new TaskItemEto();
+    item.setTitle(title);
+    item.setTaskListId(this.taskListId);
+    return this.ucSaveTaskItem.save(item);
+  }
+
+  private void execute(String[] sqls) throws SQLException {
+
+    try (Connection connection = this.dataSource.getConnection(); Statement statement = connection.createStatement()) {
+      for (String sql : sqls) {
+        statement.execute(sql);
+      }
+    }
+  }
+
+  /**
+   * Runs the {@link #ACTION} once within the transaction of the next flush that writes an item.
+   */
+  @ApplicationScoped
+  static class FlushHook {
+
+    static final AtomicReference<Runnable> ACTION = new AtomicReference<>();
+
+    void onChange(@Observes TaskItemChangeEvent event) {
+
+      Runnable action = ACTION.getAndSet(null);
+      if (action != null) {
+        action.run();
+      }
+    }
+
+  }
+
+  /**
+   * {@link QuarkusTestProfile} that only flushes toggles when the test asks for it.
+   */
+  public static class ManualFlushTestProfile implements QuarkusTestProfile {
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+
+      return Map.of("app.task.toggle.window", "1H", //
+          "app.task.toggle.flush-timeout", "10S");
+    }
+
+  }
+
+}
@@ -0,0 +1,153 @@
+package org.example.app.task.logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.example.app.general.common.vector.HnswIndex;
+import org.example.app.task.common.TaskItemEto;
+import org.example.app.task.common.TaskItemSearchCriteria;
+import org.example.app.task.dataaccess.TaskDataGenerator;
+import org.example.app.task.dataaccess.TaskItemRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Benchmark of the {@link TaskItemSimilarityIndex} comparing recall@{@value #K} and latency of the HNSW search with an
+ * exact brute force scan over the float embeddings of all titles. Uses the deterministic
+ * {@link HashingTaskTitleEmbedder} instead of Ollama so the recall includes the loss of the int8 quantization. Run
+ * against a PostgreSQL database (e.g. dev services) with:
+ *
+ * <pre>
+ * mvn test -Dtest=TaskSimilarityBenchmark -Dbenchmark=true
+ * </pre>
+ */
+@QuarkusTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TaskSimilarityBenchmark {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TaskSimilarityBenchmark.class);
+
+  private static final int K = 10;
+
+  private static final int QUERY_COUNT = 500;
+
+  @Inject
+  DataSource dataSource;
+
+  @Inject
+  TaskItemRepository taskItemRepository;
+
+  @Inject
+  TaskItemSimilarityIndex index;
+
+  @Inject
+  TaskTitleEmbedder embedder;
+
+  @Test
+  void benchmark() {
+
+    TaskDataGenerator generator = new TaskDataGenerator();
+    generator.setSeed(42);
+    generator.setListCount(2_000);
+    generator.setItemsPerList(TaskDataGenerator.ItemCountDistribution.uniform(10, 90));
+    generator.setMaxTitleWords(5);
+    generator.generate(this.dataSource);
+    long start = System.nanoTime();
+    this.index.requestReconcile();
+    this.index.flush();
+    long buildNanos = System.nanoTime() - start;
+    List<TaskItemEto> items = QuarkusTransaction.requiringNew().call(this::findAll);
+    LOG.info("Indexed {} task items in {}ms ({} ns/item).", Integer.valueOf(items.size()),
+        Long.valueOf(buildNanos / 1_000_000), Long.valueOf(buildNanos / Math.max(1, items.size())));
+    long[] ids = new long[items.size()];
+    float[][] vectors = new float[items.size()][];
+    List<String> titles = new ArrayList<>(items.size());
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = items.get(i).getId().longValue();
+      titles.add(items.get(i).getTitle());
+    }
+    List<float[]> embeddings = this.embedder.embed(titles);
+    for (int i = 0; i < ids.length; i++) {
+      vectors[i] = embeddings.get(i);
+    }
+    SplittableRandom random = new SplittableRandom(42);
+    float[][] queries = new float[QUERY_COUNT][];
+    for (int i = 0; i < QUERY_COUNT; i++) {
+      queries[i] = vectors[random.nextInt(vectors.length)];
+    }
+    long[][] exact = new long[QUERY_COUNT][];
+    start = System.nanoTime();
+    for (int i = 0; i < QUERY_COUNT; i++) {
+      exact[i] = bruteForce(ids, vectors, queries[i]);
+    }
+    long bruteForceNanos = System.nanoTime() - start;
+    double recall = 0;
+    start = System.nanoTime();
+    List<List<HnswIndex.Hit>> results = new ArrayList<>(QUERY_COUNT);
+    for (int i = 0; i < QUERY_COUNT; i++) {
+      results.add(this.index.search(queries[i], K));
+    }
+    long hnswNanos = System.nanoTime() - start;
+    for (int i = 0; i < QUERY_COUNT; i++) {
+      Set<Long> expected = new HashSet<>();
+      for (long id : exact[i]) {
+        expected.add(Long.valueOf(id));
+      }
+      int found = 0;
+      for (HnswIndex.Hit hit : results.get(i)) {
+        if (expected.contains(Long.valueOf(hit.id()))) {
+          found++;
+        }
+      }
+      recall += (double) found / expected.size();
+    }
+    LOG.info(String.format("brute-force %,10d ns/query", Long.valueOf(bruteForceNanos / QUERY_COUNT)));
+    LOG.info(String.format("hnsw        %,10d ns/query recall@%d %.3f", Long.valueOf(hnswNanos / QUERY_COUNT),
+        Integer.valueOf(K), Double.valueOf(recall / QUERY_COUNT)));
+  }
+
+  private List<TaskItemEto> findAll() {
+
+    try (Stream<TaskItemEto> items = this.taskItemRepository.streamEtos(new TaskItemSearchCriteria(), 0,
+        Integer.MAX_VALUE, 10_000)) {
+      return items.toList();
+    }
+  }
+
+  private static long[] bruteForce(long[] ids, float[][] vectors, float[] query) {
+
+    // packed (similarity, index) - the vectors are normalized so the dot product is the cosine similarity
+    long[] top = new long[K];
+    Arrays.fill(top, Long.MIN_VALUE);
+    for (int i = 0; i < vectors.length; i++) {
+      float[] vector = vectors[i];
+      float dot = 0;
+      for (int d = 0; d < vector.length; d++) {
+        dot += vector[d] * query[d];
+      }
+      long packed = ((long) Float.floatToIntBits(dot + 2) << 32) | i;
+      if (packed > top[0]) {
+        top[0] = packed;
+        Arrays.sort(top);
+      }
+    }
+    long[] result = new long[K];
+    for (int i = 0; i < K; i++) {
+      result[i] = ids[(int) top[i]];
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,205 @@
+package org.example.app.task.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.example.app.general.common.cbor.CborCodec;
+import org.example.app.general.common.cbor.CborException;
+import org.example.app.general.common.cbor.CborReader;
+import org.example.app.general.common.cbor.CborWriter;
+import org.example.app.general.service.IntegerCborCodec;
+import org.example.app.general.service.LongCborCodec;
+import org.example.app.task.common.TaskItemEto;
+import org.example.app.task.common.TaskListEto;
+import org.example.app.task.common.TaskListSummaryEto;
+import org.example.app.task.common.TaskListWithItemsEto;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test of the {@link CborCodec}s of the task transfer objects.
+ */
+class TaskCborCodecTest {
+
+  private final TaskListCborCodec listCodec = new TaskListCborCodec();
+
+  private final TaskItemCborCodec itemCodec = new TaskItemCborCodec();
+
+  private final TaskListSummaryCborCodec summaryCodec = new TaskListSummaryCborCodec();
+
+  private final TaskListWithItemsCborCodec listWithItemsCodec = new TaskListWithItemsCborCodec();
+
+  TaskCborCodecTest() {
+
+    super();
+    this.listWithItemsCodec.listCodec = this.listCodec;
+    this.listWithItemsCodec.itemCodec = this.itemCodec;
+  }
+
+  @Test
+  void roundTripOfTaskList() throws IOException {
+
+    assertRoundTrip(this.listCodec, list(1L, "Shopping"));
+    assertRoundTrip(this.listCodec, new TaskListEto());
+  }
+
+  @Test
+  void roundTripOfTaskItem() throws IOException {
+
+    TaskItemEto item = item(11L, "Milk äöü €", LocalDateTime.of(2024, 2, 29, 23, 59, 30));
+    item.setStarred(true);
+    assertRoundTrip(this.itemCodec, item);
+    TaskItemEto withoutDeadline = item(12L, "Bread", null);
+    withoutDeadline.setCompleted(true);
+    assertRoundTrip(this.itemCodec, withoutDeadline);
+    // the absent deadline is omitted instead of written as null
+    assertThat(write(this.itemCodec, withoutDeadline)).doesNotContain(hex("deadline")).startsWith("a6");
+    assertThat(write(this.itemCodec, item)).startsWith("a7");
+  }
+
+  @Test
+  void roundTripOfTaskListSummary() throws IOException {
+
+    TaskListSummaryEto summary = new TaskListSummaryEto();
+    summary.setId(Long.valueOf(3));
+    summary.setVersion(Integer.valueOf(4));
+    summary.setTitle("Summary");
+    summary.setTotalItems(5_000_000_000L);
+    summary.setOpenItems(3);
+    summary.setCompletedItems(2);
+    summary.setStarredItems(1);
+    summary.setOverdueItems(0);
+    assertRoundTrip(this.summaryCodec, summary);
+  }
+
+  @Test
+  void roundTripOfTaskListWithItems() throws IOException {
+
+    TaskListWithItemsEto listWithItems = new TaskListWithItemsEto();
+    listWithItems.setList(list(1L, "Shopping"));
+    listWithItems.setItems(List.of(item(11L, "Milk", LocalDateTime.of(2024, 1, 1, 12, 0)), item(12L, "Bread", null)));
+    assertRoundTrip(this.listWithItemsCodec, listWithItems);
+    TaskListWithItemsEto empty = new TaskListWithItemsEto();
+    empty.setItems(List.of());
+    assertRoundTrip(this.listWithItemsCodec, empty);
+  }
+
+  @Test
+  void roundTripOfNumbers() throws IOException {
+
+    assertRoundTrip(new IntegerCborCodec(), Integer.valueOf(-1_000_000));
+    assertRoundTrip(new LongCborCodec(), Long.valueOf(Long.MAX_VALUE));
+    assertThat(write(new LongCborCodec(), Long.valueOf(1000))).isEqualTo("1903e8");
+  }
+
+  @Test
+  void readsIndefiniteLengthAndSkipsUnknownKeys() throws IOException {
+
+    // {_ "title": (_ "Mi" "lk"), "tags": [_ "a", {"x": 1.5}], "id": 11, "deadline": null, "completed": true,
+    // "future": {_ "nested": [1, 2]}, "taskListId": 1}
+    String hex = "bf" + hex("title") + "7f624d69626c6bff" + hex("tags") + "9f6161a16178f93e00ff" + hex("id") + "0b"
+        + hex("deadline") + "f6" + hex("completed") + "f5" + hex("future") + "bf" + hex("nested") + "820102ff"
+        + hex("taskListId") + "01" + "ff";
+    TaskItemEto item = read(this.itemCodec, hex);
+    assertThat(item.getId()).isEqualTo(11);
+    assertThat(item.getVersion()).isNull();
+    assertThat(item.getTitle()).isEqualTo("Milk");
+    assertThat(item.isCompleted()).isTrue();
+    assertThat(item.isStarred()).isFalse();
+    assertThat(item.getDeadline()).isNull();
+    assertThat(item.getTaskListId()).isEqualTo(1);
+  }
+
+  @Test
+  void rejectsTruncatedInput() throws IOException {
+
+    TaskListWithItemsEto listWithItems = new TaskListWithItemsEto();
+    listWithItems.setList(list(1L, "Shopping"));
+    listWithItems.setItems(List.of(item(11L, "Milk", null)));
+    String hex = write(this.listWithItemsCodec, listWithItems);
+    for (int length = 0; length < hex.length(); length += 2) {
+      String truncated = hex.substring(0, length);
+      assertThatThrownBy(() -> read(this.listWithItemsCodec, truncated)).as("truncated to %d bytes", length / 2)
+          .isInstanceOf(IOException.class);
+    }
+  }
+
+  @Test
+  void rejectsOversizedInput() {
+
+    // title of 2 GiB announced but not sent
+    assertThatThrownBy(() -> read(this.listCodec, "a1" + hex("title") + "7a80000000"))
+        .isInstanceOf(CborException.class).hasMessageContaining("exceeds the limit");
+    // items array with more than Integer.MAX_VALUE elements announced
+    assertThatThrownBy(() -> read(this.listWithItemsCodec, "a1" + hex("items") + "9b0000000100000000"))
+        .isInstanceOf(CborException.class).hasMessageContaining("exceeds the limit");
+    // items array with 2^31 - 1 elements announced but not sent fails without allocating them
+    assertThatThrownBy(() -> read(this.listWithItemsCodec, "a1" + hex("items") + "9a7fffffff"))
+        .isInstanceOf(EOFException.class);
+    assertThatThrownBy(() -> read(this.itemCodec, "a1" + hex("version") + "1a80000000"))
+        .isInstanceOf(CborException.class).hasMessageContaining("range of int");
+  }
+
+  @Test
+  void rejectsUnexpectedTypes() {
+
+    assertThatThrownBy(() -> read(this.itemCodec, "a1" + hex("completed") + "01")).isInstanceOf(CborException.class);
+    assertThatThrownBy(() -> read(this.itemCodec, "80")).isInstanceOf(CborException.class);
+  }
+
+  private static TaskListEto list(Long id, String title) {
+
+    TaskListEto list = new TaskListEto();
+    list.setId(id);
+    list.setVersion(Integer.valueOf(2));
+    list.setTitle(title);
+    return list;
+  }
+
+  private static TaskItemEto item(Long id, String title, LocalDateTime deadline) {
+
+    TaskItemEto item = new TaskItemEto();
+    item.setId(id);
+    item.setVersion(Integer.valueOf(1));
+    item.setTitle(title);
+    item.setDeadline(deadline);
+    item.setTaskListId(Long.valueOf(1));
+    return item;
+  }
+
+  private static <T> void assertRoundTrip(CborCodec<T> codec, T value) throws IOException {
+
+    T copy = read(codec, write(codec, value));
+    assertThat(copy).isNotSameAs(value).usingRecursiveComparison().isEqualTo(value);
+  }
+
+  private static <T> String write(CborCodec<T> codec, T value) throws IOException {
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    CborWriter writer = new CborWriter(out);
+    codec.write(value, writer);
+    writer.flush();
+    return HexFormat.of().formatHex(out.toByteArray());
+  }
+
+  private static <T> T read(CborCodec<T> codec, String hex) throws IOException {
+
+    return codec.read(new CborReader(new ByteArrayInputStream(HexFormat.of().parseHex(hex))));
+  }
+
+  /**
+   * @return the hex of the given text string encoded as CBOR.
+   */
+  private static String hex(String text) {
+
+    return HexFormat.of().formatHex(CborWriter.encode(text));
+  }
+
+}
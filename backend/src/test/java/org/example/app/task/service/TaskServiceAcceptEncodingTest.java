@@ -0,0 +1,47 @@
+package org.example.app.task.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test of the {@code Accept-Encoding} negotiation of {@link TaskService}.
+ */
+class TaskServiceAcceptEncodingTest {
+
+  @Test
+  void acceptsListedGzip() {
+
+    assertThat(TaskService.acceptsGzip("gzip")).isTrue();
+    assertThat(TaskService.acceptsGzip("deflate, GZIP, br")).isTrue();
+    assertThat(TaskService.acceptsGzip("br;q=1.0, gzip;q=0.5")).isTrue();
+    assertThat(TaskService.acceptsGzip("x-gzip")).isTrue();
+  }
+
+  @Test
+  void rejectsGzipWithQualityZero() {
+
+    assertThat(TaskService.acceptsGzip("gzip;q=0")).isFalse();
+    assertThat(TaskService.acceptsGzip("gzip; q=0.000, identity")).isFalse();
+    assertThat(TaskService.acceptsGzip("*, gzip;q=0")).isFalse();
+    assertThat(TaskService.acceptsGzip("gzip;q=invalid")).isFalse();
+  }
+
+  @Test
+  void appliesWildcardOnlyIfGzipIsNotListed() {
+
+    assertThat(TaskService.acceptsGzip("*")).isTrue();
+    assertThat(TaskService.acceptsGzip("identity, *;q=0.1")).isTrue();
+    assertThat(TaskService.acceptsGzip("*;q=0")).isFalse();
+  }
+
+  @Test
+  void rejectsMissingOrOtherCodings() {
+
+    assertThat(TaskService.acceptsGzip(null)).isFalse();
+    assertThat(TaskService.acceptsGzip("")).isFalse();
+    assertThat(TaskService.acceptsGzip("br, deflate")).isFalse();
+    assertThat(TaskService.acceptsGzip("identity;q=1, gzipped")).isFalse();
+  }
+
+}
@@ -0,0 +1,134 @@
+package org.example.app.task.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.json.bind.Jsonb;
+import org.example.app.general.common.cbor.CborReader;
+import org.example.app.general.common.cbor.CborWriter;
+import org.example.app.task.common.TaskItemEto;
+import org.example.app.task.common.TaskListEto;
+import org.example.app.task.common.TaskListWithItemsEto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Benchmark comparing the payload size and the serialize/deserialize throughput of a {@link TaskListWithItemsEto} as
+ * JSON via the {@link Jsonb} of the application with CBOR via {@link TaskListWithItemsCborCodec}. Run with:
+ *
+ * <pre>
+ * mvn test -Dtest=TaskWireFormatBenchmark -Dbenchmark=true
+ * </pre>
+ */
+@QuarkusTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TaskWireFormatBenchmark {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TaskWireFormatBenchmark.class);
+
+  private static final int[] ITEM_COUNTS = { 10, 100, 1000 };
+
+  private static final long WARMUP_NANOS = 2_000_000_000L;
+
+  private static final long MEASURE_NANOS = 5_000_000_000L;
+
+  @Inject
+  Jsonb jsonb;
+
+  @Inject
+  TaskListWithItemsCborCodec codec;
+
+  @Test
+  void benchmark() throws IOException {
+
+    LOG.info(String.format("%-6s %6s %10s %14s %14s", "format", "items", "bytes", "serialize/s", "deserialize/s"));
+    for (int itemCount : ITEM_COUNTS) {
+      TaskListWithItemsEto listWithItems = newListWithItems(itemCount);
+      byte[] json = toJson(listWithItems);
+      byte[] cbor = toCbor(listWithItems);
+      report("json", itemCount, json.length, () -> toJson(listWithItems), () -> fromJson(json));
+      report("cbor", itemCount, cbor.length, () -> toCbor(listWithItems), () -> fromCbor(cbor));
+    }
+  }
+
+  private static void report(String format, int itemCount, int size, Operation serialize, Operation deserialize)
+      throws IOException {
+
+    measure(serialize, WARMUP_NANOS);
+    measure(deserialize, WARMUP_NANOS);
+    LOG.info(String.format("%-6s %6d %10d %14.0f %14.0f", format, itemCount, size,
+        measure(serialize, MEASURE_NANOS), measure(deserialize, MEASURE_NANOS)));
+  }
+
+  /**
+   * @return the number of operations per second.
+   */
+  private static double measure(Operation operation, long nanos) throws IOException {
+
+    long count = 0;
+    long start = System.nanoTime();
+    long end = start + nanos;
+    long now = start;
+    while (now < end) {
+      operation.run();
+      count++;
+      now = System.nanoTime();
+    }
+    return count * 1e9 / (now - start);
+  }
+
+  private byte[] toJson(TaskListWithItemsEto listWithItems) {
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+    this.jsonb.toJson(listWithItems, out);
+    return out.toByteArray();
+  }
+
+  private TaskListWithItemsEto fromJson(byte[] json) {
+
+    return this.jsonb.fromJson(new ByteArrayInputStream(json), TaskListWithItemsEto.class);
+  }
+
+  private byte[] toCbor(TaskListWithItemsEto listWithItems) throws IOException {
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+    CborWriter writer = new CborWriter(out);
+    this.codec.write(listWithItems, writer);
+    writer.flush();
+    return out.toByteArray();
+  }
+
+  private TaskListWithItemsEto fromCbor(byte[] cbor) throws IOException {
+
+    return this.codec.read(new CborReader(new ByteArrayInputStream(cbor)));
+  }
+
+  private static TaskListWithItemsEto newListWithItems(int itemCount) {
+
+    TaskListWithItemsEto listWithItems = new TaskListWithItemsEto();
+    listWithItems.setList(new TaskListEto(Long.valueOf(100_000_000L), Integer.valueOf(3), "Shopping list"));
+    List<TaskItemEto> items = new ArrayList<>(itemCount);
+    LocalDateTime deadline = LocalDateTime.of(2024, 1, 1, 12, 0);
+    for (int i = 0; i < itemCount; i++) {
+      items.add(new TaskItemEto(Long.valueOf(100_000_001L + i), Integer.valueOf(i % 5), "Buy milk and bread " + i,
+          (i % 2) == 0, (i % 5) == 0, ((i % 3) == 0) ? deadline.plusHours(i) : null, Long.valueOf(100_000_000L)));
+    }
+    listWithItems.setItems(items);
+    return listWithItems;
+  }
+
+  @FunctionalInterface
+  private interface Operation {
+
+    Object run() throws IOException;
+  }
+
+}